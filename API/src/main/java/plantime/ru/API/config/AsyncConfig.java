@@ -0,0 +1,104 @@
+package plantime.ru.API.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Конфигурация фоновых пулов потоков и планировщика задач.
+ * Тяжёлые операции выполняются в ограниченных пулах, а не в потоках Tomcat.
+ */
+@Configuration
+@EnableScheduling
+public class AsyncConfig {
+
+    /**
+     * Пул для формирования отчётов (Excel-выгрузок).
+     * При заполненной очереди новые задания отклоняются сразу ({@link ThreadPoolExecutor.AbortPolicy}).
+     *
+     * @param poolSize      Количество потоков формирования отчётов.
+     * @param queueCapacity Максимальное число заданий в очереди.
+     * @return Пул потоков для отчётов.
+     */
+    @Bean(name = "reportExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor reportExecutor(@Value("${reports.pool-size:2}") int poolSize,
+                                                 @Value("${reports.queue-capacity:20}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("report-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Пул для хеширования и проверки паролей BCrypt.
+     * Ограничивает число одновременно работающих на CPU проверок при массовом входе пользователей,
+     * лишние запросы ждут в очереди или сразу отклоняются.
+     *
+     * @param poolSize      Количество потоков (0 — половина доступных процессоров).
+     * @param queueCapacity Максимальное число проверок в очереди.
+     * @return Пул потоков для BCrypt.
+     */
+    @Bean(name = "passwordHashExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor passwordHashExecutor(@Value("${auth.bcrypt.pool-size:0}") int poolSize,
+                                                       @Value("${auth.bcrypt.queue-capacity:100}") int queueCapacity) {
+        int threads = poolSize > 0 ? poolSize : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("bcrypt-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Пул отправки писем из очереди mail_outbox.
+     *
+     * @param poolSize      Количество потоков отправки.
+     * @param queueCapacity Максимальное число писем в очереди пула.
+     * @return Пул потоков для отправки писем.
+     */
+    @Bean(name = "mailExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor mailExecutor(@Value("${mail.outbox.pool-size:2}") int poolSize,
+                                               @Value("${mail.outbox.queue-capacity:50}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("mail-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Пул построения миниатюр фотографий профиля.
+     * При заполненной очереди задание отклоняется, миниатюра строится при следующем запросе фото.
+     *
+     * @param poolSize      Количество потоков.
+     * @param queueCapacity Максимальное число фото в очереди.
+     * @return Пул потоков для обработки изображений.
+     */
+    @Bean(name = "imageExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor imageExecutor(@Value("${images.thumbnail.pool-size:1}") int poolSize,
+                                                @Value("${images.thumbnail.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,15 @@
+package plantime.ru.API.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Параметр контроллера, в который подставляется аутентифицированный сотрудник
+ * (определяется {@link JwtAuthenticationFilter} по заголовку Authorization).
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CurrentEmployee {
+}
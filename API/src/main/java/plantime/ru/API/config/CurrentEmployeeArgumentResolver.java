@@ -0,0 +1,39 @@
+package plantime.ru.API.config;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import plantime.ru.API.entity.Employee;
+
+/**
+ * Подставляет в параметры с {@link CurrentEmployee} сотрудника из SecurityContext.
+ * Если сотрудник не аутентифицирован, выбрасывает IllegalArgumentException с причиной
+ * (обрабатывается GlobalExceptionHandler как 400).
+ */
+public class CurrentEmployeeArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentEmployee.class)
+                && Employee.class.isAssignableFrom(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof Employee employee) {
+            return employee;
+        }
+        Object error = webRequest.getAttribute(JwtAuthenticationFilter.AUTH_ERROR_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (error != null) {
+            throw new IllegalArgumentException(error.toString());
+        }
+        throw new IllegalArgumentException("Требуется токен в заголовке Authorization с префиксом Bearer");
+    }
+}
@@ -0,0 +1,66 @@
+package plantime.ru.API.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import plantime.ru.API.entity.Employee;
+import plantime.ru.API.service.AuthService;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Фильтр аутентификации по JWT-токену.
+ * Проверяет заголовок Authorization один раз на запрос и помещает сотрудника в SecurityContext.
+ * Невалидный токен не прерывает цепочку: текст ошибки сохраняется в атрибуте запроса
+ * и возвращается клиентом {@link CurrentEmployeeArgumentResolver}, как и раньше — с кодом 400.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    /**
+     * Атрибут запроса с текстом ошибки проверки токена.
+     */
+    public static final String AUTH_ERROR_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".error";
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final AuthService authService;
+
+    public JwtAuthenticationFilter(AuthService authService) {
+        this.authService = authService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Эндпоинты входа/выхода/верификации проверяют токен сами
+        return request.getRequestURI().startsWith("/api/auth/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            try {
+                Employee employee = authService.getEmployeeFromToken(header.substring(BEARER_PREFIX.length()));
+                String permission = employee.getEmployeePost() != null && employee.getEmployeePost().getEmployeePermission() != null
+                        ? employee.getEmployeePost().getEmployeePermission().getPermission()
+                        : null;
+                List<SimpleGrantedAuthority> authorities = permission != null
+                        ? List.of(new SimpleGrantedAuthority(permission))
+                        : List.of();
+                SecurityContextHolder.getContext().setAuthentication(
+                        new UsernamePasswordAuthenticationToken(employee, null, authorities));
+            } catch (IllegalArgumentException e) {
+                request.setAttribute(AUTH_ERROR_ATTRIBUTE, e.getMessage());
+            }
+        }
+        chain.doFilter(request, response);
+    }
+}
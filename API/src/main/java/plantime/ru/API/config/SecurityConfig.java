@@ -1,5 +1,6 @@
 package plantime.ru.API.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -7,11 +8,13 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import plantime.ru.API.service.AuthService;
 
 import java.util.List;
 
@@ -23,11 +26,12 @@ import java.util.List;
 @EnableMethodSecurity
 public class SecurityConfig {
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, AuthService authService) throws Exception {
         http
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))  // Включаем CORS
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .addFilterBefore(new JwtAuthenticationFilter(authService), UsernamePasswordAuthenticationFilter.class)  // Аутентификация по JWT один раз на запрос
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/employee/**").permitAll()
@@ -47,12 +51,14 @@ public class SecurityConfig {
                         .requestMatchers("/api/payment/statuses/**").permitAll()
                         .requestMatchers("/api/software/**").permitAll()
                         .requestMatchers("/api/customers/**").permitAll()
-                        .requestMatchers("/api/tasks/**").permitAll()
+                        // Скачивание вложений требует токена: доступ к задаче проверяется по сотруднику
+                        .requestMatchers("/api/tasks/files/**").authenticated()
                         .requestMatchers("/api/tasks/**").permitAll()
                         .requestMatchers("/api/list-of-software/**").permitAll()
                         .requestMatchers("/api/task-tree/**").permitAll()
                         .requestMatchers("/api/project/**").permitAll()
                         .requestMatchers("/api/services/**").permitAll()
+                        .requestMatchers("/api/metrics/**").permitAll()
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
                         .anyRequest().authenticated()
                 );
@@ -61,8 +67,8 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${auth.bcrypt.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 
     // Настройка CORS для Spring Security
@@ -0,0 +1,236 @@
+package plantime.ru.API.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import plantime.ru.API.config.CurrentEmployee;
+import plantime.ru.API.entity.Employee;
+import plantime.ru.API.entity.ListAttachedFiles;
+import plantime.ru.API.service.AttachmentService;
+import plantime.ru.API.service.AttachmentStore;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Контроллер для скачивания вложений заметок из хранилища вложений.
+ * Вложение доступно администратору, автору заметки, исполнителю и участникам задачи.
+ * <p>
+ * Если контейнер поддерживает sendfile (Tomcat NIO), файл отдаётся системным вызовом без копирования через heap.
+ * Иначе {@link FileChannel#transferTo} копирует его в поток ответа порциями через буфер ограниченного размера,
+ * так что файл целиком в памяти не держится. Поддерживаются запросы диапазона
+ * ({@code Range: bytes=...}) для докачки.
+ * <p>
+ * Содержимое вложения не меняется, поэтому ETag — сильный, равный SHA-256 содержимого: повторный запрос
+ * с {@code If-None-Match} получает 304, а {@code If-Range} гарантирует, что докачиваются байты того же файла.
+ */
+@RestController
+@RequestMapping("/api/tasks/files")
+public class AttachmentController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttachmentController.class);
+
+    // Атрибуты запроса, через которые Tomcat отдаёт файл системным вызовом sendfile
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final AttachmentService attachmentService;
+    private final AttachmentStore store;
+    private final CacheControl cacheControl;
+
+    public AttachmentController(AttachmentService attachmentService, AttachmentStore store,
+                                @Value("${attachments.download.max-age-seconds:86400}") long maxAgeSeconds) {
+        this.attachmentService = attachmentService;
+        this.store = store;
+        // Вложения отдаются только аутентифицированным участникам задачи — общие кэши их хранить не должны
+        this.cacheControl = CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePrivate();
+    }
+
+    /**
+     * Отдаёт содержимое вложения целиком или указанный диапазон байтов.
+     *
+     * @param fileId          Идентификатор вложения.
+     * @param currentEmployee Аутентифицированный сотрудник.
+     * @param request         HTTP-запрос.
+     * @param response        HTTP-ответ.
+     * @throws IOException Ошибка записи ответа.
+     */
+    @RequestMapping(value = "/{fileId}/content", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void download(@PathVariable int fileId, @CurrentEmployee Employee currentEmployee,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ListAttachedFiles file;
+        try {
+            file = attachmentService.findForDownload(fileId, currentEmployee);
+        } catch (AccessDeniedException e) {
+            logger.warn("Доступ к вложению {} запрещён, guid_employee={}", fileId, currentEmployee.getGuidEmployee());
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, e.getMessage());
+            return;
+        }
+        if (file == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "Вложение не найдено");
+            return;
+        }
+        Path path = store.locate(file.getFileHash());
+        if (!Files.isReadable(path)) {
+            logger.error("Содержимое вложения {} отсутствует в хранилище: {}", fileId, file.getFileHash());
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "Содержимое вложения не найдено");
+            return;
+        }
+        long size = Files.size(path);
+        String etag = "\"" + file.getFileHash() + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (matchesAny(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long start = 0;
+        long end = size - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && !rangeApplies(request.getHeader(HttpHeaders.IF_RANGE), etag)) {
+            range = null;
+        }
+        if (range != null) {
+            long[] bounds = parseRange(range, size);
+            if (bounds == null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (bounds.length == 2) {
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+            }
+        }
+        long length = end - start + 1;
+
+        response.setContentType(file.getContentType() != null ? file.getContentType() : MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(file.getPathFile(), StandardCharsets.UTF_8).build().toString());
+        response.setContentLengthLong(length);
+        if (length == 0 || RequestMethod.HEAD.name().equals(request.getMethod())) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        // Поток ответа не файловый канал: transferTo копирует данные порциями через небольшой буфер
+        try (FileChannel channel = store.open(file.getFileHash())) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    /**
+     * Проверяет, содержит ли заголовок If-None-Match указанный ETag (слабое сравнение, как требует RFC 9110).
+     *
+     * @param header Значение заголовка или null.
+     * @param etag   ETag файла.
+     * @return true, если клиент уже имеет эту версию.
+     */
+    static boolean matchesAny(String header, String etag) {
+        if (header == null) {
+            return false;
+        }
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Проверяет условие If-Range: диапазон отдаётся, только если у клиента та же версия файла, иначе — файл целиком.
+     * Last-Modified не отправляется, поэтому If-Range с датой тоже ведёт к полной отдаче.
+     *
+     * @param ifRange Значение заголовка If-Range или null.
+     * @param etag    ETag файла.
+     * @return true, если заголовок Range нужно учитывать.
+     */
+    static boolean rangeApplies(String ifRange, String etag) {
+        // Для If-Range требуется сильное сравнение: слабый ETag диапазон не разрешает
+        return ifRange == null || ifRange.trim().equals(etag);
+    }
+
+    /**
+     * Разбирает заголовок Range с одним диапазоном байтов.
+     *
+     * @param header Значение заголовка.
+     * @param size   Размер файла.
+     * @return Границы {начало, конец} включительно; пустой массив, если заголовок не поддерживается
+     *         (несколько диапазонов или другие единицы) и нужно отдать файл целиком; null, если диапазон недостижим.
+     */
+    static long[] parseRange(String header, long size) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return new long[0];
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new long[0];
+        }
+        try {
+            String from = spec.substring(0, dash).trim();
+            String to = spec.substring(dash + 1).trim();
+            long start;
+            long end;
+            if (from.isEmpty()) {
+                // bytes=-N: последние N байтов
+                long suffix = Long.parseLong(to);
+                if (suffix <= 0) {
+                    return null;
+                }
+                start = Math.max(0, size - suffix);
+                end = size - 1;
+            } else {
+                start = Long.parseLong(from);
+                end = to.isEmpty() ? size - 1 : Math.min(Long.parseLong(to), size - 1);
+            }
+            if (start < 0 || start >= size || end < start) {
+                return null;
+            }
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+}
@@ -8,8 +8,8 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import plantime.ru.API.dto.*;
 import plantime.ru.API.entity.*;
-import plantime.ru.API.repository.LogRepository;
 import plantime.ru.API.repository.SessionRepository;
+import plantime.ru.API.service.AuditLogWriter;
 import plantime.ru.API.service.AuthService;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -23,7 +23,7 @@ import java.util.Optional;
 public class
 AuthController {
     private final AuthService authService;
-    private final LogRepository logRepository;
+    private final AuditLogWriter auditLogWriter;
     private final SessionRepository sessionRepository;
 
     private static final Employee employee = new Employee(
@@ -52,12 +52,12 @@ AuthController {
      * Конструктор для инициализации контроллера.
      *
      * @param authService       Сервис аутентификации для обработки операций входа и проверки токенов.
-     * @param logRepository     Репозиторий для сохранения логов операций.
+     * @param auditLogWriter    Асинхронная запись журнала действий.
      * @param sessionRepository Репозиторий для управления сессиями пользователей.
      */
-    public AuthController(AuthService authService, LogRepository logRepository, SessionRepository sessionRepository) {
+    public AuthController(AuthService authService, AuditLogWriter auditLogWriter, SessionRepository sessionRepository) {
         this.authService = authService;
-        this.logRepository = logRepository;
+        this.auditLogWriter = auditLogWriter;
         this.sessionRepository = sessionRepository;
     }
 
@@ -71,7 +71,7 @@ AuthController {
     @PostMapping("/hash-password")
     public ResponseEntity<HashPasswordResponse> hashPassword(@Valid @RequestBody HashPasswordRequest request) {
         HashPasswordResponse response = authService.hashPassword(request.getPassword());
-        logRepository.save(new Log(employee, "Успешное шифрование пароля", LocalDateTime.now()));
+        auditLogWriter.write(new Log(employee, "Успешное шифрование пароля", LocalDateTime.now()));
         logger.info("Пароль успешно зашифрован");
         return ResponseEntity.ok(response);
     }
@@ -87,7 +87,7 @@ AuthController {
     public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest request) {
         LoginResponse response = authService.login(request);
         Employee employeeFromLoginRequest = authService.getEmployeeFromLoginRequest(request);
-        logRepository.save(new Log(employeeFromLoginRequest, "Успешная авторизация", LocalDateTime.now()));
+        auditLogWriter.write(new Log(employeeFromLoginRequest, "Успешная авторизация", LocalDateTime.now()));
         logger.info("Пользователь успешно авторизовался: guid_employee={}", employeeFromLoginRequest.getGuidEmployee());
         return ResponseEntity.ok(response);
     }
@@ -104,7 +104,7 @@ AuthController {
     public ResponseEntity<VerifyResponse> verify(@RequestHeader("Authorization") String authHeader) {
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             logger.error("Верификация не удалась: отсутствует или некорректен заголовок Authorization");
-            logRepository.save(new Log(employee, "Неуспешная верификация: отсутствует токен", LocalDateTime.now()));
+            auditLogWriter.write(new Log(employee, "Неуспешная верификация: отсутствует токен", LocalDateTime.now()));
             throw new IllegalArgumentException("Токен обязателен в заголовке Authorization с префиксом Bearer");
         }
 
@@ -112,12 +112,12 @@ AuthController {
         try {
             VerifyResponse response = authService.verifyToken(token);
             Employee employeeFromToken = authService.getEmployeeFromToken(token);
-            logRepository.save(new Log(employeeFromToken, "Успешная верификация токена", LocalDateTime.now()));
+            auditLogWriter.write(new Log(employeeFromToken, "Успешная верификация токена", LocalDateTime.now()));
             logger.info("Токен успешно верифицирован: guid_employee={}", employeeFromToken.getGuidEmployee());
             return ResponseEntity.ok(response);
         } catch (IllegalArgumentException e) {
             logger.error("Верификация не удалась: {}", e.getMessage());
-            logRepository.save(new Log(employee, "Неуспешная верификация: " + e.getMessage(), LocalDateTime.now()));
+            auditLogWriter.write(new Log(employee, "Неуспешная верификация: " + e.getMessage(), LocalDateTime.now()));
             throw e;
         }
     }
@@ -134,7 +134,7 @@ AuthController {
     public ResponseEntity<String> logout(@RequestHeader("Authorization") String authHeader) {
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             logger.error("Выход не удался: отсутствует или некорректен заголовок Authorization");
-            logRepository.save(new Log(employee, "Неуспешный выход: отсутствует токен", LocalDateTime.now()));
+            auditLogWriter.write(new Log(employee, "Неуспешный выход: отсутствует токен", LocalDateTime.now()));
             throw new IllegalArgumentException("Токен обязателен в заголовке Authorization с префиксом Bearer");
         }
 
@@ -144,17 +144,17 @@ AuthController {
             Optional<Session> sessionOpt = sessionRepository.findByToken(token);
             if (sessionOpt.isEmpty()) {
                 logger.error("Выход не удался: сессия для токена не найдена");
-                logRepository.save(new Log(employee, "Неуспешный выход: сессия не найдена", LocalDateTime.now()));
+                auditLogWriter.write(new Log(employee, "Неуспешный выход: сессия не найдена", LocalDateTime.now()));
                 throw new IllegalArgumentException("Сессия не найдена");
             }
 
-            sessionRepository.deleteByEmployee(employeeFromToken);
-            logRepository.save(new Log(employeeFromToken, "Успешный выход из системы", LocalDateTime.now()));
+            authService.closeSessions(employeeFromToken);
+            auditLogWriter.write(new Log(employeeFromToken, "Успешный выход из системы", LocalDateTime.now()));
             logger.info("Пользователь успешно вышел из системы: guid_employee={}", employeeFromToken.getGuidEmployee());
             return ResponseEntity.ok("Успешный выход из системы");
         } catch (IllegalArgumentException e) {
             logger.error("Выход не удался: {}", e.getMessage());
-            logRepository.save(new Log(employee, "Неуспешный выход: " + e.getMessage(), LocalDateTime.now()));
+            auditLogWriter.write(new Log(employee, "Неуспешный выход: " + e.getMessage(), LocalDateTime.now()));
             throw e;
         }
     }
@@ -171,12 +171,12 @@ AuthController {
     public ResponseEntity<PasswordResetResponse> requestPasswordReset(@Valid @RequestBody PasswordResetRequest request) {
         try {
             PasswordResetResponse response = authService.requestPasswordReset(request);
-            logRepository.save(new Log(employee, "Успешный запрос сброса пароля для " + request.getEmail(), LocalDateTime.now()));
+            auditLogWriter.write(new Log(employee, "Успешный запрос сброса пароля для " + request.getEmail(), LocalDateTime.now()));
             logger.info("Запрос на сброс пароля выполнен для email: {}", request.getEmail());
             return ResponseEntity.ok(response);
         } catch (IllegalArgumentException | IllegalStateException e) {
             logger.error("Запрос на сброс пароля не удался: {}", e.getMessage());
-            logRepository.save(new Log(employee, "Неуспешный запрос сброса пароля: " + e.getMessage(), LocalDateTime.now()));
+            auditLogWriter.write(new Log(employee, "Неуспешный запрос сброса пароля: " + e.getMessage(), LocalDateTime.now()));
             throw e;
         }
     }
@@ -192,12 +192,12 @@ AuthController {
     public ResponseEntity<PasswordResetResponse> confirmPasswordReset(@Valid @RequestBody PasswordResetConfirmRequest request) {
         try {
             PasswordResetResponse response = authService.confirmPasswordReset(request);
-            logRepository.save(new Log(employee, "Успешный сброс пароля", LocalDateTime.now()));
+            auditLogWriter.write(new Log(employee, "Успешный сброс пароля", LocalDateTime.now()));
             logger.info("Сброс пароля подтвержден для токена: {}", request.getToken());
             return ResponseEntity.ok(response);
         } catch (IllegalArgumentException e) {
             logger.error("Подтверждение сброса пароля не удалось: {}", e.getMessage());
-            logRepository.save(new Log(employee, "Неуспешный сброс пароля: " + e.getMessage(), LocalDateTime.now()));
+            auditLogWriter.write(new Log(employee, "Неуспешный сброс пароля: " + e.getMessage(), LocalDateTime.now()));
             throw e;
         }
     }
@@ -7,10 +7,11 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import plantime.ru.API.config.CurrentEmployee;
 import plantime.ru.API.entity.Employee;
 import plantime.ru.API.dto.ContractDTO;
+import plantime.ru.API.dto.ContractPageDTO;
 import plantime.ru.API.dto.ErrorResponse;
-import plantime.ru.API.service.AuthService;
 import plantime.ru.API.service.ContractService;
 
 import java.math.BigDecimal;
@@ -22,17 +23,15 @@ import java.util.List;
 public class ContractController {
 
     private final ContractService contractService;
-    private final AuthService authService;
     private static final Logger logger = LoggerFactory.getLogger(ContractController.class);
 
-    public ContractController(ContractService contractService, AuthService authService) {
+    public ContractController(ContractService contractService) {
         this.contractService = contractService;
-        this.authService = authService;
     }
 
     @GetMapping
     public ResponseEntity<?> getContracts(
-            @RequestHeader("Authorization") String authHeader,
+            @CurrentEmployee Employee currentEmployee,
             @RequestParam(value = "customerId", required = false) Integer customerId,
             @RequestParam(value = "paymentStatusId", required = false) Integer paymentStatusId,
             @RequestParam(value = "organizationId", required = false) Integer organizationId,
@@ -41,25 +40,44 @@ public class ContractController {
             @RequestParam(value = "paymentDateFrom", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate paymentDateFrom,
             @RequestParam(value = "paymentDateTo", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate paymentDateTo,
             @RequestParam(value = "minCost", required = false) BigDecimal minCost,
-            @RequestParam(value = "maxCost", required = false) BigDecimal maxCost
+            @RequestParam(value = "maxCost", required = false) BigDecimal maxCost,
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "sort", required = false) String sort,
+            @RequestParam(value = "order", required = false) String order
     ) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, false);
-        List<ContractDTO> contracts = contractService.getContracts(
-                customerId, paymentStatusId, organizationId,
-                dateFrom, dateTo, paymentDateFrom, paymentDateTo, minCost, maxCost
-        );
-        if (contracts.isEmpty()) {
-            return ResponseEntity.ok(new ErrorResponse("Контракты отсутствуют", "Список пуст", 200));
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, false);
+        try {
+            if (page == null && size == null) {
+                // Без параметров страницы — прежний ответ: массив всех контрактов
+                List<ContractDTO> contracts = contractService.getContractsList(
+                        customerId, paymentStatusId, organizationId,
+                        dateFrom, dateTo, paymentDateFrom, paymentDateTo, minCost, maxCost,
+                        sort, order
+                );
+                if (contracts.isEmpty()) {
+                    return ResponseEntity.ok(new ErrorResponse("Контракты отсутствуют", "Список пуст", 200));
+                }
+                return ResponseEntity.ok(contracts);
+            }
+            ContractPageDTO contracts = contractService.getContracts(
+                    customerId, paymentStatusId, organizationId,
+                    dateFrom, dateTo, paymentDateFrom, paymentDateTo, minCost, maxCost,
+                    page, size, sort, order
+            );
+            return ResponseEntity.ok(contracts);
+        } catch (IllegalArgumentException e) {
+            logger.error("Некорректный запрос списка контрактов: {}, guid_employee={}", e.getMessage(), authEmployee.getGuidEmployee());
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage(), "Неверный запрос", 400));
         }
-        return ResponseEntity.ok(contracts);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<ContractDTO> getContract(
             @PathVariable Integer id,
-            @RequestHeader("Authorization") String authHeader
+            @CurrentEmployee Employee currentEmployee
     ) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, false);
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, false);
         ContractDTO contract = contractService.getContract(id);
         if (contract == null) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
@@ -70,9 +88,9 @@ public class ContractController {
     @PostMapping
     public ResponseEntity<ContractDTO> createContract(
             @Valid @RequestBody ContractDTO contractDTO,
-            @RequestHeader("Authorization") String authHeader
+            @CurrentEmployee Employee currentEmployee
     ) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, true);
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, true);
         ContractDTO saved = contractService.createContract(contractDTO, authEmployee);
         return ResponseEntity.status(HttpStatus.CREATED).body(saved);
     }
@@ -81,9 +99,9 @@ public class ContractController {
     public ResponseEntity<ContractDTO> updateContract(
             @PathVariable Integer id,
             @Valid @RequestBody ContractDTO contractDTO,
-            @RequestHeader("Authorization") String authHeader
+            @CurrentEmployee Employee currentEmployee
     ) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, true);
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, true);
         ContractDTO updated = contractService.updateContract(id, contractDTO, authEmployee);
         return ResponseEntity.ok(updated);
     }
@@ -91,20 +109,14 @@ public class ContractController {
     @DeleteMapping("/{id}")
     public ResponseEntity<String> deleteContract(
             @PathVariable Integer id,
-            @RequestHeader("Authorization") String authHeader
+            @CurrentEmployee Employee currentEmployee
     ) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, true);
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, true);
         contractService.deleteContract(id, authEmployee);
         return ResponseEntity.ok("Контракт успешно удалён");
     }
 
-    private Employee getAuthenticatedEmployee(String authHeader, boolean requireAdmin) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            logger.error("Отсутствует или недействителен заголовок авторизации");
-            throw new IllegalArgumentException("Требуется токен в заголовке Authorization с префиксом Bearer");
-        }
-        String token = authHeader.substring(7);
-        Employee employee = authService.getEmployeeFromToken(token);
+    private Employee getAuthenticatedEmployee(Employee employee, boolean requireAdmin) {
         if (requireAdmin) {
             String permission = employee.getEmployeePost() != null && employee.getEmployeePost().getEmployeePermission() != null
                     ? employee.getEmployeePost().getEmployeePermission().getPermission()
@@ -7,11 +7,12 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import plantime.ru.API.config.CurrentEmployee;
 import plantime.ru.API.dto.CustomerDTO;
+import plantime.ru.API.dto.CustomerSearchDTO;
 import plantime.ru.API.dto.ErrorResponse;
 import plantime.ru.API.entity.Customer;
 import plantime.ru.API.entity.Employee;
-import plantime.ru.API.service.AuthService;
 import plantime.ru.API.service.CustomerService;
 import plantime.ru.API.service.OrganizationService;
 
@@ -22,22 +23,20 @@ import java.util.List;
 public class CustomerController {
 
     private final CustomerService customerService;
-    private final AuthService authService;
     private final OrganizationService organizationService;
     private static final Logger logger = LoggerFactory.getLogger(CustomerController.class);
 
-    public CustomerController(CustomerService customerService, AuthService authService, OrganizationService organizationService) {
+    public CustomerController(CustomerService customerService, OrganizationService organizationService) {
         this.customerService = customerService;
-        this.authService = authService;
         this.organizationService = organizationService;
     }
 
     @GetMapping("/organization/{orgId}/customers")
     public ResponseEntity<?> getCustomersByOrganization(
-            @RequestHeader("Authorization") String authHeader,
+            @CurrentEmployee Employee currentEmployee,
             @PathVariable Integer orgId
     ) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, false);
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, false);
         List<Customer> customers = organizationService.getCustomersByOrganization(orgId);
         // или преобразовать в DTO при необходимости
         return ResponseEntity.ok(customers);
@@ -53,14 +52,14 @@ public class CustomerController {
      */
     @GetMapping
     public ResponseEntity<?> getCustomers(
-            @RequestHeader("Authorization") String authHeader,
+            @CurrentEmployee Employee currentEmployee,
             @RequestParam(value = "organizationId", required = false) Integer organizationId,
             @RequestParam(value = "view", defaultValue = "full") String view,
             @RequestParam(value = "sortBy", defaultValue = "surname") String sortBy,
             @RequestParam(value = "order", defaultValue = "asc") String order,
             @RequestParam(value = "search", required = false) String search
     ) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, false);
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, false);
 
         List<CustomerDTO> customers = customerService.getCustomers(organizationId, view, sortBy, order, search);
 
@@ -70,12 +69,36 @@ public class CustomerController {
         return ResponseEntity.ok(customers);
     }
 
+    /**
+     * Поиск клиентов по мере ввода (ФИО и телефон), по релевантности и постранично.
+     * ?q=...
+     * ?organizationId=...
+     * ?page=0&size=20
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> searchCustomers(
+            @CurrentEmployee Employee currentEmployee,
+            @RequestParam("q") String query,
+            @RequestParam(value = "organizationId", required = false) Integer organizationId,
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "size", required = false) Integer size
+    ) {
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, false);
+        try {
+            CustomerSearchDTO result = customerService.searchCustomers(query, organizationId, page, size);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            logger.error("Некорректный запрос поиска клиентов: {}, guid_employee={}", e.getMessage(), authEmployee.getGuidEmployee());
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage(), "Неверный запрос", 400));
+        }
+    }
+
     @PostMapping
     public ResponseEntity<CustomerDTO> createCustomer(
             @Valid @RequestBody CustomerDTO customerDTO,
-            @RequestHeader("Authorization") String authHeader
+            @CurrentEmployee Employee currentEmployee
     ) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, true);
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, true);
         CustomerDTO saved = customerService.createCustomer(customerDTO, authEmployee);
         return ResponseEntity.status(HttpStatus.CREATED).body(saved);
     }
@@ -84,9 +107,9 @@ public class CustomerController {
     public ResponseEntity<CustomerDTO> updateCustomer(
             @PathVariable Integer id,
             @Valid @RequestBody CustomerDTO customerDTO,
-            @RequestHeader("Authorization") String authHeader
+            @CurrentEmployee Employee currentEmployee
     ) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, true);
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, true);
         CustomerDTO updated = customerService.updateCustomer(id, customerDTO, authEmployee);
         return ResponseEntity.ok(updated);
     }
@@ -94,20 +117,14 @@ public class CustomerController {
     @DeleteMapping("/{id}")
     public ResponseEntity<String> deleteCustomer(
             @PathVariable Integer id,
-            @RequestHeader("Authorization") String authHeader
+            @CurrentEmployee Employee currentEmployee
     ) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, true);
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, true);
         customerService.deleteCustomer(id, authEmployee);
         return ResponseEntity.ok("Клиент успешно удалён");
     }
 
-    private Employee getAuthenticatedEmployee(String authHeader, boolean requireAdmin) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            logger.error("Отсутствует или недействителен заголовок авторизации");
-            throw new IllegalArgumentException("Требуется токен в заголовке Authorization с префиксом Bearer");
-        }
-        String token = authHeader.substring(7);
-        Employee employee = authService.getEmployeeFromToken(token);
+    private Employee getAuthenticatedEmployee(Employee employee, boolean requireAdmin) {
         if (requireAdmin) {
             String permission = employee.getEmployeePost() != null && employee.getEmployeePost().getEmployeePermission() != null
                     ? employee.getEmployeePost().getEmployeePermission().getPermission()
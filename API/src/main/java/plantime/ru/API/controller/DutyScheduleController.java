@@ -10,10 +10,10 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import plantime.ru.API.config.CurrentEmployee;
 import plantime.ru.API.dto.DutyScheduleDTO;
 import plantime.ru.API.dto.ErrorResponse;
 import plantime.ru.API.entity.Employee;
-import plantime.ru.API.service.AuthService;
 import plantime.ru.API.service.DutyScheduleReportService;
 import plantime.ru.API.service.DutyScheduleService;
 
@@ -30,13 +30,11 @@ import java.util.List;
 public class DutyScheduleController {
 
     private final DutyScheduleService dutyScheduleService;
-    private final AuthService authService;
     private final DutyScheduleReportService reportService;
     private static final Logger logger = LoggerFactory.getLogger(DutyScheduleController.class);
 
-    public DutyScheduleController(DutyScheduleService dutyScheduleService, AuthService authService, DutyScheduleReportService reportService) {
+    public DutyScheduleController(DutyScheduleService dutyScheduleService, DutyScheduleReportService reportService) {
         this.dutyScheduleService = dutyScheduleService;
-        this.authService = authService;
         this.reportService = reportService;
     }
 
@@ -45,12 +43,12 @@ public class DutyScheduleController {
      */
     @GetMapping
     public ResponseEntity<?> getFilteredDutySchedules(
-            @RequestHeader("Authorization") String authHeader,
+            @CurrentEmployee Employee currentEmployee,
             @RequestParam(required = false) String department,
             @RequestParam(required = false) String employeeName,
             @RequestParam(required = false) String typeOfAbsence
     ) {
-        Employee emp = getAuthenticatedEmployee(authHeader, false);
+        Employee emp = getAuthenticatedEmployee(currentEmployee, false);
         List<DutyScheduleDTO> schedules = dutyScheduleService.getFilteredSchedules(department, employeeName, typeOfAbsence);
         return ResponseEntity.ok(schedules);
     }
@@ -61,9 +59,9 @@ public class DutyScheduleController {
     @PostMapping
     public ResponseEntity<?> createDutySchedule(
             @Valid @RequestBody DutyScheduleDTO dto,
-            @RequestHeader("Authorization") String authHeader
+            @CurrentEmployee Employee currentEmployee
     ) {
-        Employee employee = getAuthenticatedEmployee(authHeader, true);
+        Employee employee = getAuthenticatedEmployee(currentEmployee, true);
         try {
             DutyScheduleDTO created = dutyScheduleService.createSchedule(dto, employee);
             return ResponseEntity.status(HttpStatus.CREATED).body(created);
@@ -79,9 +77,9 @@ public class DutyScheduleController {
     public ResponseEntity<?> updateDutySchedule(
             @PathVariable Long id,
             @Valid @RequestBody DutyScheduleDTO dto,
-            @RequestHeader("Authorization") String authHeader
+            @CurrentEmployee Employee currentEmployee
     ) {
-        Employee employee = getAuthenticatedEmployee(authHeader, true);
+        Employee employee = getAuthenticatedEmployee(currentEmployee, true);
         try {
             DutyScheduleDTO updated = dutyScheduleService.updateSchedule(id, dto, employee);
             return ResponseEntity.ok(updated);
@@ -96,9 +94,9 @@ public class DutyScheduleController {
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteDutySchedule(
             @PathVariable Long id,
-            @RequestHeader("Authorization") String authHeader
+            @CurrentEmployee Employee currentEmployee
     ) {
-        Employee employee = getAuthenticatedEmployee(authHeader, true);
+        Employee employee = getAuthenticatedEmployee(currentEmployee, true);
         try {
             dutyScheduleService.deleteSchedule(id, employee);
             return ResponseEntity.ok("Запись успешно удалена");
@@ -112,9 +110,9 @@ public class DutyScheduleController {
      */
     @GetMapping("/absence-types")
     public ResponseEntity<?> getAllAbsenceTypes(
-            @RequestHeader("Authorization") String authHeader
+            @CurrentEmployee Employee currentEmployee
     ) {
-        Employee employee = getAuthenticatedEmployee(authHeader, false);
+        Employee employee = getAuthenticatedEmployee(currentEmployee, false);
         return ResponseEntity.ok(dutyScheduleService.getAllAbsenceTypes());
     }
 
@@ -123,11 +121,11 @@ public class DutyScheduleController {
      */
     @GetMapping("/export/calendar")
     public ResponseEntity<Resource> exportDutyCalendar(
-            @RequestHeader("Authorization") String authHeader,
+            @CurrentEmployee Employee currentEmployee,
             @RequestParam("start") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
             @RequestParam("end") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end
     ) {
-        Employee admin = getAuthenticatedEmployee(authHeader, true);
+        Employee admin = getAuthenticatedEmployee(currentEmployee, true);
         List<DutyScheduleDTO> schedules = dutyScheduleService.getFilteredSchedules(null, null, null);
         byte[] data = reportService.generateDutyCalendar(start, end, schedules);
         ByteArrayResource resource = new ByteArrayResource(data);
@@ -142,12 +140,12 @@ public class DutyScheduleController {
      */
     @GetMapping("/export/vacation")
     public ResponseEntity<Resource> exportVacationFile(
-            @RequestHeader("Authorization") String authHeader,
+            @CurrentEmployee Employee currentEmployee,
             @RequestParam("start") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
             @RequestParam("end") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
             @RequestParam(required = false) String department
     ) {
-        Employee admin = getAuthenticatedEmployee(authHeader, true);
+        Employee admin = getAuthenticatedEmployee(currentEmployee, true);
         if (department != null && department.contains(",")) {
             department = department.substring(0, department.indexOf(",")).trim();
         }
@@ -162,18 +160,12 @@ public class DutyScheduleController {
 
     /**
      * Проверяет токен пользователя и (по необходимости) права администратора.
-     * @param authHeader Заголовок Authorization
+     * @param employee Аутентифицированный сотрудник.
      * @param requireAdmin Требовать ли права администратора для действия
      * @return Сущность Employee
      * @throws IllegalArgumentException если нет доступа/токена
      */
-    private Employee getAuthenticatedEmployee(String authHeader, boolean requireAdmin) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            logger.error("Отсутствует токен в заголовке Authorization");
-            throw new IllegalArgumentException("Требуется токен в заголовке Authorization с префиксом Bearer");
-        }
-        String token = authHeader.substring(7);
-        Employee employee = authService.getEmployeeFromToken(token);
+    private Employee getAuthenticatedEmployee(Employee employee, boolean requireAdmin) {
         if (requireAdmin && !"Администратор".equals(employee.getEmployeePost().getEmployeePermission().getPermission()) &&
                 !"Руководитель отдела".equals(employee.getEmployeePost().getEmployeePermission().getPermission())) {
             logger.error("Доступ запрещён: пользователь не является администратором или руководителем отдела, guid_employee={}", employee.getGuidEmployee());
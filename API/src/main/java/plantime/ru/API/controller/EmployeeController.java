@@ -8,10 +8,12 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import plantime.ru.API.config.CurrentEmployee;
 import plantime.ru.API.dto.EmployeeDTO;
+import plantime.ru.API.dto.EmployeePageDTO;
+import plantime.ru.API.dto.EmployeeSuggestionDTO;
 import plantime.ru.API.dto.ErrorResponse;
 import plantime.ru.API.entity.Employee;
-import plantime.ru.API.service.AuthService;
 import plantime.ru.API.service.EmployeeService;
 
 import java.io.IOException;
@@ -27,21 +29,32 @@ import java.util.List;
 public class EmployeeController {
 
     private final EmployeeService employeeService;
-    private final AuthService authService;
     private static final Logger logger = LoggerFactory.getLogger(EmployeeController.class);
 
-    public EmployeeController(EmployeeService employeeService, AuthService authService) {
+    /**
+     * Заголовок ответа-массива: поиск нашёл больше сотрудников, чем попало в список.
+     */
+    static final String SEARCH_TRUNCATED_HEADER = "X-Search-Truncated";
+
+    public EmployeeController(EmployeeService employeeService) {
         this.employeeService = employeeService;
-        this.authService = authService;
     }
 
     /**
-     * Получает список сотрудников с фильтрацией и поиском.
+     * Получает сотрудников с фильтрацией, поиском и сортировкой.
+     * ?page=0&size=50
+     * ?sort={fio|login|email|dateOfBirth|hourlyRate|lastAuthorization}&order=asc|desc
+     * ?count=false — не считать общее количество (бесконечная прокрутка)
+     * Без page, size и count ответ — полный список сотрудников в прежнем формате (массив),
+     * с любым из них — страница (EmployeePageDTO).
+     * Если поиск (search) нашёл больше сотрудников, чем employees.search.max-guids, в выборку попадают самые
+     * релевантные: в странице выставляется searchTruncated = true (итоги — нижняя граница),
+     * а к массиву добавляется заголовок X-Search-Truncated: true.
      * Доступно всем аутентифицированным пользователям.
      */
     @GetMapping
     public ResponseEntity<?> getAllEmployees(
-            @RequestHeader("Authorization") String authHeader,
+            @CurrentEmployee Employee currentEmployee,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
             @RequestParam(required = false) Integer genderId,
@@ -50,25 +63,60 @@ public class EmployeeController {
             @RequestParam(required = false) BigDecimal minHourlyRate,
             @RequestParam(required = false) BigDecimal maxHourlyRate,
             @RequestParam(required = false) String department,
-            @RequestParam(required = false) String search) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, false);
-        List<EmployeeDTO> employees = employeeService.getAllEmployees(
-                authEmployee, startDate, endDate, genderId, postId, statusId,
-                minHourlyRate, maxHourlyRate, department, search);
-        if (employees.isEmpty()) {
-            return ResponseEntity.ok(new ErrorResponse("Сотрудники отсутствуют", "Список пуст", 200));
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String order,
+            @RequestParam(required = false) Boolean count) {
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, false);
+        if (page == null && size == null && count == null) {
+            EmployeePageDTO employees = employeeService.getAllEmployeesList(
+                    authEmployee, startDate, endDate, genderId, postId, statusId,
+                    minHourlyRate, maxHourlyRate, department, search, sort, order);
+            if (employees.getItems().isEmpty()) {
+                return ResponseEntity.ok(new ErrorResponse("Сотрудники отсутствуют", "Список пуст", 200));
+            }
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (employees.isSearchTruncated()) {
+                response.header(SEARCH_TRUNCATED_HEADER, "true");
+            }
+            return response.body(employees.getItems());
         }
+        EmployeePageDTO employees = employeeService.getAllEmployees(
+                authEmployee, startDate, endDate, genderId, postId, statusId,
+                minHourlyRate, maxHourlyRate, department, search, page, size, sort, order, count == null || count);
         return ResponseEntity.ok(employees);
     }
 
+    /**
+     * Подсказки при поиске сотрудника по мере ввода: совпадения по началу и части ФИО или email,
+     * упорядоченные по релевантности.
+     * ?q=...&limit=10
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<?> suggestEmployees(
+            @CurrentEmployee Employee currentEmployee,
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Integer limit) {
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, false);
+        try {
+            List<EmployeeSuggestionDTO> suggestions = employeeService.suggestEmployees(query, limit);
+            return ResponseEntity.ok(suggestions);
+        } catch (IllegalArgumentException e) {
+            logger.error("Некорректный запрос подсказок сотрудников: {}, guid_employee={}", e.getMessage(), authEmployee.getGuidEmployee());
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage(), "Неверный запрос", 400));
+        }
+    }
+
     /**
      * Получить краткий список сотрудников по наименованию отдела: (Фамилия Имя Отчество (Номер телефона)).
      */
     @GetMapping("/by-department/{department}/short")
     public ResponseEntity<?> getShortEmployeesByDepartment(
             @PathVariable String department,
-            @RequestHeader("Authorization") String authHeader) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, false);
+            @CurrentEmployee Employee currentEmployee) {
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, false);
         List<String> list = employeeService.getShortEmployeesByDepartment(department);
         return ResponseEntity.ok(list);
     }
@@ -81,8 +129,8 @@ public class EmployeeController {
     public ResponseEntity<?> createEmployee(
             @RequestPart("employee") @Valid EmployeeDTO employeeDTO,
             @RequestPart("photo") MultipartFile photo,
-            @RequestHeader("Authorization") String authHeader) throws IOException {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, true);
+            @CurrentEmployee Employee currentEmployee) throws IOException {
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, true);
         EmployeeDTO savedEmployee = employeeService.createEmployee(employeeDTO, photo, authEmployee);
         return ResponseEntity.status(HttpStatus.CREATED).body(savedEmployee);
     }
@@ -96,8 +144,8 @@ public class EmployeeController {
             @PathVariable String guid,
             @RequestPart("employee") @Valid EmployeeDTO employeeDTO,
             @RequestPart(value = "photo", required = false) MultipartFile photo,
-            @RequestHeader("Authorization") String authHeader) throws IOException {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, true);
+            @CurrentEmployee Employee currentEmployee) throws IOException {
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, true);
         EmployeeDTO updatedEmployee = employeeService.updateEmployee(guid, employeeDTO, photo, authEmployee);
         return ResponseEntity.ok(updatedEmployee);
     }
@@ -108,8 +156,8 @@ public class EmployeeController {
     @DeleteMapping("/{guid}")
     public ResponseEntity<String> deleteEmployee(
             @PathVariable String guid,
-            @RequestHeader("Authorization") String authHeader) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, true);
+            @CurrentEmployee Employee currentEmployee) {
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, true);
         employeeService.deleteEmployee(guid, authEmployee);
         return ResponseEntity.ok("Сотрудник успешно удалён");
     }
@@ -121,8 +169,8 @@ public class EmployeeController {
     public ResponseEntity<String> changePassword(
             @PathVariable String guid,
             @RequestParam("newPassword") String newPassword,
-            @RequestHeader("Authorization") String authHeader) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, true);
+            @CurrentEmployee Employee currentEmployee) {
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, true);
         employeeService.changePassword(guid, newPassword, authEmployee);
         return ResponseEntity.ok("Пароль успешно изменён");
     }
@@ -131,13 +179,7 @@ public class EmployeeController {
      * Аутентифицирует сотрудника и проверяет права.
      * requireEditPermission=true — только Администратор или Руководитель отдела.
      */
-    private Employee getAuthenticatedEmployee(String authHeader, boolean requireEditPermission) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            logger.error("Отсутствует или недействителен заголовок авторизации");
-            throw new IllegalArgumentException("Требуется токен в заголовке Authorization с префиксом Bearer");
-        }
-        String token = authHeader.substring(7);
-        Employee employee = authService.getEmployeeFromToken(token);
+    private Employee getAuthenticatedEmployee(Employee employee, boolean requireEditPermission) {
         String permission = employee.getEmployeePost() != null && employee.getEmployeePost().getEmployeePermission() != null
                 ? employee.getEmployeePost().getEmployeePermission().getPermission()
                 : null;
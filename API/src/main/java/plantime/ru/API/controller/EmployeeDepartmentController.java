@@ -3,13 +3,16 @@ package plantime.ru.API.controller;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import plantime.ru.API.config.CurrentEmployee;
 import plantime.ru.API.dto.EmployeeDepartmentDTO;
 import plantime.ru.API.dto.ErrorResponse;
 import plantime.ru.API.entity.Employee;
-import plantime.ru.API.service.AuthService;
+import plantime.ru.API.service.DictionaryCache;
 import plantime.ru.API.service.EmployeeDepartmentService;
 
 import java.util.List;
@@ -23,44 +26,46 @@ import java.util.List;
 public class EmployeeDepartmentController {
 
     private final EmployeeDepartmentService departmentService;
-    private final AuthService authService;
     private static final Logger logger = LoggerFactory.getLogger(EmployeeDepartmentController.class);
 
     /**
      * Конструктор контроллера.
      *
      * @param departmentService Сервис для работы с отделами.
-     * @param authService       Сервис для аутентификации.
      */
-    public EmployeeDepartmentController(EmployeeDepartmentService departmentService, AuthService authService) {
+    public EmployeeDepartmentController(EmployeeDepartmentService departmentService) {
         this.departmentService = departmentService;
-        this.authService = authService;
     }
 
     /**
      * Получает список всех отделов с поддержкой сортировки.
      * Доступно всем аутентифицированным пользователям.
      *
-     * @param authHeader Заголовок авторизации с JWT-токеном.
+     * @param currentEmployee Аутентифицированный сотрудник.
      * @param sortBy     Поле для сортировки.
      * @param order      Порядок сортировки: "asc" или "desc".
-     * @return Список отделов или информативное сообщение, если отделов нет.
+     * @param webRequest Текущий запрос (проверка заголовка If-None-Match).
+     * @return Список отделов или информативное сообщение, если отделов нет; 304 Not Modified, если список не изменился.
      */
     @GetMapping
     public ResponseEntity<?> getAllDepartments(
-            @RequestHeader("Authorization") String authHeader,
+            @CurrentEmployee Employee currentEmployee,
             @RequestParam(value = "sortBy", defaultValue = "department") String sortBy,
-            @RequestParam(value = "order", defaultValue = "asc") String order) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, false);
-        List<EmployeeDepartmentDTO> departments = departmentService.getAllDepartments(authEmployee, sortBy, order);
-        if (departments.isEmpty()) {
-            return ResponseEntity.ok(new ErrorResponse(
+            @RequestParam(value = "order", defaultValue = "asc") String order,
+            WebRequest webRequest) {
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, false);
+        DictionaryCache.Snapshot<EmployeeDepartmentDTO> departments = departmentService.getAllDepartments(authEmployee, sortBy, order);
+        if (webRequest.checkNotModified(departments.etag())) {
+            return null;
+        }
+        if (departments.items().isEmpty()) {
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(new ErrorResponse(
                     "В системе ещё не создано ни одного отдела. Добавьте первый отдел для начала работы.",
                     "Нет доступных отделов",
                     200
             ));
         }
-        return ResponseEntity.ok(departments);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(departments.items());
     }
 
     /**
@@ -69,17 +74,17 @@ public class EmployeeDepartmentController {
      * Поддерживает параметр forceCreate для подтверждения создания при схожести названия.
      *
      * @param departmentDTO DTO с данными отдела.
-     * @param authHeader    Заголовок авторизации с JWT-токеном.
+     * @param currentEmployee Аутентифицированный сотрудник.
      * @param forceCreate   Флаг подтверждения создания при схожем названии.
      * @return DTO созданного отдела или корректное информативное сообщение об ошибке.
      */
     @PostMapping
     public ResponseEntity<?> createDepartment(
             @Valid @RequestBody EmployeeDepartmentDTO departmentDTO,
-            @RequestHeader("Authorization") String authHeader,
+            @CurrentEmployee Employee currentEmployee,
             @RequestParam(value = "forceCreate", required = false) Boolean forceCreate
     ) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, true);
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, true);
         try {
             EmployeeDepartmentDTO savedDepartment = departmentService.createDepartment(departmentDTO, authEmployee, forceCreate);
             return ResponseEntity.status(HttpStatus.CREATED).body(savedDepartment);
@@ -99,7 +104,7 @@ public class EmployeeDepartmentController {
      *
      * @param id            Идентификатор отдела.
      * @param departmentDTO DTO с обновлёнными данными отдела.
-     * @param authHeader    Заголовок авторизации с JWT-токеном.
+     * @param currentEmployee Аутентифицированный сотрудник.
      * @param forceUpdate   Флаг подтверждения обновления при схожем названии.
      * @return DTO обновлённого отдела или информативное сообщение об ошибке.
      */
@@ -107,10 +112,10 @@ public class EmployeeDepartmentController {
     public ResponseEntity<?> updateDepartment(
             @PathVariable Integer id,
             @Valid @RequestBody EmployeeDepartmentDTO departmentDTO,
-            @RequestHeader("Authorization") String authHeader,
+            @CurrentEmployee Employee currentEmployee,
             @RequestParam(value = "forceUpdate", required = false) Boolean forceUpdate
     ) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, true);
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, true);
         try {
             EmployeeDepartmentDTO updatedDepartment = departmentService.updateDepartment(id, departmentDTO, authEmployee, forceUpdate);
             return ResponseEntity.ok(updatedDepartment);
@@ -128,14 +133,14 @@ public class EmployeeDepartmentController {
      * Доступно только администраторам.
      *
      * @param id         Идентификатор отдела.
-     * @param authHeader Заголовок авторизации с JWT-токеном.
+     * @param currentEmployee Аутентифицированный сотрудник.
      * @return Информативное сообщение об успешном удалении.
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteDepartment(
             @PathVariable Integer id,
-            @RequestHeader("Authorization") String authHeader) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, true);
+            @CurrentEmployee Employee currentEmployee) {
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, true);
         try {
             departmentService.deleteDepartment(id, authEmployee);
             return ResponseEntity.ok("Отдел успешно удалён.");
@@ -151,18 +156,12 @@ public class EmployeeDepartmentController {
     /**
      * Аутентифицирует сотрудника и проверяет роль администратора, если требуется.
      *
-     * @param authHeader   Заголовок авторизации с JWT-токеном.
+     * @param employee Аутентифицированный сотрудник.
      * @param requireAdmin Проверять ли наличие роли администратора.
      * @return Аутентифицированный сотрудник.
      * @throws IllegalArgumentException Если токен отсутствует, недействителен или сотрудник не администратор.
      */
-    private Employee getAuthenticatedEmployee(String authHeader, boolean requireAdmin) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            logger.error("Отсутствует или недействителен заголовок авторизации");
-            throw new IllegalArgumentException("Для выполнения операции требуется действительный токен (заголовок Authorization с префиксом Bearer).");
-        }
-        String token = authHeader.substring(7);
-        Employee employee = authService.getEmployeeFromToken(token);
+    private Employee getAuthenticatedEmployee(Employee employee, boolean requireAdmin) {
         if (requireAdmin) {
             String permission = employee.getEmployeePost() != null && employee.getEmployeePost().getEmployeePermission() != null
                     ? employee.getEmployeePost().getEmployeePermission().getPermission()
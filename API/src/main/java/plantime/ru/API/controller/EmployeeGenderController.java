@@ -3,13 +3,16 @@ package plantime.ru.API.controller;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import plantime.ru.API.config.CurrentEmployee;
 import plantime.ru.API.dto.EmployeeGenderDTO;
 import plantime.ru.API.dto.ErrorResponse;
 import plantime.ru.API.entity.Employee;
-import plantime.ru.API.service.AuthService;
+import plantime.ru.API.service.DictionaryCache;
 import plantime.ru.API.service.EmployeeGenderService;
 
 import java.util.List;
@@ -23,44 +26,46 @@ import java.util.List;
 public class EmployeeGenderController {
 
     private final EmployeeGenderService genderService;
-    private final AuthService authService;
     private static final Logger logger = LoggerFactory.getLogger(EmployeeGenderController.class);
 
     /**
      * Конструктор контроллера.
      *
      * @param genderService Сервис для работы с гендерами.
-     * @param authService   Сервис для аутентификации.
      */
-    public EmployeeGenderController(EmployeeGenderService genderService, AuthService authService) {
+    public EmployeeGenderController(EmployeeGenderService genderService) {
         this.genderService = genderService;
-        this.authService = authService;
     }
 
     /**
      * Получает список всех гендеров с поддержкой сортировки.
      * Доступно всем аутентифицированным пользователям.
      *
-     * @param authHeader Заголовок авторизации с JWT-токеном.
+     * @param currentEmployee Аутентифицированный сотрудник.
      * @param sortBy     Поле для сортировки.
      * @param order      Порядок сортировки: "asc" или "desc".
-     * @return Список гендеров или информативное сообщение, если гендеров нет.
+     * @param webRequest Текущий запрос (проверка заголовка If-None-Match).
+     * @return Список гендеров или информативное сообщение, если гендеров нет; 304 Not Modified, если список не изменился.
      */
     @GetMapping
     public ResponseEntity<?> getAllGenders(
-            @RequestHeader("Authorization") String authHeader,
+            @CurrentEmployee Employee currentEmployee,
             @RequestParam(value = "sortBy", defaultValue = "gender") String sortBy,
-            @RequestParam(value = "order", defaultValue = "asc") String order) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, false);
-        List<EmployeeGenderDTO> genders = genderService.getAllGenders(authEmployee, sortBy, order);
-        if (genders.isEmpty()) {
-            return ResponseEntity.ok(new ErrorResponse(
+            @RequestParam(value = "order", defaultValue = "asc") String order,
+            WebRequest webRequest) {
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, false);
+        DictionaryCache.Snapshot<EmployeeGenderDTO> genders = genderService.getAllGenders(authEmployee, sortBy, order);
+        if (webRequest.checkNotModified(genders.etag())) {
+            return null;
+        }
+        if (genders.items().isEmpty()) {
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(new ErrorResponse(
                     "В системе ещё не создано ни одного гендера. Добавьте первый гендер для начала работы.",
                     "Нет доступных гендеров",
                     200
             ));
         }
-        return ResponseEntity.ok(genders);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(genders.items());
     }
 
     /**
@@ -69,17 +74,17 @@ public class EmployeeGenderController {
      * Поддерживает параметр forceCreate для подтверждения создания при схожести названия.
      *
      * @param genderDTO   DTO с данными гендера.
-     * @param authHeader  Заголовок авторизации с JWT-токеном.
+     * @param currentEmployee Аутентифицированный сотрудник.
      * @param forceCreate Флаг подтверждения создания при схожем названии.
      * @return DTO созданного гендера или корректное информативное сообщение об ошибке.
      */
     @PostMapping
     public ResponseEntity<?> createGender(
             @Valid @RequestBody EmployeeGenderDTO genderDTO,
-            @RequestHeader("Authorization") String authHeader,
+            @CurrentEmployee Employee currentEmployee,
             @RequestParam(value = "forceCreate", required = false) Boolean forceCreate
     ) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, true);
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, true);
         try {
             EmployeeGenderDTO savedGender = genderService.createGender(genderDTO, authEmployee, forceCreate);
             return ResponseEntity.status(HttpStatus.CREATED).body(savedGender);
@@ -99,7 +104,7 @@ public class EmployeeGenderController {
      *
      * @param id          Идентификатор гендера.
      * @param genderDTO   DTO с обновлёнными данными гендера.
-     * @param authHeader  Заголовок авторизации с JWT-токеном.
+     * @param currentEmployee Аутентифицированный сотрудник.
      * @param forceUpdate Флаг подтверждения обновления при схожем названии.
      * @return DTO обновлённого гендера или информативное сообщение об ошибке.
      */
@@ -107,10 +112,10 @@ public class EmployeeGenderController {
     public ResponseEntity<?> updateGender(
             @PathVariable Integer id,
             @Valid @RequestBody EmployeeGenderDTO genderDTO,
-            @RequestHeader("Authorization") String authHeader,
+            @CurrentEmployee Employee currentEmployee,
             @RequestParam(value = "forceUpdate", required = false) Boolean forceUpdate
     ) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, true);
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, true);
         try {
             EmployeeGenderDTO updatedGender = genderService.updateGender(id, genderDTO, authEmployee, forceUpdate);
             return ResponseEntity.ok(updatedGender);
@@ -128,14 +133,14 @@ public class EmployeeGenderController {
      * Доступно только администраторам.
      *
      * @param id         Идентификатор гендера.
-     * @param authHeader Заголовок авторизации с JWT-токеном.
+     * @param currentEmployee Аутентифицированный сотрудник.
      * @return Информативное сообщение об успешном удалении.
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteGender(
             @PathVariable Integer id,
-            @RequestHeader("Authorization") String authHeader) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, true);
+            @CurrentEmployee Employee currentEmployee) {
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, true);
         try {
             genderService.deleteGender(id, authEmployee);
             return ResponseEntity.ok("Гендер успешно удалён.");
@@ -151,18 +156,12 @@ public class EmployeeGenderController {
     /**
      * Аутентифицирует сотрудника и проверяет роль администратора, если требуется.
      *
-     * @param authHeader   Заголовок авторизации с JWT-токеном.
+     * @param employee Аутентифицированный сотрудник.
      * @param requireAdmin Проверять ли наличие роли администратора.
      * @return Аутентифицированный сотрудник.
      * @throws IllegalArgumentException Если токен отсутствует, недействителен или сотрудник не администратор.
      */
-    private Employee getAuthenticatedEmployee(String authHeader, boolean requireAdmin) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            logger.error("Отсутствует или недействителен заголовок авторизации");
-            throw new IllegalArgumentException("Для выполнения операции требуется действительный токен (заголовок Authorization с префиксом Bearer).");
-        }
-        String token = authHeader.substring(7);
-        Employee employee = authService.getEmployeeFromToken(token);
+    private Employee getAuthenticatedEmployee(Employee employee, boolean requireAdmin) {
         if (requireAdmin) {
             String permission = employee.getEmployeePost() != null && employee.getEmployeePost().getEmployeePermission() != null
                     ? employee.getEmployeePost().getEmployeePermission().getPermission()
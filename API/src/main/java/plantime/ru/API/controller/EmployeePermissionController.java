@@ -3,13 +3,16 @@ package plantime.ru.API.controller;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import plantime.ru.API.config.CurrentEmployee;
 import plantime.ru.API.dto.EmployeePermissionDTO;
 import plantime.ru.API.dto.ErrorResponse;
 import plantime.ru.API.entity.Employee;
-import plantime.ru.API.service.AuthService;
+import plantime.ru.API.service.DictionaryCache;
 import plantime.ru.API.service.EmployeePermissionService;
 
 import java.util.List;
@@ -23,44 +26,46 @@ import java.util.List;
 public class EmployeePermissionController {
 
     private final EmployeePermissionService permissionService;
-    private final AuthService authService;
     private static final Logger logger = LoggerFactory.getLogger(EmployeePermissionController.class);
 
     /**
      * Конструктор контроллера.
      *
      * @param permissionService Сервис для работы с уровнями прав.
-     * @param authService       Сервис для аутентификации.
      */
-    public EmployeePermissionController(EmployeePermissionService permissionService, AuthService authService) {
+    public EmployeePermissionController(EmployeePermissionService permissionService) {
         this.permissionService = permissionService;
-        this.authService = authService;
     }
 
     /**
      * Получает список всех уровней прав доступа с поддержкой сортировки.
      * Доступно всем аутентифицированным пользователям.
      *
-     * @param authHeader Заголовок авторизации с JWT-токеном.
+     * @param currentEmployee Аутентифицированный сотрудник.
      * @param sortBy     Поле для сортировки.
      * @param order      Порядок сортировки: "asc" или "desc".
-     * @return Список уровней прав или информативное сообщение, если уровней нет.
+     * @param webRequest Текущий запрос (проверка заголовка If-None-Match).
+     * @return Список уровней прав или информативное сообщение, если уровней нет; 304 Not Modified, если список не изменился.
      */
     @GetMapping
     public ResponseEntity<?> getAllPermissions(
-            @RequestHeader("Authorization") String authHeader,
+            @CurrentEmployee Employee currentEmployee,
             @RequestParam(value = "sortBy", defaultValue = "permission") String sortBy,
-            @RequestParam(value = "order", defaultValue = "asc") String order) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, false);
-        List<EmployeePermissionDTO> permissions = permissionService.getAllPermissions(authEmployee, sortBy, order);
-        if (permissions.isEmpty()) {
-            return ResponseEntity.ok(new ErrorResponse(
+            @RequestParam(value = "order", defaultValue = "asc") String order,
+            WebRequest webRequest) {
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, false);
+        DictionaryCache.Snapshot<EmployeePermissionDTO> permissions = permissionService.getAllPermissions(authEmployee, sortBy, order);
+        if (webRequest.checkNotModified(permissions.etag())) {
+            return null;
+        }
+        if (permissions.items().isEmpty()) {
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(new ErrorResponse(
                     "В системе ещё не создано ни одного уровня прав доступа. Добавьте первый уровень для начала работы.",
                     "Нет доступных уровней прав",
                     200
             ));
         }
-        return ResponseEntity.ok(permissions);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(permissions.items());
     }
 
     /**
@@ -69,17 +74,17 @@ public class EmployeePermissionController {
      * Поддерживает параметр forceCreate для подтверждения создания при схожести названия.
      *
      * @param permissionDTO DTO с данными уровня прав.
-     * @param authHeader    Заголовок авторизации с JWT-токеном.
+     * @param currentEmployee Аутентифицированный сотрудник.
      * @param forceCreate   Флаг подтверждения создания при схожем названии.
      * @return DTO созданного уровня прав или корректное информативное сообщение об ошибке.
      */
     @PostMapping
     public ResponseEntity<?> createPermission(
             @Valid @RequestBody EmployeePermissionDTO permissionDTO,
-            @RequestHeader("Authorization") String authHeader,
+            @CurrentEmployee Employee currentEmployee,
             @RequestParam(value = "forceCreate", required = false) Boolean forceCreate
     ) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, true);
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, true);
         try {
             EmployeePermissionDTO savedPermission = permissionService.createPermission(permissionDTO, authEmployee, forceCreate);
             return ResponseEntity.status(HttpStatus.CREATED).body(savedPermission);
@@ -99,7 +104,7 @@ public class EmployeePermissionController {
      *
      * @param id            Идентификатор уровня прав.
      * @param permissionDTO DTO с обновлёнными данными уровня прав.
-     * @param authHeader    Заголовок авторизации с JWT-токеном.
+     * @param currentEmployee Аутентифицированный сотрудник.
      * @param forceUpdate   Флаг подтверждения обновления при схожем названии.
      * @return DTO обновлённого уровня прав или информативное сообщение об ошибке.
      */
@@ -107,10 +112,10 @@ public class EmployeePermissionController {
     public ResponseEntity<?> updatePermission(
             @PathVariable Integer id,
             @Valid @RequestBody EmployeePermissionDTO permissionDTO,
-            @RequestHeader("Authorization") String authHeader,
+            @CurrentEmployee Employee currentEmployee,
             @RequestParam(value = "forceUpdate", required = false) Boolean forceUpdate
     ) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, true);
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, true);
         try {
             EmployeePermissionDTO updatedPermission = permissionService.updatePermission(id, permissionDTO, authEmployee, forceUpdate);
             return ResponseEntity.ok(updatedPermission);
@@ -128,14 +133,14 @@ public class EmployeePermissionController {
      * Доступно только администраторам.
      *
      * @param id         Идентификатор уровня прав.
-     * @param authHeader Заголовок авторизации с JWT-токеном.
+     * @param currentEmployee Аутентифицированный сотрудник.
      * @return Информативное сообщение об успешном удалении.
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deletePermission(
             @PathVariable Integer id,
-            @RequestHeader("Authorization") String authHeader) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, true);
+            @CurrentEmployee Employee currentEmployee) {
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, true);
         try {
             permissionService.deletePermission(id, authEmployee);
             return ResponseEntity.ok("Уровень прав доступа успешно удалён.");
@@ -151,18 +156,12 @@ public class EmployeePermissionController {
     /**
      * Аутентифицирует сотрудника и проверяет роль администратора, если требуется.
      *
-     * @param authHeader   Заголовок авторизации с JWT-токеном.
+     * @param employee Аутентифицированный сотрудник.
      * @param requireAdmin Проверять ли наличие роли администратора.
      * @return Аутентифицированный сотрудник.
      * @throws IllegalArgumentException Если токен отсутствует, недействителен или сотрудник не администратор.
      */
-    private Employee getAuthenticatedEmployee(String authHeader, boolean requireAdmin) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            logger.error("Отсутствует или недействителен заголовок авторизации");
-            throw new IllegalArgumentException("Для выполнения операции требуется действительный токен (заголовок Authorization с префиксом Bearer).");
-        }
-        String token = authHeader.substring(7);
-        Employee employee = authService.getEmployeeFromToken(token);
+    private Employee getAuthenticatedEmployee(Employee employee, boolean requireAdmin) {
         if (requireAdmin) {
             String permission = employee.getEmployeePost() != null && employee.getEmployeePost().getEmployeePermission() != null
                     ? employee.getEmployeePost().getEmployeePermission().getPermission()
@@ -3,13 +3,16 @@ package plantime.ru.API.controller;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import plantime.ru.API.config.CurrentEmployee;
 import plantime.ru.API.dto.EmployeePostDTO;
 import plantime.ru.API.dto.ErrorResponse;
 import plantime.ru.API.entity.Employee;
-import plantime.ru.API.service.AuthService;
+import plantime.ru.API.service.DictionaryCache;
 import plantime.ru.API.service.EmployeePostService;
 
 import java.util.List;
@@ -23,40 +26,43 @@ import java.util.List;
 public class EmployeePostController {
 
     private final EmployeePostService postService;
-    private final AuthService authService;
     private static final Logger logger = LoggerFactory.getLogger(EmployeePostController.class);
 
-    public EmployeePostController(EmployeePostService postService, AuthService authService) {
+    public EmployeePostController(EmployeePostService postService) {
         this.postService = postService;
-        this.authService = authService;
     }
 
     /**
      * Получает список всех должностей с поддержкой сортировки и фильтрации по idEmployeePermission.
      * Доступно всем аутентифицированным пользователям.
      *
-     * @param authHeader Заголовок авторизации с JWT-токеном.
+     * @param currentEmployee Аутентифицированный сотрудник.
      * @param idEmployeePermission Идентификатор уровня прав доступа для фильтрации.
      * @param sortBy Поле сортировки.
      * @param order Порядок сортировки: "asc" или "desc".
-     * @return Список должностей или информативное сообщение, если должностей нет.
+     * @param webRequest Текущий запрос (проверка заголовка If-None-Match).
+     * @return Список должностей или информативное сообщение, если должностей нет; 304 Not Modified, если список не изменился.
      */
     @GetMapping
     public ResponseEntity<?> getAllPosts(
-            @RequestHeader("Authorization") String authHeader,
+            @CurrentEmployee Employee currentEmployee,
             @RequestParam(value = "idEmployeePermission", required = false) Integer idEmployeePermission,
             @RequestParam(value = "sortBy", defaultValue = "post") String sortBy,
-            @RequestParam(value = "order", defaultValue = "asc") String order) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, false);
-        List<EmployeePostDTO> posts = postService.getAllPosts(authEmployee, idEmployeePermission, sortBy, order);
-        if (posts.isEmpty()) {
-            return ResponseEntity.ok(new ErrorResponse(
+            @RequestParam(value = "order", defaultValue = "asc") String order,
+            WebRequest webRequest) {
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, false);
+        DictionaryCache.Snapshot<EmployeePostDTO> posts = postService.getAllPosts(authEmployee, idEmployeePermission, sortBy, order);
+        if (webRequest.checkNotModified(posts.etag())) {
+            return null;
+        }
+        if (posts.items().isEmpty()) {
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(new ErrorResponse(
                     "В системе ещё не создано ни одной должности. Добавьте первую должность для начала работы.",
                     "Нет доступных должностей",
                     200
             ));
         }
-        return ResponseEntity.ok(posts);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(posts.items());
     }
 
     /**
@@ -67,10 +73,10 @@ public class EmployeePostController {
     @PostMapping
     public ResponseEntity<?> createPost(
             @Valid @RequestBody EmployeePostDTO postDTO,
-            @RequestHeader("Authorization") String authHeader,
+            @CurrentEmployee Employee currentEmployee,
             @RequestParam(value = "forceCreate", required = false) Boolean forceCreate
     ) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, true);
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, true);
         try {
             EmployeePostDTO savedPost = postService.createPost(postDTO, authEmployee, forceCreate);
             return ResponseEntity.status(HttpStatus.CREATED).body(savedPost);
@@ -92,10 +98,10 @@ public class EmployeePostController {
     public ResponseEntity<?> updatePost(
             @PathVariable Integer id,
             @Valid @RequestBody EmployeePostDTO postDTO,
-            @RequestHeader("Authorization") String authHeader,
+            @CurrentEmployee Employee currentEmployee,
             @RequestParam(value = "forceUpdate", required = false) Boolean forceUpdate
     ) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, true);
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, true);
         try {
             EmployeePostDTO updatedPost = postService.updatePost(id, postDTO, authEmployee, forceUpdate);
             return ResponseEntity.ok(updatedPost);
@@ -115,8 +121,8 @@ public class EmployeePostController {
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deletePost(
             @PathVariable Integer id,
-            @RequestHeader("Authorization") String authHeader) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, true);
+            @CurrentEmployee Employee currentEmployee) {
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, true);
         try {
             postService.deletePost(id, authEmployee);
             return ResponseEntity.ok("Должность успешно удалена.");
@@ -132,18 +138,12 @@ public class EmployeePostController {
     /**
      * Аутентифицирует сотрудника и проверяет роль администратора, если требуется.
      *
-     * @param authHeader   Заголовок авторизации с JWT-токеном.
+     * @param employee Аутентифицированный сотрудник.
      * @param requireAdmin Проверять ли наличие роли администратора.
      * @return Аутентифицированный сотрудник.
      * @throws IllegalArgumentException Если токен отсутствует, недействителен или сотрудник не администратор.
      */
-    private Employee getAuthenticatedEmployee(String authHeader, boolean requireAdmin) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            logger.error("Отсутствует или недействителен заголовок авторизации");
-            throw new IllegalArgumentException("Для выполнения операции требуется действительный токен (заголовок Authorization с префиксом Bearer).");
-        }
-        String token = authHeader.substring(7);
-        Employee employee = authService.getEmployeeFromToken(token);
+    private Employee getAuthenticatedEmployee(Employee employee, boolean requireAdmin) {
         if (requireAdmin) {
             String permission = employee.getEmployeePost() != null && employee.getEmployeePost().getEmployeePermission() != null
                     ? employee.getEmployeePost().getEmployeePermission().getPermission()
@@ -1,5 +1,7 @@
 package plantime.ru.API.controller;
 
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MissingServletRequestParameterException;
@@ -8,7 +10,11 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
 import plantime.ru.API.dto.ErrorResponse;
 import plantime.ru.API.entity.*;
-import plantime.ru.API.repository.LogRepository;
+import plantime.ru.API.exception.ReportJobNotFoundException;
+import plantime.ru.API.exception.ReportLimitExceededException;
+import plantime.ru.API.exception.ReportNotReadyException;
+import plantime.ru.API.exception.ReportQueueFullException;
+import plantime.ru.API.service.AuditLogWriter;
 
 import java.lang.NoSuchMethodError;
 import java.math.BigDecimal;
@@ -20,7 +26,7 @@ import java.time.LocalDateTime;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
-    private final LogRepository logRepository;
+    private final AuditLogWriter auditLogWriter;
 
     private static final Employee employee = new Employee(
             "00000000-0000-0000-0000-000000000000",
@@ -45,10 +51,10 @@ public class GlobalExceptionHandler {
     /**
      * Конструктор для инициализации обработчика исключений.
      *
-     * @param logRepository Репозиторий для сохранения логов исключений.
+     * @param auditLogWriter Асинхронная запись журнала действий.
      */
-    public GlobalExceptionHandler(LogRepository logRepository) {
-        this.logRepository = logRepository;
+    public GlobalExceptionHandler(AuditLogWriter auditLogWriter) {
+        this.auditLogWriter = auditLogWriter;
     }
 
     /**
@@ -61,7 +67,7 @@ public class GlobalExceptionHandler {
         try {
             String logMessage = String.format("%s: %s (%s)", message, throwable.getMessage(), throwable.getClass().getSimpleName());
             Log log = new Log(employee, logMessage, LocalDateTime.now());
-            logRepository.save(log);
+            auditLogWriter.write(log);
         } catch (Exception logException) {
             System.err.println("Ошибка при сохранении лога: " + logException.getMessage());
         }
@@ -114,6 +120,83 @@ public class GlobalExceptionHandler {
                 .body(new ErrorResponse(message, "Неподдерживаемый метод", 405));
     }
 
+    /**
+     * Обрабатывает исключения типа TaskRejectedException.
+     * Возвращает ошибку 503, когда ограниченный пул потоков (например, проверки паролей) перегружен.
+     *
+     * @param e Исключение TaskRejectedException.
+     * @return Ответ с информацией об ошибке.
+     */
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleTaskRejectedException(TaskRejectedException e) {
+        logError(e, "Сервер перегружен");
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(new ErrorResponse(e.getMessage(), "Сервер перегружен", 503));
+    }
+
+    /**
+     * Обрабатывает исключение ReportJobNotFoundException.
+     * Возвращает ошибку 404, если задание на отчёт не найдено или принадлежит другому сотруднику.
+     *
+     * @param e Исключение ReportJobNotFoundException.
+     * @return Ответ с информацией об ошибке.
+     */
+    @ExceptionHandler(ReportJobNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleReportJobNotFoundException(ReportJobNotFoundException e) {
+        logError(e, "Задание не найдено");
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponse(e.getMessage(), "Не найдено", 404));
+    }
+
+    /**
+     * Обрабатывает исключение ReportNotReadyException.
+     * Возвращает ошибку 409, если отчёт запрошен до завершения формирования.
+     *
+     * @param e Исключение ReportNotReadyException.
+     * @return Ответ с информацией об ошибке.
+     */
+    @ExceptionHandler(ReportNotReadyException.class)
+    public ResponseEntity<ErrorResponse> handleReportNotReadyException(ReportNotReadyException e) {
+        logError(e, "Отчёт не готов");
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(new ErrorResponse(e.getMessage(), "Отчёт не готов", 409));
+    }
+
+    /**
+     * Обрабатывает исключение ReportLimitExceededException.
+     * Возвращает ошибку 429, если сотрудник превысил лимит одновременно формируемых отчётов.
+     *
+     * @param e Исключение ReportLimitExceededException.
+     * @return Ответ с информацией об ошибке.
+     */
+    @ExceptionHandler(ReportLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleReportLimitExceededException(ReportLimitExceededException e) {
+        logError(e, "Превышен лимит отчётов");
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .body(new ErrorResponse(e.getMessage(), "Слишком много запросов", 429));
+    }
+
+    /**
+     * Обрабатывает исключение ReportQueueFullException.
+     * Возвращает ошибку 503, если очередь формирования отчётов переполнена.
+     *
+     * @param e Исключение ReportQueueFullException.
+     * @return Ответ с информацией об ошибке.
+     */
+    @ExceptionHandler(ReportQueueFullException.class)
+    public ResponseEntity<ErrorResponse> handleReportQueueFullException(ReportQueueFullException e) {
+        logError(e, "Очередь отчётов переполнена");
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .body(new ErrorResponse(e.getMessage(), "Сервер перегружен", 503));
+    }
+
     /**
      * Обрабатывает ошибки типа NoSuchMethodError.
      * Возвращает ошибку 500 при несовместимости библиотек или отсутствии метода.
@@ -2,18 +2,25 @@ package plantime.ru.API.controller;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.core.io.ClassPathResource;
-import org.springframework.core.io.Resource;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.CacheControl;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import plantime.ru.API.dto.AvatarSpriteRequest;
 import plantime.ru.API.dto.ErrorResponse;
+import plantime.ru.API.service.AvatarSpriteService;
+import plantime.ru.API.service.ProfileImageService;
 
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Optional;
 
 /**
  * Контроллер для обработки запросов на получение изображений.
@@ -28,41 +35,61 @@ public class ImageController {
     private static final Logger logger = LoggerFactory.getLogger(ImageController.class);
 
     /**
-     * Базовый путь к директории с изображениями сотрудников в ресурсах.
+     * Кэширование фото с версионным именем: содержимое по этому адресу никогда не меняется.
+     * Только в кэше браузера (private): фото сотрудников не должны оседать в общих прокси.
      */
-    private static final String IMAGE_DIR = "static/employee/";
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable();
+
+    /**
+     * Сервис фотографий профиля.
+     */
+    private final ProfileImageService profileImageService;
+
+    /**
+     * Сервис спрайтов аватаров.
+     */
+    private final AvatarSpriteService avatarSpriteService;
+
+    public ImageController(ProfileImageService profileImageService, AvatarSpriteService avatarSpriteService) {
+        this.profileImageService = profileImageService;
+        this.avatarSpriteService = avatarSpriteService;
+    }
 
     /**
      * Возвращает изображение сотрудника по имени файла.
      *
-     * @param filename Имя файла изображения, указанное в запросе.
-     * @return Ответ с изображением в случае успеха, статус 404, если файл не найден,
-     *         или статус 400 с сообщением об ошибке в случае некорректного запроса.
+     * @param filename   Имя файла изображения, указанное в запросе.
+     * @param size       Размер миниатюры в пикселях (необязательно; без него отдаётся оригинал).
+     * @param webRequest Запрос (для проверки If-None-Match).
+     * @return Ответ с изображением в случае успеха, 304, если у клиента актуальная версия,
+     *         статус 404, если файл не найден, или статус 400 с сообщением об ошибке в случае некорректного запроса.
      */
     @GetMapping("/{filename}")
-    public ResponseEntity<?> getImage(@PathVariable String filename) {
+    public ResponseEntity<?> getImage(@PathVariable String filename,
+                                      @RequestParam(required = false) Integer size,
+                                      WebRequest webRequest) {
         try {
-            if (filename.contains("..") || filename.contains("/")) {
-                logger.error("Некорректное имя файла: {}", filename);
-                return ResponseEntity
-                        .status(400)
-                        .body(new ErrorResponse("Некорректное имя файла", "Неверный запрос", 400));
-            }
-
-            Path filePath = Paths.get(IMAGE_DIR, filename).normalize();
-            Resource resource = new ClassPathResource(filePath.toString());
-
-            if (resource.exists() && resource.isReadable()) {
-                String contentType = determineContentType(filename);
-                return ResponseEntity.ok()
-                        .contentType(MediaType.parseMediaType(contentType))
-                        .body(resource);
-            } else {
+            Optional<ProfileImageService.Image> found = profileImageService.get(filename, size);
+            if (found.isEmpty()) {
                 logger.warn("Файл не найден: {}", filename);
                 return ResponseEntity
                         .status(404)
                         .body(new ErrorResponse("Изображение не найдено", "Файл отсутствует", 404));
             }
+            ProfileImageService.Image image = found.get();
+            if (webRequest.checkNotModified(image.etag())) {
+                return null;
+            }
+            return ResponseEntity.ok()
+                    .cacheControl(image.immutable() ? IMMUTABLE : CacheControl.noCache())
+                    .eTag(image.etag())
+                    .contentType(MediaType.parseMediaType(image.contentType()))
+                    .body(image.bytes());
+        } catch (IllegalArgumentException e) {
+            logger.error("Некорректный запрос изображения {}: {}", filename, e.getMessage());
+            return ResponseEntity
+                    .status(400)
+                    .body(new ErrorResponse(e.getMessage(), "Неверный запрос", 400));
         } catch (Exception e) {
             logger.error("Ошибка при получении изображения {}: {}", filename, e.getMessage());
             return ResponseEntity
@@ -72,23 +99,58 @@ public class ImageController {
     }
 
     /**
-     * Определяет Тип изображения на основе расширения файла.
+     * Возвращает описание спрайта аватаров для списка сотрудников: адрес изображения и смещения аватаров в нём.
+     * Страница списка загружает все аватары одним запросом изображения.
+     *
+     * @param request GUID сотрудников и размер аватара.
+     * @return Описание спрайта или статус 400 с сообщением об ошибке.
+     */
+    @PostMapping("/sprite")
+    public ResponseEntity<?> describeSprite(@RequestBody AvatarSpriteRequest request) {
+        try {
+            return ResponseEntity.ok(avatarSpriteService.describe(request.getGuids(), request.getSize()));
+        } catch (IllegalArgumentException e) {
+            logger.error("Некорректный запрос спрайта аватаров: {}", e.getMessage());
+            return ResponseEntity
+                    .status(400)
+                    .body(new ErrorResponse(e.getMessage(), "Неверный запрос", 400));
+        }
+    }
+
+    /**
+     * Возвращает изображение спрайта аватаров.
      *
-     * @param filename Имя файла изображения.
-     * @return Тип изображения или "image/jpeg" по умолчанию.
+     * @param id         Идентификатор спрайта из описания.
+     * @param webRequest Запрос (для проверки If-None-Match).
+     * @return Изображение, 304, если у клиента актуальная версия, 404, если описание спрайта устарело,
+     *         или 503, если пул изображений перегружен.
      */
-    private String determineContentType(String filename) {
-        String lowercaseFilename = filename.toLowerCase();
-        if (lowercaseFilename.endsWith(".png")) {
-            return "image/png";
-        } else if (lowercaseFilename.endsWith(".gif")) {
-            return "image/gif";
-        } else if (lowercaseFilename.endsWith(".jpg") || lowercaseFilename.endsWith(".jpeg")) {
-            return "image/jpeg";
-        } else if (lowercaseFilename.endsWith(".webp")) {
-            return "image/webp";
+    @GetMapping("/sprite/{id}.jpg")
+    public ResponseEntity<?> getSprite(@PathVariable String id, WebRequest webRequest) {
+        try {
+            Optional<ProfileImageService.Image> found = avatarSpriteService.render(id);
+            if (found.isEmpty()) {
+                return ResponseEntity
+                        .status(404)
+                        .body(new ErrorResponse("Спрайт не найден, запросите описание повторно", "Спрайт устарел", 404));
+            }
+            ProfileImageService.Image image = found.get();
+            if (webRequest.checkNotModified(image.etag())) {
+                return null;
+            }
+            return ResponseEntity.ok()
+                    .cacheControl(image.immutable() ? IMMUTABLE : CacheControl.noCache())
+                    .eTag(image.etag())
+                    .contentType(MediaType.IMAGE_JPEG)
+                    .body(image.bytes());
+        } catch (TaskRejectedException e) {
+            // Пул изображений перегружен — 503 формирует GlobalExceptionHandler
+            throw e;
+        } catch (Exception e) {
+            logger.error("Ошибка при формировании спрайта {}: {}", id, e.getMessage());
+            return ResponseEntity
+                    .status(400)
+                    .body(new ErrorResponse("Ошибка при формировании спрайта: " + e.getMessage(), "Неверный запрос", 400));
         }
-        logger.warn("Неизвестное расширение файла {}, используется image/jpeg по умолчанию", filename);
-        return "image/jpeg";
     }
-}
\ No newline at end of file
+}
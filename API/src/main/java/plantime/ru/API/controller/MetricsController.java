@@ -0,0 +1,117 @@
+package plantime.ru.API.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import plantime.ru.API.config.CurrentEmployee;
+import plantime.ru.API.dto.AuditMetricsDTO;
+import plantime.ru.API.dto.AuthMetricsDTO;
+import plantime.ru.API.dto.DictionaryCacheMetricsDTO;
+import plantime.ru.API.dto.MailMetricsDTO;
+import plantime.ru.API.dto.PurgeMetricsDTO;
+import plantime.ru.API.entity.Employee;
+import plantime.ru.API.service.AuditLogWriter;
+import plantime.ru.API.service.AuthService;
+import plantime.ru.API.service.DictionaryCache;
+import plantime.ru.API.service.MailOutboxService;
+import plantime.ru.API.service.SessionPurgeService;
+
+/**
+ * Контроллер служебных метрик приложения.
+ * Доступен только администраторам.
+ */
+@RestController
+@RequestMapping("/api/metrics")
+public class MetricsController {
+
+    private final AuditLogWriter auditLogWriter;
+    private final AuthService authService;
+    private final SessionPurgeService sessionPurgeService;
+    private final MailOutboxService mailOutboxService;
+    private final DictionaryCache dictionaryCache;
+    private static final Logger logger = LoggerFactory.getLogger(MetricsController.class);
+
+    public MetricsController(AuditLogWriter auditLogWriter, AuthService authService, SessionPurgeService sessionPurgeService,
+                             MailOutboxService mailOutboxService, DictionaryCache dictionaryCache) {
+        this.auditLogWriter = auditLogWriter;
+        this.authService = authService;
+        this.sessionPurgeService = sessionPurgeService;
+        this.mailOutboxService = mailOutboxService;
+        this.dictionaryCache = dictionaryCache;
+    }
+
+    /**
+     * Метрики асинхронной записи журнала действий: глубина очереди, длительность записи пакетов,
+     * количество отброшенных событий.
+     */
+    @GetMapping("/audit")
+    public ResponseEntity<AuditMetricsDTO> getAuditMetrics(@CurrentEmployee Employee currentEmployee) {
+        getAdmin(currentEmployee);
+        return ResponseEntity.ok(auditLogWriter.getMetrics());
+    }
+
+    /**
+     * Метрики проверки токенов: попадания в кэш, обращения к таблице session, средняя длительность проверки.
+     * Позволяет сравнить режимы session и stateless на реальной нагрузке.
+     */
+    @GetMapping("/auth")
+    public ResponseEntity<AuthMetricsDTO> getAuthMetrics(@CurrentEmployee Employee currentEmployee) {
+        getAdmin(currentEmployee);
+        return ResponseEntity.ok(authService.getMetrics());
+    }
+
+    /**
+     * Метрики очистки истёкших сессий и токенов сброса пароля.
+     */
+    @GetMapping("/purge")
+    public ResponseEntity<PurgeMetricsDTO> getPurgeMetrics(@CurrentEmployee Employee currentEmployee) {
+        getAdmin(currentEmployee);
+        return ResponseEntity.ok(sessionPurgeService.getMetrics());
+    }
+
+    /**
+     * Немедленный запуск очистки истёкших сессий и токенов сброса пароля.
+     */
+    @PostMapping("/purge")
+    public ResponseEntity<PurgeMetricsDTO> runPurge(@CurrentEmployee Employee currentEmployee) {
+        Employee admin = getAdmin(currentEmployee);
+        logger.info("Ручной запуск очистки истёкших сессий, guid_employee={}", admin.getGuidEmployee());
+        return ResponseEntity.ok(sessionPurgeService.purge());
+    }
+
+    /**
+     * Метрики очереди исходящих писем: ожидающие, недоставленные (DEAD), отправленные.
+     */
+    @GetMapping("/mail")
+    public ResponseEntity<MailMetricsDTO> getMailMetrics(@CurrentEmployee Employee currentEmployee) {
+        getAdmin(currentEmployee);
+        return ResponseEntity.ok(mailOutboxService.getMetrics());
+    }
+
+    /**
+     * Метрики кэша справочников: попадания, загрузки из базы, сбросы после изменений.
+     */
+    @GetMapping("/dictionaries")
+    public ResponseEntity<DictionaryCacheMetricsDTO> getDictionaryCacheMetrics(@CurrentEmployee Employee currentEmployee) {
+        getAdmin(currentEmployee);
+        return ResponseEntity.ok(dictionaryCache.getMetrics());
+    }
+
+    /**
+     * Проверяет токен пользователя и права администратора.
+     * @param employee Аутентифицированный сотрудник.
+     * @return Сущность Employee
+     * @throws IllegalArgumentException если нет доступа/токена
+     */
+    private Employee getAdmin(Employee employee) {
+        String permission = employee.getEmployeePost() != null && employee.getEmployeePost().getEmployeePermission() != null
+                ? employee.getEmployeePost().getEmployeePermission().getPermission()
+                : null;
+        if (!"Администратор".equals(permission)) {
+            logger.error("Доступ к метрикам запрещён, guid_employee={}", employee.getGuidEmployee());
+            throw new IllegalArgumentException("Доступ разрешён только администраторам");
+        }
+        return employee;
+    }
+}
@@ -3,13 +3,16 @@ package plantime.ru.API.controller;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import plantime.ru.API.config.CurrentEmployee;
 import plantime.ru.API.dto.ProjectStatusDTO;
 import plantime.ru.API.dto.ErrorResponse;
 import plantime.ru.API.entity.Employee;
-import plantime.ru.API.service.AuthService;
+import plantime.ru.API.service.DictionaryCache;
 import plantime.ru.API.service.ProjectStatusService;
 
 import java.util.List;
@@ -23,45 +26,47 @@ import java.util.List;
 public class ProjectStatusController {
 
     private final ProjectStatusService statusService;
-    private final AuthService authService;
     private static final Logger logger = LoggerFactory.getLogger(ProjectStatusController.class);
 
     /**
      * Конструктор контроллера.
      *
      * @param statusService Сервис для работы со статусами проектов.
-     * @param authService   Сервис для аутентификации.
      */
-    public ProjectStatusController(ProjectStatusService statusService, AuthService authService) {
+    public ProjectStatusController(ProjectStatusService statusService) {
         this.statusService = statusService;
-        this.authService = authService;
     }
 
     /**
      * Получает список всех статусов проектов с поддержкой сортировки.
      * Доступно всем аутентифицированным пользователям.
      *
-     * @param authHeader Заголовок авторизации с JWT-токеном.
+     * @param currentEmployee Аутентифицированный сотрудник.
      * @param sortBy     Поле для сортировки.
      * @param order      Порядок сортировки: "asc" или "desc".
-     * @return Список статусов проектов или информативное сообщение, если статусов нет.
+     * @param webRequest Текущий запрос (проверка заголовка If-None-Match).
+     * @return Список статусов проектов или информативное сообщение, если статусов нет; 304 Not Modified, если список не изменился.
      */
     @GetMapping
     public ResponseEntity<?> getAllStatuses(
-            @RequestHeader("Authorization") String authHeader,
+            @CurrentEmployee Employee currentEmployee,
             @RequestParam(value = "sortBy", defaultValue = "status") String sortBy,
-            @RequestParam(value = "order", defaultValue = "asc") String order
+            @RequestParam(value = "order", defaultValue = "asc") String order,
+            WebRequest webRequest
     ) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, false);
-        List<ProjectStatusDTO> statuses = statusService.getAllStatuses(authEmployee, sortBy, order);
-        if (statuses.isEmpty()) {
-            return ResponseEntity.ok(new ErrorResponse(
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, false);
+        DictionaryCache.Snapshot<ProjectStatusDTO> statuses = statusService.getAllStatuses(authEmployee, sortBy, order);
+        if (webRequest.checkNotModified(statuses.etag())) {
+            return null;
+        }
+        if (statuses.items().isEmpty()) {
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(new ErrorResponse(
                     "В системе ещё не создано ни одного статуса проекта. Добавьте первый статус для начала работы.",
                     "Нет доступных статусов проектов",
                     200
             ));
         }
-        return ResponseEntity.ok(statuses);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(statuses.items());
     }
 
     /**
@@ -70,17 +75,17 @@ public class ProjectStatusController {
      * Поддерживает параметр forceCreate для подтверждения создания при схожести названия.
      *
      * @param statusDTO   DTO с данными статуса проекта.
-     * @param authHeader  Заголовок авторизации с JWT-токеном.
+     * @param currentEmployee Аутентифицированный сотрудник.
      * @param forceCreate Флаг подтверждения создания при схожем названии.
      * @return DTO созданного статуса проекта или корректное информативное сообщение об ошибке.
      */
     @PostMapping
     public ResponseEntity<?> createStatus(
             @Valid @RequestBody ProjectStatusDTO statusDTO,
-            @RequestHeader("Authorization") String authHeader,
+            @CurrentEmployee Employee currentEmployee,
             @RequestParam(value = "forceCreate", required = false) Boolean forceCreate
     ) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, true);
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, true);
         try {
             ProjectStatusDTO savedStatus = statusService.createStatus(statusDTO, authEmployee, forceCreate);
             return ResponseEntity.status(HttpStatus.CREATED).body(savedStatus);
@@ -100,7 +105,7 @@ public class ProjectStatusController {
      *
      * @param id          Идентификатор статуса проекта.
      * @param statusDTO   DTO с обновлёнными данными статуса проекта.
-     * @param authHeader  Заголовок авторизации с JWT-токеном.
+     * @param currentEmployee Аутентифицированный сотрудник.
      * @param forceUpdate Флаг подтверждения обновления при схожем названии.
      * @return DTO обновлённого статуса проекта или информативное сообщение об ошибке.
      */
@@ -108,10 +113,10 @@ public class ProjectStatusController {
     public ResponseEntity<?> updateStatus(
             @PathVariable Integer id,
             @Valid @RequestBody ProjectStatusDTO statusDTO,
-            @RequestHeader("Authorization") String authHeader,
+            @CurrentEmployee Employee currentEmployee,
             @RequestParam(value = "forceUpdate", required = false) Boolean forceUpdate
     ) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, true);
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, true);
         try {
             ProjectStatusDTO updatedStatus = statusService.updateStatus(id, statusDTO, authEmployee, forceUpdate);
             return ResponseEntity.ok(updatedStatus);
@@ -129,15 +134,15 @@ public class ProjectStatusController {
      * Доступно только администраторам.
      *
      * @param id         Идентификатор статуса проекта.
-     * @param authHeader Заголовок авторизации с JWT-токеном.
+     * @param currentEmployee Аутентифицированный сотрудник.
      * @return Информативное сообщение об успешном удалении.
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteStatus(
             @PathVariable Integer id,
-            @RequestHeader("Authorization") String authHeader
+            @CurrentEmployee Employee currentEmployee
     ) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, true);
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, true);
         try {
             statusService.deleteStatus(id, authEmployee);
             return ResponseEntity.ok("Статус проекта успешно удалён.");
@@ -153,18 +158,12 @@ public class ProjectStatusController {
     /**
      * Аутентифицирует сотрудника и проверяет роль администратора, если требуется.
      *
-     * @param authHeader   Заголовок авторизации с JWT-токеном.
+     * @param employee Аутентифицированный сотрудник.
      * @param requireAdmin Проверять ли наличие роли администратора.
      * @return Аутентифицированный сотрудник.
      * @throws IllegalArgumentException Если токен отсутствует, недействителен или сотрудник не администратор.
      */
-    private Employee getAuthenticatedEmployee(String authHeader, boolean requireAdmin) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            logger.error("Отсутствует или недействителен заголовок авторизации");
-            throw new IllegalArgumentException("Для выполнения операции требуется действительный токен (заголовок Authorization с префиксом Bearer).");
-        }
-        String token = authHeader.substring(7);
-        Employee employee = authService.getEmployeeFromToken(token);
+    private Employee getAuthenticatedEmployee(Employee employee, boolean requireAdmin) {
         if (requireAdmin) {
             String permission = employee.getEmployeePost() != null && employee.getEmployeePost().getEmployeePermission() != null
                     ? employee.getEmployeePost().getEmployeePermission().getPermission()
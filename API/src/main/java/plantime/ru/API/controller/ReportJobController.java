@@ -0,0 +1,155 @@
+package plantime.ru.API.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import plantime.ru.API.config.CurrentEmployee;
+import plantime.ru.API.dto.DutyScheduleDTO;
+import plantime.ru.API.dto.ReportJobDTO;
+import plantime.ru.API.entity.Employee;
+import plantime.ru.API.service.DutyScheduleReportService;
+import plantime.ru.API.service.DutyScheduleService;
+import plantime.ru.API.service.ReportJobService;
+import plantime.ru.API.service.TaskService;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Контроллер фонового формирования отчётов.
+ * Клиент ставит задание в очередь, получает его идентификатор, опрашивает статус
+ * и скачивает готовый файл, не занимая поток Tomcat на время формирования.
+ * Статус и файл задания доступны только сотруднику, поставившему его в очередь.
+ */
+@RestController
+@RequestMapping("/api/reports")
+public class ReportJobController {
+
+    private static final MediaType XLSX = MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
+    private final ReportJobService reportJobService;
+    private final TaskService taskService;
+    private final DutyScheduleService dutyScheduleService;
+    private final DutyScheduleReportService dutyScheduleReportService;
+    private static final Logger logger = LoggerFactory.getLogger(ReportJobController.class);
+
+    public ReportJobController(ReportJobService reportJobService, TaskService taskService, DutyScheduleService dutyScheduleService,
+                               DutyScheduleReportService dutyScheduleReportService) {
+        this.reportJobService = reportJobService;
+        this.taskService = taskService;
+        this.dutyScheduleService = dutyScheduleService;
+        this.dutyScheduleReportService = dutyScheduleReportService;
+    }
+
+    /**
+     * Поставить в очередь выгрузку задач в Excel (параметры как у /api/tasks/export/excel).
+     */
+    @PostMapping("/tasks")
+    public ResponseEntity<ReportJobDTO> submitTasksReport(
+            @CurrentEmployee Employee currentEmployee,
+            @RequestParam(required = false) Integer idOrganization,
+            @RequestParam(required = false) Integer idTaskType,
+            @RequestParam(required = false) String counterparty,
+            @RequestParam(required = false) Integer idTaskStatus,
+            @RequestParam(required = false) String dateFrom,
+            @RequestParam(required = false) String dateTo
+    ) {
+        Employee employee = getAuthenticatedEmployee(currentEmployee, false);
+        String params = String.join("|", String.valueOf(idOrganization), String.valueOf(idTaskType), String.valueOf(counterparty),
+                String.valueOf(idTaskStatus), String.valueOf(dateFrom), String.valueOf(dateTo));
+        ReportJobDTO job = reportJobService.submit("TASKS", params, "tasks.xlsx", employee.getGuidEmployee(),
+                out -> taskService.exportTasksToExcel(idOrganization, idTaskType, counterparty, idTaskStatus, dateFrom, dateTo, out));
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    /**
+     * Поставить в очередь формирование календаря дежурств/отпусков.
+     */
+    @PostMapping("/duty-calendar")
+    public ResponseEntity<ReportJobDTO> submitDutyCalendar(
+            @CurrentEmployee Employee currentEmployee,
+            @RequestParam("start") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam("end") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end
+    ) {
+        Employee admin = getAuthenticatedEmployee(currentEmployee, true);
+        ReportJobDTO job = reportJobService.submit("DUTY_CALENDAR", start + "|" + end, "DutyCalendar.xlsx", admin.getGuidEmployee(),
+                out -> {
+                    List<DutyScheduleDTO> schedules = dutyScheduleService.getFilteredSchedules(null, null, null);
+                    out.write(dutyScheduleReportService.generateDutyCalendar(start, end, schedules));
+                });
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    /**
+     * Поставить в очередь формирование графика дежурств и отсутствий по шаблону.
+     */
+    @PostMapping("/vacation")
+    public ResponseEntity<ReportJobDTO> submitVacationReport(
+            @CurrentEmployee Employee currentEmployee,
+            @RequestParam("start") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam("end") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+            @RequestParam(required = false) String department
+    ) {
+        Employee admin = getAuthenticatedEmployee(currentEmployee, true);
+        String dept = department != null && department.contains(",")
+                ? department.substring(0, department.indexOf(",")).trim()
+                : department;
+        ReportJobDTO job = reportJobService.submit("VACATION", start + "|" + end + "|" + dept,
+                "Schedule of on-call and absence of employees.xlsx", admin.getGuidEmployee(),
+                out -> {
+                    List<DutyScheduleDTO> schedules = dutyScheduleService.getSchedulesForPeriod(start, end, dept);
+                    out.write(dutyScheduleReportService.generateVacationCalendar(start, end, schedules));
+                });
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    /**
+     * Получить статус задания.
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ReportJobDTO> getJobStatus(@CurrentEmployee Employee currentEmployee, @PathVariable String jobId) {
+        Employee employee = getAuthenticatedEmployee(currentEmployee, false);
+        return ResponseEntity.ok(reportJobService.getStatus(jobId, employee.getGuidEmployee()));
+    }
+
+    /**
+     * Скачать готовый отчёт. Файл отдаётся с диска потоково, без загрузки в память.
+     */
+    @GetMapping("/{jobId}/file")
+    public ResponseEntity<Resource> downloadReport(@CurrentEmployee Employee currentEmployee, @PathVariable String jobId) {
+        Employee employee = getAuthenticatedEmployee(currentEmployee, false);
+        FileSystemResource resource = new FileSystemResource(reportJobService.getFile(jobId, employee.getGuidEmployee()));
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename(reportJobService.getFileName(jobId, employee.getGuidEmployee()), StandardCharsets.UTF_8)
+                .build();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .contentType(XLSX)
+                .body(resource);
+    }
+
+    /**
+     * Проверяет токен пользователя и (по необходимости) права администратора.
+     * @param employee Аутентифицированный сотрудник.
+     * @param requireAdmin Требовать ли права администратора или руководителя отдела
+     * @return Сущность Employee
+     * @throws IllegalArgumentException если нет доступа/токена
+     */
+    private Employee getAuthenticatedEmployee(Employee employee, boolean requireAdmin) {
+        if (requireAdmin && !"Администратор".equals(employee.getEmployeePost().getEmployeePermission().getPermission()) &&
+                !"Руководитель отдела".equals(employee.getEmployeePost().getEmployeePermission().getPermission())) {
+            logger.error("Доступ запрещён: пользователь не является администратором или руководителем отдела, guid_employee={}", employee.getGuidEmployee());
+            throw new IllegalArgumentException("Только администраторы или руководители отдела могут формировать этот отчёт");
+        }
+        return employee;
+    }
+}
@@ -6,10 +6,10 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import plantime.ru.API.config.CurrentEmployee;
 import plantime.ru.API.dto.ServiceDTO;
 import plantime.ru.API.dto.ErrorResponse;
 import plantime.ru.API.entity.Employee;
-import plantime.ru.API.service.AuthService;
 import plantime.ru.API.service.ServiceService;
 
 import java.math.BigDecimal;
@@ -25,19 +25,17 @@ import java.util.List;
 public class ServiceController {
 
     private final ServiceService serviceService;
-    private final AuthService authService;
     private static final Logger logger = LoggerFactory.getLogger(ServiceController.class);
 
-    public ServiceController(ServiceService serviceService, AuthService authService) {
+    public ServiceController(ServiceService serviceService) {
         this.serviceService = serviceService;
-        this.authService = authService;
     }
 
     /**
      * Получает список всех услуг с возможностью фильтрации по диапазону цены и сортировкой.
      * Доступно всем аутентифицированным пользователям.
      *
-     * @param authHeader Заголовок авторизации с JWT-токеном.
+     * @param currentEmployee Аутентифицированный сотрудник.
      * @param minPrice   Минимальная цена.
      * @param maxPrice   Максимальная цена.
      * @param sortBy     Поле сортировки ("service", "price" и т.д.).
@@ -46,13 +44,13 @@ public class ServiceController {
      */
     @GetMapping
     public ResponseEntity<?> getAllServices(
-            @RequestHeader("Authorization") String authHeader,
+            @CurrentEmployee Employee currentEmployee,
             @RequestParam(value = "minPrice", required = false) BigDecimal minPrice,
             @RequestParam(value = "maxPrice", required = false) BigDecimal maxPrice,
             @RequestParam(value = "sortBy", required = false, defaultValue = "service") String sortBy,
             @RequestParam(value = "order", required = false, defaultValue = "asc") String order
     ) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, false);
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, false);
         List<ServiceDTO> services = serviceService.getAllServices(minPrice, maxPrice, sortBy, order);
         if (services.isEmpty()) {
             return ResponseEntity.ok(new ErrorResponse(
@@ -73,10 +71,10 @@ public class ServiceController {
     @PostMapping
     public ResponseEntity<?> createService(
             @Valid @RequestBody ServiceDTO serviceDTO,
-            @RequestHeader("Authorization") String authHeader,
+            @CurrentEmployee Employee currentEmployee,
             @RequestParam(value = "forceCreate", required = false) Boolean forceCreate
     ) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, true);
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, true);
         try {
             ServiceDTO savedService = serviceService.createService(serviceDTO, authEmployee, forceCreate);
             return ResponseEntity.status(HttpStatus.CREATED).body(savedService);
@@ -99,10 +97,10 @@ public class ServiceController {
     public ResponseEntity<?> updateService(
             @PathVariable Integer id,
             @Valid @RequestBody ServiceDTO serviceDTO,
-            @RequestHeader("Authorization") String authHeader,
+            @CurrentEmployee Employee currentEmployee,
             @RequestParam(value = "forceUpdate", required = false) Boolean forceUpdate
     ) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, true);
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, true);
         try {
             ServiceDTO updatedService = serviceService.updateService(id, serviceDTO, authEmployee, forceUpdate);
             return ResponseEntity.ok(updatedService);
@@ -122,9 +120,9 @@ public class ServiceController {
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteService(
             @PathVariable Integer id,
-            @RequestHeader("Authorization") String authHeader
+            @CurrentEmployee Employee currentEmployee
     ) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, true);
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, true);
         try {
             serviceService.deleteService(id, authEmployee);
             return ResponseEntity.ok("Услуга успешно удалена.");
@@ -140,18 +138,12 @@ public class ServiceController {
     /**
      * Аутентифицирует сотрудника и проверяет роль администратора, если требуется.
      *
-     * @param authHeader   Заголовок авторизации с JWT-токеном.
+     * @param employee Аутентифицированный сотрудник.
      * @param requireAdmin Проверять ли наличие роли администратора.
      * @return Аутентифицированный сотрудник.
      * @throws IllegalArgumentException Если токен отсутствует, недействителен или сотрудник не администратор.
      */
-    private Employee getAuthenticatedEmployee(String authHeader, boolean requireAdmin) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            logger.error("Отсутствует или недействителен заголовок авторизации");
-            throw new IllegalArgumentException("Для выполнения операции требуется действительный токен (заголовок Authorization с префиксом Bearer).");
-        }
-        String token = authHeader.substring(7);
-        Employee employee = authService.getEmployeeFromToken(token);
+    private Employee getAuthenticatedEmployee(Employee employee, boolean requireAdmin) {
         if (requireAdmin) {
             String permission = employee.getEmployeePost() != null && employee.getEmployeePost().getEmployeePermission() != null
                     ? employee.getEmployeePost().getEmployeePermission().getPermission()
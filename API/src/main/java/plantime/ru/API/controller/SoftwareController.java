@@ -6,10 +6,10 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import plantime.ru.API.config.CurrentEmployee;
 import plantime.ru.API.dto.SoftwareDTO;
 import plantime.ru.API.dto.ErrorResponse;
 import plantime.ru.API.entity.Employee;
-import plantime.ru.API.service.AuthService;
 import plantime.ru.API.service.SoftwareService;
 
 import java.util.List;
@@ -22,12 +22,10 @@ import java.util.List;
 public class SoftwareController {
 
     private final SoftwareService softwareService;
-    private final AuthService authService;
     private static final Logger logger = LoggerFactory.getLogger(SoftwareController.class);
 
-    public SoftwareController(SoftwareService softwareService, AuthService authService) {
+    public SoftwareController(SoftwareService softwareService) {
         this.softwareService = softwareService;
-        this.authService = authService;
     }
 
     /**
@@ -36,11 +34,11 @@ public class SoftwareController {
      */
     @GetMapping
     public ResponseEntity<?> getAllSoftware(
-            @RequestHeader("Authorization") String authHeader,
+            @CurrentEmployee Employee currentEmployee,
             @RequestParam(value = "sortBy", defaultValue = "software") String sortBy,
             @RequestParam(value = "order", defaultValue = "asc") String order
     ) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, true);
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, true);
         List<SoftwareDTO> list = softwareService.getAllSoftware(authEmployee, sortBy, order);
         if (list.isEmpty()) {
             return ResponseEntity.ok(new ErrorResponse("ПО отсутствует", "Список пуст", 200));
@@ -55,9 +53,9 @@ public class SoftwareController {
     @PostMapping
     public ResponseEntity<SoftwareDTO> createSoftware(
             @Valid @RequestBody SoftwareDTO softwareDTO,
-            @RequestHeader("Authorization") String authHeader
+            @CurrentEmployee Employee currentEmployee
     ) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, true);
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, true);
         SoftwareDTO saved = softwareService.createSoftware(softwareDTO, authEmployee);
         return ResponseEntity.status(HttpStatus.CREATED).body(saved);
     }
@@ -70,9 +68,9 @@ public class SoftwareController {
     public ResponseEntity<SoftwareDTO> updateSoftware(
             @PathVariable Integer id,
             @Valid @RequestBody SoftwareDTO softwareDTO,
-            @RequestHeader("Authorization") String authHeader
+            @CurrentEmployee Employee currentEmployee
     ) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, true);
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, true);
         SoftwareDTO updated = softwareService.updateSoftware(id, softwareDTO, authEmployee);
         return ResponseEntity.ok(updated);
     }
@@ -84,20 +82,14 @@ public class SoftwareController {
     @DeleteMapping("/{id}")
     public ResponseEntity<String> deleteSoftware(
             @PathVariable Integer id,
-            @RequestHeader("Authorization") String authHeader
+            @CurrentEmployee Employee currentEmployee
     ) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, true);
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, true);
         softwareService.deleteSoftware(id, authEmployee);
         return ResponseEntity.ok("ПО успешно удалено");
     }
 
-    private Employee getAuthenticatedEmployee(String authHeader, boolean requireAdmin) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            logger.error("Отсутствует или недействителен заголовок авторизации");
-            throw new IllegalArgumentException("Требуется токен в заголовке Authorization с префиксом Bearer");
-        }
-        String token = authHeader.substring(7);
-        Employee employee = authService.getEmployeeFromToken(token);
+    private Employee getAuthenticatedEmployee(Employee employee, boolean requireAdmin) {
         if (requireAdmin) {
             String permission = employee.getEmployeePost() != null && employee.getEmployeePost().getEmployeePermission() != null
                     ? employee.getEmployeePost().getEmployeePermission().getPermission()
@@ -1,14 +1,16 @@
 package plantime.ru.API.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import plantime.ru.API.dto.*;
 import plantime.ru.API.service.TaskService;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -20,6 +22,29 @@ public class TaskController {
         this.taskService = taskService;
     }
 
+    // 1. Постраничная загрузка списка (курсор — idTask последней полученной задачи)
+    @GetMapping
+    public TaskPageDTO getTasksPage(
+            @RequestParam(required = false) Integer cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String guidExecutor,
+            @RequestParam(required = false) Integer idOrganization
+    ) {
+        return taskService.getTasksPage(cursor, limit, guidExecutor, idOrganization);
+    }
+
+    // 1. Потоковая загрузка списка в формате NDJSON, без материализации всего списка на сервере
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamTasks(
+            @RequestParam(required = false) String guidExecutor,
+            @RequestParam(required = false) Integer idOrganization,
+            HttpServletResponse response
+    ) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        taskService.streamTasks(guidExecutor, idOrganization, response.getOutputStream());
+    }
+
     // 1. Загрузка списка по GUID сотрудника или ID проекта (организации)
     @GetMapping("/by-executor/{guidExecutor}")
     public List<TaskDTO> getTasksByExecutor(@PathVariable String guidExecutor) {
@@ -46,7 +71,7 @@ public class TaskController {
 
     // 3. Генерация Excel-отчёта по задачам
     @GetMapping("/export/excel")
-    public ResponseEntity<?> exportTasksToExcel(
+    public ResponseEntity<StreamingResponseBody> exportTasksToExcel(
             @RequestParam(required = false) Integer idOrganization,
             @RequestParam(required = false) Integer idTaskType,
             @RequestParam(required = false) String counterparty,
@@ -54,13 +79,12 @@ public class TaskController {
             @RequestParam(required = false) String dateFrom,
             @RequestParam(required = false) String dateTo
     ) {
-        byte[] excelBytes = taskService.exportTasksToExcel(idOrganization, idTaskType, counterparty, idTaskStatus, dateFrom, dateTo);
-        ByteArrayResource resource = new ByteArrayResource(excelBytes);
+        StreamingResponseBody body = out -> taskService.exportTasksToExcel(
+                idOrganization, idTaskType, counterparty, idTaskStatus, dateFrom, dateTo, out);
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=tasks.xlsx")
                 .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .contentLength(excelBytes.length)
-                .body(resource);
+                .body(body);
     }
 
     // 4. Добавление, редактирование, удаление (контроль по GUID исполнителя)
@@ -111,6 +135,16 @@ public class TaskController {
         }
     }
 
+    // Полная замена списка ПО задачи
+    @PutMapping("/{id}/softwares")
+    public ResponseEntity<?> replaceTaskSoftwares(@PathVariable int id, @RequestBody List<Integer> softwareIds) {
+        try {
+            return ResponseEntity.ok(taskService.replaceSoftware(id, softwareIds));
+        } catch (Exception ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
     @DeleteMapping("/{id}/softwares/{idSoftware}")
     public ResponseEntity<?> deleteTaskSoftware(@PathVariable int id, @PathVariable int idSoftware) {
         try {
@@ -140,6 +174,16 @@ public class TaskController {
         }
     }
 
+    // Полная замена исполнителей задачи (сопоставление по guidPerformer)
+    @PutMapping("/{id}/performers")
+    public ResponseEntity<?> replacePerformers(@PathVariable int id, @RequestBody List<ListPerformerDTO> performers) {
+        try {
+            return ResponseEntity.ok(taskService.replacePerformers(id, performers));
+        } catch (Exception ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
     @DeleteMapping("/performers/{idListPerformers}")
     public ResponseEntity<?> deletePerformer(@PathVariable int idListPerformers) {
         try {
@@ -150,6 +194,17 @@ public class TaskController {
         }
     }
 
+    // Карточка задачи: задача и разделы одним запросом; fields — список разделов через запятую
+    // (notes, checklist, performers, software, services), по умолчанию все
+    @GetMapping("/{id}/card")
+    public ResponseEntity<?> getTaskCard(@PathVariable int id, @RequestParam(required = false) List<String> fields) {
+        try {
+            return ResponseEntity.ok(taskService.getTaskCard(id, fields));
+        } catch (Exception ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
     // Notes (чат, с файлами)
     @GetMapping("/{id}/notes")
     public ResponseEntity<?> getNotes(@PathVariable int id) {
@@ -193,6 +248,16 @@ public class TaskController {
         }
     }
 
+    // Полная замена чек-листа: пункты с idChecklist обновляются, без него — добавляются, остальные удаляются
+    @PutMapping("/{id}/checklist")
+    public ResponseEntity<?> replaceChecklist(@PathVariable int id, @RequestBody List<ChecklistDTO> items) {
+        try {
+            return ResponseEntity.ok(taskService.replaceChecklist(id, items));
+        } catch (Exception ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
     @PutMapping("/checklist/{checklistId}")
     public ResponseEntity<?> updateChecklistItem(@PathVariable int checklistId, @RequestBody ChecklistDTO item) {
         try {
@@ -250,6 +315,16 @@ public class TaskController {
         }
     }
 
+    // Полная замена услуг задачи: строки с idListServices обновляются, без него — добавляются, остальные удаляются
+    @PutMapping("/{id}/services")
+    public ResponseEntity<?> replaceTaskServices(@PathVariable int id, @RequestBody List<ServiceDTO> services) {
+        try {
+            return ResponseEntity.ok(taskService.replaceServices(id, services));
+        } catch (Exception ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
     @PutMapping("/{id}/services/{idListServices}")
     public ResponseEntity<?> updateTaskService(@PathVariable int id, @PathVariable int idListServices, @RequestBody ServiceDTO dto) {
         try {
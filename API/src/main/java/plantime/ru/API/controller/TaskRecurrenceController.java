@@ -4,6 +4,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import plantime.ru.API.config.CurrentEmployee;
 import plantime.ru.API.dto.TaskRecurrenceDTO;
 import plantime.ru.API.entity.Employee;
 import plantime.ru.API.service.*;
@@ -14,25 +15,22 @@ import plantime.ru.API.service.*;
 public class TaskRecurrenceController {
 
     private final TaskRecurrenceService recurrenceService;
-    private final AuthService authService;
 
     @GetMapping
     public ResponseEntity<?> getAll(
-            @RequestHeader("Authorization") String authHeader,
+            @CurrentEmployee Employee employee,
             @RequestParam(defaultValue = "recurrencePattern") String sortBy,
             @RequestParam(defaultValue = "asc") String order
     ) {
-        Employee employee = authService.getEmployeeFromToken(authHeader.substring(7));
         return ResponseEntity.ok(recurrenceService.getAllRecurrences(employee, sortBy, order));
     }
 
     @PostMapping
     public ResponseEntity<?> create(
             @Valid @RequestBody TaskRecurrenceDTO dto,
-            @RequestHeader("Authorization") String authHeader,
+            @CurrentEmployee Employee employee,
             @RequestParam(required = false) Boolean forceCreate
     ) {
-        Employee employee = authService.getEmployeeFromToken(authHeader.substring(7));
         return ResponseEntity.ok(recurrenceService.createRecurrence(dto, employee, forceCreate));
     }
 
@@ -40,19 +38,17 @@ public class TaskRecurrenceController {
     public ResponseEntity<?> update(
             @PathVariable Integer id,
             @Valid @RequestBody TaskRecurrenceDTO dto,
-            @RequestHeader("Authorization") String authHeader,
+            @CurrentEmployee Employee employee,
             @RequestParam(required = false) Boolean forceUpdate
     ) {
-        Employee employee = authService.getEmployeeFromToken(authHeader.substring(7));
         return ResponseEntity.ok(recurrenceService.updateRecurrence(id, dto, employee, forceUpdate));
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<?> delete(
             @PathVariable Integer id,
-            @RequestHeader("Authorization") String authHeader
+            @CurrentEmployee Employee employee
     ) {
-        Employee employee = authService.getEmployeeFromToken(authHeader.substring(7));
         recurrenceService.deleteRecurrence(id, employee);
         return ResponseEntity.ok("Шаблон периодичности удалён");
     }
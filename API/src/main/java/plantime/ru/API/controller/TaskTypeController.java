@@ -3,13 +3,16 @@ package plantime.ru.API.controller;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import plantime.ru.API.config.CurrentEmployee;
 import plantime.ru.API.dto.TaskTypeDTO;
 import plantime.ru.API.dto.ErrorResponse;
 import plantime.ru.API.entity.Employee;
-import plantime.ru.API.service.AuthService;
+import plantime.ru.API.service.DictionaryCache;
 import plantime.ru.API.service.TaskTypeService;
 
 import java.util.List;
@@ -23,39 +26,42 @@ import java.util.List;
 public class TaskTypeController {
 
     private final TaskTypeService taskTypeService;
-    private final AuthService authService;
     private static final Logger logger = LoggerFactory.getLogger(TaskTypeController.class);
 
-    public TaskTypeController(TaskTypeService taskTypeService, AuthService authService) {
+    public TaskTypeController(TaskTypeService taskTypeService) {
         this.taskTypeService = taskTypeService;
-        this.authService = authService;
     }
 
     /**
      * Получает список всех типов задач с сортировкой.
      * Доступно всем аутентифицированным пользователям.
      *
-     * @param authHeader Заголовок авторизации с JWT-токеном.
+     * @param currentEmployee Аутентифицированный сотрудник.
      * @param sortBy     Поле для сортировки.
      * @param order      Порядок сортировки: "asc" или "desc".
-     * @return Список типов задач или информативное сообщение, если типов нет.
+     * @param webRequest Текущий запрос (проверка заголовка If-None-Match).
+     * @return Список типов задач или информативное сообщение, если типов нет; 304 Not Modified, если список не изменился.
      */
     @GetMapping
     public ResponseEntity<?> getAllTaskTypes(
-            @RequestHeader("Authorization") String authHeader,
+            @CurrentEmployee Employee currentEmployee,
             @RequestParam(value = "sortBy", defaultValue = "type") String sortBy,
-            @RequestParam(value = "order", defaultValue = "asc") String order
+            @RequestParam(value = "order", defaultValue = "asc") String order,
+            WebRequest webRequest
     ) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, false);
-        List<TaskTypeDTO> types = taskTypeService.getAllTaskTypes(authEmployee, sortBy, order);
-        if (types.isEmpty()) {
-            return ResponseEntity.ok(new ErrorResponse(
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, false);
+        DictionaryCache.Snapshot<TaskTypeDTO> types = taskTypeService.getAllTaskTypes(authEmployee, sortBy, order);
+        if (webRequest.checkNotModified(types.etag())) {
+            return null;
+        }
+        if (types.items().isEmpty()) {
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(new ErrorResponse(
                     "В системе ещё не создано ни одного типа задачи. Добавьте первый тип для начала работы.",
                     "Нет доступных типов задач",
                     200
             ));
         }
-        return ResponseEntity.ok(types);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(types.items());
     }
 
     /**
@@ -64,17 +70,17 @@ public class TaskTypeController {
      * Поддерживает параметр forceCreate для подтверждения создания при схожести названия.
      *
      * @param taskTypeDTO DTO с данными типа задачи.
-     * @param authHeader  Заголовок авторизации с JWT-токеном.
+     * @param currentEmployee Аутентифицированный сотрудник.
      * @param forceCreate Флаг подтверждения создания при схожем названии.
      * @return DTO созданного типа задачи или корректное информативное сообщение об ошибке.
      */
     @PostMapping
     public ResponseEntity<?> createTaskType(
             @Valid @RequestBody TaskTypeDTO taskTypeDTO,
-            @RequestHeader("Authorization") String authHeader,
+            @CurrentEmployee Employee currentEmployee,
             @RequestParam(value = "forceCreate", required = false) Boolean forceCreate
     ) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, true);
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, true);
         try {
             TaskTypeDTO savedType = taskTypeService.createTaskType(taskTypeDTO, authEmployee, forceCreate);
             return ResponseEntity.status(HttpStatus.CREATED).body(savedType);
@@ -94,7 +100,7 @@ public class TaskTypeController {
      *
      * @param id          Идентификатор типа задачи.
      * @param taskTypeDTO DTO с обновлёнными данными типа задачи.
-     * @param authHeader  Заголовок авторизации с JWT-токеном.
+     * @param currentEmployee Аутентифицированный сотрудник.
      * @param forceUpdate Флаг подтверждения обновления при схожем названии.
      * @return DTO обновлённого типа задачи или информативное сообщение об ошибке.
      */
@@ -102,10 +108,10 @@ public class TaskTypeController {
     public ResponseEntity<?> updateTaskType(
             @PathVariable Integer id,
             @Valid @RequestBody TaskTypeDTO taskTypeDTO,
-            @RequestHeader("Authorization") String authHeader,
+            @CurrentEmployee Employee currentEmployee,
             @RequestParam(value = "forceUpdate", required = false) Boolean forceUpdate
     ) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, true);
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, true);
         try {
             TaskTypeDTO updatedType = taskTypeService.updateTaskType(id, taskTypeDTO, authEmployee, forceUpdate);
             return ResponseEntity.ok(updatedType);
@@ -123,15 +129,15 @@ public class TaskTypeController {
      * Доступно только администраторам.
      *
      * @param id         Идентификатор типа задачи.
-     * @param authHeader Заголовок авторизации с JWT-токеном.
+     * @param currentEmployee Аутентифицированный сотрудник.
      * @return Информативное сообщение об успешном удалении.
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteTaskType(
             @PathVariable Integer id,
-            @RequestHeader("Authorization") String authHeader
+            @CurrentEmployee Employee currentEmployee
     ) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, true);
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, true);
         try {
             taskTypeService.deleteTaskType(id, authEmployee);
             return ResponseEntity.ok("Тип задачи успешно удалён.");
@@ -147,18 +153,12 @@ public class TaskTypeController {
     /**
      * Аутентифицирует сотрудника и проверяет роль администратора, если требуется.
      *
-     * @param authHeader   Заголовок авторизации с JWT-токеном.
+     * @param employee Аутентифицированный сотрудник.
      * @param requireAdmin Проверять ли наличие роли администратора.
      * @return Аутентифицированный сотрудник.
      * @throws IllegalArgumentException Если токен отсутствует, недействителен или сотрудник не администратор.
      */
-    private Employee getAuthenticatedEmployee(String authHeader, boolean requireAdmin) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            logger.error("Отсутствует или недействителен заголовок авторизации");
-            throw new IllegalArgumentException("Для выполнения операции требуется действительный токен (заголовок Authorization с префиксом Bearer).");
-        }
-        String token = authHeader.substring(7);
-        Employee employee = authService.getEmployeeFromToken(token);
+    private Employee getAuthenticatedEmployee(Employee employee, boolean requireAdmin) {
         if (requireAdmin) {
             String permission = employee.getEmployeePost() != null && employee.getEmployeePost().getEmployeePermission() != null
                     ? employee.getEmployeePost().getEmployeePermission().getPermission()
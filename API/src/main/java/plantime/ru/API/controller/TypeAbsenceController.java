@@ -3,13 +3,16 @@ package plantime.ru.API.controller;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import plantime.ru.API.config.CurrentEmployee;
 import plantime.ru.API.dto.TypeAbsenceDTO;
 import plantime.ru.API.dto.ErrorResponse;
 import plantime.ru.API.entity.Employee;
-import plantime.ru.API.service.AuthService;
+import plantime.ru.API.service.DictionaryCache;
 import plantime.ru.API.service.TypeAbsenceService;
 
 import java.util.List;
@@ -23,39 +26,42 @@ import java.util.List;
 public class TypeAbsenceController {
 
     private final TypeAbsenceService typeAbsenceService;
-    private final AuthService authService;
     private static final Logger logger = LoggerFactory.getLogger(TypeAbsenceController.class);
 
-    public TypeAbsenceController(TypeAbsenceService typeAbsenceService, AuthService authService) {
+    public TypeAbsenceController(TypeAbsenceService typeAbsenceService) {
         this.typeAbsenceService = typeAbsenceService;
-        this.authService = authService;
     }
 
     /**
      * Получает список всех типов отсутствия с поддержкой сортировки.
      * Доступно всем аутентифицированным пользователям.
      *
-     * @param authHeader Заголовок авторизации с JWT-токеном.
+     * @param currentEmployee Аутентифицированный сотрудник.
      * @param sortBy     Поле для сортировки.
      * @param order      Порядок сортировки: "asc" или "desc".
-     * @return Список типов отсутствия или информативное сообщение, если типов нет.
+     * @param webRequest Текущий запрос (проверка заголовка If-None-Match).
+     * @return Список типов отсутствия или информативное сообщение, если типов нет; 304 Not Modified, если список не изменился.
      */
     @GetMapping
     public ResponseEntity<?> getAllTypes(
-            @RequestHeader("Authorization") String authHeader,
+            @CurrentEmployee Employee currentEmployee,
             @RequestParam(value = "sortBy", defaultValue = "typeOfAbsence") String sortBy,
-            @RequestParam(value = "order", defaultValue = "asc") String order
+            @RequestParam(value = "order", defaultValue = "asc") String order,
+            WebRequest webRequest
     ) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, false);
-        List<TypeAbsenceDTO> types = typeAbsenceService.getAllTypes(authEmployee, sortBy, order);
-        if (types.isEmpty()) {
-            return ResponseEntity.ok(new ErrorResponse(
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, false);
+        DictionaryCache.Snapshot<TypeAbsenceDTO> types = typeAbsenceService.getAllTypes(authEmployee, sortBy, order);
+        if (webRequest.checkNotModified(types.etag())) {
+            return null;
+        }
+        if (types.items().isEmpty()) {
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(new ErrorResponse(
                     "В системе ещё не создано ни одного типа отсутствия. Добавьте первый тип для начала работы.",
                     "Нет доступных типов отсутствия",
                     200
             ));
         }
-        return ResponseEntity.ok(types);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(types.items());
     }
 
     /**
@@ -64,17 +70,17 @@ public class TypeAbsenceController {
      * Поддерживает параметр forceCreate для подтверждения создания при схожести названия.
      *
      * @param typeAbsenceDTO DTO с данными типа отсутствия.
-     * @param authHeader     Заголовок авторизации с JWT-токеном.
+     * @param currentEmployee Аутентифицированный сотрудник.
      * @param forceCreate    Флаг подтверждения создания при схожем названии.
      * @return DTO созданного типа отсутствия или корректное информативное сообщение об ошибке.
      */
     @PostMapping
     public ResponseEntity<?> createType(
             @Valid @RequestBody TypeAbsenceDTO typeAbsenceDTO,
-            @RequestHeader("Authorization") String authHeader,
+            @CurrentEmployee Employee currentEmployee,
             @RequestParam(value = "forceCreate", required = false) Boolean forceCreate
     ) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, true);
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, true);
         try {
             TypeAbsenceDTO savedType = typeAbsenceService.createType(typeAbsenceDTO, authEmployee, forceCreate);
             return ResponseEntity.status(HttpStatus.CREATED).body(savedType);
@@ -94,7 +100,7 @@ public class TypeAbsenceController {
      *
      * @param id           Идентификатор типа отсутствия.
      * @param typeAbsenceDTO DTO с обновлёнными данными типа отсутствия.
-     * @param authHeader   Заголовок авторизации с JWT-токеном.
+     * @param currentEmployee Аутентифицированный сотрудник.
      * @param forceUpdate  Флаг подтверждения обновления при схожем названии.
      * @return DTO обновлённого типа отсутствия или информативное сообщение об ошибке.
      */
@@ -102,10 +108,10 @@ public class TypeAbsenceController {
     public ResponseEntity<?> updateType(
             @PathVariable Integer id,
             @Valid @RequestBody TypeAbsenceDTO typeAbsenceDTO,
-            @RequestHeader("Authorization") String authHeader,
+            @CurrentEmployee Employee currentEmployee,
             @RequestParam(value = "forceUpdate", required = false) Boolean forceUpdate
     ) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, true);
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, true);
         try {
             TypeAbsenceDTO updatedType = typeAbsenceService.updateType(id, typeAbsenceDTO, authEmployee, forceUpdate);
             return ResponseEntity.ok(updatedType);
@@ -123,14 +129,14 @@ public class TypeAbsenceController {
      * Доступно только администраторам.
      *
      * @param id         Идентификатор типа отсутствия.
-     * @param authHeader Заголовок авторизации с JWT-токеном.
+     * @param currentEmployee Аутентифицированный сотрудник.
      * @return Информативное сообщение об успешном удалении.
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteType(
             @PathVariable Integer id,
-            @RequestHeader("Authorization") String authHeader) {
-        Employee authEmployee = getAuthenticatedEmployee(authHeader, true);
+            @CurrentEmployee Employee currentEmployee) {
+        Employee authEmployee = getAuthenticatedEmployee(currentEmployee, true);
         try {
             typeAbsenceService.deleteType(id, authEmployee);
             return ResponseEntity.ok("Тип отсутствия успешно удалён.");
@@ -146,18 +152,12 @@ public class TypeAbsenceController {
     /**
      * Аутентифицирует сотрудника и проверяет роль администратора, если требуется.
      *
-     * @param authHeader   Заголовок авторизации с JWT-токеном.
+     * @param employee Аутентифицированный сотрудник.
      * @param requireAdmin Проверять ли наличие роли администратора.
      * @return Аутентифицированный сотрудник.
      * @throws IllegalArgumentException Если токен отсутствует, недействителен или сотрудник не администратор.
      */
-    private Employee getAuthenticatedEmployee(String authHeader, boolean requireAdmin) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            logger.error("Отсутствует или недействителен заголовок авторизации");
-            throw new IllegalArgumentException("Для выполнения операции требуется действительный токен (заголовок Authorization с префиксом Bearer).");
-        }
-        String token = authHeader.substring(7);
-        Employee employee = authService.getEmployeeFromToken(token);
+    private Employee getAuthenticatedEmployee(Employee employee, boolean requireAdmin) {
         if (requireAdmin) {
             String permission = employee.getEmployeePost() != null && employee.getEmployeePost().getEmployeePermission() != null
                     ? employee.getEmployeePost().getEmployeePermission().getPermission()
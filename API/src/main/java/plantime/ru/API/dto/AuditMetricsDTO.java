@@ -0,0 +1,56 @@
+package plantime.ru.API.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO с метриками асинхронной записи журнала действий.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditMetricsDTO {
+
+    /**
+     * Текущее количество событий в очереди.
+     */
+    private int queueDepth;
+
+    /**
+     * Ёмкость очереди.
+     */
+    private int queueCapacity;
+
+    /**
+     * Количество записанных в БД событий.
+     */
+    private long writtenEvents;
+
+    /**
+     * Количество событий, отброшенных из-за переполнения очереди.
+     */
+    private long droppedEvents;
+
+    /**
+     * Количество событий, не записанных из-за ошибки БД.
+     */
+    private long failedEvents;
+
+    /**
+     * Количество выполненных пакетных записей.
+     */
+    private long flushCount;
+
+    /**
+     * Длительность последней пакетной записи в миллисекундах.
+     */
+    private long lastFlushMillis;
+
+    /**
+     * Максимальная длительность пакетной записи в миллисекундах.
+     */
+    private long maxFlushMillis;
+}
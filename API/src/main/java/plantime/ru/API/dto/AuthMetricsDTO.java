@@ -0,0 +1,66 @@
+package plantime.ru.API.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO с метриками проверки JWT-токенов.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthMetricsDTO {
+
+    /**
+     * Режим проверки токенов (session или stateless).
+     */
+    private String verificationMode;
+
+    /**
+     * Количество проверок, обслуженных из кэша.
+     */
+    private long cacheHits;
+
+    /**
+     * Количество полных проверок (разбор токена и загрузка сотрудника).
+     */
+    private long verifications;
+
+    /**
+     * Количество обращений к таблице session.
+     */
+    private long sessionLookups;
+
+    /**
+     * Средняя длительность полной проверки в микросекундах.
+     */
+    private long avgVerifyMicros;
+
+    /**
+     * Количество отозванных токенов с момента запуска.
+     */
+    private long revokedTokens;
+
+    /**
+     * Количество операций BCrypt (хеширование и проверка паролей).
+     */
+    private long passwordHashOperations;
+
+    /**
+     * Средняя длительность операции BCrypt с учётом ожидания в очереди, в микросекундах.
+     */
+    private long avgPasswordHashMicros;
+
+    /**
+     * Текущее число операций BCrypt в очереди.
+     */
+    private int passwordHashQueueDepth;
+
+    /**
+     * Количество операций BCrypt, отклонённых из-за перегрузки.
+     */
+    private long passwordHashRejected;
+}
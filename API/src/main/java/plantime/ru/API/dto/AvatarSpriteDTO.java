@@ -0,0 +1,58 @@
+package plantime.ru.API.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO с описанием спрайта аватаров: адрес изображения и положение аватара каждого сотрудника в нём.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvatarSpriteDTO {
+
+    /**
+     * Положение аватара в спрайте (левый верхний угол, px).
+     *
+     * @param x Смещение по горизонтали.
+     * @param y Смещение по вертикали.
+     */
+    public record Offset(int x, int y) {
+    }
+
+    /**
+     * Адрес изображения спрайта (null, если ни у одного сотрудника нет фото).
+     */
+    private String url;
+
+    /**
+     * Размер аватара в пикселях.
+     */
+    private int size;
+
+    /**
+     * Ширина спрайта в пикселях.
+     */
+    private int width;
+
+    /**
+     * Высота спрайта в пикселях.
+     */
+    private int height;
+
+    /**
+     * Положение аватаров по GUID сотрудника.
+     */
+    private Map<String, Offset> offsets;
+
+    /**
+     * GUID сотрудников без фото или не найденных.
+     */
+    private List<String> missing;
+}
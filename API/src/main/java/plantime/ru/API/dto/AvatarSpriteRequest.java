@@ -0,0 +1,28 @@
+package plantime.ru.API.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Запрос спрайта аватаров сотрудников.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvatarSpriteRequest {
+
+    /**
+     * GUID сотрудников в порядке отображения.
+     */
+    private List<String> guids;
+
+    /**
+     * Размер аватара в пикселях (один из размеров миниатюр; по умолчанию наименьший).
+     */
+    private Integer size;
+}
@@ -0,0 +1,40 @@
+package plantime.ru.API.dto;
+
+import java.util.List;
+
+/**
+ * Страница контрактов при постраничной выборке с фильтрами.
+ * page — номер страницы с нуля, totalElements — число контрактов, подходящих под фильтры.
+ */
+public class ContractPageDTO {
+    private List<ContractDTO> items;
+    private int page;
+    private int size;
+    private long totalElements;
+    private int totalPages;
+
+    public ContractPageDTO() {}
+
+    public ContractPageDTO(List<ContractDTO> items, int page, int size, long totalElements, int totalPages) {
+        this.items = items;
+        this.page = page;
+        this.size = size;
+        this.totalElements = totalElements;
+        this.totalPages = totalPages;
+    }
+
+    public List<ContractDTO> getItems() { return items; }
+    public void setItems(List<ContractDTO> items) { this.items = items; }
+
+    public int getPage() { return page; }
+    public void setPage(int page) { this.page = page; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public long getTotalElements() { return totalElements; }
+    public void setTotalElements(long totalElements) { this.totalElements = totalElements; }
+
+    public int getTotalPages() { return totalPages; }
+    public void setTotalPages(int totalPages) { this.totalPages = totalPages; }
+}
@@ -0,0 +1,35 @@
+package plantime.ru.API.dto;
+
+import java.util.List;
+
+/**
+ * Страница результатов поиска контрагентов, упорядоченных по релевантности.
+ * page — номер страницы с нуля, totalElements — число всех найденных контрагентов.
+ */
+public class CustomerSearchDTO {
+    private List<CustomerDTO> items;
+    private int page;
+    private int size;
+    private long totalElements;
+
+    public CustomerSearchDTO() {}
+
+    public CustomerSearchDTO(List<CustomerDTO> items, int page, int size, long totalElements) {
+        this.items = items;
+        this.page = page;
+        this.size = size;
+        this.totalElements = totalElements;
+    }
+
+    public List<CustomerDTO> getItems() { return items; }
+    public void setItems(List<CustomerDTO> items) { this.items = items; }
+
+    public int getPage() { return page; }
+    public void setPage(int page) { this.page = page; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public long getTotalElements() { return totalElements; }
+    public void setTotalElements(long totalElements) { this.totalElements = totalElements; }
+}
@@ -0,0 +1,36 @@
+package plantime.ru.API.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO с метриками кэша справочников.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DictionaryCacheMetricsDTO {
+
+    /**
+     * Количество справочников, находящихся в кэше.
+     */
+    private int cachedDictionaries;
+
+    /**
+     * Запросы списков, обслуженные из кэша.
+     */
+    private long hits;
+
+    /**
+     * Запросы списков, потребовавшие загрузки из базы.
+     */
+    private long misses;
+
+    /**
+     * Количество сбросов кэша после изменения справочников.
+     */
+    private long invalidations;
+}
@@ -99,6 +99,26 @@ public class EmployeeDTO {
         this.idEmployeeGender = idEmployeeGender;
     }
 
+    /**
+     * Конструктор для JPQL-проекции: сотрудник вместе с названиями должности, статуса, отдела и пола
+     * одним запросом, без загрузки сущностей и пароля.
+     */
+    public EmployeeDTO(
+            String guidEmployee, String login, String email, String surname, String firstName,
+            String patronymic, String profilePicture, LocalDateTime lastAuthorization, LocalDateTime dateOfBirth,
+            String phoneNumber, BigDecimal hourlyRate, String note,
+            Integer idEmployeePost, String postName, Integer idEmployeeStatus, String statusName,
+            Integer idEmployeeDepartment, String departmentName, Integer idEmployeeGender, String genderName
+    ) {
+        this(guidEmployee, login, email, null, surname, firstName, patronymic, profilePicture, lastAuthorization,
+                dateOfBirth, phoneNumber, hourlyRate, note, idEmployeePost, idEmployeeStatus, idEmployeeDepartment,
+                idEmployeeGender);
+        this.postName = postName;
+        this.statusName = statusName;
+        this.departmentName = departmentName;
+        this.genderName = genderName;
+    }
+
     // --- Геттеры и сеттеры ---
     public String getGuidEmployee() { return guidEmployee; }
     public void setGuidEmployee(String guidEmployee) { this.guidEmployee = guidEmployee; }
@@ -0,0 +1,53 @@
+package plantime.ru.API.dto;
+
+import java.util.List;
+
+/**
+ * Страница сотрудников при постраничной выборке с фильтрами.
+ * page — номер страницы с нуля; totalElements и totalPages равны null, если подсчёт не запрашивался
+ * (бесконечная прокрутка), — тогда о продолжении списка говорит hasNext.
+ * searchTruncated = true означает, что поиск нашёл больше сотрудников, чем допускает отбор
+ * (employees.search.max-guids): в выборку попали только самые релевантные совпадения, поэтому
+ * totalElements и totalPages — нижняя граница, а сортировка применяется к этому подмножеству. Запрос стоит уточнить.
+ */
+public class EmployeePageDTO {
+    private List<EmployeeDTO> items;
+    private int page;
+    private int size;
+    private boolean hasNext;
+    private Long totalElements;
+    private Integer totalPages;
+    private boolean searchTruncated;
+
+    public EmployeePageDTO() {}
+
+    public EmployeePageDTO(List<EmployeeDTO> items, int page, int size, boolean hasNext, Long totalElements, Integer totalPages) {
+        this.items = items;
+        this.page = page;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.totalElements = totalElements;
+        this.totalPages = totalPages;
+    }
+
+    public List<EmployeeDTO> getItems() { return items; }
+    public void setItems(List<EmployeeDTO> items) { this.items = items; }
+
+    public int getPage() { return page; }
+    public void setPage(int page) { this.page = page; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public boolean isHasNext() { return hasNext; }
+    public void setHasNext(boolean hasNext) { this.hasNext = hasNext; }
+
+    public Long getTotalElements() { return totalElements; }
+    public void setTotalElements(Long totalElements) { this.totalElements = totalElements; }
+
+    public Integer getTotalPages() { return totalPages; }
+    public void setTotalPages(Integer totalPages) { this.totalPages = totalPages; }
+
+    public boolean isSearchTruncated() { return searchTruncated; }
+    public void setSearchTruncated(boolean searchTruncated) { this.searchTruncated = searchTruncated; }
+}
@@ -0,0 +1,36 @@
+package plantime.ru.API.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO подсказки при поиске сотрудника по мере ввода.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeSuggestionDTO {
+
+    /**
+     * Уникальный идентификатор сотрудника.
+     */
+    private String guidEmployee;
+
+    /**
+     * ФИО сотрудника.
+     */
+    private String fullName;
+
+    /**
+     * Электронная почта сотрудника.
+     */
+    private String email;
+
+    /**
+     * Имя файла фотографии профиля.
+     */
+    private String profilePicture;
+}
@@ -4,6 +4,9 @@ public class ListAttachedFilesDTO {
     private Integer idListAttachedFiles;
     private Integer idNote;
     private String pathFile;
+    private String fileHash;
+    private Long fileSize;
+    private String contentType;
 
     // Getters and Setters
     public Integer getIdListAttachedFiles() { return idListAttachedFiles; }
@@ -14,4 +17,13 @@ public class ListAttachedFilesDTO {
 
     public String getPathFile() { return pathFile; }
     public void setPathFile(String pathFile) { this.pathFile = pathFile; }
+
+    public String getFileHash() { return fileHash; }
+    public void setFileHash(String fileHash) { this.fileHash = fileHash; }
+
+    public Long getFileSize() { return fileSize; }
+    public void setFileSize(Long fileSize) { this.fileSize = fileSize; }
+
+    public String getContentType() { return contentType; }
+    public void setContentType(String contentType) { this.contentType = contentType; }
 }
\ No newline at end of file
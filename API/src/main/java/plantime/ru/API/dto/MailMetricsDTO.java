@@ -0,0 +1,46 @@
+package plantime.ru.API.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO с метриками очереди исходящих писем.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MailMetricsDTO {
+
+    /**
+     * Количество писем, ожидающих отправки.
+     */
+    private long pending;
+
+    /**
+     * Количество писем в состоянии DEAD (попытки исчерпаны).
+     */
+    private long dead;
+
+    /**
+     * Количество писем, отправленных с момента запуска.
+     */
+    private long sent;
+
+    /**
+     * Количество неудачных попыток отправки с момента запуска.
+     */
+    private long failedAttempts;
+
+    /**
+     * Количество писем, переведённых в DEAD с момента запуска.
+     */
+    private long deadLettered;
+
+    /**
+     * Включён ли режим без отправки по SMTP.
+     */
+    private boolean dryRun;
+}
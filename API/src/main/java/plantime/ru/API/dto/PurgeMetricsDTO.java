@@ -0,0 +1,48 @@
+package plantime.ru.API.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO с метриками очистки истёкших сессий и токенов сброса пароля.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PurgeMetricsDTO {
+
+    /**
+     * Включена ли очистка по расписанию.
+     */
+    private boolean scheduled;
+
+    /**
+     * Количество запусков очистки.
+     */
+    private long runs;
+
+    /**
+     * Всего удалено сессий.
+     */
+    private long sessionsPurged;
+
+    /**
+     * Всего удалено токенов сброса пароля.
+     */
+    private long resetTokensPurged;
+
+    /**
+     * Время последнего запуска.
+     */
+    private LocalDateTime lastRunAt;
+
+    /**
+     * Длительность последнего запуска в миллисекундах.
+     */
+    private long lastRunMillis;
+}
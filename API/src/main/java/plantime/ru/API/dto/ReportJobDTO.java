@@ -0,0 +1,48 @@
+package plantime.ru.API.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO для представления состояния задания на формирование отчёта.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobDTO {
+
+    /**
+     * Идентификатор задания.
+     */
+    private String jobId;
+
+    /**
+     * Тип отчёта (TASKS, DUTY_CALENDAR, VACATION).
+     */
+    private String type;
+
+    /**
+     * Статус задания: QUEUED, RUNNING, DONE или FAILED.
+     */
+    private String status;
+
+    /**
+     * Дата и время постановки задания в очередь.
+     */
+    private LocalDateTime createdAt;
+
+    /**
+     * Дата и время завершения формирования отчёта (null, пока задание не завершено).
+     */
+    private LocalDateTime finishedAt;
+
+    /**
+     * Описание ошибки для заданий в статусе FAILED.
+     */
+    private String error;
+}
@@ -0,0 +1,43 @@
+package plantime.ru.API.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Карточка задачи: сама задача и её разделы (заметки с файлами, чек-лист, исполнители, ПО, услуги).
+ * Разделы, не запрошенные через параметр fields, равны null и в ответ не попадают.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskCardDTO {
+    private TaskDTO task;
+    private List<NoteDTO> notes;
+    private List<ChecklistDTO> checklist;
+    private List<ListPerformerDTO> performers;
+    private List<SoftwareDTO> software;
+    private List<ServiceDTO> services;
+
+    public TaskCardDTO() {}
+
+    public TaskCardDTO(TaskDTO task) {
+        this.task = task;
+    }
+
+    public TaskDTO getTask() { return task; }
+    public void setTask(TaskDTO task) { this.task = task; }
+
+    public List<NoteDTO> getNotes() { return notes; }
+    public void setNotes(List<NoteDTO> notes) { this.notes = notes; }
+
+    public List<ChecklistDTO> getChecklist() { return checklist; }
+    public void setChecklist(List<ChecklistDTO> checklist) { this.checklist = checklist; }
+
+    public List<ListPerformerDTO> getPerformers() { return performers; }
+    public void setPerformers(List<ListPerformerDTO> performers) { this.performers = performers; }
+
+    public List<SoftwareDTO> getSoftware() { return software; }
+    public void setSoftware(List<SoftwareDTO> software) { this.software = software; }
+
+    public List<ServiceDTO> getServices() { return services; }
+    public void setServices(List<ServiceDTO> services) { this.services = services; }
+}
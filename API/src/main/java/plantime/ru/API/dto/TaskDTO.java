@@ -1,6 +1,8 @@
 package plantime.ru.API.dto;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
 
 public class TaskDTO {
     private Integer idTask;
@@ -16,6 +18,27 @@ public class TaskDTO {
     private Integer idTaskType;
     private Integer idOrganization;
 
+    public TaskDTO() {
+    }
+
+    // Конструктор для проекций JPQL (SELECT new ...): строка задачи без загрузки сущностей и связей
+    public TaskDTO(Integer idTask, String taskName, String guidExecutor, String description,
+                   LocalDate dateCreate, LocalTime timeCreate, LocalDate dateCompletion, LocalTime timeCompletion,
+                   Integer idTaskStatus, BigDecimal taskPrice, Integer idTaskType, Integer idOrganization) {
+        this.idTask = idTask;
+        this.taskName = taskName;
+        this.guidExecutor = guidExecutor;
+        this.description = description;
+        this.dateCreate = dateCreate != null ? dateCreate.toString() : null;
+        this.timeCreate = timeCreate != null ? timeCreate.toString() : null;
+        this.dateCompletion = dateCompletion != null ? dateCompletion.toString() : null;
+        this.timeCompletion = timeCompletion != null ? timeCompletion.toString() : null;
+        this.idTaskStatus = idTaskStatus;
+        this.taskPrice = taskPrice;
+        this.idTaskType = idTaskType;
+        this.idOrganization = idOrganization;
+    }
+
     // Getters and Setters
     public Integer getIdTask() { return idTask; }
     public void setIdTask(Integer idTask) { this.idTask = idTask; }
@@ -0,0 +1,25 @@
+package plantime.ru.API.dto;
+
+import java.util.List;
+
+/**
+ * Страница задач при постраничной выборке по курсору (keyset по idTask).
+ * nextCursor — idTask последней задачи страницы; null, если страниц больше нет.
+ */
+public class TaskPageDTO {
+    private List<TaskDTO> items;
+    private Integer nextCursor;
+
+    public TaskPageDTO() {}
+
+    public TaskPageDTO(List<TaskDTO> items, Integer nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<TaskDTO> getItems() { return items; }
+    public void setItems(List<TaskDTO> items) { this.items = items; }
+
+    public Integer getNextCursor() { return nextCursor; }
+    public void setNextCursor(Integer nextCursor) { this.nextCursor = nextCursor; }
+}
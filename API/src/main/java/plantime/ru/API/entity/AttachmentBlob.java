@@ -0,0 +1,52 @@
+package plantime.ru.API.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Сущность, представляющая содержимое вложения в хранилище, адресуемом по хешу.
+ * Одинаковые файлы хранятся один раз; ссылки на содержимое — строки {@link ListAttachedFiles} с тем же хешем.
+ */
+@Entity
+@Table(name = "attachment_blob", indexes = @Index(name = "idx_attachment_blob_unreferenced", columnList = "ref_count, unreferenced_since"))
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode(of = "sha256")
+public class AttachmentBlob {
+
+    /**
+     * SHA-256 содержимого в шестнадцатеричном виде.
+     */
+    @Id
+    @Column(name = "sha256", length = 64, nullable = false)
+    private String sha256;
+
+    /**
+     * Размер содержимого в байтах.
+     */
+    @Column(name = "size", nullable = false)
+    private Long size;
+
+    /**
+     * Количество вложений, ссылающихся на содержимое.
+     */
+    @Column(name = "ref_count", nullable = false)
+    private Integer refCount;
+
+    /**
+     * Дата и время первого сохранения.
+     */
+    @Column(name = "date_create", nullable = false)
+    private LocalDateTime dateCreate;
+
+    /**
+     * Момент, с которого на содержимое нет ссылок (null, пока ссылки есть).
+     */
+    @Column(name = "unreferenced_since")
+    private LocalDateTime unreferencedSince;
+}
@@ -7,7 +7,13 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "contract")
+@Table(name = "contract", indexes = {
+        @Index(name = "idx_contract_customer_conclusion", columnList = "id_customer, date_of_conclusion"),
+        @Index(name = "idx_contract_status_conclusion", columnList = "id_payment_status, date_of_conclusion"),
+        @Index(name = "idx_contract_conclusion", columnList = "date_of_conclusion"),
+        @Index(name = "idx_contract_date_payment", columnList = "date_payment"),
+        @Index(name = "idx_contract_cost", columnList = "cost")
+})
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @ToString
 public class Contract {
     @Id
@@ -36,4 +42,10 @@ public class Contract {
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "id_payment_status", nullable = false)
     private PaymentStatus paymentStatus;
+
+    // Только для чтения: соединение с заказчиком при фильтрации по организации (значение задаётся через idCustomer)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_customer", insertable = false, updatable = false)
+    @ToString.Exclude
+    private Customer customer;
 }
\ No newline at end of file
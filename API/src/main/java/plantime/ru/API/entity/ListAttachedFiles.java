@@ -3,7 +3,7 @@ package plantime.ru.API.entity;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "list_attached_files")
+@Table(name = "list_attached_files", indexes = @Index(name = "idx_list_attached_files_hash", columnList = "file_hash"))
 public class ListAttachedFiles {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -14,9 +14,20 @@ public class ListAttachedFiles {
     @JoinColumn(name = "id_note", nullable = false)
     private Note note;
 
+    // Для файлов в хранилище вложений — исходное имя файла, для старых записей — путь на диске
     @Column(name = "path_file", length = 200)
     private String pathFile;
 
+    // SHA-256 содержимого в хранилище вложений (null у файлов, сохранённых до его появления)
+    @Column(name = "file_hash", length = 64)
+    private String fileHash;
+
+    @Column(name = "file_size")
+    private Long fileSize;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
     // getters and setters
 
     public Integer getIdListAttachedFiles() { return idListAttachedFiles; }
@@ -27,4 +38,13 @@ public class ListAttachedFiles {
 
     public String getPathFile() { return pathFile; }
     public void setPathFile(String pathFile) { this.pathFile = pathFile; }
+
+    public String getFileHash() { return fileHash; }
+    public void setFileHash(String fileHash) { this.fileHash = fileHash; }
+
+    public Long getFileSize() { return fileSize; }
+    public void setFileSize(Long fileSize) { this.fileSize = fileSize; }
+
+    public String getContentType() { return contentType; }
+    public void setContentType(String contentType) { this.contentType = contentType; }
 }
\ No newline at end of file
@@ -0,0 +1,111 @@
+package plantime.ru.API.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * Сущность, представляющая исходящее письмо в очереди отправки (outbox) системы PlanTime.
+ */
+@Entity
+@Table(name = "mail_outbox", indexes = @Index(name = "idx_mail_outbox_status_next_attempt", columnList = "status, next_attempt_at"))
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@ToString(exclude = "body")
+@EqualsAndHashCode(of = "idMailOutbox")
+public class MailOutbox {
+
+    /**
+     * Состояние письма в очереди.
+     */
+    public enum Status {
+        PENDING, SENT, DEAD
+    }
+
+    /**
+     * Уникальный идентификатор письма.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_mail_outbox", nullable = false)
+    private Long idMailOutbox;
+
+    /**
+     * Адрес получателя.
+     */
+    @Column(name = "recipient", length = 255, nullable = false)
+    @NotNull(message = "Получатель обязателен")
+    private String recipient;
+
+    /**
+     * Тема письма.
+     */
+    @Column(name = "subject", length = 255, nullable = false)
+    @NotNull(message = "Тема обязательна")
+    private String subject;
+
+    /**
+     * HTML-содержимое письма.
+     */
+    @Column(name = "body", columnDefinition = "MEDIUMTEXT", nullable = false)
+    @NotNull(message = "Содержимое обязательно")
+    private String body;
+
+    /**
+     * Состояние письма.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 10, nullable = false)
+    private Status status;
+
+    /**
+     * Количество выполненных попыток отправки.
+     */
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    /**
+     * Время следующей попытки отправки.
+     */
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    /**
+     * Текст последней ошибки отправки.
+     */
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    /**
+     * Дата и время постановки письма в очередь.
+     */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Дата и время успешной отправки.
+     */
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    /**
+     * Конструктор для постановки нового письма в очередь.
+     *
+     * @param recipient Адрес получателя.
+     * @param subject   Тема письма.
+     * @param body      HTML-содержимое письма.
+     * @param createdAt Время постановки в очередь.
+     */
+    public MailOutbox(String recipient, String subject, String body, LocalDateTime createdAt) {
+        this.recipient = recipient;
+        this.subject = subject;
+        this.body = body;
+        this.status = Status.PENDING;
+        this.attempts = 0;
+        this.nextAttemptAt = createdAt;
+        this.createdAt = createdAt;
+    }
+}
@@ -10,7 +10,7 @@ import java.time.LocalDateTime;
  * Сущность, представляющая токен для сброса пароля в системе PlanTime.
  */
 @Entity
-@Table(name = "password_reset_token")
+@Table(name = "password_reset_token", indexes = @Index(name = "idx_password_reset_token_expires_at", columnList = "expires_at"))
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
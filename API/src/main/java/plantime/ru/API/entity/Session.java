@@ -10,7 +10,7 @@ import java.time.LocalDateTime;
  * Сущность, представляющая сессию пользователя в системе PlanTime.
  */
 @Entity
-@Table(name = "session")
+@Table(name = "session", indexes = @Index(name = "idx_session_expires_at", columnList = "expires_at"))
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
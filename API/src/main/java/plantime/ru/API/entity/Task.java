@@ -7,7 +7,13 @@ import java.time.*;
 import java.util.*;
 
 @Entity
-@Table(name = "task")
+@Table(name = "task", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_task_executor_name", columnNames = {"guid_executor", "task_name"})
+}, indexes = {
+        @Index(name = "idx_task_org_status_completion", columnList = "id_organization, id_task_status, date_completion"),
+        @Index(name = "idx_task_executor_completion", columnList = "guid_executor, date_completion"),
+        @Index(name = "idx_task_type_completion", columnList = "id_task_type, date_completion")
+})
 public class Task {
 
     @Id
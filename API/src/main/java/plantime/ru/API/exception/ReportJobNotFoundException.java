@@ -0,0 +1,11 @@
+package plantime.ru.API.exception;
+
+/**
+ * Задание на отчёт не найдено или принадлежит другому сотруднику (404).
+ */
+public class ReportJobNotFoundException extends RuntimeException {
+
+    public ReportJobNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package plantime.ru.API.exception;
+
+/**
+ * Превышен лимит одновременно формируемых отчётов одного сотрудника (429).
+ */
+public class ReportLimitExceededException extends RuntimeException {
+
+    public ReportLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package plantime.ru.API.exception;
+
+/**
+ * Отчёт ещё формируется или завершился ошибкой и не может быть скачан (409).
+ */
+public class ReportNotReadyException extends RuntimeException {
+
+    public ReportNotReadyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package plantime.ru.API.exception;
+
+/**
+ * Очередь формирования отчётов переполнена (503).
+ */
+public class ReportQueueFullException extends RuntimeException {
+
+    public ReportQueueFullException(String message) {
+        super(message);
+    }
+}
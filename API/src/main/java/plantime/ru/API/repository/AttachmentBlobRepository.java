@@ -0,0 +1,110 @@
+package plantime.ru.API.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import jakarta.persistence.LockModeType;
+import plantime.ru.API.entity.AttachmentBlob;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Репозиторий для работы с сущностью {@link AttachmentBlob} в базе данных.
+ */
+@Repository
+public interface AttachmentBlobRepository extends JpaRepository<AttachmentBlob, String> {
+
+    /**
+     * Добавляет ссылку на содержимое, создавая запись при первом сохранении.
+     * Строка остаётся заблокированной до конца транзакции, поэтому очистка не удалит содержимое,
+     * пока вложение не будет зафиксировано.
+     *
+     * @param sha256 Хеш содержимого.
+     * @param size   Размер содержимого в байтах.
+     * @param now    Текущий момент времени.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO attachment_blob (sha256, size, ref_count, date_create, unreferenced_since) "
+            + "VALUES (:sha256, :size, 1, :now, NULL) "
+            + "ON DUPLICATE KEY UPDATE ref_count = ref_count + 1, unreferenced_since = NULL", nativeQuery = true)
+    void acquire(@Param("sha256") String sha256, @Param("size") long size, @Param("now") LocalDateTime now);
+
+    /**
+     * Снимает ссылки на содержимое.
+     * MySQL выполняет присваивания SET слева направо, поэтому CASE видит уже уменьшенный ref_count.
+     *
+     * @param sha256 Хеш содержимого.
+     * @param count  Количество снимаемых ссылок.
+     * @param now    Текущий момент времени (начало периода без ссылок).
+     */
+    @Modifying
+    @Query(value = "UPDATE attachment_blob SET ref_count = GREATEST(ref_count - :count, 0), "
+            + "unreferenced_since = CASE WHEN ref_count = 0 THEN COALESCE(unreferenced_since, :now) ELSE NULL END "
+            + "WHERE sha256 = :sha256", nativeQuery = true)
+    void release(@Param("sha256") String sha256, @Param("count") int count, @Param("now") LocalDateTime now);
+
+    /**
+     * Пересчитывает счётчики ссылок по таблице list_attached_files
+     * (исправляет расхождения после удалений в обход API).
+     *
+     * @param now Текущий момент времени.
+     * @return Количество изменённых строк.
+     */
+    @Modifying
+    @Query(value = "UPDATE attachment_blob b "
+            + "LEFT JOIN (SELECT file_hash, COUNT(*) AS refs FROM list_attached_files WHERE file_hash IS NOT NULL GROUP BY file_hash) f "
+            + "ON f.file_hash = b.sha256 "
+            + "SET b.ref_count = COALESCE(f.refs, 0), "
+            + "b.unreferenced_since = CASE WHEN f.refs IS NULL THEN COALESCE(b.unreferenced_since, :now) ELSE NULL END "
+            + "WHERE b.ref_count <> COALESCE(f.refs, 0) OR (f.refs IS NULL AND b.unreferenced_since IS NULL)", nativeQuery = true)
+    int reconcile(@Param("now") LocalDateTime now);
+
+    /**
+     * Находит содержимое без ссылок дольше указанного срока.
+     *
+     * @param before   Граница начала периода без ссылок.
+     * @param pageable Ограничение размера выборки.
+     * @return Хеши содержимого.
+     */
+    @Query("SELECT b.sha256 FROM AttachmentBlob b WHERE b.refCount = 0 AND b.unreferencedSince < :before")
+    List<String> findUnreferenced(@Param("before") LocalDateTime before, Pageable pageable);
+
+    /**
+     * Удаляет запись о содержимом, если на него по-прежнему нет ссылок.
+     *
+     * @param sha256 Хеш содержимого.
+     * @param before Граница начала периода без ссылок.
+     * @return 1, если запись удалена, иначе 0.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM attachment_blob WHERE sha256 = :sha256 AND ref_count = 0 AND unreferenced_since < :before "
+            + "AND NOT EXISTS (SELECT 1 FROM list_attached_files f WHERE f.file_hash = :sha256)", nativeQuery = true)
+    int deleteIfUnreferenced(@Param("sha256") String sha256, @Param("before") LocalDateTime before);
+
+    /**
+     * Отбирает из переданных хешей те, для которых есть запись о содержимом (без блокировки).
+     *
+     * @param hashes Хеши содержимого.
+     * @return Хеши, для которых есть запись.
+     */
+    @Query("SELECT b.sha256 FROM AttachmentBlob b WHERE b.sha256 IN :hashes")
+    List<String> findExistingSha256(@Param("hashes") Collection<String> hashes);
+
+    /**
+     * Находит запись о содержимом с блокировкой на запись (при отсутствии строки блокируется интервал индекса,
+     * и параллельная вставка с тем же хешем ждёт конца транзакции).
+     *
+     * @param sha256 Хеш содержимого.
+     * @return Запись или пустой Optional.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM AttachmentBlob b WHERE b.sha256 = :sha256")
+    Optional<AttachmentBlob> findLockedBySha256(@Param("sha256") String sha256);
+}
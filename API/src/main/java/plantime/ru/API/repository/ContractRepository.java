@@ -1,9 +1,10 @@
 package plantime.ru.API.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import plantime.ru.API.entity.Contract;
 import plantime.ru.API.entity.PaymentStatus;
 
-public interface ContractRepository extends JpaRepository<Contract, Integer> {
+public interface ContractRepository extends JpaRepository<Contract, Integer>, JpaSpecificationExecutor<Contract> {
     boolean existsByPaymentStatus(PaymentStatus paymentStatus);
-}
\ No newline at end of file
+}
@@ -0,0 +1,74 @@
+package plantime.ru.API.repository;
+
+import jakarta.persistence.criteria.JoinType;
+import org.springframework.data.jpa.domain.Specification;
+import plantime.ru.API.entity.Contract;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Набор {@link Specification} для фильтрации контрактов на стороне БД.
+ * Каждый метод возвращает null, если параметр не задан, — такой предикат
+ * игнорируется при объединении через {@link Specification#where}.
+ */
+public final class ContractSpecifications {
+
+    private ContractSpecifications() {
+    }
+
+    public static Specification<Contract> hasCustomer(Integer idCustomer) {
+        if (idCustomer == null) return null;
+        return (root, query, cb) -> cb.equal(root.get("idCustomer"), idCustomer);
+    }
+
+    public static Specification<Contract> hasPaymentStatus(Integer idPaymentStatus) {
+        if (idPaymentStatus == null) return null;
+        return (root, query, cb) -> cb.equal(root.get("paymentStatus").get("idPaymentStatus"), idPaymentStatus);
+    }
+
+    /**
+     * Контракты заказчиков указанной организации (через соединение с таблицей customer).
+     */
+    public static Specification<Contract> hasOrganization(Integer idOrganization) {
+        if (idOrganization == null) return null;
+        return (root, query, cb) -> cb.equal(
+                root.join("customer", JoinType.INNER).get("organization").get("id_organization"), idOrganization);
+    }
+
+    /**
+     * Дата заключения в периоде (границы включительно, любая может быть null).
+     */
+    public static Specification<Contract> concludedBetween(LocalDate dateFrom, LocalDate dateTo) {
+        return dateBetween("dateOfConclusion", dateFrom, dateTo);
+    }
+
+    /**
+     * Дата оплаты в периоде (границы включительно, любая может быть null).
+     */
+    public static Specification<Contract> paidBetween(LocalDate dateFrom, LocalDate dateTo) {
+        return dateBetween("datePayment", dateFrom, dateTo);
+    }
+
+    public static Specification<Contract> costBetween(BigDecimal minCost, BigDecimal maxCost) {
+        if (minCost == null && maxCost == null) return null;
+        return (root, query, cb) -> {
+            var cost = root.<BigDecimal>get("cost");
+            var predicate = cb.conjunction();
+            if (minCost != null) predicate = cb.and(predicate, cb.greaterThanOrEqualTo(cost, minCost));
+            if (maxCost != null) predicate = cb.and(predicate, cb.lessThanOrEqualTo(cost, maxCost));
+            return predicate;
+        };
+    }
+
+    private static Specification<Contract> dateBetween(String attribute, LocalDate dateFrom, LocalDate dateTo) {
+        if (dateFrom == null && dateTo == null) return null;
+        return (root, query, cb) -> {
+            var date = root.<LocalDate>get(attribute);
+            var predicate = cb.conjunction();
+            if (dateFrom != null) predicate = cb.and(predicate, cb.greaterThanOrEqualTo(date, dateFrom));
+            if (dateTo != null) predicate = cb.and(predicate, cb.lessThanOrEqualTo(date, dateTo));
+            return predicate;
+        };
+    }
+}
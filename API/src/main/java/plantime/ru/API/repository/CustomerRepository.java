@@ -1,10 +1,13 @@
 package plantime.ru.API.repository;
 
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import plantime.ru.API.entity.Customer;
 import plantime.ru.API.entity.Organization;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,13 +15,13 @@ public interface CustomerRepository extends JpaRepository<Customer, Integer> {
     List<Customer> findAllByOrganization(Organization organization, Sort sort);
     List<Customer> findAll(Sort sort);
 
-    // Поиск по ФИО и телефону для фильтрации
-    List<Customer> findByOrganizationAndSurnameContainingIgnoreCaseOrOrganizationAndFirstNameContainingIgnoreCaseOrOrganizationAndPhoneNumberContaining(
-            Organization org1, String surname,
-            Organization org2, String firstName,
-            Organization org3, String phoneNumber,
-            Sort sort
-    );
+    // Контрагенты, найденные поисковым индексом, вместе с организацией
+    @EntityGraph(attributePaths = "organization")
+    List<Customer> findByIdCustomerIn(Collection<Integer> ids, Sort sort);
+
+    // Поля для построения поискового индекса: id, фамилия, имя, отчество, телефон, id организации
+    @Query("SELECT c.idCustomer, c.surname, c.firstName, c.patronymic, c.phoneNumber, c.organization.id_organization FROM Customer c")
+    List<Object[]> findSearchRows();
 
     // Проверка дубликата по всем полям
     Optional<Customer> findByFirstNameAndSurnameAndPatronymicAndEmailAndPhoneNumberAndNoteAndOrganization(
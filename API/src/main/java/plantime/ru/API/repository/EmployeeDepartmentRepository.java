@@ -21,6 +21,15 @@ public interface EmployeeDepartmentRepository extends JpaRepository<EmployeeDepa
      */
     boolean existsByDepartmentIgnoreCase(String department);
 
+    /**
+     * Проверяет существование отдела с указанным названием, исключая запись с указанным идентификатором.
+     *
+     * @param department Название.
+     * @param idEmployeeDepartment Идентификатор исключаемой записи.
+     * @return true, если другая запись с таким названием уже существует.
+     */
+    boolean existsByDepartmentIgnoreCaseAndIdEmployeeDepartmentNot(String department, Integer idEmployeeDepartment);
+
     /**
      * Получает все отделы с указанной сортировкой.
      *
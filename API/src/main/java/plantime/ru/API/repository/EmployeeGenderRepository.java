@@ -20,6 +20,15 @@ public interface EmployeeGenderRepository extends JpaRepository<EmployeeGender,
      */
     boolean existsByGenderIgnoreCase(String gender);
 
+    /**
+     * Проверяет существование гендера с указанным названием, исключая запись с указанным идентификатором.
+     *
+     * @param gender Название.
+     * @param idEmployeeGender Идентификатор исключаемой записи.
+     * @return true, если другая запись с таким названием уже существует.
+     */
+    boolean existsByGenderIgnoreCaseAndIdEmployeeGenderNot(String gender, Integer idEmployeeGender);
+
     /**
      * Получает все гендеры с указанной сортировкой.
      *
@@ -20,6 +20,15 @@ public interface EmployeePermissionRepository extends JpaRepository<EmployeePerm
      */
     boolean existsByPermissionIgnoreCase(String permission);
 
+    /**
+     * Проверяет существование уровня прав доступа с указанным названием, исключая запись с указанным идентификатором.
+     *
+     * @param permission Название.
+     * @param idEmployeePermission Идентификатор исключаемой записи.
+     * @return true, если другая запись с таким названием уже существует.
+     */
+    boolean existsByPermissionIgnoreCaseAndIdEmployeePermissionNot(String permission, Integer idEmployeePermission);
+
     /**
      * Получает все уровни прав доступа с указанной сортировкой.
      *
@@ -21,6 +21,15 @@ public interface EmployeePostRepository extends JpaRepository<EmployeePost, Inte
      */
     boolean existsByPostIgnoreCase(String post);
 
+    /**
+     * Проверяет существование должности с указанным названием, исключая запись с указанным идентификатором.
+     *
+     * @param post Название.
+     * @param idEmployeePost Идентификатор исключаемой записи.
+     * @return true, если другая запись с таким названием уже существует.
+     */
+    boolean existsByPostIgnoreCaseAndIdEmployeePostNot(String post, Integer idEmployeePost);
+
     /**
      * Получает все должности с указанной сортировкой.
      *
@@ -1,12 +1,19 @@
     package plantime.ru.API.repository;
 
+    import org.springframework.data.domain.Page;
+    import org.springframework.data.domain.Pageable;
+    import org.springframework.data.domain.Slice;
+    import org.springframework.data.domain.Sort;
+    import org.springframework.data.jpa.repository.EntityGraph;
     import org.springframework.data.jpa.repository.JpaRepository;
     import org.springframework.data.jpa.repository.Query;
     import org.springframework.data.repository.query.Param;
+    import plantime.ru.API.dto.EmployeeDTO;
     import plantime.ru.API.entity.*;
 
     import java.math.BigDecimal;
     import java.time.LocalDateTime;
+    import java.util.Collection;
     import java.util.List;
     import java.util.Optional;
 
@@ -15,6 +22,25 @@
      */
     public interface EmployeeRepository extends JpaRepository<Employee, String> {
 
+        // Проекция списка сотрудников: только поля EmployeeDTO, справочники — через соединения в том же запросе
+        String EMPLOYEE_ROW = "SELECT new plantime.ru.API.dto.EmployeeDTO(e.guidEmployee, e.login, e.email, e.surname, " +
+                "e.firstName, e.patronymic, e.profilePicture, e.lastAuthorization, e.dateOfBirth, e.phoneNumber, " +
+                "e.hourlyRate, e.note, p.idEmployeePost, p.post, s.idEmployeeStatus, s.status, " +
+                "d.idEmployeeDepartment, d.department, g.idEmployeeGender, g.gender) " +
+                "FROM Employee e LEFT JOIN e.employeePost p LEFT JOIN e.employeeStatus s " +
+                "LEFT JOIN e.employeeDepartment d LEFT JOIN e.employeeGender g ";
+
+        // Фильтры списка; поиск по строке выполняется поисковым индексом и передаётся списком GUID
+        String EMPLOYEE_FILTERS = "WHERE (:startDate IS NULL OR e.dateOfBirth >= :startDate) " +
+                "AND (:endDate IS NULL OR e.dateOfBirth <= :endDate) " +
+                "AND (:genderId IS NULL OR e.employeeGender.idEmployeeGender = :genderId) " +
+                "AND (:postId IS NULL OR e.employeePost.idEmployeePost = :postId) " +
+                "AND (:statusId IS NULL OR e.employeeStatus.idEmployeeStatus = :statusId) " +
+                "AND (:minHourlyRate IS NULL OR e.hourlyRate >= :minHourlyRate) " +
+                "AND (:maxHourlyRate IS NULL OR e.hourlyRate <= :maxHourlyRate) " +
+                "AND (:departmentId IS NULL OR e.employeeDepartment.idEmployeeDepartment = :departmentId) " +
+                "AND (:anyGuid = true OR e.guidEmployee IN :guids)";
+
         /**
          * Проверяет существование сотрудника с указанным логином (без учёта регистра).
          *
@@ -68,6 +94,68 @@
                 @Param("departmentId") Integer departmentId,
                 @Param("search") String search);
 
+        /**
+         * Все сотрудники, подходящие под фильтры (список без разбиения на страницы).
+         *
+         * @param anyGuid true — не ограничивать выборку списком guids.
+         * @param guids   GUID сотрудников, найденных поиском (непустой список).
+         * @param sort    Сортировка.
+         * @return Список сотрудников.
+         */
+        @Query(EMPLOYEE_ROW + EMPLOYEE_FILTERS)
+        List<EmployeeDTO> findRows(
+                @Param("startDate") LocalDateTime startDate,
+                @Param("endDate") LocalDateTime endDate,
+                @Param("genderId") Integer genderId,
+                @Param("postId") Integer postId,
+                @Param("statusId") Integer statusId,
+                @Param("minHourlyRate") BigDecimal minHourlyRate,
+                @Param("maxHourlyRate") BigDecimal maxHourlyRate,
+                @Param("departmentId") Integer departmentId,
+                @Param("anyGuid") boolean anyGuid,
+                @Param("guids") Collection<String> guids,
+                Sort sort);
+
+        /**
+         * Страница сотрудников с фильтрами и общим количеством (выполняет отдельный запрос COUNT).
+         *
+         * @param anyGuid  true — не ограничивать выборку списком guids.
+         * @param guids    GUID сотрудников, найденных поиском (непустой список).
+         * @param pageable Номер, размер страницы и сортировка.
+         * @return Страница сотрудников.
+         */
+        @Query(value = EMPLOYEE_ROW + EMPLOYEE_FILTERS, countQuery = "SELECT COUNT(e) FROM Employee e " + EMPLOYEE_FILTERS)
+        Page<EmployeeDTO> findRowsPage(
+                @Param("startDate") LocalDateTime startDate,
+                @Param("endDate") LocalDateTime endDate,
+                @Param("genderId") Integer genderId,
+                @Param("postId") Integer postId,
+                @Param("statusId") Integer statusId,
+                @Param("minHourlyRate") BigDecimal minHourlyRate,
+                @Param("maxHourlyRate") BigDecimal maxHourlyRate,
+                @Param("departmentId") Integer departmentId,
+                @Param("anyGuid") boolean anyGuid,
+                @Param("guids") Collection<String> guids,
+                Pageable pageable);
+
+        /**
+         * Страница сотрудников с фильтрами без подсчёта общего количества (для бесконечной прокрутки):
+         * запрашивается на одну строку больше, чтобы узнать, есть ли следующая страница.
+         */
+        @Query(EMPLOYEE_ROW + EMPLOYEE_FILTERS)
+        Slice<EmployeeDTO> findRowsSlice(
+                @Param("startDate") LocalDateTime startDate,
+                @Param("endDate") LocalDateTime endDate,
+                @Param("genderId") Integer genderId,
+                @Param("postId") Integer postId,
+                @Param("statusId") Integer statusId,
+                @Param("minHourlyRate") BigDecimal minHourlyRate,
+                @Param("maxHourlyRate") BigDecimal maxHourlyRate,
+                @Param("departmentId") Integer departmentId,
+                @Param("anyGuid") boolean anyGuid,
+                @Param("guids") Collection<String> guids,
+                Pageable pageable);
+
         /**
          * Находит сотрудника по логину или email.
          *
@@ -85,6 +173,17 @@
          */
         Optional<Employee> findByGuidEmployee(String guidEmployee);
 
+        /**
+         * Находит сотрудника по идентификатору вместе с должностью, уровнем прав, статусом, отделом и полом
+         * одним запросом (используется при проверке токена и кэшировании результата).
+         *
+         * @param guidEmployee Уникальный идентификатор сотрудника.
+         * @return {@link Optional} с найденным сотрудником или пустой, если сотрудник не найден.
+         */
+        @EntityGraph(attributePaths = {"employeePost", "employeePost.employeePermission", "employeeStatus",
+                "employeeDepartment", "employeeGender"})
+        Optional<Employee> findWithDetailsByGuidEmployee(String guidEmployee);
+
         /**
          * Проверяет, используется ли отдел сотрудниками.
          *
@@ -115,4 +214,21 @@
               AND (:patronymic IS NULL OR e.patronymic = :patronymic)
             """)
         Optional<Employee> findBySurnameAndFirstNameAndPatronymic(String surname, String firstName, String patronymic);
+
+        /**
+         * Возвращает имена файлов фотографий профиля указанных сотрудников (без загрузки связанных сущностей).
+         *
+         * @param guids GUID сотрудников.
+         * @return Пары {guidEmployee, profilePicture}.
+         */
+        @Query("SELECT e.guidEmployee, e.profilePicture FROM Employee e WHERE e.guidEmployee IN :guids")
+        List<Object[]> findProfilePictures(@Param("guids") Collection<String> guids);
+
+        /**
+         * Возвращает поля сотрудников для построения поискового индекса (без загрузки связанных сущностей).
+         *
+         * @return Строки {guidEmployee, surname, firstName, patronymic, email, profilePicture}.
+         */
+        @Query("SELECT e.guidEmployee, e.surname, e.firstName, e.patronymic, e.email, e.profilePicture FROM Employee e")
+        List<Object[]> findSearchRows();
     }
\ No newline at end of file
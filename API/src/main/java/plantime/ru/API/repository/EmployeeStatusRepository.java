@@ -20,6 +20,15 @@ public interface EmployeeStatusRepository extends JpaRepository<EmployeeStatus,
      */
     boolean existsByStatusIgnoreCase(String status);
 
+    /**
+     * Проверяет существование статуса с указанным названием, исключая запись с указанным идентификатором.
+     *
+     * @param status Название.
+     * @param idEmployeeStatus Идентификатор исключаемой записи.
+     * @return true, если другая запись с таким названием уже существует.
+     */
+    boolean existsByStatusIgnoreCaseAndIdEmployeeStatusNot(String status, Integer idEmployeeStatus);
+
     /**
      * Получает все статусы с указанной сортировкой.
      *
@@ -1,10 +1,26 @@
 package plantime.ru.API.repository;
 
 import plantime.ru.API.entity.ListAttachedFiles;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ListAttachedFilesRepository extends JpaRepository<ListAttachedFiles, Integer> {
     List<ListAttachedFiles> findByNote_IdNote(Integer idNote);
-}
\ No newline at end of file
+
+    // Файлы сразу нескольких заметок одним запросом (карточка задачи, список заметок)
+    List<ListAttachedFiles> findByNote_IdNoteIn(Collection<Integer> idNotes);
+
+    // Хеши содержимого вложений всех заметок задачи (по одному на вложение) — для снятия ссылок при удалении задачи
+    @Query("SELECT f.fileHash FROM ListAttachedFiles f WHERE f.note.task.idTask = :idTask AND f.fileHash IS NOT NULL")
+    List<String> findHashesByTaskId(@Param("idTask") Integer idTask);
+
+    // Вложения, сохранённые до появления хранилища (ещё без хеша содержимого), — для переноса в хранилище
+    @Query("SELECT f.idListAttachedFiles FROM ListAttachedFiles f WHERE f.fileHash IS NULL " +
+            "AND f.idListAttachedFiles > :afterId ORDER BY f.idListAttachedFiles")
+    List<Integer> findLegacyIdsAfter(@Param("afterId") Integer afterId, Pageable pageable);
+}
@@ -0,0 +1,76 @@
+package plantime.ru.API.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import plantime.ru.API.entity.MailOutbox;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Репозиторий для работы с сущностью {@link MailOutbox} в базе данных.
+ */
+@Repository
+public interface MailOutboxRepository extends JpaRepository<MailOutbox, Long> {
+
+    /**
+     * Находит письма в указанном состоянии, время отправки которых наступило.
+     *
+     * @param status   Состояние письма.
+     * @param now      Текущий момент времени.
+     * @param pageable Ограничение размера выборки.
+     * @return Список писем в порядке времени следующей попытки.
+     */
+    List<MailOutbox> findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAt(
+            MailOutbox.Status status, LocalDateTime now, Pageable pageable);
+
+    /**
+     * Подсчитывает письма в указанном состоянии.
+     *
+     * @param status Состояние письма.
+     * @return Количество писем.
+     */
+    long countByStatus(MailOutbox.Status status);
+
+    /**
+     * Откладывает следующую попытку отправки (захват письма обработчиком), если письмо с момента выборки
+     * никто не захватил: время следующей попытки должно совпадать с прочитанным.
+     *
+     * @param id            Идентификатор письма.
+     * @param seen          Время следующей попытки, прочитанное при выборке.
+     * @param nextAttemptAt Новое время следующей попытки.
+     * @return 1, если письмо захвачено, 0 — если его уже захватил другой обработчик.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE MailOutbox m SET m.nextAttemptAt = :nextAttemptAt WHERE m.idMailOutbox = :id AND m.nextAttemptAt = :seen")
+    int postpone(@Param("id") Long id, @Param("seen") LocalDateTime seen, @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+    /**
+     * Снимает захват письма, чтобы его выбрал следующий проход.
+     *
+     * @param id            Идентификатор письма.
+     * @param nextAttemptAt Время следующей попытки.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE MailOutbox m SET m.nextAttemptAt = :nextAttemptAt WHERE m.idMailOutbox = :id")
+    void release(@Param("id") Long id, @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+    /**
+     * Удаляет не более {@code limit} отправленных писем старше указанной даты.
+     *
+     * @param before Граница даты отправки.
+     * @param limit  Максимальное число удаляемых строк.
+     * @return Количество удалённых строк.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM mail_outbox WHERE status = 'SENT' AND sent_at < :before LIMIT :limit", nativeQuery = true)
+    int deleteSentBatch(@Param("before") LocalDateTime before, @Param("limit") int limit);
+}
@@ -1,10 +1,15 @@
 package plantime.ru.API.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import plantime.ru.API.entity.Employee;
 import plantime.ru.API.entity.PasswordResetToken;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 /**
@@ -27,4 +32,16 @@ public interface PasswordResetTokenRepository extends JpaRepository<PasswordRese
      * @param employee Уникальный идентификатор сотрудника.
      */
     void deleteByEmployee(Employee employee);
-}
\ No newline at end of file
+
+    /**
+     * Удаляет не более {@code limit} истёкших токенов сброса пароля (пакетная очистка).
+     *
+     * @param now   Текущий момент времени.
+     * @param limit Максимальное число удаляемых строк.
+     * @return Количество удалённых строк.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM password_reset_token WHERE expires_at < :now LIMIT :limit", nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
@@ -20,6 +20,15 @@ public interface PaymentStatusRepository extends JpaRepository<PaymentStatus, In
      */
     boolean existsByStatusIgnoreCase(String status);
 
+    /**
+     * Проверяет существование статуса оплаты с указанным названием, исключая запись с указанным идентификатором.
+     *
+     * @param status Название.
+     * @param idPaymentStatus Идентификатор исключаемой записи.
+     * @return true, если другая запись с таким названием уже существует.
+     */
+    boolean existsByStatusIgnoreCaseAndIdPaymentStatusNot(String status, Integer idPaymentStatus);
+
     /**
      * Получает все статусы оплат с указанной сортировкой.
      *
@@ -20,6 +20,15 @@ public interface ProjectStatusRepository extends JpaRepository<ProjectStatus, In
      */
     boolean existsByStatusIgnoreCase(String status);
 
+    /**
+     * Проверяет существование статуса проекта с указанным названием, исключая запись с указанным идентификатором.
+     *
+     * @param status Название.
+     * @param idProjectStatus Идентификатор исключаемой записи.
+     * @return true, если другая запись с таким названием уже существует.
+     */
+    boolean existsByStatusIgnoreCaseAndIdProjectStatusNot(String status, Integer idProjectStatus);
+
     /**
      * Получает все статусы проектов с указанной сортировкой.
      *
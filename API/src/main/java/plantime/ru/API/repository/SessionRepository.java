@@ -1,10 +1,16 @@
 package plantime.ru.API.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import plantime.ru.API.entity.Employee;
 import plantime.ru.API.entity.Session;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -27,4 +33,34 @@ public interface SessionRepository extends JpaRepository<Session, String> {
      * @param employee Сущность сотрудника.
      */
     void deleteByEmployee(Employee employee);
-}
\ No newline at end of file
+
+    /**
+     * Возвращает токены всех сессий сотрудника.
+     *
+     * @param employee Сущность сотрудника.
+     * @return Список токенов.
+     */
+    @Query("SELECT s.token FROM Session s WHERE s.employee = :employee")
+    List<String> findTokensByEmployee(@Param("employee") Employee employee);
+
+    /**
+     * Возвращает токены всех неистёкших сессий.
+     *
+     * @param now Текущий момент времени.
+     * @return Список токенов.
+     */
+    @Query("SELECT s.token FROM Session s WHERE s.expiresAt > :now")
+    List<String> findActiveTokens(@Param("now") LocalDateTime now);
+
+    /**
+     * Удаляет не более {@code limit} истёкших сессий (пакетная очистка).
+     *
+     * @param now   Текущий момент времени.
+     * @param limit Максимальное число удаляемых строк.
+     * @return Количество удалённых строк.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM session WHERE expires_at < :now LIMIT :limit", nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
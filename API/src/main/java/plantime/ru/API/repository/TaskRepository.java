@@ -1,13 +1,74 @@
 package plantime.ru.API.repository;
 
+import jakarta.persistence.QueryHint;
+import plantime.ru.API.dto.TaskDTO;
 import plantime.ru.API.entity.Task;
 import plantime.ru.API.entity.TaskStatus;
 import plantime.ru.API.entity.TaskType;
 import plantime.ru.API.entity.TaskRecurrence;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+public interface TaskRepository extends JpaRepository<Task, Integer>, JpaSpecificationExecutor<Task> {
+
+    // Плоская строка задачи: идентификаторы статуса и типа берутся из внешних ключей,
+    // поэтому список из N задач — один запрос без инициализации прокси TaskStatus/TaskType
+    String TASK_ROW = "SELECT new plantime.ru.API.dto.TaskDTO(t.idTask, t.taskName, t.guidExecutor, t.description, " +
+            "t.dateCreate, t.timeCreate, t.dateCompletion, t.timeCompletion, t.taskStatus.idTaskStatus, " +
+            "t.taskPrice, t.taskType.idTaskType, t.idOrganization) FROM Task t ";
 
-public interface TaskRepository extends JpaRepository<Task, Integer> {
     boolean existsByTaskType(TaskType taskType);
     boolean existsByTaskStatus(TaskStatus taskStatus);
     boolean existsByTaskRecurrence(TaskRecurrence taskRecurrence);
-}
\ No newline at end of file
+
+    // --- Проверка дубликата по уникальному индексу (guid_executor, task_name)
+    boolean existsByGuidExecutorAndTaskName(String guidExecutor, String taskName);
+    boolean existsByGuidExecutorAndTaskNameAndIdTaskNot(String guidExecutor, String taskName, Integer idTask);
+
+    @Query(TASK_ROW + "ORDER BY t.idTask")
+    List<TaskDTO> findAllRows();
+
+    // Является ли сотрудник исполнителем задачи или одним из её участников (list_performers)
+    @Query("SELECT COUNT(t) > 0 FROM Task t WHERE t.idTask = :idTask AND (t.guidExecutor = :guid " +
+            "OR EXISTS (SELECT 1 FROM ListPerformer p WHERE p.task.idTask = t.idTask AND p.guidPerformer = :guid))")
+    boolean isParticipant(@Param("idTask") Integer idTask, @Param("guid") String guid);
+
+    @Query(TASK_ROW + "WHERE t.idTask = :idTask")
+    Optional<TaskDTO> findRowById(@Param("idTask") Integer idTask);
+
+    @Query(TASK_ROW + "WHERE t.guidExecutor = :guidExecutor ORDER BY t.idTask")
+    List<TaskDTO> findRowsByGuidExecutor(@Param("guidExecutor") String guidExecutor);
+
+    @Query(TASK_ROW + "WHERE t.idOrganization = :idOrganization ORDER BY t.idTask")
+    List<TaskDTO> findRowsByIdOrganization(@Param("idOrganization") Integer idOrganization);
+
+    // Keyset-пагинация: задачи с idTask больше курсора, размер страницы задаётся через Pageable
+    @Query(TASK_ROW +
+            "WHERE (:cursor IS NULL OR t.idTask > :cursor) " +
+            "AND (:guidExecutor IS NULL OR t.guidExecutor = :guidExecutor) " +
+            "AND (:idOrganization IS NULL OR t.idOrganization = :idOrganization) " +
+            "ORDER BY t.idTask")
+    List<TaskDTO> findPageAfter(@Param("cursor") Integer cursor,
+                                @Param("guidExecutor") String guidExecutor,
+                                @Param("idOrganization") Integer idOrganization,
+                                Pageable pageable);
+
+    // Потоковое чтение для NDJSON: MySQL-драйвер отдаёт строки по одной при fetch size = Integer.MIN_VALUE
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query(TASK_ROW +
+            "WHERE (:guidExecutor IS NULL OR t.guidExecutor = :guidExecutor) " +
+            "AND (:idOrganization IS NULL OR t.idOrganization = :idOrganization) " +
+            "ORDER BY t.idTask")
+    Stream<TaskDTO> streamAll(@Param("guidExecutor") String guidExecutor,
+                              @Param("idOrganization") Integer idOrganization);
+}
@@ -0,0 +1,56 @@
+package plantime.ru.API.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+import plantime.ru.API.entity.Task;
+
+import java.time.LocalDate;
+
+/**
+ * Набор {@link Specification} для фильтрации задач на стороне БД.
+ * Каждый метод возвращает null, если параметр не задан, — такой предикат
+ * игнорируется при объединении через {@link Specification#where}.
+ */
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    public static Specification<Task> hasOrganization(Integer idOrganization) {
+        if (idOrganization == null) return null;
+        return (root, query, cb) -> cb.equal(root.get("idOrganization"), idOrganization);
+    }
+
+    public static Specification<Task> hasTaskType(Integer idTaskType) {
+        if (idTaskType == null) return null;
+        return (root, query, cb) -> cb.equal(root.get("taskType").get("idTaskType"), idTaskType);
+    }
+
+    public static Specification<Task> hasExecutor(String guidExecutor) {
+        if (guidExecutor == null) return null;
+        return (root, query, cb) -> cb.equal(root.get("guidExecutor"), guidExecutor);
+    }
+
+    public static Specification<Task> hasTaskStatus(Integer idTaskStatus) {
+        if (idTaskStatus == null) return null;
+        return (root, query, cb) -> cb.equal(root.get("taskStatus").get("idTaskStatus"), idTaskStatus);
+    }
+
+    /**
+     * Период выполнения задачи. Если задана хотя бы одна граница периода,
+     * задачи без даты завершения в выборку не попадают.
+     *
+     * @param filterByPeriod Передан ли в запросе хотя бы один параметр периода.
+     * @param dateStart      Начало периода (включительно), может быть null.
+     * @param dateEnd        Конец периода (включительно), может быть null.
+     */
+    public static Specification<Task> completedBetween(boolean filterByPeriod, LocalDate dateStart, LocalDate dateEnd) {
+        if (!filterByPeriod) return null;
+        return (root, query, cb) -> {
+            var dateCompletion = root.<LocalDate>get("dateCompletion");
+            var predicate = cb.isNotNull(dateCompletion);
+            if (dateStart != null) predicate = cb.and(predicate, cb.greaterThanOrEqualTo(dateCompletion, dateStart));
+            if (dateEnd != null) predicate = cb.and(predicate, cb.lessThanOrEqualTo(dateCompletion, dateEnd));
+            return predicate;
+        };
+    }
+}
@@ -20,6 +20,15 @@ public interface TaskStatusRepository extends JpaRepository<TaskStatus, Integer>
      */
     boolean existsByStatusIgnoreCase(String status);
 
+    /**
+     * Проверяет существование статуса задачи с указанным названием, исключая запись с указанным идентификатором.
+     *
+     * @param status Название.
+     * @param idTaskStatus Идентификатор исключаемой записи.
+     * @return true, если другая запись с таким названием уже существует.
+     */
+    boolean existsByStatusIgnoreCaseAndIdTaskStatusNot(String status, Integer idTaskStatus);
+
     /**
      * Получает все статусы задач с указанной сортировкой.
      *
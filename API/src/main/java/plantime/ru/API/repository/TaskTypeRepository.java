@@ -20,6 +20,15 @@ public interface TaskTypeRepository extends JpaRepository<TaskType, Integer> {
      */
     boolean existsByTypeIgnoreCase(String type);
 
+    /**
+     * Проверяет существование типа задачи с указанным названием, исключая запись с указанным идентификатором.
+     *
+     * @param type Название.
+     * @param idTaskType Идентификатор исключаемой записи.
+     * @return true, если другая запись с таким названием уже существует.
+     */
+    boolean existsByTypeIgnoreCaseAndIdTaskTypeNot(String type, Integer idTaskType);
+
     /**
      * Получает все типы задач с указанной сортировкой.
      *
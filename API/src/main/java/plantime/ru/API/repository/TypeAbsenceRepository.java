@@ -21,6 +21,15 @@ public interface TypeAbsenceRepository extends JpaRepository<TypeAbsence, Intege
      */
     boolean existsByTypeOfAbsenceIgnoreCase(String typeOfAbsence);
 
+    /**
+     * Проверяет существование типа отсутствия с указанным названием, исключая запись с указанным идентификатором.
+     *
+     * @param typeOfAbsence Название.
+     * @param idTypeAbsence Идентификатор исключаемой записи.
+     * @return true, если другая запись с таким названием уже существует.
+     */
+    boolean existsByTypeOfAbsenceIgnoreCaseAndIdTypeAbsenceNot(String typeOfAbsence, Integer idTypeAbsence);
+
     /**
      * Получает все типы отсутствия с указанной сортировкой.
      *
@@ -0,0 +1,332 @@
+package plantime.ru.API.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+import plantime.ru.API.entity.Employee;
+import plantime.ru.API.entity.ListAttachedFiles;
+import plantime.ru.API.entity.Note;
+import plantime.ru.API.repository.AttachmentBlobRepository;
+import plantime.ru.API.repository.ListAttachedFilesRepository;
+import plantime.ru.API.repository.TaskRepository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Вложения заметок в хранилище, адресуемом по содержимому.
+ * <p>
+ * Каждое содержимое хранится один раз под своим SHA-256; строка attachment_blob ведёт счётчик ссылок
+ * из list_attached_files. Содержимое без ссылок удаляется по расписанию спустя
+ * {@code attachments.gc.grace-hours}, как и файлы хранилища, на которые нет записей в базе
+ * (остаются после откаченных транзакций).
+ */
+@Service
+public class AttachmentService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttachmentService.class);
+    private static final int MAX_FILE_NAME_LENGTH = 200;
+
+    private final AttachmentStore store;
+    private final AttachmentBlobRepository blobRepository;
+    private final ListAttachedFilesRepository filesRepository;
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate transaction;
+
+    /**
+     * Включена ли очистка по расписанию.
+     */
+    @Value("${attachments.gc.enabled:true}")
+    private boolean gcEnabled;
+
+    /**
+     * Сколько часов содержимое без ссылок хранится до удаления.
+     */
+    @Value("${attachments.gc.grace-hours:24}")
+    private long graceHours;
+
+    /**
+     * Каталог, в который файлы заметок сохранялись до появления хранилища вложений.
+     */
+    @Value("${attachments.legacy-dir:uploaded_files}")
+    private String legacyDir;
+
+    /**
+     * Включён ли перенос в хранилище файлов, сохранённых до его появления.
+     */
+    @Value("${attachments.legacy.enabled:true}")
+    private boolean legacyMigrationEnabled;
+
+    /**
+     * Максимальное число записей, удаляемых за один запуск.
+     */
+    @Value("${attachments.gc.batch-size:500}")
+    private int gcBatchSize;
+
+    public AttachmentService(AttachmentStore store, AttachmentBlobRepository blobRepository,
+                             ListAttachedFilesRepository filesRepository, TaskRepository taskRepository,
+                             PlatformTransactionManager transactionManager) {
+        this.store = store;
+        this.blobRepository = blobRepository;
+        this.filesRepository = filesRepository;
+        this.taskRepository = taskRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Сохраняет загруженный файл и прикрепляет его к заметке.
+     *
+     * @param note Заметка.
+     * @param file Загруженный файл.
+     * @return Сохранённая запись о вложении.
+     * @throws IOException Ошибка записи в хранилище.
+     */
+    @Transactional
+    public ListAttachedFiles attach(Note note, MultipartFile file) throws IOException {
+        AttachmentStore.StagedBlob blob;
+        try (InputStream in = file.getInputStream()) {
+            blob = store.stage(in);
+        }
+        try {
+            // Ссылка регистрируется до переноса файла: строка блокируется до конца транзакции,
+            // и очистка не может удалить это содержимое между проверкой и переносом
+            blobRepository.acquire(blob.sha256(), blob.size(), LocalDateTime.now());
+            ListAttachedFiles laf = new ListAttachedFiles();
+            laf.setNote(note);
+            laf.setPathFile(fileName(file.getOriginalFilename()));
+            laf.setFileHash(blob.sha256());
+            laf.setFileSize(blob.size());
+            laf.setContentType(file.getContentType());
+            filesRepository.save(laf);
+            store.commit(blob);
+            return laf;
+        } catch (IOException | RuntimeException e) {
+            store.discard(blob);
+            throw e;
+        }
+    }
+
+    /**
+     * Возвращает вложение для скачивания, если сотрудник имеет доступ к задаче, к заметке которой оно прикреплено:
+     * администратор, автор заметки, исполнитель или участник задачи.
+     *
+     * @param fileId   Идентификатор вложения.
+     * @param employee Аутентифицированный сотрудник.
+     * @return Вложение или null, если вложения нет или оно ещё не перенесено в хранилище.
+     * @throws AccessDeniedException Сотрудник не имеет доступа к задаче.
+     */
+    @Transactional(readOnly = true)
+    public ListAttachedFiles findForDownload(int fileId, Employee employee) {
+        ListAttachedFiles file = filesRepository.findById(fileId).orElse(null);
+        if (file == null || file.getFileHash() == null) {
+            return null;
+        }
+        Note note = file.getNote();
+        String guid = employee.getGuidEmployee();
+        if (!isAdmin(employee) && !guid.equals(note.getGuidEmployee())
+                && !taskRepository.isParticipant(note.getTask().getIdTask(), guid)) {
+            throw new AccessDeniedException("Нет доступа к вложению");
+        }
+        return file;
+    }
+
+    /**
+     * Запуск переноса старых вложений по расписанию.
+     */
+    @Scheduled(fixedDelayString = "${attachments.legacy.interval-ms:3600000}", initialDelayString = "${attachments.legacy.initial-delay-ms:30000}")
+    public void scheduledMigrateLegacy() {
+        if (legacyMigrationEnabled) {
+            migrateLegacyFiles();
+        }
+    }
+
+    /**
+     * Переносит в хранилище файлы, сохранённые до его появления (по пути в path_file), чтобы у них появился
+     * хеш содержимого. Каждый файл переносится в своей транзакции; файл, который не удалось прочитать,
+     * пропускается и остаётся недоступным для скачивания.
+     *
+     * @return Количество перенесённых вложений.
+     */
+    public synchronized int migrateLegacyFiles() {
+        int migrated = 0;
+        int failed = 0;
+        Integer afterId = 0;
+        List<Integer> ids;
+        do {
+            ids = filesRepository.findLegacyIdsAfter(afterId, PageRequest.of(0, gcBatchSize));
+            for (Integer id : ids) {
+                try {
+                    if (Boolean.TRUE.equals(transaction.execute(status -> adoptLegacy(id)))) migrated++;
+                    else failed++;
+                } catch (RuntimeException e) {
+                    failed++;
+                    logger.warn("Не удалось перенести вложение {} в хранилище: {}", id, e.getMessage());
+                }
+            }
+            if (!ids.isEmpty()) afterId = ids.get(ids.size() - 1);
+        } while (ids.size() == gcBatchSize);
+        if (migrated > 0 || failed > 0) {
+            logger.info("Перенос старых вложений в хранилище: перенесено {}, пропущено {}", migrated, failed);
+        }
+        return migrated;
+    }
+
+    private boolean adoptLegacy(int fileId) {
+        ListAttachedFiles file = filesRepository.findById(fileId).orElse(null);
+        if (file == null || file.getFileHash() != null) {
+            return false;
+        }
+        Path legacyRoot = Paths.get(legacyDir).toAbsolutePath().normalize();
+        Path legacy = file.getPathFile() == null ? null : Paths.get(file.getPathFile()).toAbsolutePath().normalize();
+        // Путь берётся из базы, поэтому за пределы старого каталога загрузок не выходим
+        if (legacy == null || !legacy.startsWith(legacyRoot) || !Files.isRegularFile(legacy)) {
+            return false;
+        }
+        AttachmentStore.StagedBlob blob;
+        try (InputStream in = Files.newInputStream(legacy)) {
+            blob = store.stage(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            blobRepository.acquire(blob.sha256(), blob.size(), LocalDateTime.now());
+            file.setFileHash(blob.sha256());
+            file.setFileSize(blob.size());
+            file.setContentType(Files.probeContentType(legacy));
+            file.setPathFile(fileName(legacy.getFileName().toString()));
+            filesRepository.save(file);
+            store.commit(blob);
+        } catch (IOException e) {
+            store.discard(blob);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            store.discard(blob);
+            throw e;
+        }
+        logger.info("Вложение {} перенесено в хранилище: {}", fileId, blob.sha256());
+        return true;
+    }
+
+    /**
+     * Снимает ссылки вложений всех заметок задачи (вызывается перед удалением задачи).
+     *
+     * @param taskId Идентификатор задачи.
+     */
+    @Transactional
+    public void releaseTaskFiles(int taskId) {
+        Map<String, Long> refs = filesRepository.findHashesByTaskId(taskId).stream()
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+        LocalDateTime now = LocalDateTime.now();
+        refs.forEach((hash, count) -> blobRepository.release(hash, count.intValue(), now));
+    }
+
+    /**
+     * Запуск очистки по расписанию.
+     */
+    @Scheduled(fixedDelayString = "${attachments.gc.interval-ms:3600000}", initialDelayString = "${attachments.gc.initial-delay-ms:120000}")
+    public void scheduledCollect() {
+        if (gcEnabled) {
+            collectGarbage();
+        }
+    }
+
+    /**
+     * Удаляет содержимое без ссылок и файлы хранилища без записей в базе.
+     *
+     * @return Количество удалённых файлов.
+     */
+    public synchronized int collectGarbage() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime before = now.minusHours(graceHours);
+        Integer reconciled = transaction.execute(status -> blobRepository.reconcile(now));
+
+        int deleted = 0;
+        for (String hash : blobRepository.findUnreferenced(before, PageRequest.of(0, gcBatchSize))) {
+            // Файл удаляется до фиксации: пока строка заблокирована, новая ссылка на это содержимое ждёт
+            Boolean removed = transaction.execute(status -> {
+                if (blobRepository.deleteIfUnreferenced(hash, before) == 0) {
+                    return false;
+                }
+                deleteFile(hash);
+                return true;
+            });
+            if (Boolean.TRUE.equals(removed)) deleted++;
+        }
+
+        int orphans = 0;
+        try {
+            List<String> files = store.listOlderThan(Instant.now().minus(graceHours, ChronoUnit.HOURS));
+            for (int from = 0; from < files.size() && orphans < gcBatchSize; from += gcBatchSize) {
+                // Хеши с записями отсеиваются одним запросом на порцию, блокировка берётся только для остальных
+                List<String> chunk = files.subList(from, Math.min(from + gcBatchSize, files.size()));
+                Set<String> known = new HashSet<>(blobRepository.findExistingSha256(chunk));
+                for (String hash : chunk) {
+                    if (orphans >= gcBatchSize) break;
+                    if (known.contains(hash)) continue;
+                    Boolean removed = transaction.execute(status -> {
+                        // Блокирующее чтение не даёт параллельной загрузке зарегистрировать это содержимое до удаления файла
+                        if (blobRepository.findLockedBySha256(hash).isPresent()) {
+                            return false;
+                        }
+                        deleteFile(hash);
+                        return true;
+                    });
+                    if (Boolean.TRUE.equals(removed)) orphans++;
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Ошибка обхода хранилища вложений: {}", e.getMessage());
+        }
+        if (deleted > 0 || orphans > 0 || (reconciled != null && reconciled > 0)) {
+            logger.info("Очистка хранилища вложений: исправлено счётчиков {}, удалено содержимого {}, файлов без записей {}",
+                    reconciled, deleted, orphans);
+        }
+        return deleted + orphans;
+    }
+
+    private static boolean isAdmin(Employee employee) {
+        return employee.getEmployeePost() != null && employee.getEmployeePost().getEmployeePermission() != null
+                && "Администратор".equals(employee.getEmployeePost().getEmployeePermission().getPermission());
+    }
+
+    private void deleteFile(String hash) {
+        try {
+            store.delete(hash);
+        } catch (IOException e) {
+            throw new IllegalStateException("Не удалось удалить содержимое " + hash + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static String fileName(String originalFilename) {
+        if (originalFilename == null || originalFilename.isBlank()) {
+            return "file";
+        }
+        // Браузеры на Windows могут передавать полный путь
+        String name = originalFilename.replaceAll(".*[/\\\\]", "").trim();
+        if (name.isEmpty()) {
+            return "file";
+        }
+        return name.length() > MAX_FILE_NAME_LENGTH ? name.substring(name.length() - MAX_FILE_NAME_LENGTH) : name;
+    }
+}
@@ -0,0 +1,88 @@
+package plantime.ru.API.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Хранилище содержимого вложений, адресуемое по SHA-256.
+ * <p>
+ * Сохранение выполняется в два шага: {@link #stage} потоково записывает загрузку во временный файл,
+ * одновременно вычисляя хеш, а {@link #commit} переносит её под постоянный ключ (если такого содержимого
+ * ещё нет). Между шагами вызывающий код регистрирует ссылку на содержимое в базе.
+ * Учёт ссылок и удаление неиспользуемого содержимого — на стороне {@link AttachmentService}.
+ */
+public interface AttachmentStore {
+
+    /**
+     * Загрузка, записанная во временный файл.
+     *
+     * @param sha256 SHA-256 содержимого в шестнадцатеричном виде.
+     * @param size   Размер в байтах.
+     * @param temp   Временный файл.
+     */
+    record StagedBlob(String sha256, long size, Path temp) {
+    }
+
+    /**
+     * Записывает поток во временный файл, вычисляя хеш содержимого.
+     *
+     * @param content Поток с содержимым (закрывается вызывающим кодом).
+     * @return Описание записанной загрузки.
+     * @throws IOException Ошибка записи.
+     */
+    StagedBlob stage(InputStream content) throws IOException;
+
+    /**
+     * Переносит загрузку под постоянный ключ; если содержимое уже есть, временный файл удаляется.
+     *
+     * @param blob Загрузка, полученная от {@link #stage}.
+     * @throws IOException Ошибка переноса.
+     */
+    void commit(StagedBlob blob) throws IOException;
+
+    /**
+     * Удаляет временный файл незавершённой загрузки.
+     *
+     * @param blob Загрузка, полученная от {@link #stage}.
+     */
+    void discard(StagedBlob blob);
+
+    /**
+     * Открывает содержимое для чтения.
+     *
+     * @param sha256 Хеш содержимого.
+     * @return Канал файла (закрывается вызывающим кодом).
+     * @throws IOException Содержимое отсутствует или недоступно.
+     */
+    FileChannel open(String sha256) throws IOException;
+
+    /**
+     * Путь к файлу содержимого (для отдачи средствами контейнера, например sendfile).
+     *
+     * @param sha256 Хеш содержимого.
+     * @return Путь к файлу.
+     */
+    Path locate(String sha256);
+
+    /**
+     * Удаляет содержимое.
+     *
+     * @param sha256 Хеш содержимого.
+     * @throws IOException Ошибка удаления.
+     */
+    void delete(String sha256) throws IOException;
+
+    /**
+     * Возвращает хеши содержимого, изменённого раньше указанного момента
+     * (для поиска файлов, на которые нет записей в базе).
+     *
+     * @param before Граница времени изменения.
+     * @return Список хешей.
+     * @throws IOException Ошибка обхода хранилища.
+     */
+    List<String> listOlderThan(Instant before) throws IOException;
+}
@@ -0,0 +1,216 @@
+package plantime.ru.API.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import plantime.ru.API.dto.AuditMetricsDTO;
+import plantime.ru.API.entity.Log;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Асинхронная запись журнала действий (таблица log).
+ * События складываются в ограниченную очередь в памяти и записываются фоновым потоком
+ * пакетными INSERT через JDBC — по достижении размера пакета или по таймеру.
+ * Пакет пишется в одной транзакции; если он не записался (например, одна запись нарушает внешний ключ),
+ * записи повторяются по одной и теряются только те, что не записались сами по себе.
+ * При переполнении очереди вызывающий поток ждёт не дольше {@code audit.offer-timeout-ms},
+ * после чего событие отбрасывается и учитывается в метриках.
+ */
+@Service
+public class AuditLogWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO log (guid_employee, action, created_at) VALUES (?, ?, ?)";
+    private static final Logger logger = LoggerFactory.getLogger(AuditLogWriter.class);
+
+    /**
+     * Событие журнала в очереди. GUID сотрудника извлекается в вызывающем потоке,
+     * чтобы фоновый поток не обращался к сущностям вне сессии Hibernate.
+     */
+    private record AuditEvent(String guidEmployee, String action, LocalDateTime createdAt) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate batchTransaction;
+    private BlockingQueue<AuditEvent> queue;
+    private Thread flusher;
+    private volatile boolean running;
+
+    private final AtomicLong writtenEvents = new AtomicLong();
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private final AtomicLong failedEvents = new AtomicLong();
+    private final AtomicLong flushCount = new AtomicLong();
+    private volatile long lastFlushMillis;
+    private volatile long maxFlushMillis;
+
+    /**
+     * Ёмкость очереди событий.
+     */
+    @Value("${audit.queue-capacity:10000}")
+    private int queueCapacity;
+
+    /**
+     * Максимальный размер пакета INSERT.
+     */
+    @Value("${audit.batch-size:200}")
+    private int batchSize;
+
+    /**
+     * Максимальный интервал между записями пакетов в миллисекундах.
+     */
+    @Value("${audit.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    /**
+     * Время ожидания места в очереди при переполнении (0 — отбрасывать сразу).
+     */
+    @Value("${audit.offer-timeout-ms:50}")
+    private long offerTimeoutMs;
+
+    public AuditLogWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Запускает фоновый поток записи журнала.
+     */
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        flusher = new Thread(this::flushLoop, "audit-log-writer");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Останавливает фоновый поток и записывает все накопленные события.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        flusher.join(flushIntervalMs + TimeUnit.SECONDS.toMillis(10));
+        List<AuditEvent> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        while (!rest.isEmpty()) {
+            int end = Math.min(batchSize, rest.size());
+            flush(new ArrayList<>(rest.subList(0, end)));
+            rest.subList(0, end).clear();
+        }
+        logger.info("Журнал действий остановлен: записано {}, отброшено {}, ошибок записи {}",
+                writtenEvents.get(), droppedEvents.get(), failedEvents.get());
+    }
+
+    /**
+     * Ставит запись журнала в очередь на запись.
+     *
+     * @param log Запись журнала.
+     */
+    public void write(Log log) {
+        if (log.getEmployee() == null || log.getEmployee().getGuidEmployee() == null) {
+            droppedEvents.incrementAndGet();
+            logger.warn("Запись журнала без сотрудника отброшена: {}", log.getAction());
+            return;
+        }
+        AuditEvent event = new AuditEvent(log.getEmployee().getGuidEmployee(), log.getAction(),
+                log.getCreatedAt() != null ? log.getCreatedAt() : LocalDateTime.now());
+        try {
+            if (!queue.offer(event, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                droppedEvents.incrementAndGet();
+                logger.warn("Очередь журнала переполнена, запись отброшена: {}", log.getAction());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            droppedEvents.incrementAndGet();
+        }
+    }
+
+    /**
+     * Возвращает метрики записи журнала.
+     *
+     * @return DTO с метриками.
+     */
+    public AuditMetricsDTO getMetrics() {
+        return new AuditMetricsDTO(queue.size(), queueCapacity, writtenEvents.get(), droppedEvents.get(),
+                failedEvents.get(), flushCount.get(), lastFlushMillis, maxFlushMillis);
+    }
+
+    private void flushLoop() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        long deadline = System.currentTimeMillis() + flushIntervalMs;
+        while (running) {
+            try {
+                long wait = deadline - System.currentTimeMillis();
+                AuditEvent next = wait > 0 ? queue.poll(wait, TimeUnit.MILLISECONDS) : null;
+                if (next != null) {
+                    batch.add(next);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+                if (batch.size() >= batchSize || System.currentTimeMillis() >= deadline) {
+                    if (!batch.isEmpty()) {
+                        flush(batch);
+                        batch = new ArrayList<>(batchSize);
+                    }
+                    deadline = System.currentTimeMillis() + flushIntervalMs;
+                }
+            } catch (InterruptedException e) {
+                break;
+            }
+        }
+        // Незаписанный пакет возвращаем в очередь — его допишет stop()
+        for (AuditEvent event : batch) {
+            if (!queue.offer(event)) {
+                droppedEvents.incrementAndGet();
+            }
+        }
+    }
+
+    private void flush(List<AuditEvent> batch) {
+        long start = System.currentTimeMillis();
+        try {
+            // Транзакция нужна, чтобы при ошибке откатился весь пакет и повтор по одной записи не создал дублей
+            batchTransaction.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, event) -> {
+                        ps.setString(1, event.guidEmployee());
+                        ps.setString(2, event.action());
+                        ps.setTimestamp(3, Timestamp.valueOf(event.createdAt()));
+                    }));
+            writtenEvents.addAndGet(batch.size());
+        } catch (Exception e) {
+            logger.warn("Ошибка пакетной записи журнала ({} записей), повтор по одной: {}", batch.size(), e.getMessage());
+            flushOneByOne(batch);
+        } finally {
+            long elapsed = System.currentTimeMillis() - start;
+            lastFlushMillis = elapsed;
+            if (elapsed > maxFlushMillis) maxFlushMillis = elapsed;
+            flushCount.incrementAndGet();
+        }
+    }
+
+    private void flushOneByOne(List<AuditEvent> batch) {
+        for (AuditEvent event : batch) {
+            try {
+                jdbcTemplate.update(INSERT_SQL, event.guidEmployee(), event.action(), Timestamp.valueOf(event.createdAt()));
+                writtenEvents.incrementAndGet();
+            } catch (Exception e) {
+                failedEvents.incrementAndGet();
+                logger.error("Ошибка записи журнала: guid_employee={}, action={}: {}",
+                        event.guidEmployee(), event.action(), e.getMessage());
+            }
+        }
+    }
+}
@@ -2,10 +2,14 @@ package plantime.ru.API.service;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import plantime.ru.API.dto.*;
 import plantime.ru.API.entity.Employee;
 import plantime.ru.API.entity.Session;
@@ -13,17 +17,19 @@ import plantime.ru.API.entity.PasswordResetToken;
 import plantime.ru.API.repository.EmployeeRepository;
 import plantime.ru.API.repository.PasswordResetTokenRepository;
 import plantime.ru.API.repository.SessionRepository;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
-import org.springframework.mail.javamail.MimeMessageHelper;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 import java.security.SecureRandom;
 
 /**
@@ -31,13 +37,34 @@ import java.security.SecureRandom;
  */
 @Service
 public class AuthService {
-    private final BCryptPasswordEncoder passwordEncoder;
+
+    /**
+     * Данные учётной записи, нужные для проверки пароля вне транзакции.
+     */
+    private record LoginCandidate(String guidEmployee, String passwordHash, String status) {
+    }
+
+    private final PasswordHashingService passwordHashingService;
     private final EmployeeRepository employeeRepository;
     private final SessionRepository sessionRepository;
     private final PasswordResetTokenRepository passwordResetTokenRepository;
-    private final JavaMailSender mailSender;
+    private final MailOutboxService mailOutboxService;
+    private final AuthTokenCache authTokenCache;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong verifications = new AtomicLong();
+    private final AtomicLong sessionLookups = new AtomicLong();
+    private final AtomicLong verifyNanos = new AtomicLong();
     private final Logger logger = LoggerFactory.getLogger(AuthService.class);
 
+    /**
+     * Ключ подписи и парсер JWT создаются один раз при запуске (оба потокобезопасны).
+     */
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
     /**
      * Секретный ключ для подписи JWT-токенов, загружаемый из конфигурации.
      */
@@ -51,10 +78,16 @@ public class AuthService {
     private long jwtExpiration;
 
     /**
-     * Адрес отправителя для писем, загружаемый из конфигурации.
+     * Режим проверки токенов: session — по таблице session (по умолчанию),
+     * stateless — только подпись и срок действия плюс реестр отозванных токенов.
+     */
+    @Value("#{'${auth.verification-mode:session}' == 'stateless'}")
+    private boolean statelessVerification;
+
+    /**
+     * Шаблон письма со сбросом пароля (разбирается один раз при создании сервиса).
      */
-    @Value("${spring.mail.username}")
-    private String fromEmail;
+    private final MailTemplate passwordResetTemplate = MailTemplate.load("mail/password-reset.html");
 
     /**
      * Конструктор для инициализации сервиса аутентификации.
@@ -62,15 +95,35 @@ public class AuthService {
      * @param employeeRepository        Репозиторий для доступа к данным сотрудников.
      * @param sessionRepository         Репозиторий для управления сессиями пользователей.
      * @param passwordResetTokenRepository Репозиторий для управления токенами сброса пароля.
-     * @param mailSender                Сервис для отправки электронных писем.
+     * @param mailOutboxService         Очередь исходящих писем.
+     * @param authTokenCache            Кэш проверенных токенов.
+     * @param tokenRevocationRegistry   Реестр отозванных токенов (режим stateless).
+     * @param passwordHashingService    Хеширование и проверка паролей в отдельном пуле.
+     * @param transactionManager        Менеджер транзакций (вход и проверка токена при промахе кэша).
      */
     public AuthService(EmployeeRepository employeeRepository, SessionRepository sessionRepository,
-                       PasswordResetTokenRepository passwordResetTokenRepository, JavaMailSender mailSender) {
-        this.passwordEncoder = new BCryptPasswordEncoder();
+                       PasswordResetTokenRepository passwordResetTokenRepository, MailOutboxService mailOutboxService,
+                       AuthTokenCache authTokenCache, TokenRevocationRegistry tokenRevocationRegistry,
+                       PasswordHashingService passwordHashingService, PlatformTransactionManager transactionManager) {
+        this.passwordHashingService = passwordHashingService;
         this.employeeRepository = employeeRepository;
         this.sessionRepository = sessionRepository;
         this.passwordResetTokenRepository = passwordResetTokenRepository;
-        this.mailSender = mailSender;
+        this.mailOutboxService = mailOutboxService;
+        this.authTokenCache = authTokenCache;
+        this.tokenRevocationRegistry = tokenRevocationRegistry;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Инициализирует ключ подписи и парсер JWT по секрету из конфигурации.
+     */
+    @PostConstruct
+    public void initJwt() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parser().setSigningKey(signingKey).build();
     }
 
     /**
@@ -95,19 +148,22 @@ public class AuthService {
             throw new IllegalArgumentException(
                     "Пароль должен содержать минимум одну букву, одну цифру и один специальный символ");
         }
-        String hashedPassword = passwordEncoder.encode(password);
+        String hashedPassword = passwordHashingService.encode(password);
         logger.info("Пароль успешно хеширован");
         return new HashPasswordResponse(hashedPassword);
     }
 
     /**
      * Выполняет вход пользователя в систему, создавая JWT-токен и сессию.
+     * <p>
+     * Метод не транзакционный: проверка пароля BCrypt может ждать в очереди пула хеширования,
+     * и соединение с базой на это время не удерживается. Учётная запись читается в короткой транзакции
+     * только для чтения, а перехеширование, отметка входа и замена сессий — в отдельной короткой транзакции.
      *
      * @param request Запрос с логином (или email) и паролем.
      * @return Объект с JWT-токеном авторизации.
      * @throws IllegalArgumentException Если логин или пароль пустые, неверные, или учетная запись неактивна.
      */
-    @Transactional
     public LoginResponse login(LoginRequest request) {
         if (request == null || request.getLogin() == null || request.getLogin().isEmpty()) {
             logger.error("Вход не удался: логин или email отсутствует");
@@ -118,41 +174,62 @@ public class AuthService {
             throw new IllegalArgumentException("Пароль обязателен");
         }
 
-        Optional<Employee> employeeOpt = employeeRepository.findByLoginOrEmail(request.getLogin(), request.getLogin());
-        if (employeeOpt.isEmpty()) {
+        LoginCandidate candidate = readTransaction.execute(status -> employeeRepository
+                .findByLoginOrEmail(request.getLogin(), request.getLogin())
+                .map(employee -> new LoginCandidate(employee.getGuidEmployee(), employee.getPassword(),
+                        employee.getEmployeeStatus() != null ? employee.getEmployeeStatus().getStatus() : null))
+                .orElse(null));
+        if (candidate == null) {
             logger.error("Вход не удался: пользователь не найден для логина {}", request.getLogin());
             throw new IllegalArgumentException("Неверный логин или пароль");
         }
 
-        Employee employee = employeeOpt.get();
-        if (!passwordEncoder.matches(request.getPassword(), employee.getPassword())) {
+        if (!passwordHashingService.matches(request.getPassword(), candidate.passwordHash())) {
             logger.error("Вход не удался: неверный пароль для логина {}", request.getLogin());
             throw new IllegalArgumentException("Неверный логин или пароль");
         }
 
-        if (employee.getEmployeeStatus() == null || "Неактивен".equals(employee.getEmployeeStatus().getStatus())) {
+        if (candidate.status() == null || "Неактивен".equals(candidate.status())) {
             logger.error("Вход не удался: учетная запись неактивна для логина {}", request.getLogin());
             throw new IllegalArgumentException("Учетная запись неактивна");
         }
 
-        String guidEmployee = employee.getGuidEmployee();
+        String guidEmployee = candidate.guidEmployee();
         if (guidEmployee == null || guidEmployee.length() != 36 ||
                 !guidEmployee.matches("^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}$")) {
             logger.error("Вход не удался: недействительный guid_employee для логина {}", request.getLogin());
             throw new IllegalArgumentException("Недействительный идентификатор сотрудника для пользователя: " + request.getLogin());
         }
 
-        employee.setLastAuthorization(LocalDateTime.now());
-        employeeRepository.save(employee);
+        // Коэффициент стоимости BCrypt изменён в конфигурации — перехешируем пароль, пока он известен
+        String rehashed = passwordHashingService.needsRehash(candidate.passwordHash())
+                ? passwordHashingService.encode(request.getPassword())
+                : null;
+
+        return writeTransaction.execute(status -> {
+            Employee employee = employeeRepository.findWithDetailsByGuidEmployee(guidEmployee).orElse(null);
+            // Пароль могли сменить, пока шла проверка: вход по старому паролю не допускается
+            if (employee == null || !candidate.passwordHash().equals(employee.getPassword())) {
+                logger.error("Вход не удался: учетная запись изменилась во время входа для логина {}", request.getLogin());
+                throw new IllegalArgumentException("Неверный логин или пароль");
+            }
+            if (rehashed != null) {
+                employee.setPassword(rehashed);
+                logger.info("Пароль перехеширован с новым коэффициентом стоимости: guid_employee={}", guidEmployee);
+            }
 
-        sessionRepository.deleteByEmployee(employee);
-        String token = generateJwtToken(guidEmployee);
-        LocalDateTime expiresAt = LocalDateTime.now().plusSeconds(jwtExpiration / 1000);
-        Session session = new Session(token, expiresAt, employee);
-        sessionRepository.save(session);
+            employee.setLastAuthorization(LocalDateTime.now());
+            employeeRepository.save(employee);
 
-        logger.info("Пользователь успешно вошел в систему: guid_employee={}", guidEmployee);
-        return new LoginResponse(token, expiresAt, employee.getEmployeePost().getEmployeePermission().getPermission(), employee.getProfilePicture());
+            closeSessions(employee);
+            String token = generateJwtToken(guidEmployee);
+            LocalDateTime expiresAt = LocalDateTime.now().plusSeconds(jwtExpiration / 1000);
+            Session session = new Session(token, expiresAt, employee);
+            sessionRepository.save(session);
+
+            logger.info("Пользователь успешно вошел в систему: guid_employee={}", guidEmployee);
+            return new LoginResponse(token, expiresAt, employee.getEmployeePost().getEmployeePermission().getPermission(), employee.getProfilePicture());
+        });
     }
 
     /**
@@ -190,25 +267,28 @@ public class AuthService {
 
     /**
      * Извлекает сотрудника из JWT-токена.
+     * Метод не транзакционный: попадание в кэш не обращается к базе и не занимает соединение из пула,
+     * сессия и сотрудник читаются в короткой транзакции только при промахе.
      *
      * @param token JWT-токен.
      * @return Объект сотрудника.
      * @throws IllegalArgumentException Если токен пустой, невалиден, истек или пользователь не найден.
      */
-    @Transactional(readOnly = true)
     public Employee getEmployeeFromToken(String token) {
         if (token == null || token.trim().isEmpty()) {
             logger.error("Извлечение сотрудника из токена не удалось: токен пустой");
             throw new IllegalArgumentException("Токен обязателен");
         }
 
+        Employee cached = authTokenCache.get(token);
+        if (cached != null) {
+            cacheHits.incrementAndGet();
+            return cached;
+        }
+
+        long started = System.nanoTime();
         try {
-            SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-            Claims claims = Jwts.parser()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
 
             String guidEmployee = claims.getSubject();
             if (guidEmployee == null || guidEmployee.length() != 36 ||
@@ -216,24 +296,11 @@ public class AuthService {
                 logger.error("Извлечение сотрудника из токена не удалось: недействительный guid_employee");
                 throw new IllegalArgumentException("Недействительный идентификатор сотрудника в токене");
             }
+            // Поколение берётся до чтения сессии и сотрудника: если за время загрузки сотрудник
+            // выйдет из системы или изменится, результат в кэш не попадёт
+            long generation = authTokenCache.generation(guidEmployee);
 
-            Optional<Session> sessionOpt = sessionRepository.findByToken(token);
-            if (sessionOpt.isEmpty() || sessionOpt.get().getExpiresAt().isBefore(LocalDateTime.now())) {
-                logger.error("Извлечение сотрудника из токена не удалось: токен недействителен или истек");
-                throw new IllegalArgumentException("Токен недействителен или истек");
-            }
-
-            Optional<Employee> employeeOpt = employeeRepository.findByGuidEmployee(guidEmployee);
-            if (employeeOpt.isEmpty()) {
-                logger.error("Извлечение сотрудника из токена не удалось: пользователь не найден для guid_employee {}", guidEmployee);
-                throw new IllegalArgumentException("Пользователь не найден для идентификатора: " + guidEmployee);
-            }
-
-            Employee employee = employeeOpt.get();
-            if (employee.getEmployeeStatus() == null || "Неактивен".equals(employee.getEmployeeStatus().getStatus())) {
-                logger.error("Извлечение сотрудника из токена не удалось: учетная запись неактивна для guid_employee {}", guidEmployee);
-                throw new IllegalArgumentException("Учетная запись неактивна");
-            }
+            Employee employee = readTransaction.execute(status -> loadTokenOwner(token, claims, guidEmployee, generation));
             logger.info("Сотрудник успешно извлечен из токена: guid_employee={}", guidEmployee);
             return employee;
         } catch (ExpiredJwtException e) {
@@ -242,9 +309,56 @@ public class AuthService {
         } catch (JwtException e) {
             logger.error("Извлечение сотрудника из токена не удалось: недействительный токен");
             throw new IllegalArgumentException("Недействительный токен");
+        } finally {
+            verifications.incrementAndGet();
+            verifyNanos.addAndGet(System.nanoTime() - started);
         }
     }
 
+    /**
+     * Проверяет сессию (или реестр отзыва) и загружает владельца токена; кладёт результат в кэш.
+     *
+     * @param token        JWT-токен.
+     * @param claims       Проверенные утверждения токена.
+     * @param guidEmployee GUID сотрудника из токена.
+     * @param generation   Поколение записи кэша, прочитанное до загрузки.
+     * @return Сотрудник со связанными справочниками.
+     */
+    private Employee loadTokenOwner(String token, Claims claims, String guidEmployee, long generation) {
+        LocalDateTime expiresAt;
+        if (statelessVerification && claims.getId() != null
+                && !tokenRevocationRegistry.needsSessionCheck(claims.getIssuedAt().getTime())) {
+            // Режим stateless: подпись и срок уже проверены парсером, остаётся реестр отзыва
+            if (tokenRevocationRegistry.isRevoked(claims.getId(), claims.getIssuedAt().getTime())) {
+                logger.error("Извлечение сотрудника из токена не удалось: токен отозван");
+                throw new IllegalArgumentException("Токен недействителен или истек");
+            }
+            expiresAt = LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault());
+        } else {
+            sessionLookups.incrementAndGet();
+            Optional<Session> sessionOpt = sessionRepository.findByToken(token);
+            if (sessionOpt.isEmpty() || sessionOpt.get().getExpiresAt().isBefore(LocalDateTime.now())) {
+                logger.error("Извлечение сотрудника из токена не удалось: токен недействителен или истек");
+                throw new IllegalArgumentException("Токен недействителен или истек");
+            }
+            expiresAt = sessionOpt.get().getExpiresAt();
+        }
+
+        Optional<Employee> employeeOpt = employeeRepository.findWithDetailsByGuidEmployee(guidEmployee);
+        if (employeeOpt.isEmpty()) {
+            logger.error("Извлечение сотрудника из токена не удалось: пользователь не найден для guid_employee {}", guidEmployee);
+            throw new IllegalArgumentException("Пользователь не найден для идентификатора: " + guidEmployee);
+        }
+
+        Employee employee = employeeOpt.get();
+        if (employee.getEmployeeStatus() == null || "Неактивен".equals(employee.getEmployeeStatus().getStatus())) {
+            logger.error("Извлечение сотрудника из токена не удалось: учетная запись неактивна для guid_employee {}", guidEmployee);
+            throw new IllegalArgumentException("Учетная запись неактивна");
+        }
+        authTokenCache.put(token, employee, expiresAt, generation);
+        return employee;
+    }
+
     /**
      * Проверяет JWT-токен и возвращает информацию о сотруднике.
      *
@@ -252,72 +366,107 @@ public class AuthService {
      * @return Объект с информацией о сотруднике (фамилия, имя, отчество, роль, фото, статус).
      * @throws IllegalArgumentException Если токен пустой, невалиден, истек, пользователь не найден или статус не определен.
      */
-    @Transactional(readOnly = true)
     public VerifyResponse verifyToken(String token) {
         if (token == null || token.trim().isEmpty()) {
             logger.error("Верификация токена не удалась: токен пустой");
             throw new IllegalArgumentException("Токен обязателен");
         }
 
-        try {
-            SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-            Claims claims = Jwts.parser()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+        // Проверка подписи, сессии и статуса выполняется (или берётся из кэша) в getEmployeeFromToken
+        Employee employee = getEmployeeFromToken(token);
+        String guidEmployee = employee.getGuidEmployee();
 
-            String guidEmployee = claims.getSubject();
-            if (guidEmployee == null || guidEmployee.length() != 36 ||
-                    !guidEmployee.matches("^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}$")) {
-                logger.error("Верификация токена не удалась: недействительный guid_employee");
-                throw new IllegalArgumentException("Недействительный идентификатор сотрудника в токене");
-            }
+        String post = employee.getEmployeePost() != null ? employee.getEmployeePost().getPost() : null;
+        String permission = employee.getEmployeePost() != null && employee.getEmployeePost().getEmployeePermission() != null
+                ? employee.getEmployeePost().getEmployeePermission().getPermission()
+                : null;
+        String status = employee.getEmployeeStatus() != null ? employee.getEmployeeStatus().getStatus() : null;
 
-            Optional<Session> sessionOpt = sessionRepository.findByToken(token);
-            if (sessionOpt.isEmpty() || sessionOpt.get().getExpiresAt().isBefore(LocalDateTime.now())) {
-                logger.error("Верификация токена не удалась: токен недействителен или истек");
-                throw new IllegalArgumentException("Токен недействителен или истек");
-            }
+        if (status == null) {
+            logger.error("Верификация токена не удалась: статус сотрудника не определен для guid_employee {}", guidEmployee);
+            throw new IllegalArgumentException("Статус сотрудника не определен");
+        }
 
-            Optional<Employee> employeeOpt = employeeRepository.findByGuidEmployee(guidEmployee);
-            if (employeeOpt.isEmpty()) {
-                logger.error("Верификация токена не удалась: пользователь не найден для guid_employee {}", guidEmployee);
-                throw new IllegalArgumentException("Пользователь не найден для идентификатора: " + guidEmployee);
-            }
+        logger.info("Токен успешно верифицирован: guid_employee={}", guidEmployee);
+        return new VerifyResponse(
+                employee.getSurname(),
+                employee.getFirstName(),
+                employee.getPatronymic(),
+                permission,
+                employee.getProfilePicture(),
+                status
+        );
+    }
 
-            Employee employee = employeeOpt.get();
-            if (employee.getEmployeeStatus() == null || "Неактивен".equals(employee.getEmployeeStatus().getStatus())) {
-                logger.error("Верификация токена не удалась: учетная запись неактивна для guid_employee {}", guidEmployee);
-                throw new IllegalArgumentException("Учетная запись неактивна");
+    /**
+     * Удаляет все сессии сотрудника и сбрасывает их из кэша проверенных токенов (повторно — после фиксации транзакции).
+     *
+     * @param employee Сотрудник.
+     */
+    @Transactional
+    public void closeSessions(Employee employee) {
+        if (statelessVerification) {
+            for (String token : sessionRepository.findTokensByEmployee(employee)) {
+                String tokenId = extractTokenId(token);
+                if (tokenId != null) {
+                    tokenRevocationRegistry.revoke(tokenId);
+                }
             }
+        }
+        sessionRepository.deleteByEmployee(employee);
+        authTokenCache.invalidateEmployee(employee.getGuidEmployee());
+    }
 
-            String post = employee.getEmployeePost() != null ? employee.getEmployeePost().getPost() : null;
-            String permission = employee.getEmployeePost() != null && employee.getEmployeePost().getEmployeePermission() != null
-                    ? employee.getEmployeePost().getEmployeePermission().getPermission()
-                    : null;
-            String status = employee.getEmployeeStatus() != null ? employee.getEmployeeStatus().getStatus() : null;
-
-            if (status == null) {
-                logger.error("Верификация токена не удалась: статус сотрудника не определен для guid_employee {}", guidEmployee);
-                throw new IllegalArgumentException("Статус сотрудника не определен");
+    /**
+     * Восстанавливает реестр отзыва по действующим сессиям при запуске (только в режиме stateless).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildRevocationRegistry() {
+        if (!statelessVerification) {
+            return;
+        }
+        List<String> tokenIds = new ArrayList<>();
+        for (String token : sessionRepository.findActiveTokens(LocalDateTime.now())) {
+            String tokenId = extractTokenId(token);
+            if (tokenId != null) {
+                tokenIds.add(tokenId);
             }
+        }
+        tokenRevocationRegistry.initialize(tokenIds);
+    }
 
-            logger.info("Токен успешно верифицирован: guid_employee={}", guidEmployee);
-            return new VerifyResponse(
-                    employee.getSurname(),
-                    employee.getFirstName(),
-                    employee.getPatronymic(),
-                    permission,
-                    employee.getProfilePicture(),
-                    status
-            );
-        } catch (ExpiredJwtException e) {
-            logger.error("Верификация токена не удалась: токен истек");
-            throw new IllegalArgumentException("Токен истек");
+    /**
+     * Возвращает метрики проверки токенов.
+     *
+     * @return DTO с метриками.
+     */
+    public AuthMetricsDTO getMetrics() {
+        long count = verifications.get();
+        return new AuthMetricsDTO(
+                statelessVerification ? "stateless" : "session",
+                cacheHits.get(),
+                count,
+                sessionLookups.get(),
+                count == 0 ? 0 : verifyNanos.get() / count / 1000,
+                tokenRevocationRegistry.getRevokedCount(),
+                passwordHashingService.getOperations(),
+                passwordHashingService.getAvgOperationMicros(),
+                passwordHashingService.getQueueDepth(),
+                passwordHashingService.getRejected()
+        );
+    }
+
+    /**
+     * Извлекает идентификатор (jti) из действующего токена.
+     *
+     * @param token JWT-токен.
+     * @return Идентификатор или null, если токен истёк, невалиден или выпущен без jti.
+     */
+    private String extractTokenId(String token) {
+        try {
+            return jwtParser.parseClaimsJws(token).getBody().getId();
         } catch (JwtException e) {
-            logger.error("Верификация токена не удалась: недействительный токен");
-            throw new IllegalArgumentException("Недействительный токен");
+            return null;
         }
     }
 
@@ -330,13 +479,12 @@ public class AuthService {
     private String generateJwtToken(String guidEmployee) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpiration);
-        SecretKey key = Keys
-                .hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
         String token = Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(guidEmployee)
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(key)
+                .signWith(signingKey)
                 .compact();
         logger.info("JWT-токен сгенерирован для guid_employee={}", guidEmployee);
         return token;
@@ -348,7 +496,6 @@ public class AuthService {
      * @param request Запрос с email пользователя. Email обязателен.
      * @return Ответ с подтверждением отправки кода.
      * @throws IllegalArgumentException Если email пустой, пользователь не найден или учетная запись неактивна.
-     * @throws IllegalStateException Если не удалось отправить письмо.
      */
     @Transactional
     public PasswordResetResponse requestPasswordReset(PasswordResetRequest request) {
@@ -376,14 +523,13 @@ public class AuthService {
         PasswordResetToken token = new PasswordResetToken(code, employee, expiresAt);
         passwordResetTokenRepository.save(token);
 
-        try {
-            sendPasswordResetEmail(email, code, employee.getFirstName());
-            logger.info("Код для сброса пароля отправлен на {}", email);
-            return new PasswordResetResponse("Код для сброса пароля отправлен на " + email);
-        } catch (MessagingException e) {
-            logger.error("Не удалось отправить письмо для сброса пароля на {}: {}", email, e.getMessage());
-            throw new IllegalStateException("Ошибка при отправке письма для сброса пароля");
-        }
+        // Письмо сохраняется в outbox в этой же транзакции и отправляется фоновым пулом после фиксации
+        String html = passwordResetTemplate.render(Map.of(
+                "firstName", employee.getFirstName() != null ? employee.getFirstName() : "Пользователь",
+                "code", code));
+        mailOutboxService.enqueue(email, "Сброс пароля PlanTime", html);
+        logger.info("Код для сброса пароля поставлен в очередь отправки на {}", email);
+        return new PasswordResetResponse("Код для сброса пароля отправлен на " + email);
     }
 
     /**
@@ -437,11 +583,11 @@ public class AuthService {
                     "Новый пароль должен содержать минимум одну букву, одну цифру и один специальный символ (@, $, !, %, *, #, ?, &, ., _, ,)");
         }
 
-        employee.setPassword(passwordEncoder.encode(newPassword));
+        employee.setPassword(passwordHashingService.encode(newPassword));
         employeeRepository.save(employee);
 
         passwordResetTokenRepository.delete(resetToken);
-        sessionRepository.deleteByEmployee(employee);
+        closeSessions(employee);
 
         logger.info("Пароль успешно сброшен для сотрудника {}", employee.getGuidEmployee());
         return new PasswordResetResponse("Пароль успешно сброшен");
@@ -458,126 +604,4 @@ public class AuthService {
         logger.debug("Сгенерирован код для сброса пароля: {}", code);
         return String.valueOf(code);
     }
-
-    /**
-     * Отправляет письмо с кодом для сброса пароля.
-     *
-     * @param to        Email получателя.
-     * @param code      Код для сброса пароля.
-     * @param firstName Имя сотрудника (может быть null).
-     * @throws MessagingException Если не удалось отправить письмо.
-     */
-    private void sendPasswordResetEmail(String to, String code, String firstName) throws MessagingException {
-        MimeMessage message = mailSender.createMimeMessage();
-        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-        helper.setFrom(fromEmail);
-        helper.setTo(to);
-        helper.setSubject("Сброс пароля PlanTime");
-
-        String htmlContent = """
-                    <!DOCTYPE html>
-                           <html>
-                           <head>
-                               <meta charset="UTF-8">
-                               <meta name="viewport" content="width=device-width, initial-scale=1.0">
-                               <title>Сброс пароля PlanTime</title>
-                               <link href="https://fonts.googleapis.com/css2?family=Roboto:wght@400;700&display=swap" rel="stylesheet">
-                               <style>
-                                   body {
-                                       font-family: 'Roboto', Arial, sans-serif;
-                                       line-height: 1.6;
-                                       color: #333;
-                                       background-color: #E3F2FD;
-                                       margin: 0;
-                                       padding: 0;
-                                   }
-                                   .container {
-                                       max-width: 600px;
-                                       margin: 20px auto;
-                                       padding: 0;
-                                       background-color: #FFFFFF;
-                                       border-radius: 10px;
-                                       box-shadow: 0 4px 12px rgba(0, 0, 0, 0.1);
-                                   }
-                                   .header {
-                                       background-color: #1E88E5;
-                                       color: #FFFFFF;
-                                       padding: 20px;
-                                       text-align: center;
-                                       border-top-left-radius: 10px;
-                                       border-top-right-radius: 10px;
-                                   }
-                                   .header h2 {
-                                       margin: 0;
-                                       font-size: 24px;
-                                       font-weight: 700;
-                                   }
-                                   .content {
-                                       padding: 30px;
-                                       background-color: #F5FAFF;
-                                   }
-                                   .content p {
-                                       margin: 0 0 15px;
-                                       font-size: 16px;
-                                   }
-                                   .code {
-                                       font-size: 28px;
-                                       font-weight: 700;
-                                       color: #1E88E5;
-                                       text-align: center;
-                                       margin: 25px 0;
-                                       background-color: #E3F2FD;
-                                       padding: 15px;
-                                       border-radius: 8px;
-                                       letter-spacing: 2px;
-                                   }
-                                   .footer {
-                                       text-align: center;
-                                       font-size: 12px;
-                                       color: #78909C;
-                                       padding: 20px;
-                                       background-color: #F5FAFF;
-                                       border-bottom-left-radius: 10px;
-                                       border-bottom-right-radius: 10px;
-                                   }
-                                   @media only screen and (max-width: 600px) {
-                                       .container {
-                                           margin: 10px;
-                                           border-radius: 8px;
-                                       }
-                                       .content {
-                                           padding: 20px;
-                                       }
-                                       .code {
-                                           font-size: 24px;
-                                           padding: 10px;
-                                       }
-                                   }
-                               </style>
-                           </head>
-                           <body>
-                               <div class="container">
-                                   <div class="header">
-                                       <h2>Сброс пароля PlanTime</h2>
-                                   </div>
-                                   <div class="content">
-                                       <p>Уважаемый(ая) %s,</p>
-                                       <p>Вы запросили сброс пароля для вашей учетной записи в PlanTime. Ваш код для сброса пароля:</p>
-                                       <div class="code">%s</div>
-                                       <p>Пожалуйста, используйте этот код в течение 15 минут, чтобы завершить процесс сброса пароля.</p>
-                                       <p>Если вы не запрашивали сброс пароля, проигнорируйте это письмо.</p>
-                                   </div>
-                                   <div class="footer">
-                                       <p>PlanTime © 2025. Все права защищены.</p>
-                                   </div>
-                               </div>
-                           </body>
-                           </html>
-                """.formatted(firstName != null ? firstName : "Пользователь", code);
-
-        helper.setText(htmlContent, true);
-        mailSender.send(message);
-        logger.info("Письмо с кодом сброса пароля отправлено на {}", to);
-    }
 }
\ No newline at end of file
@@ -0,0 +1,193 @@
+package plantime.ru.API.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import plantime.ru.API.entity.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.math.BigDecimal;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Кэш проверенных JWT-токенов в памяти процесса.
+ * Ключ — SHA-256 от токена (сам токен не хранится), значение — неизменяемый снимок сотрудника
+ * с должностью, уровнем прав, статусом, отделом и полом. Каждый запрос получает собственную
+ * копию сущности, поэтому изменения в одном потоке не видны другим.
+ * Размер кэша ограничен (вытесняются давно не использованные записи),
+ * запись живёт не дольше {@code auth.token-cache.ttl-seconds} и не дольше самой сессии.
+ * <p>
+ * Сброс записей увеличивает поколение сотрудника: загрузка, начатая до сброса, в кэш уже не попадёт.
+ */
+@Component
+public class AuthTokenCache {
+
+    /**
+     * Закэшированная проверенная сессия.
+     */
+    private record Entry(Principal principal, long expiresAtMillis) {
+    }
+
+    /**
+     * Снимок сотрудника и его справочных связей на момент проверки токена.
+     */
+    private record Principal(String guidEmployee, String login, String email, String password, String surname,
+                             String firstName, String patronymic, String profilePicture,
+                             LocalDateTime lastAuthorization, LocalDateTime dateOfBirth, String phoneNumber,
+                             BigDecimal hourlyRate, String note,
+                             Integer idEmployeePost, String post, Integer idEmployeePermission, String permission,
+                             Integer idEmployeeStatus, String status, Integer idEmployeeDepartment, String department,
+                             Integer idEmployeeGender, String gender) {
+
+        static Principal of(Employee e) {
+            EmployeePost post = e.getEmployeePost();
+            EmployeePermission permission = post != null ? post.getEmployeePermission() : null;
+            EmployeeStatus status = e.getEmployeeStatus();
+            EmployeeDepartment department = e.getEmployeeDepartment();
+            EmployeeGender gender = e.getEmployeeGender();
+            return new Principal(e.getGuidEmployee(), e.getLogin(), e.getEmail(), e.getPassword(), e.getSurname(),
+                    e.getFirstName(), e.getPatronymic(), e.getProfilePicture(),
+                    e.getLastAuthorization(), e.getDateOfBirth(), e.getPhoneNumber(), e.getHourlyRate(), e.getNote(),
+                    post != null ? post.getIdEmployeePost() : null, post != null ? post.getPost() : null,
+                    permission != null ? permission.getIdEmployeePermission() : null,
+                    permission != null ? permission.getPermission() : null,
+                    status != null ? status.getIdEmployeeStatus() : null, status != null ? status.getStatus() : null,
+                    department != null ? department.getIdEmployeeDepartment() : null,
+                    department != null ? department.getDepartment() : null,
+                    gender != null ? gender.getIdEmployeeGender() : null, gender != null ? gender.getGender() : null);
+        }
+
+        Employee toEmployee() {
+            EmployeePost post = idEmployeePost == null ? null : new EmployeePost(idEmployeePost, this.post,
+                    idEmployeePermission == null ? null : new EmployeePermission(idEmployeePermission, permission));
+            return new Employee(guidEmployee, login, email, password, surname, firstName, patronymic, profilePicture,
+                    lastAuthorization, dateOfBirth, phoneNumber, hourlyRate, note, post,
+                    idEmployeeStatus == null ? null : new EmployeeStatus(idEmployeeStatus, status),
+                    idEmployeeDepartment == null ? null : new EmployeeDepartment(idEmployeeDepartment, department),
+                    idEmployeeGender == null ? null : new EmployeeGender(idEmployeeGender, gender));
+        }
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthTokenCache.class);
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LinkedHashMap<String, Entry> entries;
+    private final Map<String, Long> generations = new HashMap<>();
+    private long globalGeneration;
+
+    public AuthTokenCache(@Value("${auth.token-cache.max-size:10000}") int maxSize,
+                          @Value("${auth.token-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > AuthTokenCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Возвращает сотрудника для ранее проверенного токена.
+     *
+     * @param token JWT-токен.
+     * @return Новая копия сотрудника или null, если токена нет в кэше или запись устарела.
+     */
+    public synchronized Employee get(String token) {
+        String key = hash(token);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis() <= System.currentTimeMillis()) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.principal().toEmployee();
+    }
+
+    /**
+     * Возвращает текущее поколение записей сотрудника. Считывается до загрузки сотрудника из базы
+     * и передаётся в {@link #put}, чтобы отбросить результат, устаревший из-за сброса.
+     *
+     * @param guidEmployee GUID сотрудника.
+     * @return Поколение.
+     */
+    public synchronized long generation(String guidEmployee) {
+        return globalGeneration + generations.getOrDefault(guidEmployee, 0L);
+    }
+
+    /**
+     * Сохраняет проверенный токен, если с начала загрузки записи сотрудника не сбрасывались.
+     *
+     * @param token            JWT-токен.
+     * @param employee         Сотрудник с загруженными связями.
+     * @param sessionExpiresAt Время истечения сессии.
+     * @param generation       Поколение, полученное через {@link #generation} до загрузки сотрудника.
+     */
+    public synchronized void put(String token, Employee employee, LocalDateTime sessionExpiresAt, long generation) {
+        if (generation != generation(employee.getGuidEmployee())) {
+            logger.debug("Устаревшая запись кэша токенов отброшена: guid_employee={}", employee.getGuidEmployee());
+            return;
+        }
+        long sessionExpiry = sessionExpiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        long expiresAt = Math.min(System.currentTimeMillis() + ttlMillis, sessionExpiry);
+        entries.put(hash(token), new Entry(Principal.of(employee), expiresAt));
+    }
+
+    /**
+     * Удаляет из кэша все токены сотрудника (выход, сброс пароля, изменение данных или статуса).
+     * Внутри транзакции сброс повторяется после фиксации: проверка, прочитавшая данные
+     * до фиксации, иначе вернула бы в кэш прежнее состояние.
+     *
+     * @param guidEmployee GUID сотрудника.
+     */
+    public void invalidateEmployee(String guidEmployee) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictEmployee(guidEmployee);
+        }
+        TransactionHooks.afterCommitOrNow(() -> evictEmployee(guidEmployee));
+    }
+
+    /**
+     * Полностью очищает кэш (например, при изменении справочников статусов, должностей или прав).
+     * Внутри транзакции очистка повторяется после фиксации.
+     */
+    public void invalidateAll() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictAll();
+        }
+        TransactionHooks.afterCommitOrNow(this::evictAll);
+    }
+
+    private synchronized void evictEmployee(String guidEmployee) {
+        generations.merge(guidEmployee, 1L, Long::sum);
+        entries.values().removeIf(entry -> guidEmployee.equals(entry.principal().guidEmployee()));
+        logger.debug("Кэш токенов очищен для guid_employee={}", guidEmployee);
+    }
+
+    private synchronized void evictAll() {
+        globalGeneration++;
+        entries.clear();
+        logger.debug("Кэш токенов полностью очищен");
+    }
+
+    private String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 недоступен", e);
+        }
+    }
+}
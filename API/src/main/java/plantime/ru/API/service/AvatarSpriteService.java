@@ -0,0 +1,234 @@
+package plantime.ru.API.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import plantime.ru.API.dto.AvatarSpriteDTO;
+import plantime.ru.API.repository.EmployeeRepository;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Спрайты аватаров для списков сотрудников и графика дежурств.
+ * <p>
+ * Клиент передаёт GUID сотрудников страницы и получает описание спрайта: адрес одного изображения
+ * и положение в нём аватара каждого сотрудника. Идентификатор спрайта — хеш размера и списка
+ * (GUID, версионное имя фото), поэтому изображение по этому адресу не меняется и кэшируется клиентом
+ * как неизменяемое; при смене фото у сотрудника меняется и адрес спрайта. Спрайт, в который входит фото
+ * с неверсионным именем (сохранённое до появления хранилища), неизменяемым не считается.
+ * Площадь спрайта ограничена ({@code images.sprite.max-pixels}), собирается он в пуле imageExecutor.
+ * Готовые спрайты хранятся в LRU-кэше, описания — в ограниченном реестре; если описание вытеснено,
+ * изображение отдаёт 404 и клиент повторно запрашивает описание.
+ */
+@Service
+public class AvatarSpriteService {
+
+    private record Cell(String guid, String filename) {
+    }
+
+    private record Spec(int size, int columns, List<Cell> cells) {
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(AvatarSpriteService.class);
+
+    private final EmployeeRepository employeeRepository;
+    private final ProfileImageService profileImageService;
+    private final ImageCache sprites;
+    private final Map<String, Spec> specs;
+    private final Map<String, CompletableFuture<ProfileImageService.Image>> rendering = new ConcurrentHashMap<>();
+    private final ThreadPoolTaskExecutor imageExecutor;
+    private final int maxItems;
+    private final long maxPixels;
+
+    public AvatarSpriteService(EmployeeRepository employeeRepository, ProfileImageService profileImageService,
+                               @Qualifier("imageExecutor") ThreadPoolTaskExecutor imageExecutor,
+                               @Value("${images.sprite.max-items:500}") int maxItems,
+                               @Value("${images.sprite.max-pixels:4194304}") long maxPixels,
+                               @Value("${images.sprite.cache-bytes:16777216}") long cacheBytes,
+                               @Value("${images.sprite.max-specs:1000}") int maxSpecs) {
+        this.employeeRepository = employeeRepository;
+        this.profileImageService = profileImageService;
+        this.imageExecutor = imageExecutor;
+        this.maxItems = maxItems;
+        this.maxPixels = maxPixels;
+        this.sprites = new ImageCache(cacheBytes);
+        this.specs = Collections.synchronizedMap(new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Spec> eldest) {
+                return size() > maxSpecs;
+            }
+        });
+    }
+
+    /**
+     * Формирует описание спрайта для указанных сотрудников.
+     *
+     * @param guids GUID сотрудников в порядке отображения.
+     * @param size  Размер аватара или null для наименьшего размера миниатюр.
+     * @return Описание спрайта.
+     */
+    public AvatarSpriteDTO describe(List<String> guids, Integer size) {
+        if (guids == null || guids.isEmpty()) {
+            throw new IllegalArgumentException("Список сотрудников не должен быть пустым");
+        }
+        int avatarSize = size != null ? size : profileImageService.getSizes().get(0);
+        if (!profileImageService.getSizes().contains(avatarSize)) {
+            throw new IllegalArgumentException("Недопустимый размер аватара: " + avatarSize
+                    + ". Допустимые значения: " + profileImageService.getSizes());
+        }
+        List<String> ordered = guids.stream().filter(Objects::nonNull).distinct().toList();
+        // Квадратная сетка из n ячеек занимает не больше n + sqrt(n) ячеек, поэтому проверка по числу
+        // сотрудников с запасом ограничивает площадь ещё до запроса к базе
+        long cellPixels = (long) avatarSize * avatarSize;
+        int allowed = (int) Math.min(maxItems, maxPixels / cellPixels);
+        if (ordered.size() > allowed) {
+            throw new IllegalArgumentException("Слишком много сотрудников в одном запросе (максимум " + allowed
+                    + " при размере аватара " + avatarSize + ")");
+        }
+
+        Map<String, String> pictures = new HashMap<>();
+        for (Object[] row : employeeRepository.findProfilePictures(ordered)) {
+            if (row[1] != null && !((String) row[1]).isBlank()) {
+                pictures.put((String) row[0], (String) row[1]);
+            }
+        }
+        List<Cell> cells = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        for (String guid : ordered) {
+            String filename = pictures.get(guid);
+            if (filename != null) cells.add(new Cell(guid, filename));
+            else missing.add(guid);
+        }
+        if (cells.isEmpty()) {
+            return new AvatarSpriteDTO(null, avatarSize, 0, 0, Map.of(), missing);
+        }
+
+        int columns = (int) Math.ceil(Math.sqrt(cells.size()));
+        int rows = (cells.size() + columns - 1) / columns;
+        if ((long) columns * rows * cellPixels > maxPixels) {
+            throw new IllegalArgumentException("Слишком большой спрайт: уменьшите число сотрудников или размер аватара");
+        }
+        Spec spec = new Spec(avatarSize, columns, List.copyOf(cells));
+        String id = id(spec);
+        specs.put(id, spec);
+
+        Map<String, AvatarSpriteDTO.Offset> offsets = new LinkedHashMap<>();
+        for (int i = 0; i < cells.size(); i++) {
+            offsets.put(cells.get(i).guid(), new AvatarSpriteDTO.Offset((i % columns) * avatarSize, (i / columns) * avatarSize));
+        }
+        return new AvatarSpriteDTO("/images/employee/sprite/" + id + ".jpg", avatarSize,
+                columns * avatarSize, rows * avatarSize, offsets, missing);
+    }
+
+    /**
+     * Возвращает изображение спрайта, при необходимости собирая его из миниатюр.
+     *
+     * @param id Идентификатор спрайта из описания.
+     * @return Изображение или пустой Optional, если описание спрайта неизвестно (истекло).
+     * @throws IOException                                         Ошибка кодирования изображения.
+     * @throws org.springframework.core.task.TaskRejectedException Очередь пула изображений заполнена.
+     */
+    public Optional<ProfileImageService.Image> render(String id) throws IOException {
+        ProfileImageService.Image cached = sprites.get(id);
+        if (cached != null) return Optional.of(cached);
+        Spec spec = specs.get(id);
+        if (spec == null) return Optional.empty();
+
+        // Сборка идёт в пуле изображений, а не в потоке запроса; одновременные запросы одного спрайта ждут одну сборку
+        CompletableFuture<ProfileImageService.Image> future = rendering.computeIfAbsent(id,
+                key -> CompletableFuture.supplyAsync(() -> draw(key, spec), imageExecutor));
+        future.whenComplete((image, e) -> rendering.remove(id, future));
+        try {
+            return Optional.of(future.join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) throw io.getCause();
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            throw e;
+        }
+    }
+
+    private ProfileImageService.Image draw(String id, Spec spec) {
+        int size = spec.size();
+        int rows = (spec.cells().size() + spec.columns() - 1) / spec.columns();
+        BufferedImage sprite = new BufferedImage(spec.columns() * size, rows * size, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = sprite.createGraphics();
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, sprite.getWidth(), sprite.getHeight());
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        boolean complete = true;
+        boolean versioned = true;
+        for (int i = 0; i < spec.cells().size(); i++) {
+            String filename = spec.cells().get(i).filename();
+            versioned &= profileImageService.isVersioned(filename);
+            BufferedImage avatar = avatar(filename, size);
+            if (avatar == null) {
+                complete = false;
+                continue;
+            }
+            g.drawImage(avatar, (i % spec.columns()) * size, (i / spec.columns()) * size, size, size, null);
+        }
+        g.dispose();
+
+        byte[] bytes;
+        try {
+            bytes = ProfileImageService.encodeJpeg(sprite);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // Спрайт с пропущенными фото не кэшируется и не считается неизменяемым: фото может появиться позже.
+        // Фото с неверсионным именем может смениться без смены адреса, поэтому ETag такого спрайта — по содержимому
+        if (complete && versioned) {
+            ProfileImageService.Image image = new ProfileImageService.Image(bytes, "image/jpeg", "\"" + id + "\"", true);
+            sprites.put(id, image);
+            return image;
+        }
+        return ProfileImageService.image(bytes, "image/jpeg", false);
+    }
+
+    private BufferedImage avatar(String filename, int size) {
+        try {
+            Optional<ProfileImageService.Image> image = profileImageService.get(filename, size);
+            if (image.isEmpty()) return null;
+            BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(image.get().bytes()));
+            if (decoded == null) return null;
+            // Пока миниатюра строится, приходит оригинал — приводим его к размеру ячейки так же, как миниатюры
+            if (decoded.getWidth() != size || decoded.getHeight() != size) {
+                decoded = ProfileImageService.squareThumbnail(decoded, size);
+            }
+            return decoded;
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warn("Не удалось добавить фото {} в спрайт: {}", filename, e.getMessage());
+            return null;
+        }
+    }
+
+    private static String id(Spec spec) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(String.valueOf(spec.size()).getBytes(StandardCharsets.UTF_8));
+            for (Cell cell : spec.cells()) {
+                digest.update(("|" + cell.guid() + ":" + cell.filename()).getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest(), 0, 12);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 недоступен", e);
+        }
+    }
+}
@@ -1,16 +1,26 @@
 package plantime.ru.API.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import plantime.ru.API.entity.Contract;
 import plantime.ru.API.entity.PaymentStatus;
 import plantime.ru.API.dto.ContractDTO;
+import plantime.ru.API.dto.ContractPageDTO;
 import plantime.ru.API.repository.ContractRepository;
+import plantime.ru.API.repository.ContractSpecifications;
 import plantime.ru.API.repository.PaymentStatusRepository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,31 +30,92 @@ public class ContractService {
     @Autowired
     private PaymentStatusRepository paymentStatusRepository;
 
-    // Получить все контракты с фильтрами
-    public List<ContractDTO> getContracts(
+    // Поля, по которым допускается сортировка списка контрактов
+    private static final Set<String> SORT_FIELDS = Set.of("idContract", "dateOfConclusion", "datePayment", "cost", "contractNumber");
+
+    @Value("${contracts.page.default-size:50}")
+    private int defaultPageSize;
+    @Value("${contracts.page.max-size:500}")
+    private int maxPageSize;
+
+    // Все контракты с фильтрами одним списком (запрос без page и size, прежний формат ответа);
+    // без sort и order — в порядке идентификаторов, как раньше
+    @Transactional(readOnly = true)
+    public List<ContractDTO> getContractsList(
             Integer customerId,
             Integer paymentStatusId,
-            Integer organizationId, // Не реализован, добавьте при необходимости
+            Integer organizationId,
             LocalDate dateFrom,
             LocalDate dateTo,
             LocalDate paymentDateFrom,
             LocalDate paymentDateTo,
             BigDecimal minCost,
-            BigDecimal maxCost
+            BigDecimal maxCost,
+            String sort,
+            String order
     ) {
-        List<Contract> contracts = contractRepository.findAll();
-        return contracts.stream()
-                .filter(c -> customerId == null || c.getIdCustomer().equals(customerId))
-                .filter(c -> paymentStatusId == null || (c.getPaymentStatus() != null && c.getPaymentStatus().getIdPaymentStatus().equals(paymentStatusId)))
-                // organizationId фильтруется через кастомное поле, если оно есть
-                .filter(c -> dateFrom == null || (c.getDateOfConclusion() != null && !c.getDateOfConclusion().isBefore(dateFrom)))
-                .filter(c -> dateTo == null || (c.getDateOfConclusion() != null && !c.getDateOfConclusion().isAfter(dateTo)))
-                .filter(c -> paymentDateFrom == null || (c.getDatePayment() != null && !c.getDatePayment().isBefore(paymentDateFrom)))
-                .filter(c -> paymentDateTo == null || (c.getDatePayment() != null && !c.getDatePayment().isAfter(paymentDateTo)))
-                .filter(c -> minCost == null || (c.getCost() != null && c.getCost().compareTo(minCost) >= 0))
-                .filter(c -> maxCost == null || (c.getCost() != null && c.getCost().compareTo(maxCost) <= 0))
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+        Sort orderBy = sort == null && order == null ? Sort.by("idContract") : contractSort(sort, order);
+        return contractRepository.findAll(contractSpec(customerId, paymentStatusId, organizationId,
+                        dateFrom, dateTo, paymentDateFrom, paymentDateTo, minCost, maxCost), orderBy)
+                .stream().map(this::toDTO).collect(Collectors.toList());
+    }
+
+    // Страница контрактов с фильтрами; фильтрация, сортировка и разбиение на страницы выполняются в БД
+    @Transactional(readOnly = true)
+    public ContractPageDTO getContracts(
+            Integer customerId,
+            Integer paymentStatusId,
+            Integer organizationId,
+            LocalDate dateFrom,
+            LocalDate dateTo,
+            LocalDate paymentDateFrom,
+            LocalDate paymentDateTo,
+            BigDecimal minCost,
+            BigDecimal maxCost,
+            Integer page,
+            Integer size,
+            String sort,
+            String order
+    ) {
+        int pageNumber = page == null ? 0 : page;
+        if (pageNumber < 0) throw new IllegalArgumentException("Номер страницы не может быть отрицательным");
+        int pageSize = size == null ? defaultPageSize : size;
+        if (pageSize <= 0 || pageSize > maxPageSize)
+            throw new IllegalArgumentException("Размер страницы должен быть от 1 до " + maxPageSize);
+        Sort orderBy = contractSort(sort, order);
+
+        Specification<Contract> spec = contractSpec(customerId, paymentStatusId, organizationId,
+                dateFrom, dateTo, paymentDateFrom, paymentDateTo, minCost, maxCost);
+        Page<Contract> result = contractRepository.findAll(spec, PageRequest.of(pageNumber, pageSize, orderBy));
+        List<ContractDTO> items = result.getContent().stream().map(this::toDTO).collect(Collectors.toList());
+        return new ContractPageDTO(items, pageNumber, pageSize, result.getTotalElements(), result.getTotalPages());
+    }
+
+    // Порядок списка контрактов по полю из белого списка
+    private Sort contractSort(String sort, String order) {
+        String sortField = sort == null ? "dateOfConclusion" : sort;
+        if (!SORT_FIELDS.contains(sortField))
+            throw new IllegalArgumentException("Недопустимое поле сортировки: " + sort + ". Допустимые значения: " + String.join(", ", new TreeSet<>(SORT_FIELDS)));
+        if (order != null && !order.equalsIgnoreCase("asc") && !order.equalsIgnoreCase("desc"))
+            throw new IllegalArgumentException("Порядок сортировки должен быть «asc» (по возрастанию) или «desc» (по убыванию).");
+        // Без order — новые контракты первыми
+        Sort.Direction direction = "asc".equalsIgnoreCase(order) ? Sort.Direction.ASC : Sort.Direction.DESC;
+        // idContract в конце — однозначный порядок при равных значениях, иначе строки «прыгают» между страницами
+        Sort orderBy = Sort.by(direction, sortField);
+        if (!"idContract".equals(sortField)) orderBy = orderBy.and(Sort.by(direction, "idContract"));
+        return orderBy;
+    }
+
+    private Specification<Contract> contractSpec(Integer customerId, Integer paymentStatusId, Integer organizationId,
+                                                 LocalDate dateFrom, LocalDate dateTo,
+                                                 LocalDate paymentDateFrom, LocalDate paymentDateTo,
+                                                 BigDecimal minCost, BigDecimal maxCost) {
+        return Specification.where(ContractSpecifications.hasCustomer(customerId))
+                .and(ContractSpecifications.hasPaymentStatus(paymentStatusId))
+                .and(ContractSpecifications.hasOrganization(organizationId))
+                .and(ContractSpecifications.concludedBetween(dateFrom, dateTo))
+                .and(ContractSpecifications.paidBetween(paymentDateFrom, paymentDateTo))
+                .and(ContractSpecifications.costBetween(minCost, maxCost));
     }
 
     // Получить контракт по id
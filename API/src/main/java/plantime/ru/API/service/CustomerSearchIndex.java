@@ -0,0 +1,116 @@
+package plantime.ru.API.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import plantime.ru.API.entity.Customer;
+import plantime.ru.API.repository.CustomerRepository;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Поисковый индекс контрагентов по фамилии, имени, отчеству и телефону.
+ * <p>
+ * Индекс строится из базы при первом поиске и поддерживается {@link CustomerService}: изменения
+ * применяются после фиксации транзакции, поэтому откаченные изменения в индекс не попадают.
+ * Телефон индексируется одними цифрами, так что находится по любой части номера независимо от формата ввода:
+ * в запросе номер («999-12-34», «+7 (999) 123») тоже сводится к цифрам.
+ */
+@Component
+public class CustomerSearchIndex extends LazySearchIndex<Integer, CustomerSearchIndex.Entry> {
+
+    /**
+     * Идентификаторы найденных контрагентов в порядке релевантности.
+     *
+     * @param ids   Идентификаторы запрошенной страницы.
+     * @param total Общее число совпадений.
+     */
+    public record Matches(List<Integer> ids, int total) {
+    }
+
+    record Entry(Integer idCustomer, Integer idOrganization, String fio) {
+    }
+
+    private static final Pattern PHONE_RUN = Pattern.compile("\\d[\\d\\s()\\-.]*\\d");
+
+    private final CustomerRepository customerRepository;
+
+    public CustomerSearchIndex(CustomerRepository customerRepository, PlatformTransactionManager transactionManager) {
+        super("контрагентов", transactionManager, Comparator.comparing(Entry::fio).thenComparing(Entry::idCustomer));
+        this.customerRepository = customerRepository;
+    }
+
+    /**
+     * Ищет контрагентов, у которых каждое слово запроса совпадает с началом или частью фамилии,
+     * имени, отчества или номера телефона.
+     *
+     * @param query          Строка поиска.
+     * @param organizationId Организация или null для поиска по всем организациям.
+     * @param offset         Сколько первых результатов пропустить.
+     * @param limit          Максимальное количество результатов.
+     * @return Идентификаторы найденных контрагентов.
+     */
+    public Matches search(String query, Integer organizationId, int offset, int limit) {
+        ensureLoaded();
+        TextSearchIndex.Result<Integer, Entry> result = index.search(phoneDigits(query),
+                organizationId == null ? null : entry -> organizationId.equals(entry.idOrganization()), offset, limit);
+        return new Matches(result.hits().stream().map(TextSearchIndex.Hit::key).toList(), result.total());
+    }
+
+    /**
+     * Добавляет или обновляет контрагента после фиксации текущей транзакции.
+     *
+     * @param customer Сохранённый контрагент.
+     */
+    public void put(Customer customer) {
+        Integer id = customer.getIdCustomer();
+        Integer organizationId = customer.getOrganization().getId_organization();
+        String surname = customer.getSurname();
+        String firstName = customer.getFirstName();
+        String patronymic = customer.getPatronymic();
+        String phoneNumber = customer.getPhoneNumber();
+        update(() -> add(id, surname, firstName, patronymic, phoneNumber, organizationId));
+    }
+
+    /**
+     * Удаляет контрагента после фиксации текущей транзакции.
+     *
+     * @param id Идентификатор контрагента.
+     */
+    public void remove(Integer id) {
+        update(() -> index.remove(id));
+    }
+
+    /**
+     * Сводит фрагменты запроса, похожие на номер телефона, к цифрам: иначе «999-12-34» разбилось бы
+     * на слова «999», «12», «34», а слова короче трёх символов ищутся только как начало слова.
+     */
+    static String phoneDigits(String query) {
+        return query == null ? null : PHONE_RUN.matcher(query).replaceAll(m -> m.group().replaceAll("\\D", ""));
+    }
+
+    private void add(Integer id, String surname, String firstName, String patronymic, String phoneNumber, Integer organizationId) {
+        String fio = TextSearchIndex.normalize(join(surname, firstName, patronymic));
+        String digits = phoneNumber == null ? null : phoneNumber.replaceAll("\\D", "");
+        index.put(id, new Entry(id, organizationId, fio), surname, firstName, patronymic, digits);
+    }
+
+    @Override
+    protected List<Object[]> loadRows() {
+        return customerRepository.findSearchRows();
+    }
+
+    @Override
+    protected void addRow(Object[] row) {
+        add((Integer) row[0], (String) row[1], (String) row[2], (String) row[3], (String) row[4], (Integer) row[5]);
+    }
+
+    private static String join(String... parts) {
+        StringBuilder sb = new StringBuilder();
+        for (String part : parts) {
+            if (part != null) sb.append(part).append(' ');
+        }
+        return sb.toString();
+    }
+}
@@ -2,21 +2,25 @@ package plantime.ru.API.service;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import plantime.ru.API.dto.CustomerDTO;
+import plantime.ru.API.dto.CustomerSearchDTO;
 import plantime.ru.API.entity.Customer;
 import plantime.ru.API.entity.Employee;
 import plantime.ru.API.entity.Organization;
 import plantime.ru.API.entity.Log;
 import plantime.ru.API.repository.CustomerRepository;
 import plantime.ru.API.repository.OrganizationRepository;
-import plantime.ru.API.repository.LogRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,13 +28,23 @@ public class CustomerService {
 
     private final CustomerRepository customerRepository;
     private final OrganizationRepository organizationRepository;
-    private final LogRepository logRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final CustomerSearchIndex searchIndex;
     private static final Logger logger = LoggerFactory.getLogger(CustomerService.class);
 
-    public CustomerService(CustomerRepository customerRepository, OrganizationRepository organizationRepository, LogRepository logRepository) {
+    @Value("${customers.search.default-size:20}")
+    private int defaultSearchSize;
+    @Value("${customers.search.max-size:100}")
+    private int maxSearchSize;
+    @Value("${customers.search.list-limit:500}")
+    private int searchListLimit;
+
+    public CustomerService(CustomerRepository customerRepository, OrganizationRepository organizationRepository,
+                           AuditLogWriter auditLogWriter, CustomerSearchIndex searchIndex) {
         this.customerRepository = customerRepository;
         this.organizationRepository = organizationRepository;
-        this.logRepository = logRepository;
+        this.auditLogWriter = auditLogWriter;
+        this.searchIndex = searchIndex;
     }
 
     /**
@@ -51,28 +65,14 @@ public class CustomerService {
         }
 
         List<Customer> customers;
+        boolean hasSearch = search != null && !search.trim().isEmpty();
 
         if (organizationId != null) {
             Organization org = organizationRepository.findById(organizationId)
                     .orElseThrow(() -> new IllegalArgumentException("Организация не найдена"));
-            if (search != null && !search.trim().isEmpty()) {
-                String s = search.trim();
-                customers = customerRepository.findByOrganizationAndSurnameContainingIgnoreCaseOrOrganizationAndFirstNameContainingIgnoreCaseOrOrganizationAndPhoneNumberContaining(
-                        org, s, org, s, org, s, sort
-                );
-            } else {
-                customers = customerRepository.findAllByOrganization(org, sort);
-            }
+            customers = hasSearch ? findIndexed(search, organizationId, sort) : customerRepository.findAllByOrganization(org, sort);
         } else {
-            customers = customerRepository.findAll(sort);
-            if (search != null && !search.trim().isEmpty()) {
-                String s = search.trim().toLowerCase();
-                customers = customers.stream().filter(c ->
-                        (c.getSurname() != null && c.getSurname().toLowerCase().contains(s))
-                                || (c.getFirstName() != null && c.getFirstName().toLowerCase().contains(s))
-                                || (c.getPhoneNumber() != null && c.getPhoneNumber().contains(s))
-                ).collect(Collectors.toList());
-            }
+            customers = hasSearch ? findIndexed(search, null, sort) : customerRepository.findAll(sort);
         }
 
         // "short" view — только ФИО, телефон, организация
@@ -93,12 +93,54 @@ public class CustomerService {
         }
 
         // "full" view — все данные
-        return customers.stream()
-                .map(c -> new CustomerDTO(
-                        c.getIdCustomer(), c.getFirstName(), c.getSurname(), c.getPatronymic(),
-                        c.getEmail(), c.getPhoneNumber(), c.getNote(),
-                        c.getOrganization().getId_organization(), c.getOrganization().getShort_name()
-                )).collect(Collectors.toList());
+        return customers.stream().map(this::toDTO).collect(Collectors.toList());
+    }
+
+    /**
+     * Поиск контрагентов по мере ввода: результаты упорядочены по релевантности и разбиты на страницы.
+     */
+    @Transactional(readOnly = true)
+    public CustomerSearchDTO searchCustomers(String query, Integer organizationId, Integer page, Integer size) {
+        if (query == null || query.trim().isEmpty()) {
+            throw new IllegalArgumentException("Строка поиска не должна быть пустой");
+        }
+        int pageNumber = page == null ? 0 : page;
+        if (pageNumber < 0) throw new IllegalArgumentException("Номер страницы не может быть отрицательным");
+        int pageSize = size == null ? defaultSearchSize : size;
+        if (pageSize <= 0 || pageSize > maxSearchSize)
+            throw new IllegalArgumentException("Размер страницы должен быть от 1 до " + maxSearchSize);
+
+        CustomerSearchIndex.Matches matches = searchIndex.search(query, organizationId,
+                (int) Math.min((long) pageNumber * pageSize, Integer.MAX_VALUE), pageSize);
+        Map<Integer, Customer> byId = matches.ids().isEmpty() ? Map.of()
+                : customerRepository.findByIdCustomerIn(matches.ids(), Sort.unsorted()).stream()
+                        .collect(Collectors.toMap(Customer::getIdCustomer, Function.identity()));
+        // Порядок релевантности задаёт индекс; запись, удалённая после поиска, просто пропускается
+        List<CustomerDTO> items = matches.ids().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+        return new CustomerSearchDTO(items, pageNumber, pageSize, matches.total());
+    }
+
+    // Контрагенты из поискового индекса в запрошенном порядке сортировки
+    // (не более customers.search.list-limit самых релевантных, чтобы IN-список запроса оставался ограниченным)
+    private List<Customer> findIndexed(String search, Integer organizationId, Sort sort) {
+        CustomerSearchIndex.Matches matches = searchIndex.search(search, organizationId, 0, searchListLimit);
+        if (matches.total() > searchListLimit) {
+            logger.warn("Поиск контрагентов «{}»: найдено {}, в список попали {} самых релевантных",
+                    search, matches.total(), searchListLimit);
+        }
+        return matches.ids().isEmpty() ? List.of() : customerRepository.findByIdCustomerIn(matches.ids(), sort);
+    }
+
+    private CustomerDTO toDTO(Customer c) {
+        return new CustomerDTO(
+                c.getIdCustomer(), c.getFirstName(), c.getSurname(), c.getPatronymic(),
+                c.getEmail(), c.getPhoneNumber(), c.getNote(),
+                c.getOrganization().getId_organization(), c.getOrganization().getShort_name()
+        );
     }
 
     @Transactional
@@ -129,7 +171,8 @@ public class CustomerService {
             customer.setNote(dto.getNote());
             customer.setOrganization(org);
             Customer saved = customerRepository.save(customer);
-            logRepository.save(new Log(authEmployee, "Создан клиент: " + dto.getSurname(), LocalDateTime.now()));
+            searchIndex.put(saved);
+            auditLogWriter.write(new Log(authEmployee, "Создан клиент: " + dto.getSurname(), LocalDateTime.now()));
             return new CustomerDTO(saved.getIdCustomer(), saved.getFirstName(), saved.getSurname(), saved.getPatronymic(),
                     saved.getEmail(), saved.getPhoneNumber(), saved.getNote(), org.getId_organization(), org.getShort_name());
         } catch (Exception e) {
@@ -169,7 +212,8 @@ public class CustomerService {
             customer.setNote(dto.getNote());
             customer.setOrganization(org);
             Customer saved = customerRepository.save(customer);
-            logRepository.save(new Log(authEmployee, "Обновлён клиент: " + dto.getSurname(), LocalDateTime.now()));
+            searchIndex.put(saved);
+            auditLogWriter.write(new Log(authEmployee, "Обновлён клиент: " + dto.getSurname(), LocalDateTime.now()));
             return new CustomerDTO(saved.getIdCustomer(), saved.getFirstName(), saved.getSurname(), saved.getPatronymic(),
                     saved.getEmail(), saved.getPhoneNumber(), saved.getNote(), org.getId_organization(), org.getShort_name());
         } catch (Exception e) {
@@ -185,7 +229,8 @@ public class CustomerService {
                     .orElseThrow(() -> new IllegalArgumentException("Клиент не найден"));
             customerRepository.deleteById(id);
             customerRepository.flush();
-            logRepository.save(new Log(authEmployee, "Удалён клиент с id: " + id, LocalDateTime.now()));
+            searchIndex.remove(id);
+            auditLogWriter.write(new Log(authEmployee, "Удалён клиент с id: " + id, LocalDateTime.now()));
         } catch (Exception e) {
             logger.error("Ошибка при удалении клиента: {}, guid_employee={}", e.getMessage(), authEmployee.getGuidEmployee());
             throw new IllegalArgumentException("Не удалось удалить клиента", e);
@@ -0,0 +1,161 @@
+package plantime.ru.API.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import plantime.ru.API.dto.DictionaryCacheMetricsDTO;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Кэш справочников в памяти процесса (статусы, типы, отделы, должности и т. п.).
+ * <p>
+ * Справочник загружается из базы при первом запросе списка и хранится отсортированным по возрастанию.
+ * Каждому снимку соответствует версия — хеш его содержимого, которая используется как ETag:
+ * повторные запросы с {@code If-None-Match} получают ответ 304 без тела.
+ * Снимок сбрасывается после фиксации транзакции, изменившей справочник, а также по истечении
+ * {@code dictionary.cache.ttl-seconds} (на случай изменений в базе в обход API).
+ */
+@Component
+public class DictionaryCache {
+
+    /**
+     * Снимок справочника.
+     *
+     * @param items   Записи справочника.
+     * @param version Версия содержимого (основа ETag).
+     */
+    public record Snapshot<T>(List<T> items, String version) {
+
+        /**
+         * Возвращает снимок в указанном порядке сортировки.
+         *
+         * @param order Порядок сортировки: "asc" или "desc".
+         * @return Снимок с записями в нужном порядке.
+         */
+        public Snapshot<T> ordered(String order) {
+            if (!"desc".equalsIgnoreCase(order)) {
+                return new Snapshot<>(items, version + "-asc");
+            }
+            List<T> reversed = new ArrayList<>(items);
+            Collections.reverse(reversed);
+            return new Snapshot<>(List.copyOf(reversed), version + "-desc");
+        }
+
+        /**
+         * Возвращает снимок, содержащий только подходящие записи.
+         *
+         * @param filter  Условие отбора.
+         * @param variant Обозначение условия в версии (чтобы ETag отличался от нефильтрованного списка).
+         * @return Отфильтрованный снимок.
+         */
+        public Snapshot<T> filtered(Predicate<T> filter, String variant) {
+            return new Snapshot<>(items.stream().filter(filter).toList(), version + "-" + variant);
+        }
+
+        /**
+         * Значение заголовка ETag.
+         */
+        public String etag() {
+            return "\"" + version + "\"";
+        }
+    }
+
+    private record Entry(Snapshot<?> snapshot, long expiresAtMillis) {
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(DictionaryCache.class);
+
+    private final ObjectMapper objectMapper;
+    private final long ttlMillis;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public DictionaryCache(ObjectMapper objectMapper,
+                           @Value("${dictionary.cache.ttl-seconds:600}") long ttlSeconds) {
+        this.objectMapper = objectMapper;
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    /**
+     * Возвращает снимок справочника, при отсутствии в кэше загружая его.
+     *
+     * @param dictionary Имя справочника.
+     * @param loader     Загрузка всех записей справочника, отсортированных по возрастанию.
+     * @return Снимок справочника.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Snapshot<T> get(String dictionary, Supplier<List<T>> loader) {
+        Entry entry = entries.get(dictionary);
+        if (entry != null && entry.expiresAtMillis() > System.currentTimeMillis()) {
+            hits.incrementAndGet();
+            return (Snapshot<T>) entry.snapshot();
+        }
+        misses.incrementAndGet();
+        AtomicLong generation = generations.computeIfAbsent(dictionary, key -> new AtomicLong());
+        long loadedGeneration = generation.get();
+        List<T> items = List.copyOf(loader.get());
+        Snapshot<T> snapshot = new Snapshot<>(items, version(items));
+        // Если во время загрузки справочник изменили, снимок может быть устаревшим — не сохраняем его.
+        // Проверка и запись выполняются в compute: сброс (тоже через compute) не может вклиниться между ними
+        entries.compute(dictionary, (key, current) -> {
+            if (generation.get() != loadedGeneration) {
+                return current;
+            }
+            logger.debug("Справочник {} загружен в кэш, записей: {}", dictionary, items.size());
+            return new Entry(snapshot, System.currentTimeMillis() + ttlMillis);
+        });
+        return snapshot;
+    }
+
+    /**
+     * Сбрасывает снимок справочника после фиксации текущей транзакции.
+     *
+     * @param dictionary Имя справочника.
+     */
+    public void invalidate(String dictionary) {
+        TransactionHooks.afterCommitOrNow(() -> {
+            AtomicLong generation = generations.computeIfAbsent(dictionary, key -> new AtomicLong());
+            entries.compute(dictionary, (key, current) -> {
+                generation.incrementAndGet();
+                return null;
+            });
+            invalidations.incrementAndGet();
+            logger.debug("Кэш справочника {} сброшен", dictionary);
+        });
+    }
+
+    /**
+     * Текущие метрики кэша справочников.
+     */
+    public DictionaryCacheMetricsDTO getMetrics() {
+        return new DictionaryCacheMetricsDTO(entries.size(), hits.get(), misses.get(), invalidations.get());
+    }
+
+    private String version(List<?> items) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(items));
+            return HexFormat.of().formatHex(digest, 0, 12);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 недоступен", e);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось вычислить версию справочника", e);
+        }
+    }
+}
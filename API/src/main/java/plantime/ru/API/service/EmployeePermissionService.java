@@ -12,7 +12,6 @@ import plantime.ru.API.entity.Log;
 import plantime.ru.API.repository.EmployeePermissionRepository;
 import plantime.ru.API.repository.EmployeePostRepository;
 import plantime.ru.API.repository.EmployeeRepository;
-import plantime.ru.API.repository.LogRepository;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -29,26 +28,41 @@ public class EmployeePermissionService {
     private final EmployeePermissionRepository permissionRepository;
     private final EmployeeRepository employeeRepository;
     private final EmployeePostRepository employeePostRepository;
-    private final LogRepository logRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final SimilarityIndex similarityIndex;
+    private final DictionaryCache dictionaryCache;
+    private final AuthTokenCache authTokenCache;
     private static final Logger logger = LoggerFactory.getLogger(EmployeePermissionService.class);
+    private static final String DICTIONARY = "employee_permission";
 
     /**
      * Конструктор сервиса.
      *
      * @param permissionRepository   Репозиторий уровней прав.
      * @param employeeRepository     Репозиторий сотрудников.
-     * @param logRepository          Репозиторий логов.
+     * @param auditLogWriter         Асинхронная запись журнала действий.
      * @param employeePostRepository Репозиторий должностей.
+     * @param authTokenCache         Кэш проверенных токенов.
+     * @param similarityIndex        Индекс похожих названий.
+     * @param dictionaryCache        Кэш справочников.
      */
     public EmployeePermissionService(
             EmployeePermissionRepository permissionRepository,
             EmployeeRepository employeeRepository,
-            LogRepository logRepository,
-            EmployeePostRepository employeePostRepository) {
+            AuditLogWriter auditLogWriter,
+            EmployeePostRepository employeePostRepository,
+            AuthTokenCache authTokenCache,
+            SimilarityIndex similarityIndex,
+            DictionaryCache dictionaryCache) {
         this.permissionRepository = permissionRepository;
         this.employeeRepository = employeeRepository;
-        this.logRepository = logRepository;
+        this.auditLogWriter = auditLogWriter;
         this.employeePostRepository = employeePostRepository;
+        this.authTokenCache = authTokenCache;
+        this.similarityIndex = similarityIndex;
+        this.dictionaryCache = dictionaryCache;
+        similarityIndex.register(DICTIONARY, () -> permissionRepository.findAll().stream()
+                .collect(Collectors.toMap(EmployeePermission::getIdEmployeePermission, EmployeePermission::getPermission)));
     }
 
     /**
@@ -57,41 +71,30 @@ public class EmployeePermissionService {
      * @param authEmployee Аутентифицированный сотрудник.
      * @param sortBy       Поле сортировки.
      * @param order        Порядок сортировки.
-     * @return Список DTO уровней прав.
+     * @return Список DTO уровней прав и версия для ETag.
      * @throws IllegalArgumentException Если параметры сортировки некорректны.
      */
-    public List<EmployeePermissionDTO> getAllPermissions(Employee authEmployee, String sortBy, String order) {
+    public DictionaryCache.Snapshot<EmployeePermissionDTO> getAllPermissions(Employee authEmployee, String sortBy, String order) {
         try {
             if (!sortBy.equals("permission")) {
-                logRepository.save(new Log(authEmployee, "Недопустимое поле сортировки: " + sortBy, LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Недопустимое поле сортировки: " + sortBy, LocalDateTime.now()));
                 logger.error("Недопустимое поле сортировки: {}, guid_employee={}", sortBy, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Сортировка возможна только по полю «Название уровня прав доступа».");
             }
 
             if (!order.equalsIgnoreCase("asc") && !order.equalsIgnoreCase("desc")) {
-                logRepository.save(new Log(authEmployee, "Недопустимый порядок сортировки: " + order, LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Недопустимый порядок сортировки: " + order, LocalDateTime.now()));
                 logger.error("Недопустимый порядок сортировки: {}, guid_employee={}", order, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Порядок сортировки должен быть «asc» (по возрастанию) или «desc» (по убыванию).");
             }
 
-            Sort sort = order.equalsIgnoreCase("asc")
-                    ? Sort.by(Sort.Direction.ASC, "permission")
-                    : Sort.by(Sort.Direction.DESC, "permission");
-            List<EmployeePermission> permissions = permissionRepository.findAll(sort);
-
-            if (permissions.isEmpty()) {
-                logRepository.save(new Log(authEmployee, "Список уровней прав доступа пуст", LocalDateTime.now()));
-                logger.info("Список уровней прав доступа пуст, guid_employee={}", authEmployee.getGuidEmployee());
-                return List.of();
-            }
-
-            List<EmployeePermissionDTO> permissionDTOs = permissions.stream()
-                    .map(perm -> new EmployeePermissionDTO(perm.getIdEmployeePermission(), perm.getPermission()))
-                    .collect(Collectors.toList());
-            logRepository.save(new Log(authEmployee, "Получен список уровней прав доступа, количество: " + permissions.size() + ", сортировка: " + sortBy + ", порядок: " + order, LocalDateTime.now()));
-            logger.info("Успешно получен список уровней прав доступа, количество: {}, sortBy={}, order={}, guid_employee={}",
-                    permissions.size(), sortBy, order, authEmployee.getGuidEmployee());
-            return permissionDTOs;
+            DictionaryCache.Snapshot<EmployeePermissionDTO> snapshot = dictionaryCache.get(DICTIONARY, () ->
+                    permissionRepository.findAll(Sort.by(Sort.Direction.ASC, "permission")).stream()
+                            .map(perm -> new EmployeePermissionDTO(perm.getIdEmployeePermission(), perm.getPermission()))
+                            .toList()).ordered(order);
+            logger.debug("Получен список уровней прав доступа, количество: {}, sortBy={}, order={}, guid_employee={}",
+                    snapshot.items().size(), sortBy, order, authEmployee.getGuidEmployee());
+            return snapshot;
         } catch (IllegalArgumentException e) {
             logger.error("Ошибка при получении списка уровней прав доступа: {}, guid_employee={}", e.getMessage(), authEmployee.getGuidEmployee());
             throw e;
@@ -115,35 +118,31 @@ public class EmployeePermissionService {
         try {
             String permissionName = permissionDTO.getPermission().trim();
             if (!permissionName.matches("^[a-zA-Zа-яА-ЯёЁ\\s-]*$")) {
-                logRepository.save(new Log(authEmployee, "Не удалось создать уровень прав доступа: название содержит недопустимые символы", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Не удалось создать уровень прав доступа: название содержит недопустимые символы", LocalDateTime.now()));
                 logger.error("Название уровня прав доступа содержит недопустимые символы: {}, guid_employee={}", permissionName, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Название уровня прав доступа может содержать только буквы, пробелы и дефисы. Цифры и специальные символы запрещены.");
             }
 
             if (permissionName.length() < 3 || permissionName.length() > 40) {
-                logRepository.save(new Log(authEmployee, "Не удалось создать уровень прав доступа: длина названия не соответствует требованиям", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Не удалось создать уровень прав доступа: длина названия не соответствует требованиям", LocalDateTime.now()));
                 logger.error("Недопустимая длина названия уровня прав доступа: {}, guid_employee={}", permissionName, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Название уровня прав доступа должно быть от 3 до 40 символов.");
             }
 
             if (permissionRepository.existsByPermissionIgnoreCase(permissionName)) {
-                logRepository.save(new Log(authEmployee, "Не удалось создать уровень прав доступа: уровень с таким названием уже существует", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Не удалось создать уровень прав доступа: уровень с таким названием уже существует", LocalDateTime.now()));
                 logger.error("Уровень прав доступа '{}' уже существует, guid_employee={}", permissionName, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Уровень прав доступа с таким названием уже существует. Пожалуйста, выберите другое название.");
             }
 
-            List<EmployeePermission> allPermissions = permissionRepository.findAll();
-            Optional<String> similarPermission = allPermissions.stream()
-                    .map(EmployeePermission::getPermission)
-                    .filter(existingName -> stringSimilarity(existingName, permissionName) >= 0.85)
-                    .findFirst();
+            Optional<String> similarPermission = similarityIndex.findMostSimilar(DICTIONARY, permissionName, null);
 
             if (similarPermission.isPresent()) {
                 if (Boolean.TRUE.equals(forceCreate)) {
-                    logRepository.save(new Log(authEmployee, "Создан уровень прав с похожим названием: " + permissionName + ", похоже на: " + similarPermission.get(), LocalDateTime.now()));
+                    auditLogWriter.write(new Log(authEmployee, "Создан уровень прав с похожим названием: " + permissionName + ", похоже на: " + similarPermission.get(), LocalDateTime.now()));
                     logger.info("Создан уровень прав с похожим названием: {}, guid_employee={}", permissionName, authEmployee.getGuidEmployee());
                 } else {
-                    logRepository.save(new Log(authEmployee,
+                    auditLogWriter.write(new Log(authEmployee,
                             "Попытка создать уровень прав с похожим названием: " + permissionName + ", похоже на: " + similarPermission.get(),
                             LocalDateTime.now()));
                     logger.warn("Попытка создать уровень прав с похожим названием: {}, похоже на: {}, guid_employee={}",
@@ -160,7 +159,9 @@ public class EmployeePermissionService {
             EmployeePermission permission = new EmployeePermission();
             permission.setPermission(permissionName);
             EmployeePermission savedPermission = permissionRepository.save(permission);
-            logRepository.save(new Log(authEmployee, "Создан уровень прав доступа: " + permissionName, LocalDateTime.now()));
+            similarityIndex.put(DICTIONARY, savedPermission.getIdEmployeePermission(), savedPermission.getPermission());
+            dictionaryCache.invalidate(DICTIONARY);
+            auditLogWriter.write(new Log(authEmployee, "Создан уровень прав доступа: " + permissionName, LocalDateTime.now()));
             logger.info("Успешно создан уровень прав доступа: {}, guid_employee={}", permissionName, authEmployee.getGuidEmployee());
             return new EmployeePermissionDTO(savedPermission.getIdEmployeePermission(), savedPermission.getPermission());
         } catch (IllegalArgumentException e) {
@@ -195,46 +196,38 @@ public class EmployeePermissionService {
         try {
             Optional<EmployeePermission> existing = permissionRepository.findById(id);
             if (existing.isEmpty()) {
-                logRepository.save(new Log(authEmployee, "Не удалось обновить уровень прав доступа: уровень не найден (id " + id + ")", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Не удалось обновить уровень прав доступа: уровень не найден (id " + id + ")", LocalDateTime.now()));
                 logger.error("Уровень прав доступа с id {} не найден, guid_employee={}", id, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Уровень прав доступа с указанным идентификатором не найден.");
             }
 
             String permissionName = permissionDTO.getPermission().trim();
             if (!permissionName.matches("^[a-zA-Zа-яА-ЯёЁ\\s-]*$")) {
-                logRepository.save(new Log(authEmployee, "Не удалось обновить уровень прав доступа: название содержит недопустимые символы", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Не удалось обновить уровень прав доступа: название содержит недопустимые символы", LocalDateTime.now()));
                 logger.error("Название уровня прав доступа содержит недопустимые символы: {}, guid_employee={}", permissionName, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Название уровня прав доступа может содержать только буквы, пробелы и дефисы. Цифры и специальные символы запрещены.");
             }
 
             if (permissionName.length() < 3 || permissionName.length() > 40) {
-                logRepository.save(new Log(authEmployee, "Не удалось обновить уровень прав доступа: длина названия не соответствует требованиям", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Не удалось обновить уровень прав доступа: длина названия не соответствует требованиям", LocalDateTime.now()));
                 logger.error("Недопустимая длина названия уровня прав доступа: {}, guid_employee={}", permissionName, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Название уровня прав доступа должно быть от 3 до 40 символов.");
             }
 
-            List<EmployeePermission> allPermissions = permissionRepository.findAll();
-            for (EmployeePermission perm : allPermissions) {
-                if (!perm.getIdEmployeePermission().equals(id)
-                        && perm.getPermission().equalsIgnoreCase(permissionName)) {
-                    logRepository.save(new Log(authEmployee, "Не удалось обновить уровень прав доступа: уровень с таким названием уже существует", LocalDateTime.now()));
-                    logger.error("Уровень прав доступа '{}' уже существует, guid_employee={}", permissionName, authEmployee.getGuidEmployee());
-                    throw new IllegalArgumentException("Уровень прав доступа с таким названием уже существует. Пожалуйста, выберите другое название.");
-                }
+            if (permissionRepository.existsByPermissionIgnoreCaseAndIdEmployeePermissionNot(permissionName, id)) {
+                auditLogWriter.write(new Log(authEmployee, "Не удалось обновить уровень прав доступа: уровень с таким названием уже существует", LocalDateTime.now()));
+                logger.error("Уровень прав доступа '{}' уже существует, guid_employee={}", permissionName, authEmployee.getGuidEmployee());
+                throw new IllegalArgumentException("Уровень прав доступа с таким названием уже существует. Пожалуйста, выберите другое название.");
             }
 
-            Optional<String> similarPermission = allPermissions.stream()
-                    .filter(perm -> !perm.getIdEmployeePermission().equals(id))
-                    .map(EmployeePermission::getPermission)
-                    .filter(existingName -> stringSimilarity(existingName, permissionName) >= 0.85)
-                    .findFirst();
+            Optional<String> similarPermission = similarityIndex.findMostSimilar(DICTIONARY, permissionName, id);
 
             if (similarPermission.isPresent()) {
                 if (Boolean.TRUE.equals(forceUpdate)) {
-                    logRepository.save(new Log(authEmployee, "Обновлен уровень прав с похожим названием: " + permissionName + ", похоже на: " + similarPermission.get(), LocalDateTime.now()));
+                    auditLogWriter.write(new Log(authEmployee, "Обновлен уровень прав с похожим названием: " + permissionName + ", похоже на: " + similarPermission.get(), LocalDateTime.now()));
                     logger.info("Обновлен уровень прав с похожим названием: {}, guid_employee={}", permissionName, authEmployee.getGuidEmployee());
                 } else {
-                    logRepository.save(new Log(authEmployee,
+                    auditLogWriter.write(new Log(authEmployee,
                             "Попытка обновить уровень прав на похожее название: " + permissionName + ", похоже на: " + similarPermission.get(),
                             LocalDateTime.now()));
                     logger.warn("Попытка обновления уровня прав на похожее название: {}, похоже на: {}, guid_employee={}",
@@ -251,7 +244,10 @@ public class EmployeePermissionService {
             EmployeePermission permission = existing.get();
             permission.setPermission(permissionName);
             EmployeePermission updatedPermission = permissionRepository.save(permission);
-            logRepository.save(new Log(authEmployee, "Обновлен уровень прав доступа: " + permissionName, LocalDateTime.now()));
+            similarityIndex.put(DICTIONARY, updatedPermission.getIdEmployeePermission(), updatedPermission.getPermission());
+            dictionaryCache.invalidate(DICTIONARY);
+            authTokenCache.invalidateAll();
+            auditLogWriter.write(new Log(authEmployee, "Обновлен уровень прав доступа: " + permissionName, LocalDateTime.now()));
             logger.info("Успешно обновлен уровень прав доступа: {}, guid_employee={}", permissionName, authEmployee.getGuidEmployee());
             return new EmployeePermissionDTO(updatedPermission.getIdEmployeePermission(), updatedPermission.getPermission());
         } catch (IllegalArgumentException e) {
@@ -284,7 +280,7 @@ public class EmployeePermissionService {
         try {
             Optional<EmployeePermission> existing = permissionRepository.findById(id);
             if (existing.isEmpty()) {
-                logRepository.save(new Log(authEmployee, "Не удалось удалить уровень прав доступа: уровень не найден (id " + id + ")", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Не удалось удалить уровень прав доступа: уровень не найден (id " + id + ")", LocalDateTime.now()));
                 logger.error("Уровень прав доступа с id {} не найден, guid_employee={}", id, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Уровень прав доступа с указанным идентификатором не найден.");
             }
@@ -292,14 +288,16 @@ public class EmployeePermissionService {
             EmployeePermission permission = existing.get();
             boolean isUsed = employeePostRepository.existsByEmployeePermission(permission);
             if (isUsed) {
-                logRepository.save(new Log(authEmployee, "Не удалось удалить уровень прав доступа: уровень используется в должностях (id " + id + ")", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Не удалось удалить уровень прав доступа: уровень используется в должностях (id " + id + ")", LocalDateTime.now()));
                 logger.error("Уровень прав доступа с id {} используется в должностях, guid_employee={}", id, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Невозможно удалить уровень прав доступа, так как он используется в должностях.");
             }
 
             permissionRepository.deleteById(id);
             permissionRepository.flush();
-            logRepository.save(new Log(authEmployee, "Удален уровень прав доступа с id: " + id, LocalDateTime.now()));
+            similarityIndex.remove(DICTIONARY, id);
+            dictionaryCache.invalidate(DICTIONARY);
+            auditLogWriter.write(new Log(authEmployee, "Удален уровень прав доступа с id: " + id, LocalDateTime.now()));
             logger.info("Успешно удален уровень прав доступа с id: {}, guid_employee={}", id, authEmployee.getGuidEmployee());
         } catch (org.springframework.dao.DataIntegrityViolationException e) {
             logger.error("Нарушение целостности данных при удалении уровня прав с id {}: {}, guid_employee={}", id, e.getMessage(), authEmployee.getGuidEmployee());
@@ -312,45 +310,4 @@ public class EmployeePermissionService {
             throw new IllegalArgumentException("Произошла непредвиденная ошибка при удалении уровня прав доступа. Пожалуйста, попробуйте позже.", e);
         }
     }
-
-    /**
-     * Возвращает степень схожести между двумя строками.
-     * Алгоритм основан на расстоянии Левенштейна.
-     *
-     * @param s1 Первая строка.
-     * @param s2 Вторая строка.
-     * @return Коэффициент схожести.
-     */
-    public static double stringSimilarity(String s1, String s2) {
-        s1 = s1.trim().toLowerCase();
-        s2 = s2.trim().toLowerCase();
-        if (s1.equals(s2)) return 1.0;
-        int maxLen = Math.max(s1.length(), s2.length());
-        if (maxLen == 0) return 1.0;
-        int dist = levenshteinDistance(s1, s2);
-        return 1.0 - (double) dist / maxLen;
-    }
-
-    /**
-     * Вычисляет расстояние Левенштейна между двумя строками.
-     *
-     * @param s1 Первая строка.
-     * @param s2 Вторая строка.
-     * @return Расстояние Левенштейна.
-     */
-    private static int levenshteinDistance(String s1, String s2) {
-        int[] costs = new int[s2.length() + 1];
-        for (int j = 0; j < costs.length; j++)
-            costs[j] = j;
-        for (int i = 1; i <= s1.length(); i++) {
-            costs[0] = i;
-            int nw = i - 1;
-            for (int j = 1; j <= s2.length(); j++) {
-                int cj = Math.min(1 + Math.min(costs[j], costs[j - 1]), s1.charAt(i - 1) == s2.charAt(j - 1) ? nw : nw + 1);
-                nw = costs[j];
-                costs[j] = cj;
-            }
-        }
-        return costs[s2.length()];
-    }
-}
\ No newline at end of file
+}
@@ -13,7 +13,6 @@ import plantime.ru.API.entity.Log;
 import plantime.ru.API.repository.EmployeePermissionRepository;
 import plantime.ru.API.repository.EmployeePostRepository;
 import plantime.ru.API.repository.EmployeeRepository;
-import plantime.ru.API.repository.LogRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -31,18 +30,30 @@ public class EmployeePostService {
     private final EmployeePostRepository postRepository;
     private final EmployeePermissionRepository permissionRepository;
     private final EmployeeRepository employeeRepository;
-    private final LogRepository logRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final SimilarityIndex similarityIndex;
+    private final DictionaryCache dictionaryCache;
+    private final AuthTokenCache authTokenCache;
     private static final Logger logger = LoggerFactory.getLogger(EmployeePostService.class);
+    private static final String DICTIONARY = "employee_post";
 
     public EmployeePostService(
             EmployeePostRepository postRepository,
             EmployeePermissionRepository permissionRepository,
             EmployeeRepository employeeRepository,
-            LogRepository logRepository) {
+            AuditLogWriter auditLogWriter,
+            AuthTokenCache authTokenCache,
+            SimilarityIndex similarityIndex,
+            DictionaryCache dictionaryCache) {
         this.postRepository = postRepository;
         this.permissionRepository = permissionRepository;
         this.employeeRepository = employeeRepository;
-        this.logRepository = logRepository;
+        this.auditLogWriter = auditLogWriter;
+        this.authTokenCache = authTokenCache;
+        this.similarityIndex = similarityIndex;
+        this.dictionaryCache = dictionaryCache;
+        similarityIndex.register(DICTIONARY, () -> postRepository.findAll().stream()
+                .collect(Collectors.toMap(EmployeePost::getIdEmployeePost, EmployeePost::getPost)));
     }
 
     /**
@@ -53,54 +64,43 @@ public class EmployeePostService {
      * @param idEmployeePermission Идентификатор уровня прав доступа для фильтрации (может быть null).
      * @param sortBy               Поле сортировки (например, "post").
      * @param order                Порядок сортировки: "asc" или "desc".
-     * @return Список DTO должностей.
+     * @return Список DTO должностей и версия для ETag.
      * @throws IllegalArgumentException Если валидация не пройдена или уровень прав доступа не найден.
      */
-    public List<EmployeePostDTO> getAllPosts(Employee authEmployee, Integer idEmployeePermission, String sortBy, String order) {
+    public DictionaryCache.Snapshot<EmployeePostDTO> getAllPosts(Employee authEmployee, Integer idEmployeePermission, String sortBy, String order) {
         try {
             if (!sortBy.equals("post")) {
-                logRepository.save(new Log(authEmployee, "Недопустимое поле сортировки: " + sortBy, LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Недопустимое поле сортировки: " + sortBy, LocalDateTime.now()));
                 logger.error("Недопустимое поле сортировки: {}, guid_employee={}", sortBy, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Сортировка возможна только по полю «Название должности».");
             }
 
             if (!order.equalsIgnoreCase("asc") && !order.equalsIgnoreCase("desc")) {
-                logRepository.save(new Log(authEmployee, "Недопустимый порядок сортировки: " + order, LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Недопустимый порядок сортировки: " + order, LocalDateTime.now()));
                 logger.error("Недопустимый порядок сортировки: {}, guid_employee={}", order, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Порядок сортировки должен быть «asc» (по возрастанию) или «desc» (по убыванию).");
             }
 
-            Sort sort = order.equalsIgnoreCase("asc") ? Sort.by(Sort.Direction.ASC, "post") : Sort.by(Sort.Direction.DESC, "post");
-            List<EmployeePost> posts;
-            String logMessage;
+            DictionaryCache.Snapshot<EmployeePostDTO> snapshot = dictionaryCache.get(DICTIONARY, () ->
+                    postRepository.findAll(Sort.by(Sort.Direction.ASC, "post")).stream()
+                            .map(post -> new EmployeePostDTO(
+                                    post.getIdEmployeePost(),
+                                    post.getPost(),
+                                    post.getEmployeePermission().getIdEmployeePermission()))
+                            .toList()).ordered(order);
             if (idEmployeePermission != null) {
-                if (!permissionRepository.existsById(idEmployeePermission)) {
-                    logRepository.save(new Log(authEmployee, "Не удалось получить должности: уровень прав доступа с id " + idEmployeePermission + " не найден", LocalDateTime.now()));
+                snapshot = snapshot.filtered(post -> idEmployeePermission.equals(post.getIdEmployeePermission()),
+                        "permission" + idEmployeePermission);
+                // Пустой результат — повод проверить, существует ли такой уровень прав
+                if (snapshot.items().isEmpty() && !permissionRepository.existsById(idEmployeePermission)) {
+                    auditLogWriter.write(new Log(authEmployee, "Не удалось получить должности: уровень прав доступа с id " + idEmployeePermission + " не найден", LocalDateTime.now()));
                     logger.error("Уровень прав доступа с id {} не найден, guid_employee={}", idEmployeePermission, authEmployee.getGuidEmployee());
                     throw new IllegalArgumentException("Уровень прав доступа с id " + idEmployeePermission + " не найден");
                 }
-                posts = postRepository.findByEmployeePermissionIdEmployeePermission(idEmployeePermission, sort);
-                logMessage = "Получен список должностей для уровня прав доступа id " + idEmployeePermission + ", количество: " + posts.size();
-            } else {
-                posts = postRepository.findAll(sort);
-                logMessage = "Получен список всех должностей, количество: " + posts.size();
             }
-
-            if (posts.isEmpty()) {
-                logRepository.save(new Log(authEmployee, "Список должностей пуст", LocalDateTime.now()));
-                logger.info("Список должностей пуст, guid_employee={}", authEmployee.getGuidEmployee());
-                return List.of();
-            }
-
-            List<EmployeePostDTO> postDTOs = posts.stream()
-                    .map(post -> new EmployeePostDTO(
-                            post.getIdEmployeePost(),
-                            post.getPost(),
-                            post.getEmployeePermission().getIdEmployeePermission()))
-                    .collect(Collectors.toList());
-            logRepository.save(new Log(authEmployee, logMessage + ", сортировка: " + sortBy + ", порядок: " + order, LocalDateTime.now()));
-            logger.info("{}, sortBy={}, order={}, guid_employee={}", logMessage, sortBy, order, authEmployee.getGuidEmployee());
-            return postDTOs;
+            logger.debug("Получен список должностей, idEmployeePermission={}, количество: {}, sortBy={}, order={}, guid_employee={}",
+                    idEmployeePermission, snapshot.items().size(), sortBy, order, authEmployee.getGuidEmployee());
+            return snapshot;
         } catch (IllegalArgumentException e) {
             logger.error("Ошибка при получении списка должностей: {}, guid_employee={}", e.getMessage(), authEmployee.getGuidEmployee());
             throw e;
@@ -124,35 +124,31 @@ public class EmployeePostService {
         try {
             String postName = postDTO.getPost().trim();
             if (!postName.matches("^[a-zA-Zа-яА-ЯёЁ\\s-]*$")) {
-                logRepository.save(new Log(authEmployee, "Не удалось создать должность: название содержит недопустимые символы", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Не удалось создать должность: название содержит недопустимые символы", LocalDateTime.now()));
                 logger.error("Название должности содержит недопустимые символы: {}, guid_employee={}", postName, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Название должности может содержать только буквы, пробелы и дефисы. Цифры и специальные символы запрещены.");
             }
 
             if (postName.length() > 40) {
-                logRepository.save(new Log(authEmployee, "Не удалось создать должность: длина названия превышает 40 символов", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Не удалось создать должность: длина названия превышает 40 символов", LocalDateTime.now()));
                 logger.error("Недопустимая длина названия должности: {}, guid_employee={}", postName, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Название должности не должно превышать 40 символов.");
             }
 
             if (postRepository.existsByPostIgnoreCase(postName)) {
-                logRepository.save(new Log(authEmployee, "Не удалось создать должность: должность с таким названием уже существует", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Не удалось создать должность: должность с таким названием уже существует", LocalDateTime.now()));
                 logger.error("Должность '{}' уже существует, guid_employee={}", postName, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Должность с таким названием уже существует. Пожалуйста, выберите другое название.");
             }
 
-            List<EmployeePost> allPosts = postRepository.findAll();
-            Optional<String> similarPost = allPosts.stream()
-                    .map(EmployeePost::getPost)
-                    .filter(existingName -> stringSimilarity(existingName, postName) >= 0.85)
-                    .findFirst();
+            Optional<String> similarPost = similarityIndex.findMostSimilar(DICTIONARY, postName, null);
 
             if (similarPost.isPresent()) {
                 if (Boolean.TRUE.equals(forceCreate)) {
-                    logRepository.save(new Log(authEmployee, "Создана должность с похожим названием: " + postName + ", похоже на: " + similarPost.get(), LocalDateTime.now()));
+                    auditLogWriter.write(new Log(authEmployee, "Создана должность с похожим названием: " + postName + ", похоже на: " + similarPost.get(), LocalDateTime.now()));
                     logger.info("Создана должность с похожим названием: {}, guid_employee={}", postName, authEmployee.getGuidEmployee());
                 } else {
-                    logRepository.save(new Log(authEmployee,
+                    auditLogWriter.write(new Log(authEmployee,
                             "Попытка создать должность с похожим названием: " + postName + ", похоже на: " + similarPost.get(),
                             LocalDateTime.now()));
                     logger.warn("Попытка создать должность с похожим названием: {}, похоже на: {}, guid_employee={}",
@@ -168,7 +164,7 @@ public class EmployeePostService {
 
             Optional<EmployeePermission> permission = permissionRepository.findById(postDTO.getIdEmployeePermission());
             if (permission.isEmpty()) {
-                logRepository.save(new Log(authEmployee, "Не удалось создать должность: уровень прав доступа с id " + postDTO.getIdEmployeePermission() + " не найден", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Не удалось создать должность: уровень прав доступа с id " + postDTO.getIdEmployeePermission() + " не найден", LocalDateTime.now()));
                 logger.error("Уровень прав доступа с id {} не найден, guid_employee={}", postDTO.getIdEmployeePermission(), authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Уровень прав доступа с id " + postDTO.getIdEmployeePermission() + " не найден");
             }
@@ -176,7 +172,9 @@ public class EmployeePostService {
             post.setPost(postName);
             post.setEmployeePermission(permission.get());
             EmployeePost savedPost = postRepository.save(post);
-            logRepository.save(new Log(authEmployee, "Создана должность: " + postName, LocalDateTime.now()));
+            similarityIndex.put(DICTIONARY, savedPost.getIdEmployeePost(), savedPost.getPost());
+            dictionaryCache.invalidate(DICTIONARY);
+            auditLogWriter.write(new Log(authEmployee, "Создана должность: " + postName, LocalDateTime.now()));
             logger.info("Успешно создана должность: {}, guid_employee={}", postName, authEmployee.getGuidEmployee());
             return new EmployeePostDTO(savedPost.getIdEmployeePost(), savedPost.getPost(), savedPost.getEmployeePermission().getIdEmployeePermission());
         } catch (IllegalArgumentException e) {
@@ -211,46 +209,38 @@ public class EmployeePostService {
         try {
             Optional<EmployeePost> existing = postRepository.findById(id);
             if (existing.isEmpty()) {
-                logRepository.save(new Log(authEmployee, "Не удалось обновить должность: должность с id " + id + " не найдена", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Не удалось обновить должность: должность с id " + id + " не найдена", LocalDateTime.now()));
                 logger.error("Должность с id {} не найдена, guid_employee={}", id, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Должность с id " + id + " не найдена");
             }
 
             String postName = postDTO.getPost().trim();
             if (!postName.matches("^[a-zA-Zа-яА-ЯёЁ\\s-]*$")) {
-                logRepository.save(new Log(authEmployee, "Не удалось обновить должность: название содержит недопустимые символы", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Не удалось обновить должность: название содержит недопустимые символы", LocalDateTime.now()));
                 logger.error("Название должности содержит недопустимые символы: {}, guid_employee={}", postName, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Название должности может содержать только буквы, пробелы и дефисы. Цифры и специальные символы запрещены.");
             }
 
             if (postName.length() > 40) {
-                logRepository.save(new Log(authEmployee, "Не удалось обновить должность: длина названия превышает 40 символов", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Не удалось обновить должность: длина названия превышает 40 символов", LocalDateTime.now()));
                 logger.error("Недопустимая длина названия должности: {}, guid_employee={}", postName, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Название должности не должно превышать 40 символов.");
             }
 
-            List<EmployeePost> allPosts = postRepository.findAll();
-            for (EmployeePost post : allPosts) {
-                if (!post.getIdEmployeePost().equals(id)
-                        && post.getPost().equalsIgnoreCase(postName)) {
-                    logRepository.save(new Log(authEmployee, "Не удалось обновить должность: должность с таким названием уже существует", LocalDateTime.now()));
-                    logger.error("Должность '{}' уже существует, guid_employee={}", postName, authEmployee.getGuidEmployee());
-                    throw new IllegalArgumentException("Должность с таким названием уже существует. Пожалуйста, выберите другое название.");
-                }
+            if (postRepository.existsByPostIgnoreCaseAndIdEmployeePostNot(postName, id)) {
+                auditLogWriter.write(new Log(authEmployee, "Не удалось обновить должность: должность с таким названием уже существует", LocalDateTime.now()));
+                logger.error("Должность '{}' уже существует, guid_employee={}", postName, authEmployee.getGuidEmployee());
+                throw new IllegalArgumentException("Должность с таким названием уже существует. Пожалуйста, выберите другое название.");
             }
 
-            Optional<String> similarPost = allPosts.stream()
-                    .filter(post -> !post.getIdEmployeePost().equals(id))
-                    .map(EmployeePost::getPost)
-                    .filter(existingName -> stringSimilarity(existingName, postName) >= 0.85)
-                    .findFirst();
+            Optional<String> similarPost = similarityIndex.findMostSimilar(DICTIONARY, postName, id);
 
             if (similarPost.isPresent()) {
                 if (Boolean.TRUE.equals(forceUpdate)) {
-                    logRepository.save(new Log(authEmployee, "Обновлена должность на похожее название: " + postName + ", похоже на: " + similarPost.get(), LocalDateTime.now()));
+                    auditLogWriter.write(new Log(authEmployee, "Обновлена должность на похожее название: " + postName + ", похоже на: " + similarPost.get(), LocalDateTime.now()));
                     logger.info("Обновлена должность на похожее название: {}, guid_employee={}", postName, authEmployee.getGuidEmployee());
                 } else {
-                    logRepository.save(new Log(authEmployee,
+                    auditLogWriter.write(new Log(authEmployee,
                             "Попытка обновить должность на похожее название: " + postName + ", похоже на: " + similarPost.get(),
                             LocalDateTime.now()));
                     logger.warn("Попытка обновления должности на похожее название: {}, похоже на: {}, guid_employee={}",
@@ -266,7 +256,7 @@ public class EmployeePostService {
 
             Optional<EmployeePermission> permission = permissionRepository.findById(postDTO.getIdEmployeePermission());
             if (permission.isEmpty()) {
-                logRepository.save(new Log(authEmployee, "Не удалось обновить должность: уровень прав доступа с id " + postDTO.getIdEmployeePermission() + " не найден", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Не удалось обновить должность: уровень прав доступа с id " + postDTO.getIdEmployeePermission() + " не найден", LocalDateTime.now()));
                 logger.error("Уровень прав доступа с id {} не найден, guid_employee={}", postDTO.getIdEmployeePermission(), authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Уровень прав доступа с id " + postDTO.getIdEmployeePermission() + " не найден");
             }
@@ -274,7 +264,10 @@ public class EmployeePostService {
             post.setPost(postName);
             post.setEmployeePermission(permission.get());
             EmployeePost updatedPost = postRepository.save(post);
-            logRepository.save(new Log(authEmployee, "Обновлена должность: " + postName, LocalDateTime.now()));
+            similarityIndex.put(DICTIONARY, updatedPost.getIdEmployeePost(), updatedPost.getPost());
+            dictionaryCache.invalidate(DICTIONARY);
+            authTokenCache.invalidateAll();
+            auditLogWriter.write(new Log(authEmployee, "Обновлена должность: " + postName, LocalDateTime.now()));
             logger.info("Успешно обновлена должность: {}, guid_employee={}", postName, authEmployee.getGuidEmployee());
             return new EmployeePostDTO(updatedPost.getIdEmployeePost(), updatedPost.getPost(), updatedPost.getEmployeePermission().getIdEmployeePermission());
         } catch (IllegalArgumentException e) {
@@ -307,7 +300,7 @@ public class EmployeePostService {
         try {
             Optional<EmployeePost> existing = postRepository.findById(id);
             if (existing.isEmpty()) {
-                logRepository.save(new Log(authEmployee, "Не удалось удалить должность: должность с id " + id + " не найдена", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Не удалось удалить должность: должность с id " + id + " не найдена", LocalDateTime.now()));
                 logger.error("Должность с id {} не найдена, guid_employee={}", id, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Должность с указанным идентификатором не найдена.");
             }
@@ -315,14 +308,16 @@ public class EmployeePostService {
             EmployeePost post = existing.get();
             boolean isUsed = employeeRepository.existsByEmployeePost(post);
             if (isUsed) {
-                logRepository.save(new Log(authEmployee, "Не удалось удалить должность: должность с id " + id + " используется сотрудниками", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Не удалось удалить должность: должность с id " + id + " используется сотрудниками", LocalDateTime.now()));
                 logger.error("Должность с id {} используется сотрудниками, guid_employee={}", id, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Должность с id " + id + " не может быть удалена, так как используется сотрудниками.");
             }
 
             postRepository.deleteById(id);
             postRepository.flush();
-            logRepository.save(new Log(authEmployee, "Удалена должность с id: " + id, LocalDateTime.now()));
+            similarityIndex.remove(DICTIONARY, id);
+            dictionaryCache.invalidate(DICTIONARY);
+            auditLogWriter.write(new Log(authEmployee, "Удалена должность с id: " + id, LocalDateTime.now()));
             logger.info("Успешно удалена должность с id: {}, guid_employee={}", id, authEmployee.getGuidEmployee());
         } catch (org.springframework.dao.DataIntegrityViolationException e) {
             logger.error("Нарушение целостности данных при удалении должности с id {}: {}, guid_employee={}", id, e.getMessage(), authEmployee.getGuidEmployee());
@@ -335,45 +330,4 @@ public class EmployeePostService {
             throw new IllegalArgumentException("Произошла непредвиденная ошибка при удалении должности. Пожалуйста, попробуйте позже.", e);
         }
     }
-
-    /**
-     * Возвращает степень схожести между двумя строками.
-     * Алгоритм основан на расстоянии Левенштейна.
-     *
-     * @param s1 Первая строка.
-     * @param s2 Вторая строка.
-     * @return Коэффициент схожести.
-     */
-    public static double stringSimilarity(String s1, String s2) {
-        s1 = s1.trim().toLowerCase();
-        s2 = s2.trim().toLowerCase();
-        if (s1.equals(s2)) return 1.0;
-        int maxLen = Math.max(s1.length(), s2.length());
-        if (maxLen == 0) return 1.0;
-        int dist = levenshteinDistance(s1, s2);
-        return 1.0 - (double) dist / maxLen;
-    }
-
-    /**
-     * Вычисляет расстояние Левенштейна между двумя строками.
-     *
-     * @param s1 Первая строка.
-     * @param s2 Вторая строка.
-     * @return Расстояние Левенштейна.
-     */
-    private static int levenshteinDistance(String s1, String s2) {
-        int[] costs = new int[s2.length() + 1];
-        for (int j = 0; j < costs.length; j++)
-            costs[j] = j;
-        for (int i = 1; i <= s1.length(); i++) {
-            costs[0] = i;
-            int nw = i - 1;
-            for (int j = 1; j <= s2.length(); j++) {
-                int cj = Math.min(1 + Math.min(costs[j], costs[j - 1]), s1.charAt(i - 1) == s2.charAt(j - 1) ? nw : nw + 1);
-                nw = costs[j];
-                costs[j] = cj;
-            }
-        }
-        return costs[s2.length()];
-    }
-}
\ No newline at end of file
+}
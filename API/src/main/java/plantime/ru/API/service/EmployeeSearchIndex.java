@@ -0,0 +1,149 @@
+package plantime.ru.API.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import plantime.ru.API.dto.EmployeeSuggestionDTO;
+import plantime.ru.API.entity.Employee;
+import plantime.ru.API.repository.EmployeeRepository;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Поисковый индекс справочника сотрудников по ФИО и электронной почте.
+ * <p>
+ * Слова ищутся по началу, а от трёх символов — и по вхождению (триграммы); регистр и «ё»/«е» не различаются.
+ * Если запрос ничего не нашёл, он повторяется в другой раскладке клавиатуры («bdfyjd» → «иванов»).
+ * Индекс строится из базы при первом обращении и поддерживается {@link EmployeeService}:
+ * изменения применяются после фиксации транзакции.
+ */
+@Component
+public class EmployeeSearchIndex extends LazySearchIndex<String, EmployeeSearchIndex.Entry> {
+
+    record Entry(String guid, String fullName, String email, String profilePicture, String sortKey) {
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeSearchIndex.class);
+
+    private static final String LATIN = "`qwertyuiop[]asdfghjkl;'zxcvbnm,.";
+    private static final String CYRILLIC = "ёйцукенгшщзхъфывапролджэячсмитьбю";
+
+    private final EmployeeRepository employeeRepository;
+
+    public EmployeeSearchIndex(EmployeeRepository employeeRepository, PlatformTransactionManager transactionManager) {
+        super("сотрудников", transactionManager, Comparator.comparing(Entry::sortKey).thenComparing(Entry::guid));
+        this.employeeRepository = employeeRepository;
+    }
+
+    /**
+     * Возвращает подсказки по строке поиска в порядке релевантности.
+     *
+     * @param query Строка поиска.
+     * @param limit Максимальное количество подсказок.
+     * @return Найденные сотрудники.
+     */
+    public List<EmployeeSuggestionDTO> suggest(String query, int limit) {
+        ensureLoaded();
+        List<TextSearchIndex.Hit<String, Entry>> hits = index.search(query, null, 0, limit).hits();
+        if (hits.isEmpty()) {
+            String switched = switchLayout(query);
+            if (!switched.equals(query.toLowerCase(Locale.ROOT))) {
+                hits = index.search(switched, null, 0, limit).hits();
+            }
+        }
+        return hits.stream()
+                .map(hit -> new EmployeeSuggestionDTO(hit.key(), hit.value().fullName(), hit.value().email(), hit.value().profilePicture()))
+                .toList();
+    }
+
+    /**
+     * Возвращает GUID сотрудников, подходящих под строку поиска (для отбора в списке сотрудников).
+     * Число GUID ограничено, чтобы условие IN в запросе списка оставалось небольшим; при превышении
+     * остаются самые релевантные, а общее число совпадений возвращается в {@link Matches#total()}.
+     *
+     * @param query Строка поиска.
+     * @param limit Максимальное количество GUID.
+     * @return GUID найденных сотрудников и общее число совпадений.
+     */
+    public Matches findGuids(String query, int limit) {
+        ensureLoaded();
+        TextSearchIndex.Result<String, Entry> result = index.search(query, null, 0, limit);
+        if (result.total() > limit) {
+            logger.warn("Поиск сотрудников «{}»: найдено {}, в отбор попали {} самых релевантных", query, result.total(), limit);
+        }
+        return new Matches(result.hits().stream().map(TextSearchIndex.Hit::key).toList(), result.total());
+    }
+
+    /**
+     * Сотрудники, найденные поиском.
+     *
+     * @param guids GUID самых релевантных совпадений (не больше запрошенного лимита).
+     * @param total Общее число совпадений.
+     */
+    public record Matches(List<String> guids, int total) {
+
+        /**
+         * @return true, если совпадений больше, чем попало в {@link #guids()}.
+         */
+        public boolean truncated() {
+            return total > guids.size();
+        }
+    }
+
+    /**
+     * Добавляет или обновляет сотрудника после фиксации текущей транзакции.
+     *
+     * @param employee Сохранённый сотрудник.
+     */
+    public void put(Employee employee) {
+        String guid = employee.getGuidEmployee();
+        String surname = employee.getSurname();
+        String firstName = employee.getFirstName();
+        String patronymic = employee.getPatronymic();
+        String email = employee.getEmail();
+        String profilePicture = employee.getProfilePicture();
+        update(() -> add(guid, surname, firstName, patronymic, email, profilePicture));
+    }
+
+    /**
+     * Удаляет сотрудника после фиксации текущей транзакции.
+     *
+     * @param guid GUID сотрудника.
+     */
+    public void remove(String guid) {
+        update(() -> index.remove(guid));
+    }
+
+    /**
+     * Переводит строку, набранную в латинской раскладке, в русскую и наоборот.
+     */
+    static String switchLayout(String text) {
+        String lower = text.toLowerCase(Locale.ROOT);
+        StringBuilder sb = new StringBuilder(lower.length());
+        for (char c : lower.toCharArray()) {
+            int latin = LATIN.indexOf(c);
+            int cyrillic = CYRILLIC.indexOf(c);
+            sb.append(latin >= 0 ? CYRILLIC.charAt(latin) : cyrillic >= 0 ? LATIN.charAt(cyrillic) : c);
+        }
+        return sb.toString();
+    }
+
+    private void add(String guid, String surname, String firstName, String patronymic, String email, String profilePicture) {
+        String fullName = surname + " " + firstName + (patronymic == null || patronymic.isBlank() ? "" : " " + patronymic);
+        index.put(guid, new Entry(guid, fullName, email, profilePicture, TextSearchIndex.normalize(fullName)),
+                surname, firstName, patronymic, email);
+    }
+
+    @Override
+    protected List<Object[]> loadRows() {
+        return employeeRepository.findSearchRows();
+    }
+
+    @Override
+    protected void addRow(Object[] row) {
+        add((String) row[0], (String) row[1], (String) row[2], (String) row[3], (String) row[4], (String) row[5]);
+    }
+}
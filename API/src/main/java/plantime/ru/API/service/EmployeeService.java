@@ -2,24 +2,30 @@ package plantime.ru.API.service;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 import plantime.ru.API.dto.EmployeeDTO;
+import plantime.ru.API.dto.EmployeePageDTO;
+import plantime.ru.API.dto.EmployeeSuggestionDTO;
 import plantime.ru.API.entity.*;
 import plantime.ru.API.repository.*;
 import java.time.LocalDateTime;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeSet;
 import java.util.UUID;
 import java.util.stream.Collectors;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.StandardCopyOption;
 
 @Service
 public class EmployeeService {
@@ -29,11 +35,23 @@ public class EmployeeService {
     private final EmployeeStatusRepository statusRepository;
     private final EmployeeDepartmentRepository departmentRepository;
     private final EmployeeGenderRepository genderRepository;
-    private final LogRepository logRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final AuditLogWriter auditLogWriter;
+    private final PasswordHashingService passwordHashingService;
+    private final AuthTokenCache authTokenCache;
+    private final ProfileImageService profileImageService;
+    private final EmployeeSearchIndex searchIndex;
     private static final Logger logger = LoggerFactory.getLogger(EmployeeService.class);
 
-    private static final String PHOTO_DIR = "src/main/resources/profile_pictures/";
+    @Value("${employees.page.default-size:50}")
+    private int defaultPageSize;
+    @Value("${employees.page.max-size:500}")
+    private int maxPageSize;
+    @Value("${employees.suggest.default-limit:10}")
+    private int defaultSuggestLimit;
+    @Value("${employees.suggest.max-limit:50}")
+    private int maxSuggestLimit;
+    @Value("${employees.search.max-guids:1000}")
+    private int maxSearchGuids;
 
     public EmployeeService(
             EmployeeRepository employeeRepository,
@@ -41,21 +59,39 @@ public class EmployeeService {
             EmployeeStatusRepository statusRepository,
             EmployeeDepartmentRepository departmentRepository,
             EmployeeGenderRepository genderRepository,
-            LogRepository logRepository,
-            PasswordEncoder passwordEncoder) {
+            AuditLogWriter auditLogWriter,
+            PasswordHashingService passwordHashingService,
+            AuthTokenCache authTokenCache,
+            ProfileImageService profileImageService,
+            EmployeeSearchIndex searchIndex) {
         this.employeeRepository = employeeRepository;
         this.postRepository = postRepository;
         this.statusRepository = statusRepository;
         this.departmentRepository = departmentRepository;
         this.genderRepository = genderRepository;
-        this.logRepository = logRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.auditLogWriter = auditLogWriter;
+        this.passwordHashingService = passwordHashingService;
+        this.authTokenCache = authTokenCache;
+        this.profileImageService = profileImageService;
+        this.searchIndex = searchIndex;
     }
 
+    // Сортировки списка сотрудников: параметр sort → поля сущности
+    private static final Map<String, List<String>> SORT_FIELDS = Map.of(
+            "fio", List.of("surname", "firstName", "patronymic"),
+            "login", List.of("login"),
+            "email", List.of("email"),
+            "dateOfBirth", List.of("dateOfBirth"),
+            "hourlyRate", List.of("hourlyRate"),
+            "lastAuthorization", List.of("lastAuthorization")
+    );
+
     /**
-     * Получает список сотрудников с фильтрацией и поиском.
+     * Получает страницу сотрудников с фильтрацией, поиском и сортировкой на стороне БД.
+     * Строки выбираются одной проекцией в EmployeeDTO; при count = false общее количество не считается.
      */
-    public List<EmployeeDTO> getAllEmployees(
+    @Transactional(readOnly = true)
+    public EmployeePageDTO getAllEmployees(
             Employee authEmployee,
             LocalDateTime startDate,
             LocalDateTime endDate,
@@ -65,38 +101,134 @@ public class EmployeeService {
             BigDecimal minHourlyRate,
             BigDecimal maxHourlyRate,
             String department,
-            String search) {
+            String search,
+            Integer page,
+            Integer size,
+            String sort,
+            String order,
+            boolean count) {
         try {
-            Integer departmentId = null;
-            if (department != null && !department.isBlank()) {
-                EmployeeDepartment dep = departmentRepository.findByDepartment(department)
-                        .orElse(null);
-                if (dep != null) {
-                    departmentId = dep.getIdEmployeeDepartment();
-                } else {
-                    throw new IllegalArgumentException("Отдел с наименованием '" + department + "' не найден");
-                }
+            int pageNumber = page == null ? 0 : page;
+            if (pageNumber < 0) throw new IllegalArgumentException("Номер страницы не может быть отрицательным");
+            int pageSize = size == null ? defaultPageSize : size;
+            if (pageSize <= 0 || pageSize > maxPageSize)
+                throw new IllegalArgumentException("Размер страницы должен быть от 1 до " + maxPageSize);
+            Pageable pageable = PageRequest.of(pageNumber, pageSize, employeeSort(sort, order));
+            Integer departmentId = findDepartmentId(department);
+            boolean anyGuid = search == null || search.isBlank();
+            EmployeeSearchIndex.Matches matches = anyGuid ? null : searchIndex.findGuids(search, maxSearchGuids);
+            List<String> guids = anyGuid ? List.of("") : matches.guids();
+            if (guids.isEmpty()) {
+                logger.info("Список сотрудников пуст, guid_employee={}", authEmployee.getGuidEmployee());
+                return new EmployeePageDTO(List.of(), pageNumber, pageSize, false, count ? 0L : null, count ? 0 : null);
+            }
+
+            EmployeePageDTO result;
+            if (count) {
+                Page<EmployeeDTO> rows = employeeRepository.findRowsPage(startDate, endDate, genderId, postId, statusId,
+                        minHourlyRate, maxHourlyRate, departmentId, anyGuid, guids, pageable);
+                result = new EmployeePageDTO(rows.getContent(), pageNumber, pageSize, rows.hasNext(),
+                        rows.getTotalElements(), rows.getTotalPages());
+            } else {
+                Slice<EmployeeDTO> rows = employeeRepository.findRowsSlice(startDate, endDate, genderId, postId, statusId,
+                        minHourlyRate, maxHourlyRate, departmentId, anyGuid, guids, pageable);
+                result = new EmployeePageDTO(rows.getContent(), pageNumber, pageSize, rows.hasNext(), null, null);
             }
-            List<Employee> employees = employeeRepository.findEmployeesWithFilters(
-                    startDate, endDate, genderId, postId, statusId,
-                    minHourlyRate, maxHourlyRate, departmentId, search);
+            // Поиск нашёл больше, чем допускает отбор по GUID: клиент узнаёт, что итоги — нижняя граница
+            result.setSearchTruncated(!anyGuid && matches.truncated());
+            auditLogWriter.write(new Log(authEmployee, "Получен список сотрудников, страница " + pageNumber + ", количество: " + result.getItems().size(), LocalDateTime.now()));
+            logger.info("Успешно получен список сотрудников, страница {}, количество: {}, guid_employee={}", pageNumber, result.getItems().size(), authEmployee.getGuidEmployee());
+            return result;
+        } catch (IllegalArgumentException e) {
+            logger.error("Ошибка при получении списка сотрудников: {}, guid_employee={}", e.getMessage(), authEmployee.getGuidEmployee());
+            throw e;
+        } catch (Exception e) {
+            logger.error("Ошибка при получении списка сотрудников: {}, guid_employee={}", e.getMessage(), authEmployee.getGuidEmployee());
+            throw new IllegalArgumentException("Не удалось получить список сотрудников", e);
+        }
+    }
+
+    /**
+     * Получает полный список сотрудников с фильтрацией, поиском и сортировкой (прежний формат ответа —
+     * для клиентов, которые не передают параметры страницы). Все строки возвращаются одной страницей;
+     * searchTruncated сообщает, что поиск нашёл больше сотрудников, чем попало в список.
+     */
+    @Transactional(readOnly = true)
+    public EmployeePageDTO getAllEmployeesList(
+            Employee authEmployee,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            Integer genderId,
+            Integer postId,
+            Integer statusId,
+            BigDecimal minHourlyRate,
+            BigDecimal maxHourlyRate,
+            String department,
+            String search,
+            String sort,
+            String order) {
+        try {
+            Sort orderBy = employeeSort(sort, order);
+            Integer departmentId = findDepartmentId(department);
+            boolean anyGuid = search == null || search.isBlank();
+            EmployeeSearchIndex.Matches matches = anyGuid ? null : searchIndex.findGuids(search, maxSearchGuids);
+            List<String> guids = anyGuid ? List.of("") : matches.guids();
+            List<EmployeeDTO> employees = guids.isEmpty() ? List.of()
+                    : employeeRepository.findRows(startDate, endDate, genderId, postId, statusId,
+                    minHourlyRate, maxHourlyRate, departmentId, anyGuid, guids, orderBy);
+            EmployeePageDTO result = new EmployeePageDTO(employees, 0, employees.size(), false, (long) employees.size(), 1);
+            result.setSearchTruncated(!anyGuid && matches.truncated());
             if (employees.isEmpty()) {
-                logRepository.save(new Log(authEmployee, "Список сотрудников пуст", LocalDateTime.now()));
                 logger.info("Список сотрудников пуст, guid_employee={}", authEmployee.getGuidEmployee());
-                return List.of();
+                return result;
             }
-            List<EmployeeDTO> employeeDTOs = employees.stream()
-                    .map(this::mapToDTO)
-                    .collect(Collectors.toList());
-            logRepository.save(new Log(authEmployee, "Получен список сотрудников, количество: " + employees.size(), LocalDateTime.now()));
+            auditLogWriter.write(new Log(authEmployee, "Получен список сотрудников, количество: " + employees.size(), LocalDateTime.now()));
             logger.info("Успешно получен список сотрудников, количество: {}, guid_employee={}", employees.size(), authEmployee.getGuidEmployee());
-            return employeeDTOs;
+            return result;
+        } catch (IllegalArgumentException e) {
+            logger.error("Ошибка при получении списка сотрудников: {}, guid_employee={}", e.getMessage(), authEmployee.getGuidEmployee());
+            throw e;
         } catch (Exception e) {
             logger.error("Ошибка при получении списка сотрудников: {}, guid_employee={}", e.getMessage(), authEmployee.getGuidEmployee());
             throw new IllegalArgumentException("Не удалось получить список сотрудников", e);
         }
     }
 
+    // Сортировка списка сотрудников; недопустимые поле или порядок отклоняются, как в справочниках
+    private Sort employeeSort(String sort, String order) {
+        List<String> sortFields = SORT_FIELDS.get(sort == null ? "fio" : sort);
+        if (sortFields == null)
+            throw new IllegalArgumentException("Недопустимое поле сортировки: " + sort + ". Допустимые значения: " + String.join(", ", new TreeSet<>(SORT_FIELDS.keySet())));
+        if (order != null && !order.equalsIgnoreCase("asc") && !order.equalsIgnoreCase("desc"))
+            throw new IllegalArgumentException("Порядок сортировки должен быть «asc» (по возрастанию) или «desc» (по убыванию).");
+        Sort.Direction direction = "desc".equalsIgnoreCase(order) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        // guidEmployee в конце — однозначный порядок при равных значениях, иначе строки «прыгают» между страницами
+        return Sort.by(direction, sortFields.toArray(String[]::new)).and(Sort.by(direction, "guidEmployee"));
+    }
+
+    private Integer findDepartmentId(String department) {
+        if (department == null || department.isBlank()) {
+            return null;
+        }
+        return departmentRepository.findByDepartment(department)
+                .map(EmployeeDepartment::getIdEmployeeDepartment)
+                .orElseThrow(() -> new IllegalArgumentException("Отдел с наименованием '" + department + "' не найден"));
+    }
+
+    /**
+     * Подсказки для поиска сотрудника по мере ввода (ФИО или email).
+     */
+    public List<EmployeeSuggestionDTO> suggestEmployees(String query, Integer limit) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        int max = limit == null ? defaultSuggestLimit : limit;
+        if (max <= 0 || max > maxSuggestLimit) {
+            throw new IllegalArgumentException("Количество подсказок должно быть от 1 до " + maxSuggestLimit);
+        }
+        return searchIndex.suggest(query, max);
+    }
+
     /**
      * Создаёт нового сотрудника.
      * Всегда добавляется с паролем "Asd11016".
@@ -118,14 +250,15 @@ public class EmployeeService {
             populateEmployeeFromDTO(employee, employeeDTO);
 
             employee.setGuidEmployee(guid);
-            employee.setPassword(passwordEncoder.encode("Asd11016"));
+            employee.setPassword(passwordHashingService.encode("Asd11016"));
 
             // Сохраняем фото и устанавливаем имя файла
             String photoFilename = saveProfilePhoto(photo, guid);
             employee.setProfilePicture(photoFilename);
 
             Employee savedEmployee = employeeRepository.save(employee);
-            logRepository.save(new Log(authEmployee, "Создан сотрудник: " + savedEmployee.getLogin(), LocalDateTime.now()));
+            searchIndex.put(savedEmployee);
+            auditLogWriter.write(new Log(authEmployee, "Создан сотрудник: " + savedEmployee.getLogin(), LocalDateTime.now()));
             logger.info("Успешно создан сотрудник: {}, guid_employee={}", savedEmployee.getLogin(), authEmployee.getGuidEmployee());
             return mapToDTO(savedEmployee);
         } catch (IllegalArgumentException e) {
@@ -146,7 +279,7 @@ public class EmployeeService {
         try {
             Optional<Employee> existing = employeeRepository.findById(guid);
             if (existing.isEmpty()) {
-                logRepository.save(new Log(authEmployee, "Не удалось обновить сотрудника: сотрудник с guid " + guid + " не найден", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Не удалось обновить сотрудника: сотрудник с guid " + guid + " не найден", LocalDateTime.now()));
                 logger.error("Сотрудник с guid {} не найден, guid_employee={}", guid, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Сотрудник с guid " + guid + " не найден");
             }
@@ -158,16 +291,22 @@ public class EmployeeService {
                 throw new IllegalArgumentException("Сотрудник с такими ФИО, телефоном, email, отделом и должностью уже существует");
             }
 
+            String previousPicture = employee.getProfilePicture();
             populateEmployeeFromDTO(employee, employeeDTO);
 
-            // Если фото передано — сохранить и обновить имя файла
+            // Если фото передано — сохранить и обновить имя файла, прежнее фото удаляется после фиксации
             if (photo != null && !photo.isEmpty()) {
                 String photoFilename = saveProfilePhoto(photo, guid);
                 employee.setProfilePicture(photoFilename);
+                if (!photoFilename.equals(previousPicture)) {
+                    profileImageService.discard(previousPicture);
+                }
             }
 
             Employee updatedEmployee = employeeRepository.save(employee);
-            logRepository.save(new Log(authEmployee, "Обновлён сотрудник: " + updatedEmployee.getLogin(), LocalDateTime.now()));
+            authTokenCache.invalidateEmployee(guid);
+            searchIndex.put(updatedEmployee);
+            auditLogWriter.write(new Log(authEmployee, "Обновлён сотрудник: " + updatedEmployee.getLogin(), LocalDateTime.now()));
             logger.info("Успешно обновлён сотрудник: {}, guid_employee={}", updatedEmployee.getLogin(), authEmployee.getGuidEmployee());
             return mapToDTO(updatedEmployee);
         } catch (IllegalArgumentException e) {
@@ -184,13 +323,15 @@ public class EmployeeService {
         try {
             Optional<Employee> existing = employeeRepository.findById(guid);
             if (existing.isEmpty()) {
-                logRepository.save(new Log(authEmployee, "Не удалось удалить сотрудника: сотрудник с guid " + guid + " не найден", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Не удалось удалить сотрудника: сотрудник с guid " + guid + " не найден", LocalDateTime.now()));
                 logger.error("Сотрудник с guid {} не найден, guid_employee={}", guid, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Сотрудник с guid " + guid + " не найден");
             }
             employeeRepository.deleteById(guid);
             employeeRepository.flush();
-            logRepository.save(new Log(authEmployee, "Удалён сотрудник с guid: " + guid, LocalDateTime.now()));
+            authTokenCache.invalidateEmployee(guid);
+            searchIndex.remove(guid);
+            auditLogWriter.write(new Log(authEmployee, "Удалён сотрудник с guid: " + guid, LocalDateTime.now()));
             logger.info("Успешно удалён сотрудник с guid: {}, guid_employee={}", guid, authEmployee.getGuidEmployee());
         } catch (org.springframework.dao.DataIntegrityViolationException e) {
             logger.error("Нарушение целостности данных при удалении сотрудника с guid {}: {}, guid_employee={}", guid, e.getMessage(), authEmployee.getGuidEmployee());
@@ -212,14 +353,15 @@ public class EmployeeService {
         try {
             Optional<Employee> existing = employeeRepository.findById(guid);
             if (existing.isEmpty()) {
-                logRepository.save(new Log(authEmployee, "Не удалось сменить пароль: сотрудник с guid " + guid + " не найден", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Не удалось сменить пароль: сотрудник с guid " + guid + " не найден", LocalDateTime.now()));
                 logger.error("Сотрудник с guid {} не найден, guid_employee={}", guid, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Сотрудник с guid " + guid + " не найден");
             }
             Employee employee = existing.get();
-            employee.setPassword(passwordEncoder.encode(newPassword));
+            employee.setPassword(passwordHashingService.encode(newPassword));
             employeeRepository.save(employee);
-            logRepository.save(new Log(authEmployee, "Сменён пароль сотрудника с guid: " + guid, LocalDateTime.now()));
+            authTokenCache.invalidateEmployee(guid);
+            auditLogWriter.write(new Log(authEmployee, "Сменён пароль сотрудника с guid: " + guid, LocalDateTime.now()));
             logger.info("Успешно сменён пароль сотрудника с guid: {}, guid_employee={}", guid, authEmployee.getGuidEmployee());
         } catch (Exception e) {
             logger.error("Ошибка при смене пароля сотрудника: {}, guid_employee={}", e.getMessage(), authEmployee.getGuidEmployee());
@@ -261,17 +403,7 @@ public class EmployeeService {
 
     private String saveProfilePhoto(MultipartFile photo, String guid) throws IOException {
         if (photo == null || photo.isEmpty()) throw new IllegalArgumentException("Фото обязательно");
-        File dir = new File(PHOTO_DIR);
-        if (!dir.exists()) dir.mkdirs();
-        String extension = "";
-        String originalFilename = photo.getOriginalFilename();
-        if (originalFilename != null && originalFilename.contains(".")) {
-            extension = originalFilename.substring(originalFilename.lastIndexOf('.'));
-        }
-        String filename = guid + extension;
-        File file = new File(dir, filename);
-        Files.copy(photo.getInputStream(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
-        return filename;
+        return profileImageService.store(photo, guid);
     }
 
     private void validateEmployeeData(EmployeeDTO dto, Employee existing) {
@@ -0,0 +1,128 @@
+package plantime.ru.API.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Хранилище вложений в локальной файловой системе.
+ * <p>
+ * Содержимое лежит в {@code attachments.store-dir} по пути {@code ab/cd/<sha256>}, где ab и cd — первые
+ * байты хеша (чтобы в одном каталоге не скапливались тысячи файлов). Временные файлы создаются в
+ * подкаталоге tmp того же тома, поэтому перенос под постоянный ключ атомарен.
+ */
+@Component
+public class FileSystemAttachmentStore implements AttachmentStore {
+
+    private static final Pattern SHA256 = Pattern.compile("[0-9a-f]{64}");
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path root;
+    private final Path tempDir;
+
+    public FileSystemAttachmentStore(@Value("${attachments.store-dir:attachment_store}") String storeDir) throws IOException {
+        this.root = Paths.get(storeDir).toAbsolutePath().normalize();
+        this.tempDir = root.resolve("tmp");
+        Files.createDirectories(tempDir);
+    }
+
+    @Override
+    public StagedBlob stage(InputStream content) throws IOException {
+        MessageDigest digest = sha256();
+        Path temp = Files.createTempFile(tempDir, "upload-", ".part");
+        long size = 0;
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = content.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+                out.write(buffer, 0, read);
+                size += read;
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        return new StagedBlob(HexFormat.of().formatHex(digest.digest()), size, temp);
+    }
+
+    @Override
+    public void commit(StagedBlob blob) throws IOException {
+        Path target = locate(blob.sha256());
+        if (Files.exists(target)) {
+            discard(blob);
+            return;
+        }
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(blob.temp(), target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // То же содержимое параллельно сохранила другая загрузка
+            discard(blob);
+        }
+    }
+
+    @Override
+    public void discard(StagedBlob blob) {
+        try {
+            Files.deleteIfExists(blob.temp());
+        } catch (IOException ignored) {
+            // Оставшиеся временные файлы не мешают работе хранилища
+        }
+    }
+
+    @Override
+    public FileChannel open(String sha256) throws IOException {
+        return FileChannel.open(locate(sha256), StandardOpenOption.READ);
+    }
+
+    @Override
+    public Path locate(String sha256) {
+        if (sha256 == null || !SHA256.matcher(sha256).matches()) {
+            throw new IllegalArgumentException("Некорректный хеш содержимого: " + sha256);
+        }
+        return root.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256);
+    }
+
+    @Override
+    public void delete(String sha256) throws IOException {
+        Files.deleteIfExists(locate(sha256));
+    }
+
+    @Override
+    public List<String> listOlderThan(Instant before) throws IOException {
+        try (Stream<Path> files = Files.walk(root, 3)) {
+            return files.filter(path -> !path.startsWith(tempDir))
+                    .filter(path -> SHA256.matcher(path.getFileName().toString()).matches())
+                    .filter(path -> {
+                        try {
+                            return Files.getLastModifiedTime(path).toInstant().isBefore(before);
+                        } catch (IOException e) {
+                            return false;
+                        }
+                    })
+                    .map(path -> path.getFileName().toString())
+                    .toList();
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 недоступен", e);
+        }
+    }
+}
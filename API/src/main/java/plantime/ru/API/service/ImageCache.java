@@ -0,0 +1,42 @@
+package plantime.ru.API.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LRU-кэш изображений, ограниченный суммарным размером содержимого.
+ */
+final class ImageCache {
+
+    private final long maxBytes;
+    private final LinkedHashMap<String, ProfileImageService.Image> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+
+    ImageCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    synchronized ProfileImageService.Image get(String key) {
+        return entries.get(key);
+    }
+
+    synchronized ProfileImageService.Image put(String key, ProfileImageService.Image image) {
+        // Изображения больше четверти кэша не кэшируются, чтобы не вытеснять всё остальное
+        if (image.bytes().length > maxBytes / 4) return image;
+        ProfileImageService.Image previous = entries.put(key, image);
+        if (previous != null) totalBytes -= previous.bytes().length;
+        totalBytes += image.bytes().length;
+        Iterator<Map.Entry<String, ProfileImageService.Image>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            totalBytes -= eldest.next().getValue().bytes().length;
+            eldest.remove();
+        }
+        return image;
+    }
+
+    synchronized void remove(String key) {
+        ProfileImageService.Image previous = entries.remove(key);
+        if (previous != null) totalBytes -= previous.bytes().length;
+    }
+}
@@ -0,0 +1,88 @@
+package plantime.ru.API.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Основа поисковых индексов справочников: {@link TextSearchIndex}, который строится из базы
+ * при первом обращении и затем поддерживается изменениями, применяемыми после фиксации транзакции.
+ *
+ * @param <K> Тип идентификатора записи.
+ * @param <V> Данные записи.
+ */
+abstract class LazySearchIndex<K, V> {
+
+    private static final Logger logger = LoggerFactory.getLogger(LazySearchIndex.class);
+
+    protected final TextSearchIndex<K, V> index;
+    private final String name;
+    private final TransactionTemplate loadTransaction;
+    private volatile boolean loaded;
+
+    /**
+     * @param name               Название индекса для лога.
+     * @param transactionManager Менеджер транзакций (загрузка выполняется в отдельной транзакции).
+     * @param order              Порядок записей с равной релевантностью.
+     */
+    LazySearchIndex(String name, PlatformTransactionManager transactionManager, Comparator<V> order) {
+        this.name = name;
+        this.index = new TextSearchIndex<>(order);
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        this.loadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.loadTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Загружает из базы все строки для построения индекса.
+     */
+    protected abstract List<Object[]> loadRows();
+
+    /**
+     * Добавляет в индекс запись из строки, полученной от {@link #loadRows()}.
+     */
+    protected abstract void addRow(Object[] row);
+
+    /**
+     * Строит индекс, если он ещё не построен.
+     */
+    protected final void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            // Отдельная транзакция: снимок транзакции вызывающего кода может не содержать
+            // записей, зафиксированных после её начала
+            List<Object[]> rows = loadTransaction.execute(status -> loadRows());
+            for (Object[] row : rows) {
+                addRow(row);
+            }
+            loaded = true;
+            logger.info("Поисковый индекс {} построен: записей={}", name, index.size());
+        }
+    }
+
+    /**
+     * Применяет изменение к индексу после фиксации текущей транзакции; до построения индекса изменения
+     * не нужны — они попадут в него при загрузке.
+     *
+     * @param change Изменение индекса.
+     */
+    protected final void update(Runnable change) {
+        TransactionHooks.afterCommitOrNow(() -> {
+            synchronized (this) {
+                if (loaded) {
+                    change.run();
+                }
+            }
+        });
+    }
+}
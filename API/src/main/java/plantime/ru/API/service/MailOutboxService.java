@@ -0,0 +1,227 @@
+package plantime.ru.API.service;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import plantime.ru.API.dto.MailMetricsDTO;
+import plantime.ru.API.entity.MailOutbox;
+import plantime.ru.API.repository.MailOutboxRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Очередь исходящих писем (outbox).
+ * Письмо сохраняется в таблицу mail_outbox в транзакции вызывающего кода и отправляется
+ * после её фиксации фоновым пулом mailExecutor. Неудачные попытки повторяются
+ * с экспоненциальной задержкой, после {@code mail.outbox.max-attempts} попыток письмо
+ * переводится в состояние DEAD и больше не отправляется.
+ */
+@Service
+public class MailOutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MailOutboxService.class);
+
+    private final MailOutboxRepository mailOutboxRepository;
+    private final JavaMailSender mailSender;
+    private final ThreadPoolTaskExecutor mailExecutor;
+
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong failedAttempts = new AtomicLong();
+    private final AtomicLong deadLettered = new AtomicLong();
+
+    /**
+     * Адрес отправителя.
+     */
+    @Value("${spring.mail.username}")
+    private String fromEmail;
+
+    /**
+     * Не отправлять письма по SMTP, а только записывать их в лог (локальная разработка и тесты).
+     */
+    @Value("${mail.outbox.dry-run:false}")
+    private boolean dryRun;
+
+    /**
+     * Количество писем, выбираемых за один проход.
+     */
+    @Value("${mail.outbox.batch-size:20}")
+    private int batchSize;
+
+    /**
+     * Максимальное число попыток отправки.
+     */
+    @Value("${mail.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    /**
+     * Базовая задержка повтора в секундах (удваивается с каждой попыткой).
+     */
+    @Value("${mail.outbox.backoff-seconds:30}")
+    private long backoffSeconds;
+
+    /**
+     * Максимальная задержка повтора в секундах.
+     */
+    @Value("${mail.outbox.max-backoff-seconds:3600}")
+    private long maxBackoffSeconds;
+
+    /**
+     * Время, на которое письмо захватывается обработчиком, в секундах.
+     */
+    @Value("${mail.outbox.lease-seconds:300}")
+    private long leaseSeconds;
+
+    /**
+     * Срок хранения отправленных писем в днях.
+     */
+    @Value("${mail.outbox.retention-days:7}")
+    private long retentionDays;
+
+    public MailOutboxService(MailOutboxRepository mailOutboxRepository, JavaMailSender mailSender,
+                             @Qualifier("mailExecutor") ThreadPoolTaskExecutor mailExecutor) {
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.mailSender = mailSender;
+        this.mailExecutor = mailExecutor;
+    }
+
+    /**
+     * Ставит письмо в очередь. Выполняется в транзакции вызывающего кода:
+     * если она откатится, письмо не будет отправлено.
+     *
+     * @param recipient Адрес получателя.
+     * @param subject   Тема письма.
+     * @param html      HTML-содержимое письма.
+     */
+    @Transactional
+    public void enqueue(String recipient, String subject, String html) {
+        MailOutbox mail = mailOutboxRepository.save(new MailOutbox(recipient, subject, html, LocalDateTime.now()));
+        logger.info("Письмо поставлено в очередь: id={}, получатель={}", mail.getIdMailOutbox(), recipient);
+        // Не ждать очередного прохода планировщика: отправка сразу после фиксации транзакции
+        TransactionHooks.afterCommitOrNow(() -> {
+            try {
+                mailExecutor.execute(this::dispatch);
+            } catch (TaskRejectedException e) {
+                logger.debug("Пул отправки писем занят, письмо будет отправлено планировщиком");
+            }
+        });
+    }
+
+    /**
+     * Выбирает письма, время отправки которых наступило, и передаёт их в пул отправки.
+     */
+    @Scheduled(fixedDelayString = "${mail.outbox.poll-interval-ms:5000}")
+    public synchronized void dispatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<MailOutbox> due = mailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAt(
+                MailOutbox.Status.PENDING, now, PageRequest.of(0, batchSize));
+        for (MailOutbox mail : due) {
+            Long id = mail.getIdMailOutbox();
+            // Захват письма: до окончания аренды следующий проход его не выберет. Если другой экземпляр
+            // приложения успел захватить письмо после выборки, условие по времени попытки не совпадёт
+            if (mailOutboxRepository.postpone(id, mail.getNextAttemptAt(), now.plusSeconds(leaseSeconds)) == 0) {
+                logger.debug("Письмо id={} уже захвачено другим обработчиком", id);
+                continue;
+            }
+            try {
+                mailExecutor.execute(() -> deliver(id));
+            } catch (TaskRejectedException e) {
+                mailOutboxRepository.release(id, now);
+                logger.warn("Пул отправки писем заполнен, оставшиеся письма будут отправлены на следующем проходе");
+                break;
+            }
+        }
+    }
+
+    /**
+     * Удаляет отправленные письма старше срока хранения.
+     */
+    @Scheduled(fixedDelayString = "${mail.outbox.cleanup-interval-ms:3600000}", initialDelayString = "${mail.outbox.cleanup-interval-ms:3600000}")
+    public void cleanupSent() {
+        LocalDateTime before = LocalDateTime.now().minusDays(retentionDays);
+        int deleted;
+        do {
+            deleted = mailOutboxRepository.deleteSentBatch(before, 1000);
+        } while (deleted == 1000);
+    }
+
+    /**
+     * Возвращает метрики очереди писем.
+     *
+     * @return DTO с метриками.
+     */
+    public MailMetricsDTO getMetrics() {
+        return new MailMetricsDTO(
+                mailOutboxRepository.countByStatus(MailOutbox.Status.PENDING),
+                mailOutboxRepository.countByStatus(MailOutbox.Status.DEAD),
+                sent.get(),
+                failedAttempts.get(),
+                deadLettered.get(),
+                dryRun
+        );
+    }
+
+    private void deliver(Long id) {
+        Optional<MailOutbox> mailOpt = mailOutboxRepository.findById(id);
+        if (mailOpt.isEmpty() || mailOpt.get().getStatus() != MailOutbox.Status.PENDING) {
+            return;
+        }
+        MailOutbox mail = mailOpt.get();
+        mail.setAttempts(mail.getAttempts() + 1);
+        try {
+            send(mail);
+            mail.setStatus(MailOutbox.Status.SENT);
+            mail.setSentAt(LocalDateTime.now());
+            mail.setLastError(null);
+            // Содержимое отправленного письма больше не нужно: строка хранится до очистки только для учёта
+            mail.setBody("");
+            sent.incrementAndGet();
+            logger.info("Письмо отправлено: id={}, получатель={}, попытка {}", id, mail.getRecipient(), mail.getAttempts());
+        } catch (MessagingException | RuntimeException e) {
+            // Не только ошибки SMTP (MailException): сбой сборки MIME или любой другой тоже считается попыткой,
+            // иначе счётчик не сохранится и письмо будет захватываться снова после каждой аренды
+            failedAttempts.incrementAndGet();
+            String error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            mail.setLastError(error.length() > 1000 ? error.substring(0, 1000) : error);
+            if (mail.getAttempts() >= maxAttempts) {
+                mail.setStatus(MailOutbox.Status.DEAD);
+                deadLettered.incrementAndGet();
+                logger.error("Письмо не отправлено после {} попыток и помечено как DEAD: id={}, ошибка: {}",
+                        mail.getAttempts(), id, error);
+            } else {
+                long delay = Math.min(maxBackoffSeconds, backoffSeconds << Math.min(mail.getAttempts() - 1, 20));
+                mail.setNextAttemptAt(LocalDateTime.now().plusSeconds(delay));
+                logger.warn("Ошибка отправки письма id={} (попытка {}), повтор через {} с: {}",
+                        id, mail.getAttempts(), delay, error);
+            }
+        }
+        mailOutboxRepository.save(mail);
+    }
+
+    private void send(MailOutbox mail) throws MessagingException {
+        if (dryRun) {
+            logger.info("[dry-run] Письмо для {}: {}", mail.getRecipient(), mail.getSubject());
+            return;
+        }
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+        helper.setFrom(fromEmail);
+        helper.setTo(mail.getRecipient());
+        helper.setSubject(mail.getSubject());
+        helper.setText(mail.getBody(), true);
+        mailSender.send(message);
+    }
+}
@@ -0,0 +1,74 @@
+package plantime.ru.API.service;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.web.util.HtmlUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * HTML-шаблон письма с подстановками вида {@code {{name}}}.
+ * Шаблон читается из classpath и разбирается на фрагменты один раз,
+ * при отрисовке только склеиваются готовые фрагменты и экранированные значения.
+ */
+public final class MailTemplate {
+
+    private final List<String> literals = new ArrayList<>();
+    private final List<String> placeholders = new ArrayList<>();
+    private final int estimatedLength;
+
+    private MailTemplate(String source) {
+        int position = 0;
+        while (true) {
+            int start = source.indexOf("{{", position);
+            int end = start < 0 ? -1 : source.indexOf("}}", start);
+            if (end < 0) {
+                literals.add(source.substring(position));
+                break;
+            }
+            literals.add(source.substring(position, start));
+            placeholders.add(source.substring(start + 2, end).trim());
+            position = end + 2;
+        }
+        this.estimatedLength = source.length() + 64;
+    }
+
+    /**
+     * Загружает и разбирает шаблон из classpath.
+     *
+     * @param path Путь к шаблону в classpath.
+     * @return Разобранный шаблон.
+     * @throws UncheckedIOException Если шаблон не удалось прочитать.
+     */
+    public static MailTemplate load(String path) {
+        try (InputStream in = new ClassPathResource(path).getInputStream()) {
+            return new MailTemplate(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось загрузить шаблон письма " + path, e);
+        }
+    }
+
+    /**
+     * Подставляет значения в шаблон. Значения экранируются как HTML.
+     *
+     * @param values Значения подстановок по имени.
+     * @return Готовый HTML.
+     */
+    public String render(Map<String, String> values) {
+        StringBuilder html = new StringBuilder(estimatedLength);
+        for (int i = 0; i < placeholders.size(); i++) {
+            html.append(literals.get(i));
+            String value = values.get(placeholders.get(i));
+            if (value != null) {
+                html.append(HtmlUtils.htmlEscape(value, StandardCharsets.UTF_8.name()));
+            }
+        }
+        html.append(literals.get(placeholders.size()));
+        return html.toString();
+    }
+}
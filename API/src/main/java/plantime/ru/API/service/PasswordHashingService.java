@@ -0,0 +1,144 @@
+package plantime.ru.API.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Хеширование и проверка паролей BCrypt в отдельном ограниченном пуле потоков.
+ * При переполнении очереди запрос отклоняется сразу, не занимая CPU,
+ * что защищает остальные эндпоинты при массовом входе пользователей.
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[aby]?\\$(\\d{2})\\$");
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolTaskExecutor executor;
+    private final int strength;
+    private final long timeoutMs;
+
+    private final AtomicLong operations = new AtomicLong();
+    private final AtomicLong operationNanos = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  @Qualifier("passwordHashExecutor") ThreadPoolTaskExecutor executor,
+                                  @Value("${auth.bcrypt.strength:10}") int strength,
+                                  @Value("${auth.bcrypt.timeout-ms:5000}") long timeoutMs) {
+        this.passwordEncoder = passwordEncoder;
+        this.executor = executor;
+        this.strength = strength;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Хеширует пароль.
+     *
+     * @param rawPassword Пароль в открытом виде.
+     * @return Хеш BCrypt с текущим коэффициентом стоимости.
+     * @throws TaskRejectedException Если пул перегружен или операция не уложилась в таймаут.
+     */
+    public String encode(String rawPassword) {
+        return execute(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Проверяет пароль по хешу.
+     *
+     * @param rawPassword     Пароль в открытом виде.
+     * @param encodedPassword Хеш BCrypt.
+     * @return true, если пароль совпадает.
+     * @throws TaskRejectedException Если пул перегружен или операция не уложилась в таймаут.
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return execute(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Проверяет, отличается ли коэффициент стоимости хеша от настроенного ({@code auth.bcrypt.strength}).
+     *
+     * @param encodedPassword Хеш BCrypt.
+     * @return true, если пароль нужно перехешировать.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    /**
+     * Количество выполненных операций.
+     */
+    public long getOperations() {
+        return operations.get();
+    }
+
+    /**
+     * Средняя длительность операции (включая ожидание в очереди) в микросекундах.
+     */
+    public long getAvgOperationMicros() {
+        long count = operations.get();
+        return count == 0 ? 0 : operationNanos.get() / count / 1000;
+    }
+
+    /**
+     * Количество операций, отклонённых из-за перегрузки.
+     */
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    /**
+     * Текущее число операций в очереди пула.
+     */
+    public int getQueueDepth() {
+        return executor.getThreadPoolExecutor().getQueue().size();
+    }
+
+    private <T> T execute(Callable<T> operation) {
+        long started = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(operation);
+        } catch (TaskRejectedException e) {
+            rejected.incrementAndGet();
+            logger.warn("Проверка пароля отклонена: очередь BCrypt заполнена");
+            throw new TaskRejectedException("Сервер перегружен, повторите попытку позже", e);
+        }
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.incrementAndGet();
+            logger.warn("Проверка пароля не уложилась в {} мс", timeoutMs);
+            throw new TaskRejectedException("Сервер перегружен, повторите попытку позже", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Проверка пароля прервана", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Ошибка при обработке пароля", e.getCause());
+        } finally {
+            operations.incrementAndGet();
+            operationNanos.addAndGet(System.nanoTime() - started);
+        }
+    }
+}
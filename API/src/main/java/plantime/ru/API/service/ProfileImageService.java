@@ -0,0 +1,376 @@
+package plantime.ru.API.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.IIOException;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Фотографии профиля сотрудников и их уменьшенные копии.
+ * <p>
+ * При загрузке оригинал сохраняется в {@code images.profile.dir} под именем {@code <guid>-<хеш содержимого><расширение>}:
+ * новое фото получает новое имя, поэтому ответы можно кэшировать как неизменяемые. Размер файла, формат
+ * и размеры в пикселях проверяются по заголовку до чтения и декодирования файла
+ * ({@code images.profile.max-bytes}, {@code images.profile.max-pixels}); расширение берётся из найденного формата. Миниатюры
+ * ({@code images.profile.sizes}, квадрат с обрезкой по центру, JPEG) строятся в пуле imageExecutor, а не в потоке запроса.
+ * Пока миниатюра не готова, отдаётся оригинал, а построение ставится в очередь.
+ * <p>
+ * Отдаваемые изображения хранятся в LRU-кэше, ограниченном суммарным размером ({@code images.cache.max-bytes}).
+ * Фото, сохранённые до появления хранилища, читаются из classpath (static/employee/) и кэшируются без признака неизменяемости.
+ */
+@Service
+public class ProfileImageService {
+
+    /**
+     * Изображение для отдачи клиенту.
+     *
+     * @param bytes       Содержимое.
+     * @param contentType MIME-тип.
+     * @param etag        Сильный ETag (в кавычках).
+     * @param immutable   Содержимое по этому имени никогда не меняется.
+     */
+    public record Image(byte[] bytes, String contentType, String etag, boolean immutable) {
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfileImageService.class);
+    private static final Pattern FILE_NAME = Pattern.compile("[A-Za-z0-9_-][A-Za-z0-9._-]{0,199}");
+    private static final String LEGACY_DIR = "static/employee/";
+    private static final String ORIGINAL_DIR = "original";
+    private static final float JPEG_QUALITY = 0.85f;
+    private static final Set<String> UPLOAD_TYPES = Set.of("image/jpeg", "image/pjpeg", "image/png", "image/gif");
+    private static final Map<String, String> FORMAT_EXTENSIONS = Map.of("jpeg", ".jpg", "png", ".png", "gif", ".gif");
+
+    private final Path root;
+    private final List<Integer> sizes;
+    private final ThreadPoolTaskExecutor imageExecutor;
+    private final long maxBytes;
+    private final long maxPixels;
+    private final ImageCache cache;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    public ProfileImageService(@Value("${images.profile.dir:profile_images}") String dir,
+                               @Value("${images.profile.sizes:64,128,512}") List<Integer> sizes,
+                               @Value("${images.profile.max-bytes:1048576}") long maxBytes,
+                               @Value("${images.profile.max-pixels:24000000}") long maxPixels,
+                               @Value("${images.cache.max-bytes:33554432}") long cacheMaxBytes,
+                               @Qualifier("imageExecutor") ThreadPoolTaskExecutor imageExecutor) throws IOException {
+        this.root = Paths.get(dir).toAbsolutePath().normalize();
+        this.sizes = List.copyOf(new TreeSet<>(sizes));
+        this.imageExecutor = imageExecutor;
+        this.maxBytes = maxBytes;
+        this.maxPixels = maxPixels;
+        this.cache = new ImageCache(cacheMaxBytes);
+        Files.createDirectories(root.resolve(ORIGINAL_DIR));
+    }
+
+    /**
+     * Размеры миниатюр в пикселях.
+     */
+    public List<Integer> getSizes() {
+        return sizes;
+    }
+
+    /**
+     * Сохраняет загруженное фото и ставит в очередь построение миниатюр.
+     *
+     * @param photo Загруженный файл.
+     * @param guid  GUID сотрудника.
+     * @return Имя файла для поля profile_picture.
+     * @throws IllegalArgumentException Файл слишком большой, не является изображением допустимого формата или размеров.
+     * @throws IOException              Ошибка записи файла.
+     */
+    public String store(MultipartFile photo, String guid) throws IOException {
+        String extension = validate(photo);
+        byte[] bytes = photo.getBytes();
+        String filename = guid + "-" + sha256(bytes).substring(0, 12) + extension;
+        Path target = root.resolve(ORIGINAL_DIR).resolve(filename);
+        Path temp = Files.createTempFile(root, "upload-", ".part");
+        try {
+            Files.write(temp, bytes);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        scheduleThumbnails(filename, bytes);
+        return filename;
+    }
+
+    /**
+     * Удаляет оригинал фото, его миниатюры и записи кэша после фиксации текущей транзакции
+     * (при замене фото сотрудника). Фото, сохранённые до появления хранилища, не удаляются.
+     *
+     * @param filename Прежнее имя файла из profile_picture.
+     */
+    public void discard(String filename) {
+        if (filename == null || !FILE_NAME.matcher(filename).matches()) return;
+        TransactionHooks.afterCommitOrNow(() -> {
+            try {
+                if (!Files.deleteIfExists(root.resolve(ORIGINAL_DIR).resolve(filename))) return;
+                for (Integer size : sizes) {
+                    Files.deleteIfExists(thumbnailPath(filename, size));
+                    cache.remove(thumbnailKey(filename, size));
+                }
+                cache.remove(filename);
+                logger.debug("Удалено прежнее фото {} и его миниатюры", filename);
+            } catch (IOException e) {
+                logger.warn("Не удалось удалить прежнее фото {}: {}", filename, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Проверяет загруженный файл по заголовку, не читая его целиком в память и не декодируя.
+     *
+     * @return Расширение файла по найденному формату.
+     */
+    private String validate(MultipartFile photo) throws IOException {
+        if (photo.getSize() > maxBytes) {
+            throw new IllegalArgumentException("Размер фото не должен превышать " + maxBytes / 1024 + " КБ");
+        }
+        String contentType = photo.getContentType();
+        if (contentType == null || !UPLOAD_TYPES.contains(contentType.toLowerCase(Locale.ROOT))) {
+            throw new IllegalArgumentException("Допустимые форматы фото: JPEG, PNG, GIF");
+        }
+        try (InputStream in = photo.getInputStream(); ImageInputStream iis = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = iis == null ? Collections.emptyIterator() : ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) {
+                throw new IllegalArgumentException("Файл не является изображением");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, true);
+                String extension = FORMAT_EXTENSIONS.get(reader.getFormatName().toLowerCase(Locale.ROOT));
+                if (extension == null) {
+                    throw new IllegalArgumentException("Допустимые форматы фото: JPEG, PNG, GIF");
+                }
+                long width = reader.getWidth(0);
+                long height = reader.getHeight(0);
+                if (width <= 0 || height <= 0 || width * height > maxPixels) {
+                    throw new IllegalArgumentException("Недопустимые размеры фото: " + width + "×" + height
+                            + " (не более " + maxPixels + " пикселей)");
+                }
+                return extension;
+            } catch (IIOException e) {
+                throw new IllegalArgumentException("Не удалось прочитать фото: файл повреждён", e);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Возвращает фото или его миниатюру.
+     *
+     * @param filename Имя файла из profile_picture.
+     * @param size     Размер миниатюры или null для оригинала.
+     * @return Изображение или пустой Optional, если файла нет.
+     * @throws IOException Ошибка чтения файла.
+     */
+    public Optional<Image> get(String filename, Integer size) throws IOException {
+        if (filename == null || !FILE_NAME.matcher(filename).matches()) {
+            throw new IllegalArgumentException("Некорректное имя файла");
+        }
+        if (size != null && !sizes.contains(size)) {
+            throw new IllegalArgumentException("Недопустимый размер миниатюры: " + size + ". Допустимые значения: " + sizes);
+        }
+        if (size != null) {
+            Image cached = cache.get(thumbnailKey(filename, size));
+            if (cached != null) return Optional.of(cached);
+            Path thumbnail = thumbnailPath(filename, size);
+            if (Files.isRegularFile(thumbnail)) {
+                // Миниатюра фото, сохранённого до появления хранилища, неизменяемой не считается: имя не версионное
+                boolean immutable = Files.isRegularFile(root.resolve(ORIGINAL_DIR).resolve(filename));
+                return Optional.of(cache.put(thumbnailKey(filename, size), image(Files.readAllBytes(thumbnail), "image/jpeg", immutable)));
+            }
+        }
+        Optional<Image> original = original(filename);
+        // Миниатюры ещё нет (построение не завершено или фото загружено до появления миниатюр) — отдаём оригинал
+        // и помечаем ответ как изменяемый, чтобы клиент не закэшировал оригинал под адресом миниатюры навсегда
+        if (size != null && original.isPresent()) {
+            Image image = original.get();
+            scheduleThumbnails(filename, image.bytes());
+            return Optional.of(new Image(image.bytes(), image.contentType(), image.etag(), false));
+        }
+        return original;
+    }
+
+    /**
+     * Проверяет, что фото сохранено в хранилище под версионным именем (содержимое по нему не меняется).
+     *
+     * @param filename Имя файла из profile_picture.
+     * @return false для фото, сохранённых до появления хранилища, и для отсутствующих файлов.
+     */
+    public boolean isVersioned(String filename) {
+        return FILE_NAME.matcher(filename).matches() && Files.isRegularFile(root.resolve(ORIGINAL_DIR).resolve(filename));
+    }
+
+    private Optional<Image> original(String filename) throws IOException {
+        Image cached = cache.get(filename);
+        if (cached != null) return Optional.of(cached);
+        Path path = root.resolve(ORIGINAL_DIR).resolve(filename);
+        if (Files.isRegularFile(path)) {
+            return Optional.of(cache.put(filename, image(Files.readAllBytes(path), contentType(filename), true)));
+        }
+        ClassPathResource legacy = new ClassPathResource(LEGACY_DIR + filename);
+        if (legacy.exists() && legacy.isReadable()) {
+            try (InputStream in = legacy.getInputStream()) {
+                return Optional.of(cache.put(filename, image(in.readAllBytes(), contentType(filename), false)));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private void scheduleThumbnails(String filename, byte[] bytes) {
+        if (!pending.add(filename)) return;
+        try {
+            imageExecutor.execute(() -> {
+                try {
+                    writeThumbnails(filename, bytes);
+                } catch (Exception e) {
+                    logger.error("Не удалось построить миниатюры фото {}: {}", filename, e.getMessage());
+                } finally {
+                    pending.remove(filename);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            pending.remove(filename);
+            logger.warn("Очередь построения миниатюр заполнена, фото {} будет обработано при следующем запросе", filename);
+        }
+    }
+
+    private void writeThumbnails(String filename, byte[] bytes) throws IOException {
+        BufferedImage source = ImageIO.read(new ByteArrayInputStream(bytes));
+        if (source == null) {
+            logger.warn("Формат фото {} не поддерживается, миниатюры не построены", filename);
+            return;
+        }
+        for (Integer size : sizes) {
+            Path target = thumbnailPath(filename, size);
+            if (Files.isRegularFile(target)) continue;
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), "thumb-", ".part");
+            try {
+                Files.write(temp, encodeJpeg(squareThumbnail(source, size)));
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+        logger.debug("Построены миниатюры фото {}: {}", filename, sizes);
+    }
+
+    /**
+     * Обрезает изображение до квадрата по центру и уменьшает до {@code size} (без увеличения маленьких фото).
+     * Уменьшение идёт шагами не больше чем вдвое — при одном большом шаге билинейная интерполяция даёт «лесенку».
+     */
+    static BufferedImage squareThumbnail(BufferedImage source, int size) {
+        int side = Math.min(source.getWidth(), source.getHeight());
+        int x = (source.getWidth() - side) / 2;
+        int y = (source.getHeight() - side) / 2;
+        // Прозрачный фон заливается белым: JPEG не поддерживает альфа-канал
+        BufferedImage current = new BufferedImage(side, side, BufferedImage.TYPE_INT_RGB);
+        Graphics2D crop = current.createGraphics();
+        crop.setColor(Color.WHITE);
+        crop.fillRect(0, 0, side, side);
+        crop.drawImage(source, 0, 0, side, side, x, y, x + side, y + side, null);
+        crop.dispose();
+
+        int target = Math.min(size, side);
+        int currentSide = side;
+        while (currentSide > target) {
+            int next = Math.max(target, currentSide / 2);
+            BufferedImage scaled = new BufferedImage(next, next, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = scaled.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(current, 0, 0, next, next, null);
+            g.dispose();
+            current = scaled;
+            currentSide = next;
+        }
+        return current;
+    }
+
+    static byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private Path thumbnailPath(String filename, int size) {
+        int dot = filename.lastIndexOf('.');
+        String stem = dot > 0 ? filename.substring(0, dot) : filename;
+        return root.resolve(String.valueOf(size)).resolve(stem + ".jpg");
+    }
+
+    private static String thumbnailKey(String filename, int size) {
+        return size + "/" + filename;
+    }
+
+    static Image image(byte[] bytes, String contentType, boolean immutable) {
+        return new Image(bytes, contentType, "\"" + sha256(bytes).substring(0, 32) + "\"", immutable);
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 недоступен", e);
+        }
+    }
+
+    /**
+     * Определяет тип изображения на основе расширения файла.
+     *
+     * @param filename Имя файла изображения.
+     * @return Тип изображения или "image/jpeg" по умолчанию.
+     */
+    private static String contentType(String filename) {
+        String lowercaseFilename = filename.toLowerCase();
+        if (lowercaseFilename.endsWith(".png")) {
+            return "image/png";
+        } else if (lowercaseFilename.endsWith(".gif")) {
+            return "image/gif";
+        } else if (lowercaseFilename.endsWith(".webp")) {
+            return "image/webp";
+        }
+        return "image/jpeg";
+    }
+}
@@ -0,0 +1,309 @@
+package plantime.ru.API.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import plantime.ru.API.dto.ReportJobDTO;
+import plantime.ru.API.exception.ReportJobNotFoundException;
+import plantime.ru.API.exception.ReportLimitExceededException;
+import plantime.ru.API.exception.ReportNotReadyException;
+import plantime.ru.API.exception.ReportQueueFullException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Сервис фонового формирования отчётов.
+ * Задание ставится в ограниченный пул потоков, результат записывается в каталог спула
+ * и хранится ограниченное время. Одинаковые запросы (по отпечатку типа и параметров)
+ * разделяют одно задание и один файл.
+ */
+@Service
+public class ReportJobService {
+
+    /**
+     * Статусы задания на формирование отчёта.
+     */
+    public enum Status { QUEUED, RUNNING, DONE, FAILED }
+
+    /**
+     * Функция формирования отчёта, записывающая файл в переданный поток.
+     */
+    @FunctionalInterface
+    public interface ReportRenderer {
+        void render(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Внутреннее состояние задания.
+     */
+    private static final class Job {
+        final String id;
+        final String type;
+        final String fingerprint;
+        final String ownerGuid;
+        final String fileName;
+        final LocalDateTime createdAt = LocalDateTime.now();
+        volatile Status status = Status.QUEUED;
+        volatile LocalDateTime finishedAt;
+        volatile String error;
+        volatile Path file;
+        // Сотрудники, которым доступно задание: автор и те, кто поставил такой же запрос и получил это задание
+        final Set<String> viewers = ConcurrentHashMap.newKeySet();
+
+        Job(String id, String type, String fingerprint, String ownerGuid, String fileName) {
+            this.id = id;
+            this.type = type;
+            this.fingerprint = fingerprint;
+            this.ownerGuid = ownerGuid;
+            this.fileName = fileName;
+            this.viewers.add(ownerGuid);
+        }
+
+        boolean isActive() {
+            return status == Status.QUEUED || status == Status.RUNNING;
+        }
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportJobService.class);
+
+    private final ThreadPoolTaskExecutor reportExecutor;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final Map<String, Job> jobsByFingerprint = new ConcurrentHashMap<>();
+
+    /**
+     * Каталог, в который записываются готовые отчёты.
+     */
+    @Value("${reports.spool-dir:report_spool}")
+    private String spoolDir;
+
+    /**
+     * Время хранения готового отчёта в минутах.
+     */
+    @Value("${reports.ttl-minutes:60}")
+    private long ttlMinutes;
+
+    /**
+     * Максимальное число одновременно выполняемых или ожидающих заданий одного пользователя.
+     */
+    @Value("${reports.max-jobs-per-user:2}")
+    private int maxJobsPerUser;
+
+    public ReportJobService(@Qualifier("reportExecutor") ThreadPoolTaskExecutor reportExecutor) {
+        this.reportExecutor = reportExecutor;
+    }
+
+    /**
+     * Создаёт каталог спула при запуске приложения и удаляет устаревшие файлы прошлых запусков.
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(Paths.get(spoolDir));
+        sweepSpool();
+    }
+
+    /**
+     * Ставит задание на формирование отчёта в очередь.
+     * Если такое же задание (тот же тип и параметры) уже выполняется или готово, возвращается оно.
+     *
+     * @param type      Тип отчёта.
+     * @param params    Параметры отчёта, участвующие в отпечатке запроса.
+     * @param fileName  Имя файла для скачивания.
+     * @param ownerGuid GUID сотрудника, поставившего задание.
+     * @param renderer  Функция формирования отчёта.
+     * @return DTO задания.
+     * @throws ReportLimitExceededException Если превышен лимит заданий пользователя.
+     * @throws ReportQueueFullException     Если очередь переполнена.
+     */
+    public synchronized ReportJobDTO submit(String type, String params, String fileName, String ownerGuid, ReportRenderer renderer) {
+        String fingerprint = fingerprint(type, params);
+        Job existing = jobsByFingerprint.get(fingerprint);
+        if (existing != null && existing.status != Status.FAILED && !isExpired(existing)) {
+            logger.info("Отчёт {} с такими же параметрами уже поставлен в очередь, job={}", type, existing.id);
+            existing.viewers.add(ownerGuid);
+            return toDTO(existing);
+        }
+
+        long active = jobs.values().stream()
+                .filter(j -> j.isActive() && j.ownerGuid.equals(ownerGuid))
+                .count();
+        if (active >= maxJobsPerUser) {
+            throw new ReportLimitExceededException("Превышен лимит одновременно формируемых отчётов: " + maxJobsPerUser);
+        }
+
+        Job job = new Job(UUID.randomUUID().toString(), type, fingerprint, ownerGuid, fileName);
+        try {
+            reportExecutor.execute(() -> run(job, renderer));
+        } catch (TaskRejectedException e) {
+            logger.warn("Очередь отчётов переполнена, задание {} отклонено", type);
+            throw new ReportQueueFullException("Очередь формирования отчётов переполнена, повторите запрос позже");
+        }
+        jobs.put(job.id, job);
+        jobsByFingerprint.put(fingerprint, job);
+        logger.info("Задание на отчёт {} поставлено в очередь, job={}, guid_employee={}", type, job.id, ownerGuid);
+        return toDTO(job);
+    }
+
+    /**
+     * Возвращает состояние задания.
+     *
+     * @param jobId        Идентификатор задания.
+     * @param employeeGuid GUID запрашивающего сотрудника.
+     * @return DTO задания.
+     * @throws ReportJobNotFoundException Если задание не найдено или недоступно сотруднику.
+     */
+    public ReportJobDTO getStatus(String jobId, String employeeGuid) {
+        return toDTO(findJob(jobId, employeeGuid));
+    }
+
+    /**
+     * Возвращает путь к готовому файлу отчёта.
+     *
+     * @param jobId        Идентификатор задания.
+     * @param employeeGuid GUID запрашивающего сотрудника.
+     * @return Путь к файлу в каталоге спула.
+     * @throws ReportJobNotFoundException Если задание не найдено или недоступно сотруднику.
+     * @throws ReportNotReadyException    Если отчёт ещё не сформирован.
+     */
+    public Path getFile(String jobId, String employeeGuid) {
+        Job job = findJob(jobId, employeeGuid);
+        if (job.status != Status.DONE) {
+            throw new ReportNotReadyException("Отчёт ещё не готов, текущий статус: " + job.status);
+        }
+        return job.file;
+    }
+
+    /**
+     * Возвращает имя файла отчёта для заголовка Content-Disposition.
+     *
+     * @param jobId        Идентификатор задания.
+     * @param employeeGuid GUID запрашивающего сотрудника.
+     * @return Имя файла.
+     */
+    public String getFileName(String jobId, String employeeGuid) {
+        return findJob(jobId, employeeGuid).fileName;
+    }
+
+    /**
+     * Удаляет устаревшие задания и их файлы из каталога спула, а также файлы, не принадлежащие
+     * ни одному заданию (остались от прошлого запуска или сбоя при записи) и не изменявшиеся дольше срока хранения.
+     */
+    @Scheduled(fixedDelayString = "${reports.cleanup-interval-ms:60000}")
+    public void cleanupExpired() {
+        for (Job job : jobs.values()) {
+            if (!isExpired(job)) {
+                continue;
+            }
+            jobs.remove(job.id);
+            jobsByFingerprint.remove(job.fingerprint, job);
+            if (job.file != null) {
+                try {
+                    Files.deleteIfExists(job.file);
+                } catch (IOException e) {
+                    logger.warn("Не удалось удалить файл отчёта {}: {}", job.file, e.getMessage());
+                }
+            }
+            logger.info("Удалено устаревшее задание на отчёт, job={}", job.id);
+        }
+        sweepSpool();
+    }
+
+    private void sweepSpool() {
+        FileTime threshold = FileTime.from(Instant.now().minus(Duration.ofMinutes(ttlMinutes)));
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(Paths.get(spoolDir))) {
+            for (Path file : files) {
+                // Имя файла — идентификатор задания: job.xlsx или job.tmp
+                String name = file.getFileName().toString();
+                int dot = name.lastIndexOf('.');
+                if (jobs.containsKey(dot < 0 ? name : name.substring(0, dot))) {
+                    continue;
+                }
+                try {
+                    if (Files.isRegularFile(file) && Files.getLastModifiedTime(file).compareTo(threshold) < 0) {
+                        Files.deleteIfExists(file);
+                        logger.info("Удалён файл отчёта без задания: {}", file);
+                    }
+                } catch (IOException e) {
+                    logger.warn("Не удалось удалить файл отчёта {}: {}", file, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Не удалось просмотреть каталог отчётов {}: {}", spoolDir, e.getMessage());
+        }
+    }
+
+    private void run(Job job, ReportRenderer renderer) {
+        job.status = Status.RUNNING;
+        Path target = Paths.get(spoolDir, job.id + ".xlsx");
+        Path tmp = Paths.get(spoolDir, job.id + ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                renderer.render(out);
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            job.file = target;
+            job.status = Status.DONE;
+            logger.info("Отчёт {} сформирован, job={}", job.type, job.id);
+        } catch (Exception e) {
+            job.error = e.getMessage();
+            job.status = Status.FAILED;
+            logger.error("Ошибка формирования отчёта {}, job={}: {}", job.type, job.id, e.getMessage(), e);
+            try {
+                Files.deleteIfExists(tmp);
+            } catch (IOException ignore) {
+            }
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+        }
+    }
+
+    private boolean isExpired(Job job) {
+        return job.finishedAt != null && job.finishedAt.isBefore(LocalDateTime.now().minusMinutes(ttlMinutes));
+    }
+
+    private Job findJob(String jobId, String employeeGuid) {
+        Job job = jobs.get(jobId);
+        // Чужое задание не отличается от несуществующего, чтобы не раскрывать идентификаторы заданий
+        if (job == null || !job.viewers.contains(employeeGuid)) {
+            throw new ReportJobNotFoundException("Задание на отчёт не найдено: " + jobId);
+        }
+        return job;
+    }
+
+    private String fingerprint(String type, String params) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest((type + "|" + params).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 недоступен", e);
+        }
+    }
+
+    private ReportJobDTO toDTO(Job job) {
+        return new ReportJobDTO(job.id, job.type, job.status.name(), job.createdAt, job.finishedAt, job.error);
+    }
+}
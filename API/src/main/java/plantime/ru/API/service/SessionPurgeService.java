@@ -0,0 +1,108 @@
+package plantime.ru.API.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import plantime.ru.API.dto.PurgeMetricsDTO;
+import plantime.ru.API.repository.PasswordResetTokenRepository;
+import plantime.ru.API.repository.SessionRepository;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+/**
+ * Периодическая очистка истёкших сессий и токенов сброса пароля.
+ * Строки удаляются пакетами ограниченного размера, каждый пакет — в отдельной транзакции,
+ * чтобы не держать длительные блокировки таблиц session и password_reset_token.
+ */
+@Service
+public class SessionPurgeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionPurgeService.class);
+
+    private final SessionRepository sessionRepository;
+    private final PasswordResetTokenRepository passwordResetTokenRepository;
+
+    private final AtomicLong sessionsPurged = new AtomicLong();
+    private final AtomicLong resetTokensPurged = new AtomicLong();
+    private final AtomicLong runs = new AtomicLong();
+    private volatile LocalDateTime lastRunAt;
+    private volatile long lastRunMillis;
+
+    /**
+     * Включена ли очистка по расписанию (ручной запуск доступен всегда).
+     */
+    @Value("${auth.purge.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Размер пакета удаления.
+     */
+    @Value("${auth.purge.batch-size:1000}")
+    private int batchSize;
+
+    /**
+     * Максимальное число пакетов за один запуск.
+     */
+    @Value("${auth.purge.max-batches:100}")
+    private int maxBatches;
+
+    public SessionPurgeService(SessionRepository sessionRepository, PasswordResetTokenRepository passwordResetTokenRepository) {
+        this.sessionRepository = sessionRepository;
+        this.passwordResetTokenRepository = passwordResetTokenRepository;
+    }
+
+    /**
+     * Запуск очистки по расписанию.
+     */
+    @Scheduled(fixedDelayString = "${auth.purge.interval-ms:3600000}", initialDelayString = "${auth.purge.initial-delay-ms:60000}")
+    public void scheduledPurge() {
+        if (enabled) {
+            purge();
+        }
+    }
+
+    /**
+     * Удаляет истёкшие сессии и токены сброса пароля.
+     *
+     * @return Метрики очистки после запуска.
+     */
+    public synchronized PurgeMetricsDTO purge() {
+        long started = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        int sessions = purgeInBatches(() -> sessionRepository.deleteExpiredBatch(now, batchSize));
+        int resetTokens = purgeInBatches(() -> passwordResetTokenRepository.deleteExpiredBatch(now, batchSize));
+        sessionsPurged.addAndGet(sessions);
+        resetTokensPurged.addAndGet(resetTokens);
+        runs.incrementAndGet();
+        lastRunAt = now;
+        lastRunMillis = System.currentTimeMillis() - started;
+        logger.info("Очистка истёкших записей: удалено сессий {}, токенов сброса пароля {} за {} мс",
+                sessions, resetTokens, lastRunMillis);
+        return getMetrics();
+    }
+
+    /**
+     * Возвращает метрики очистки.
+     *
+     * @return DTO с метриками.
+     */
+    public PurgeMetricsDTO getMetrics() {
+        return new PurgeMetricsDTO(enabled, runs.get(), sessionsPurged.get(), resetTokensPurged.get(), lastRunAt, lastRunMillis);
+    }
+
+    private int purgeInBatches(IntSupplier batch) {
+        int total = 0;
+        for (int i = 0; i < maxBatches; i++) {
+            int deleted = batch.getAsInt();
+            total += deleted;
+            if (deleted < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,323 @@
+package plantime.ru.API.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Общий индекс похожих названий для справочников (статусы, типы, должности, услуги и т. п.).
+ * <p>
+ * Для каждого справочника в памяти строится BK-дерево по нормализованным названиям
+ * (без пробелов по краям, в нижнем регистре). Поиск похожих названий обходит только ветви,
+ * которые могут содержать строки на допустимом расстоянии Левенштейна, вместо перебора всей таблицы.
+ * Схожесть считается как {@code 1 - расстояние / длина большей строки}, порог по умолчанию — 0.85.
+ * <p>
+ * Справочник загружается из базы при первом обращении; изменения применяются после фиксации
+ * транзакции, поэтому откаченные создания и удаления в индекс не попадают.
+ */
+@Component
+public class SimilarityIndex {
+
+    /**
+     * Порог схожести названий, при котором требуется подтверждение.
+     */
+    public static final double DEFAULT_THRESHOLD = 0.85;
+
+    /**
+     * Найденное похожее название.
+     *
+     * @param id         Идентификатор записи справочника.
+     * @param name       Название в исходном виде.
+     * @param similarity Степень схожести от 0 до 1.
+     */
+    public record Match(Integer id, String name, double similarity) {
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(SimilarityIndex.class);
+
+    private final TransactionTemplate loadTransaction;
+    private final Map<String, Supplier<Map<Integer, String>>> loaders = new ConcurrentHashMap<>();
+    private final Map<String, Tree> dictionaries = new ConcurrentHashMap<>();
+
+    /**
+     * Конструктор индекса.
+     *
+     * @param transactionManager Менеджер транзакций (загрузка справочника выполняется в отдельной транзакции).
+     */
+    public SimilarityIndex(PlatformTransactionManager transactionManager) {
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        this.loadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.loadTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Регистрирует справочник.
+     *
+     * @param dictionary Имя справочника.
+     * @param loader     Загрузка всех записей справочника: идентификатор → название.
+     */
+    public void register(String dictionary, Supplier<Map<Integer, String>> loader) {
+        loaders.put(dictionary, loader);
+        dictionaries.put(dictionary, new Tree());
+    }
+
+    /**
+     * Возвращает наиболее похожее название с порогом {@link #DEFAULT_THRESHOLD}.
+     *
+     * @param dictionary Имя справочника.
+     * @param name       Проверяемое название.
+     * @param excludeId  Идентификатор записи, которую нужно исключить (при обновлении), или null.
+     * @return Похожее название или пустой Optional.
+     */
+    public Optional<String> findMostSimilar(String dictionary, String name, Integer excludeId) {
+        return findSimilar(dictionary, name, excludeId, DEFAULT_THRESHOLD, 1).stream()
+                .findFirst()
+                .map(Match::name);
+    }
+
+    /**
+     * Возвращает до {@code limit} самых похожих названий, упорядоченных по убыванию схожести.
+     *
+     * @param dictionary Имя справочника.
+     * @param name       Проверяемое название.
+     * @param excludeId  Идентификатор записи, которую нужно исключить, или null.
+     * @param threshold  Минимальная степень схожести (больше 0).
+     * @param limit      Максимальное количество результатов.
+     * @return Список похожих названий.
+     */
+    public List<Match> findSimilar(String dictionary, String name, Integer excludeId, double threshold, int limit) {
+        Tree index = loaded(dictionary);
+        String query = normalize(name);
+        // Для строки длины n кандидат со схожестью >= threshold не длиннее n / threshold,
+        // поэтому расстояние до него не превышает (1 - threshold) * n / threshold
+        int radius = (int) Math.floor((1 - threshold) * query.length() / threshold + 1e-9);
+
+        List<Match> matches = new ArrayList<>();
+        synchronized (index) {
+            index.search(query, radius, (node, distance) -> {
+                int maxLen = Math.max(query.length(), node.key.length());
+                double similarity = maxLen == 0 ? 1.0 : 1.0 - (double) distance / maxLen;
+                if (similarity < threshold) {
+                    return;
+                }
+                node.names.forEach((id, original) -> {
+                    if (!id.equals(excludeId)) {
+                        matches.add(new Match(id, original, similarity));
+                    }
+                });
+            });
+        }
+        matches.sort(Comparator.comparingDouble(Match::similarity).reversed()
+                .thenComparing(Match::id));
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    /**
+     * Добавляет или переименовывает запись после фиксации текущей транзакции.
+     *
+     * @param dictionary Имя справочника.
+     * @param id         Идентификатор записи.
+     * @param name       Новое название.
+     */
+    public void put(String dictionary, Integer id, String name) {
+        TransactionHooks.afterCommitOrNow(() -> {
+            Tree index = dictionaries.get(dictionary);
+            synchronized (index) {
+                if (index.loaded) {
+                    index.remove(id);
+                    index.add(id, name);
+                }
+            }
+        });
+    }
+
+    /**
+     * Удаляет запись после фиксации текущей транзакции.
+     *
+     * @param dictionary Имя справочника.
+     * @param id         Идентификатор записи.
+     */
+    public void remove(String dictionary, Integer id) {
+        TransactionHooks.afterCommitOrNow(() -> {
+            Tree index = dictionaries.get(dictionary);
+            synchronized (index) {
+                if (index.loaded) {
+                    index.remove(id);
+                }
+            }
+        });
+    }
+
+    /**
+     * Возвращает степень схожести между двумя строками.
+     * Алгоритм основан на расстоянии Левенштейна.
+     *
+     * @param s1 Первая строка.
+     * @param s2 Вторая строка.
+     * @return Степень схожести от 0 до 1.
+     */
+    public static double stringSimilarity(String s1, String s2) {
+        s1 = normalize(s1);
+        s2 = normalize(s2);
+        if (s1.equals(s2)) return 1.0;
+        int maxLen = Math.max(s1.length(), s2.length());
+        if (maxLen == 0) return 1.0;
+        int dist = levenshteinDistance(s1, s2);
+        return 1.0 - (double) dist / maxLen;
+    }
+
+    /**
+     * Вычисляет расстояние Левенштейна между двумя строками.
+     *
+     * @param s1 Первая строка.
+     * @param s2 Вторая строка.
+     * @return Расстояние Левенштейна.
+     */
+    static int levenshteinDistance(String s1, String s2) {
+        int[] costs = new int[s2.length() + 1];
+        for (int j = 0; j < costs.length; j++)
+            costs[j] = j;
+        for (int i = 1; i <= s1.length(); i++) {
+            costs[0] = i;
+            int nw = i - 1;
+            for (int j = 1; j <= s2.length(); j++) {
+                int cj = Math.min(1 + Math.min(costs[j], costs[j - 1]), s1.charAt(i - 1) == s2.charAt(j - 1) ? nw : nw + 1);
+                nw = costs[j];
+                costs[j] = cj;
+            }
+        }
+        return costs[s2.length()];
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toLowerCase();
+    }
+
+    private Tree loaded(String dictionary) {
+        Tree index = dictionaries.get(dictionary);
+        if (index == null) {
+            throw new IllegalStateException("Справочник не зарегистрирован в индексе схожести: " + dictionary);
+        }
+        synchronized (index) {
+            if (!index.loaded) {
+                // Отдельная транзакция: снимок текущей транзакции вызывающего кода может не содержать
+                // записей, зафиксированных другими транзакциями после её начала
+                Map<Integer, String> rows = loadTransaction.execute(status -> loaders.get(dictionary).get());
+                rows.forEach(index::add);
+                index.loaded = true;
+                logger.info("Индекс схожести построен: справочник={}, записей={}", dictionary, rows.size());
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Узел BK-дерева: нормализованное название и записи с этим названием.
+     */
+    private static final class Node {
+        private final String key;
+        private final Map<Integer, String> names = new HashMap<>();
+        private final Map<Integer, Node> children = new HashMap<>();
+
+        private Node(String key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * BK-дерево одного справочника. Удалённые названия остаются пустыми узлами
+     * до перестроения дерева, которое выполняется, когда пустых узлов становится больше заполненных.
+     */
+    private static final class Tree {
+        private Node root;
+        private final Map<Integer, String> keysById = new HashMap<>();
+        private final Map<String, Node> nodesByKey = new HashMap<>();
+        private int emptyNodes;
+        private boolean loaded;
+
+        private interface Visitor {
+            void visit(Node node, int distance);
+        }
+
+        private void add(Integer id, String name) {
+            String key = normalize(name);
+            keysById.put(id, key);
+            Node existing = nodesByKey.get(key);
+            if (existing != null) {
+                if (existing.names.isEmpty()) {
+                    emptyNodes--;
+                }
+                existing.names.put(id, name);
+                return;
+            }
+            Node node = new Node(key);
+            node.names.put(id, name);
+            nodesByKey.put(key, node);
+            if (root == null) {
+                root = node;
+                return;
+            }
+            Node current = root;
+            while (true) {
+                int distance = levenshteinDistance(key, current.key);
+                Node child = current.children.get(distance);
+                if (child == null) {
+                    current.children.put(distance, node);
+                    return;
+                }
+                current = child;
+            }
+        }
+
+        private void remove(Integer id) {
+            String key = keysById.remove(id);
+            if (key == null) {
+                return;
+            }
+            Node node = nodesByKey.get(key);
+            node.names.remove(id);
+            if (node.names.isEmpty() && ++emptyNodes > nodesByKey.size() - emptyNodes) {
+                rebuild();
+            }
+        }
+
+        private void rebuild() {
+            List<Node> live = nodesByKey.values().stream().filter(node -> !node.names.isEmpty()).toList();
+            root = null;
+            keysById.clear();
+            nodesByKey.clear();
+            emptyNodes = 0;
+            for (Node node : live) {
+                node.names.forEach(this::add);
+            }
+        }
+
+        private void search(String query, int radius, Visitor visitor) {
+            if (root == null) {
+                return;
+            }
+            Deque<Node> stack = new ArrayDeque<>();
+            stack.push(root);
+            while (!stack.isEmpty()) {
+                Node node = stack.pop();
+                int distance = levenshteinDistance(query, node.key);
+                if (distance <= radius && !node.names.isEmpty()) {
+                    visitor.visit(node, distance);
+                }
+                // Неравенство треугольника: потомки на расстоянии d от узла лежат в [distance - radius, distance + radius]
+                for (Map.Entry<Integer, Node> child : node.children.entrySet()) {
+                    if (Math.abs(child.getKey() - distance) <= radius) {
+                        stack.push(child.getValue());
+                    }
+                }
+            }
+        }
+    }
+}
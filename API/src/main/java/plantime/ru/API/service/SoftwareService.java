@@ -10,7 +10,6 @@ import plantime.ru.API.entity.Employee;
 import plantime.ru.API.entity.Software;
 import plantime.ru.API.entity.Log;
 import plantime.ru.API.repository.SoftwareRepository;
-import plantime.ru.API.repository.LogRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -24,39 +23,39 @@ import java.util.stream.Collectors;
 public class SoftwareService {
 
     private final SoftwareRepository softwareRepository;
-    private final LogRepository logRepository;
+    private final AuditLogWriter auditLogWriter;
     private static final Logger logger = LoggerFactory.getLogger(SoftwareService.class);
 
     public SoftwareService(
             SoftwareRepository softwareRepository,
-            LogRepository logRepository) {
+            AuditLogWriter auditLogWriter) {
         this.softwareRepository = softwareRepository;
-        this.logRepository = logRepository;
+        this.auditLogWriter = auditLogWriter;
     }
 
     public List<SoftwareDTO> getAllSoftware(Employee authEmployee, String sortBy, String order) {
         try {
             if (!sortBy.equals("software")) {
-                logRepository.save(new Log(authEmployee, "Недопустимое поле сортировки: " + sortBy, LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Недопустимое поле сортировки: " + sortBy, LocalDateTime.now()));
                 logger.error("Недопустимое поле сортировки: {}, guid_employee={}", sortBy, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Сортировка возможна только по полю 'software'");
             }
             if (!order.equalsIgnoreCase("asc") && !order.equalsIgnoreCase("desc")) {
-                logRepository.save(new Log(authEmployee, "Недопустимый порядок сортировки: " + order, LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Недопустимый порядок сортировки: " + order, LocalDateTime.now()));
                 logger.error("Недопустимый порядок сортировки: {}, guid_employee={}", order, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Порядок сортировки должен быть 'asc' или 'desc'");
             }
             Sort sort = order.equalsIgnoreCase("asc") ? Sort.by(Sort.Direction.ASC, "software") : Sort.by(Sort.Direction.DESC, "software");
             List<Software> list = softwareRepository.findAll(sort);
             if (list.isEmpty()) {
-                logRepository.save(new Log(authEmployee, "Список ПО пуст", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Список ПО пуст", LocalDateTime.now()));
                 logger.info("Список ПО пуст, guid_employee={}", authEmployee.getGuidEmployee());
                 return List.of();
             }
             List<SoftwareDTO> dtos = list.stream()
                     .map(s -> new SoftwareDTO(s.getIdSoftware(), s.getSoftware(), s.getDescription(), s.getLogo()))
                     .collect(Collectors.toList());
-            logRepository.save(new Log(authEmployee, "Получен список ПО, количество: " + list.size() + ", сортировка: " + sortBy + ", порядок: " + order, LocalDateTime.now()));
+            auditLogWriter.write(new Log(authEmployee, "Получен список ПО, количество: " + list.size() + ", сортировка: " + sortBy + ", порядок: " + order, LocalDateTime.now()));
             logger.info("Успешно получен список ПО, количество: {}, sortBy={}, order={}, guid_employee={}",
                     list.size(), sortBy, order, authEmployee.getGuidEmployee());
             return dtos;
@@ -83,7 +82,7 @@ public class SoftwareService {
 
             Software sw = new Software(null, name, description, logo);
             Software saved = softwareRepository.save(sw);
-            logRepository.save(new Log(authEmployee, "Создано ПО: " + name, LocalDateTime.now()));
+            auditLogWriter.write(new Log(authEmployee, "Создано ПО: " + name, LocalDateTime.now()));
             logger.info("Успешно создано ПО: {}, guid_employee={}", name, authEmployee.getGuidEmployee());
             return new SoftwareDTO(saved.getIdSoftware(), saved.getSoftware(), saved.getDescription(), saved.getLogo());
         } catch (IllegalArgumentException e) {
@@ -112,7 +111,7 @@ public class SoftwareService {
             sw.setDescription(description);
             sw.setLogo(logo);
             Software updated = softwareRepository.save(sw);
-            logRepository.save(new Log(authEmployee, "Обновлено ПО: " + name, LocalDateTime.now()));
+            auditLogWriter.write(new Log(authEmployee, "Обновлено ПО: " + name, LocalDateTime.now()));
             logger.info("Успешно обновлено ПО: {}, guid_employee={}", name, authEmployee.getGuidEmployee());
             return new SoftwareDTO(updated.getIdSoftware(), updated.getSoftware(), updated.getDescription(), updated.getLogo());
         } catch (IllegalArgumentException e) {
@@ -132,7 +131,7 @@ public class SoftwareService {
                 throw new IllegalArgumentException("ПО с id " + id + " не найдено");
             softwareRepository.deleteById(id);
             softwareRepository.flush();
-            logRepository.save(new Log(authEmployee, "Удалено ПО с id: " + id, LocalDateTime.now()));
+            auditLogWriter.write(new Log(authEmployee, "Удалено ПО с id: " + id, LocalDateTime.now()));
             logger.info("Успешно удалено ПО с id: {}, guid_employee={}", id, authEmployee.getGuidEmployee());
         } catch (org.springframework.dao.DataIntegrityViolationException e) {
             logger.error("Нарушение целостности данных при удалении ПО с id {}: {}, guid_employee={}", id, e.getMessage(), authEmployee.getGuidEmployee());
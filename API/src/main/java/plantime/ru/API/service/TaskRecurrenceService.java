@@ -1,5 +1,6 @@
 package plantime.ru.API.service;
 
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,20 +21,28 @@ public class TaskRecurrenceService {
 
     private final TaskRecurrenceRepository recurrenceRepository;
     private final TaskRepository taskRepository;
-    private final LogRepository logRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final SimilarityIndex similarityIndex;
     private static final Logger logger = LoggerFactory.getLogger(TaskRecurrenceService.class);
+    private static final String DICTIONARY = "task_recurrence";
+
+    @PostConstruct
+    void registerSimilarityIndex() {
+        similarityIndex.register(DICTIONARY, () -> recurrenceRepository.findAll().stream()
+                .collect(Collectors.toMap(TaskRecurrence::getIdTaskRecurrence, TaskRecurrence::getRecurrencePattern)));
+    }
 
     // Получение всех шаблонов с сортировкой
     public List<TaskRecurrenceDTO> getAllRecurrences(Employee authEmployee, String sortBy, String order) {
         try {
             if (!sortBy.equals("recurrencePattern")) {
-                logRepository.save(new Log(authEmployee, "Недопустимое поле сортировки: " + sortBy, LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Недопустимое поле сортировки: " + sortBy, LocalDateTime.now()));
                 logger.error("Недопустимое поле сортировки: {}, guid_employee={}", sortBy, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Сортировка возможна только по полю «Шаблон периодичности».");
             }
 
             if (!order.equalsIgnoreCase("asc") && !order.equalsIgnoreCase("desc")) {
-                logRepository.save(new Log(authEmployee, "Недопустимый порядок сортировки: " + order, LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Недопустимый порядок сортировки: " + order, LocalDateTime.now()));
                 logger.error("Недопустимый порядок сортировки: {}, guid_employee={}", order, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Порядок сортировки должен быть «asc» (по возрастанию) или «desc» (по убыванию).");
             }
@@ -44,7 +53,7 @@ public class TaskRecurrenceService {
 
             List<TaskRecurrence> recurrences = recurrenceRepository.findAll(sort);
             if (recurrences.isEmpty()) {
-                logRepository.save(new Log(authEmployee, "Список шаблонов периодичности пуст", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Список шаблонов периодичности пуст", LocalDateTime.now()));
                 logger.info("Список шаблонов периодичности пуст, guid_employee={}", authEmployee.getGuidEmployee());
                 return List.of();
             }
@@ -53,7 +62,7 @@ public class TaskRecurrenceService {
                     .map(this::convertToDTO)
                     .collect(Collectors.toList());
 
-            logRepository.save(new Log(authEmployee,
+            auditLogWriter.write(new Log(authEmployee,
                     "Получен список шаблонов периодичности, количество: " + recurrences.size(),
                     LocalDateTime.now()));
 
@@ -77,14 +86,14 @@ public class TaskRecurrenceService {
 
             // Валидация
             if (!pattern.matches("^[a-zA-Zа-яА-ЯёЁ\\s-]*$")) {
-                logRepository.save(new Log(authEmployee,
+                auditLogWriter.write(new Log(authEmployee,
                         "Попытка создать шаблон с недопустимыми символами: " + pattern,
                         LocalDateTime.now()));
                 throw new IllegalArgumentException("Шаблон может содержать только буквы, пробелы и дефисы");
             }
 
             if (pattern.length() < 2 || pattern.length() > 40) {
-                logRepository.save(new Log(authEmployee,
+                auditLogWriter.write(new Log(authEmployee,
                         "Недопустимая длина шаблона: " + pattern.length(),
                         LocalDateTime.now()));
                 throw new IllegalArgumentException("Длина шаблона должна быть от 2 до 40 символов");
@@ -92,21 +101,17 @@ public class TaskRecurrenceService {
 
             // Проверка на дубликат
             if (recurrenceRepository.existsByRecurrencePatternIgnoreCase(pattern)) {
-                logRepository.save(new Log(authEmployee,
+                auditLogWriter.write(new Log(authEmployee,
                         "Попытка создать дубликат шаблона: " + pattern,
                         LocalDateTime.now()));
                 throw new IllegalArgumentException("Шаблон с таким названием уже существует");
             }
 
             // Проверка на схожесть
-            Optional<String> similarPattern = recurrenceRepository.findAll()
-                    .stream()
-                    .map(TaskRecurrence::getRecurrencePattern)
-                    .filter(p -> stringSimilarity(p, pattern) >= 0.85)
-                    .findFirst();
+            Optional<String> similarPattern = similarityIndex.findMostSimilar(DICTIONARY, pattern, null);
 
             if (similarPattern.isPresent() && !Boolean.TRUE.equals(forceCreate)) {
-                logRepository.save(new Log(authEmployee,
+                auditLogWriter.write(new Log(authEmployee,
                         "Обнаружен похожий шаблон: " + similarPattern.get(),
                         LocalDateTime.now()));
                 throw new IllegalArgumentException(
@@ -118,8 +123,9 @@ public class TaskRecurrenceService {
             TaskRecurrence recurrence = new TaskRecurrence();
             recurrence.setRecurrencePattern(pattern);
             TaskRecurrence saved = recurrenceRepository.save(recurrence);
+            similarityIndex.put(DICTIONARY, saved.getIdTaskRecurrence(), saved.getRecurrencePattern());
 
-            logRepository.save(new Log(authEmployee,
+            auditLogWriter.write(new Log(authEmployee,
                     "Создан новый шаблон периодичности: " + pattern,
                     LocalDateTime.now()));
 
@@ -147,7 +153,7 @@ public class TaskRecurrenceService {
 
             // Валидация
             if (!newPattern.matches("^[a-zA-Zа-яА-ЯёЁ\\s-]*$")) {
-                logRepository.save(new Log(authEmployee,
+                auditLogWriter.write(new Log(authEmployee,
                         "Попытка обновить шаблон с недопустимыми символами",
                         LocalDateTime.now()));
                 throw new IllegalArgumentException("Шаблон может содержать только буквы, пробелы и дефисы");
@@ -155,22 +161,17 @@ public class TaskRecurrenceService {
 
             // Проверка на дубликат
             if (recurrenceRepository.existsByRecurrencePatternIgnoreCaseAndIdTaskRecurrenceNot(newPattern, id)) {
-                logRepository.save(new Log(authEmployee,
+                auditLogWriter.write(new Log(authEmployee,
                         "Попытка создать дубликат шаблона при обновлении",
                         LocalDateTime.now()));
                 throw new IllegalArgumentException("Шаблон с таким названием уже существует");
             }
 
             // Проверка на схожесть
-            Optional<String> similarPattern = recurrenceRepository.findAll()
-                    .stream()
-                    .filter(r -> !r.getIdTaskRecurrence().equals(id))
-                    .map(TaskRecurrence::getRecurrencePattern)
-                    .filter(p -> stringSimilarity(p, newPattern) >= 0.85)
-                    .findFirst();
+            Optional<String> similarPattern = similarityIndex.findMostSimilar(DICTIONARY, newPattern, id);
 
             if (similarPattern.isPresent() && !Boolean.TRUE.equals(forceUpdate)) {
-                logRepository.save(new Log(authEmployee,
+                auditLogWriter.write(new Log(authEmployee,
                         "Обнаружен похожий шаблон при обновлении: " + similarPattern.get(),
                         LocalDateTime.now()));
                 throw new IllegalArgumentException(
@@ -180,8 +181,9 @@ public class TaskRecurrenceService {
 
             recurrence.setRecurrencePattern(newPattern);
             TaskRecurrence updated = recurrenceRepository.save(recurrence);
+            similarityIndex.put(DICTIONARY, updated.getIdTaskRecurrence(), updated.getRecurrencePattern());
 
-            logRepository.save(new Log(authEmployee,
+            auditLogWriter.write(new Log(authEmployee,
                     "Обновлён шаблон периодичности ID: " + id,
                     LocalDateTime.now()));
 
@@ -201,14 +203,15 @@ public class TaskRecurrenceService {
                     .orElseThrow(() -> new IllegalArgumentException("Шаблон не найден"));
 
             if (taskRepository.existsByTaskRecurrence(recurrence)) {
-                logRepository.save(new Log(authEmployee,
+                auditLogWriter.write(new Log(authEmployee,
                         "Попытка удалить используемый шаблон ID: " + id,
                         LocalDateTime.now()));
                 throw new IllegalArgumentException("Шаблон используется в задачах и не может быть удалён");
             }
 
             recurrenceRepository.delete(recurrence);
-            logRepository.save(new Log(authEmployee,
+            similarityIndex.remove(DICTIONARY, id);
+            auditLogWriter.write(new Log(authEmployee,
                     "Удалён шаблон периодичности ID: " + id,
                     LocalDateTime.now()));
         } catch (IllegalArgumentException e) {
@@ -225,33 +228,4 @@ public class TaskRecurrenceService {
         dto.setRecurrencePattern(entity.getRecurrencePattern());
         return dto;
     }
-
-    private double stringSimilarity(String s1, String s2) {
-        s1 = s1.trim().toLowerCase();
-        s2 = s2.trim().toLowerCase();
-        if (s1.equals(s2)) return 1.0;
-
-        int maxLen = Math.max(s1.length(), s2.length());
-        if (maxLen == 0) return 1.0;
-
-        int dist = levenshteinDistance(s1, s2);
-        return 1.0 - (double) dist / maxLen;
-    }
-
-    private int levenshteinDistance(String s1, String s2) {
-        int[] costs = new int[s2.length() + 1];
-        for (int j = 0; j < costs.length; j++) costs[j] = j;
-
-        for (int i = 1; i <= s1.length(); i++) {
-            costs[0] = i;
-            int nw = i - 1;
-            for (int j = 1; j <= s2.length(); j++) {
-                int cj = Math.min(1 + Math.min(costs[j], costs[j - 1]),
-                        s1.charAt(i - 1) == s2.charAt(j - 1) ? nw : nw + 1);
-                nw = costs[j];
-                costs[j] = cj;
-            }
-        }
-        return costs[s2.length()];
-    }
-}
\ No newline at end of file
+}
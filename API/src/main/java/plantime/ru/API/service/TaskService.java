@@ -3,21 +3,38 @@ package plantime.ru.API.service;
 import plantime.ru.API.dto.*;
 import plantime.ru.API.entity.*;
 import plantime.ru.API.repository.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 import java.time.LocalTime;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class TaskService {
@@ -40,53 +57,91 @@ public class TaskService {
     private ListServicesRepository listServicesRepository;
     @Autowired
     private ServiceRepository serviceDictRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private AttachmentService attachmentService;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Количество строк Excel, которые SXSSF держит в памяти; остальные сбрасываются на диск
+    private static final int EXCEL_ROW_WINDOW = 100;
+    private static final int CHECKLIST_CONTENT_LENGTH = 120;
+    private static final String DUPLICATE_TASK_MESSAGE = "Задача с таким названием и исполнителем уже существует";
+
+    @Value("${tasks.page.default-size:100}")
+    private int defaultPageSize;
+    @Value("${tasks.page.max-size:1000}")
+    private int maxPageSize;
 
     // --- 1. Поиск по GUID сотрудника ---
     public List<TaskDTO> getTasksByExecutor(String guidExecutor) {
-        return taskRepository.findAll().stream()
-                .filter(t -> t.getGuidExecutor() != null && t.getGuidExecutor().equals(guidExecutor))
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+        return taskRepository.findRowsByGuidExecutor(guidExecutor);
     }
 
     // --- 1. Поиск по ID организации ---
     public List<TaskDTO> getTasksByOrganization(Integer idOrganization) {
-        return taskRepository.findAll().stream()
-                .filter(t -> Objects.equals(t.getIdOrganization(), idOrganization))
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+        return taskRepository.findRowsByIdOrganization(idOrganization);
+    }
+
+    // --- 1. Постраничная выборка по курсору (keyset по idTask) ---
+    public TaskPageDTO getTasksPage(Integer cursor, Integer limit, String guidExecutor, Integer idOrganization) {
+        int size = limit == null ? defaultPageSize : limit;
+        if (size < 1 || size > maxPageSize)
+            throw new IllegalArgumentException("Размер страницы должен быть от 1 до " + maxPageSize);
+        // Запрашиваем на одну запись больше, чтобы понять, есть ли следующая страница
+        List<TaskDTO> rows = taskRepository.findPageAfter(cursor, guidExecutor, idOrganization, PageRequest.of(0, size + 1));
+        boolean hasNext = rows.size() > size;
+        List<TaskDTO> items = hasNext ? rows.subList(0, size) : rows;
+        Integer nextCursor = hasNext ? items.get(items.size() - 1).getIdTask() : null;
+        return new TaskPageDTO(items, nextCursor);
+    }
+
+    // --- 1. Потоковая выгрузка в NDJSON (одна задача — одна строка JSON) ---
+    @Transactional(readOnly = true)
+    public void streamTasks(String guidExecutor, Integer idOrganization, OutputStream out) throws IOException {
+        // Проекция в DTO не попадает в контекст персистентности, поэтому он не растёт вместе с выгрузкой
+        try (Stream<TaskDTO> tasks = taskRepository.streamAll(guidExecutor, idOrganization)) {
+            Iterator<TaskDTO> it = tasks.iterator();
+            while (it.hasNext()) {
+                out.write(objectMapper.writeValueAsBytes(it.next()));
+                out.write('\n');
+            }
+            out.flush();
+        }
     }
 
-    // --- 2. Фильтрация ---
+    // --- 2. Фильтрация (все предикаты выполняются в БД, см. TaskSpecifications) ---
     public List<TaskDTO> filterTasks(Integer idOrganization, Integer idTaskType, String counterparty,
                                      Integer idTaskStatus, String dateFrom, String dateTo) {
-        return taskRepository.findAll().stream()
-                .filter(t -> idOrganization == null || Objects.equals(t.getIdOrganization(), idOrganization))
-                .filter(t -> idTaskType == null || (t.getTaskType() != null && Objects.equals(t.getTaskType().getIdTaskType(), idTaskType)))
-                .filter(t -> counterparty == null || (t.getGuidExecutor() != null && t.getGuidExecutor().equals(counterparty)))
-                .filter(t -> idTaskStatus == null || (t.getTaskStatus() != null && Objects.equals(t.getTaskStatus().getIdTaskStatus(), idTaskStatus)))
-                .filter(t -> {
-                    if (dateFrom == null && dateTo == null) return true;
-                    LocalDate dateStart = null, dateEnd = null;
-                    try {
-                        if (dateFrom != null) dateStart = LocalDate.parse(dateFrom);
-                        if (dateTo != null) dateEnd = LocalDate.parse(dateTo);
-                    } catch (DateTimeParseException ignore) {}
-                    LocalDate taskDate = t.getDateCompletion();
-                    if (taskDate == null) return false;
-                    if (dateStart != null && taskDate.isBefore(dateStart)) return false;
-                    if (dateEnd != null && taskDate.isAfter(dateEnd)) return false;
-                    return true;
-                })
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+        return filteredRows(buildFilter(idOrganization, idTaskType, counterparty, idTaskStatus, dateFrom, dateTo))
+                .getResultList();
     }
 
-    // --- 3. Генерация Excel ---
-    public byte[] exportTasksToExcel(Integer idOrganization, Integer idTaskType, String counterparty,
-                                     Integer idTaskStatus, String dateFrom, String dateTo) {
-        List<TaskDTO> tasks = filterTasks(idOrganization, idTaskType, counterparty, idTaskStatus, dateFrom, dateTo);
-        try (Workbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+    private Specification<Task> buildFilter(Integer idOrganization, Integer idTaskType, String counterparty,
+                                            Integer idTaskStatus, String dateFrom, String dateTo) {
+        LocalDate dateStart = null, dateEnd = null;
+        try {
+            if (dateFrom != null) dateStart = LocalDate.parse(dateFrom);
+            if (dateTo != null) dateEnd = LocalDate.parse(dateTo);
+        } catch (DateTimeParseException ignore) {}
+        return Specification.where(TaskSpecifications.hasOrganization(idOrganization))
+                .and(TaskSpecifications.hasTaskType(idTaskType))
+                .and(TaskSpecifications.hasExecutor(counterparty))
+                .and(TaskSpecifications.hasTaskStatus(idTaskStatus))
+                .and(TaskSpecifications.completedBetween(dateFrom != null || dateTo != null, dateStart, dateEnd));
+    }
+
+    // --- 3. Генерация Excel (потоково: SXSSF держит в памяти только окно строк) ---
+    @Transactional(readOnly = true)
+    public void exportTasksToExcel(Integer idOrganization, Integer idTaskType, String counterparty,
+                                   Integer idTaskStatus, String dateFrom, String dateTo, OutputStream out) {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(EXCEL_ROW_WINDOW);
+        try (Stream<TaskDTO> tasks = filteredRows(buildFilter(idOrganization, idTaskType, counterparty, idTaskStatus, dateFrom, dateTo))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, Integer.MIN_VALUE)
+                .getResultStream()) {
             Sheet sheet = workbook.createSheet("Tasks");
             int rowIdx = 0;
             Row header = sheet.createRow(rowIdx++);
@@ -94,7 +149,9 @@ public class TaskService {
             for (int i = 0; i < headers.length; i++) {
                 header.createCell(i).setCellValue(headers[i]);
             }
-            for (TaskDTO t : tasks) {
+            Iterator<TaskDTO> it = tasks.iterator();
+            while (it.hasNext()) {
+                TaskDTO t = it.next();
                 Row row = sheet.createRow(rowIdx++);
                 row.createCell(0).setCellValue(t.getIdTask() != null ? t.getIdTask() : 0);
                 row.createCell(1).setCellValue(t.getTaskName() == null ? "" : t.getTaskName());
@@ -108,12 +165,31 @@ public class TaskService {
                 row.createCell(9).setCellValue(t.getTaskPrice() == null ? 0 : t.getTaskPrice().doubleValue());
             }
             workbook.write(out);
-            return out.toByteArray();
+            out.flush();
         } catch (Exception ex) {
             throw new RuntimeException("Ошибка генерации Excel: " + ex.getMessage(), ex);
+        } finally {
+            // Удаляем временные файлы, в которые SXSSF сбрасывал строки за пределами окна
+            workbook.dispose();
         }
     }
 
+    // Запрос строк задач по фильтру с проекцией сразу в TaskDTO (тот же набор столбцов, что TaskRepository.TASK_ROW)
+    private TypedQuery<TaskDTO> filteredRows(Specification<Task> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskDTO> query = cb.createQuery(TaskDTO.class);
+        Root<Task> root = query.from(Task.class);
+        query.select(cb.construct(TaskDTO.class,
+                root.get("idTask"), root.get("taskName"), root.get("guidExecutor"), root.get("description"),
+                root.get("dateCreate"), root.get("timeCreate"), root.get("dateCompletion"), root.get("timeCompletion"),
+                root.get("taskStatus").get("idTaskStatus"), root.get("taskPrice"),
+                root.get("taskType").get("idTaskType"), root.get("idOrganization")));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) query.where(predicate);
+        query.orderBy(cb.asc(root.get("idTask")));
+        return entityManager.createQuery(query);
+    }
+
     // --- ПО (software) ---
     public List<SoftwareDTO> getSoftwareByTaskId(int taskId) {
         List<ListOfSoftware> list = softwareRepository.findByIdProject(taskId);
@@ -122,16 +198,12 @@ public class TaskService {
         return allSoft.stream().map(SoftwareDTO::fromEntity).collect(Collectors.toList());
     }
 
+    @Transactional
     public List<SoftwareDTO> addSoftwareToTask(int taskId, List<Integer> softwareIds) {
-        Task task = taskRepository.findById(taskId).orElseThrow();
-        for (Integer softId : softwareIds) {
-            if (!softwareRepository.existsByIdProjectAndIdSoftware(taskId, softId)) {
-                ListOfSoftware entity = new ListOfSoftware();
-                entity.setIdProject(taskId);
-                entity.setIdSoftware(softId);
-                softwareRepository.save(entity);
-            }
-        }
+        requireTask(taskId);
+        Set<Integer> present = softwareRepository.findByIdProject(taskId).stream()
+                .map(ListOfSoftware::getIdSoftware).collect(Collectors.toSet());
+        insertSoftware(taskId, softwareIds.stream().filter(id -> !present.contains(id)).distinct().collect(Collectors.toList()));
         return getSoftwareByTaskId(taskId);
     }
 
@@ -161,6 +233,7 @@ public class TaskService {
     }
 
     // --- Notes (multipart, чат) ---
+    @Transactional
     public NoteDTO addNoteToTaskWithFiles(int taskId, String content, String guidEmployee, List<MultipartFile> files) throws IOException {
         if (content == null || content.trim().isEmpty()) throw new IllegalArgumentException("Содержимое заметки не должно быть пустым");
         Task task = taskRepository.findById(taskId).orElseThrow();
@@ -172,33 +245,22 @@ public class TaskService {
         note.setTimeAddition(LocalTime.now());
         Note saved = noteRepository.save(note);
 
+        List<ListAttachedFilesDTO> attached = new ArrayList<>();
         if (files != null && !files.isEmpty()) {
             for (MultipartFile file : files) {
-                // save file to storage and get path
-                String path = saveNoteFile(file, saved.getIdNote());
-                ListAttachedFiles laf = new ListAttachedFiles();
-                laf.setNote(saved);
-                laf.setPathFile(path);
-                filesRepository.save(laf);
+                // содержимое сохраняется в хранилище вложений (одинаковые файлы — один раз)
+                attached.add(toDTO(attachmentService.attach(saved, file)));
             }
         }
-        return toDTO(saved);
-    }
-
-    private String saveNoteFile(MultipartFile file, Integer noteId) throws IOException {
-        // Пример: сохраняем файл на диск, возвращаем путь
-        String uploadDir = "uploaded_files/notes/" + noteId + "/";
-        java.io.File dir = new java.io.File(uploadDir);
-        if (!dir.exists()) dir.mkdirs();
-        String filePath = uploadDir + file.getOriginalFilename();
-        file.transferTo(new java.io.File(filePath));
-        return filePath;
+        NoteDTO dto = toDTO(saved, taskId);
+        dto.setFiles(attached);
+        return dto;
     }
 
     // --- Checklist ---
     public ChecklistDTO addChecklistItem(int taskId, ChecklistDTO dto) {
-        if (dto == null || dto.getContent() == null || dto.getContent().trim().isEmpty())
-            throw new IllegalArgumentException("Текст чеклиста не должен быть пустым");
+        if (dto == null) throw new IllegalArgumentException("Текст чеклиста не должен быть пустым");
+        validateChecklistContent(dto.getContent());
         Task task = taskRepository.findById(taskId).orElseThrow();
         Checklist entity = toEntity(dto);
         entity.setTask(task);
@@ -213,8 +275,7 @@ public class TaskService {
     public ChecklistDTO updateChecklistItem(int checklistId, ChecklistDTO dto) {
         Optional<Checklist> found = checklistRepository.findById(checklistId);
         if (!found.isPresent()) throw new IllegalArgumentException("Чеклист с id " + checklistId + " не найден");
-        if (dto.getContent() == null || dto.getContent().trim().isEmpty())
-            throw new IllegalArgumentException("Текст чеклиста не должен быть пустым");
+        validateChecklistContent(dto.getContent());
         Checklist entity = found.get();
         entity.setContent(dto.getContent());
         entity.setStatus(dto.getStatus());
@@ -251,14 +312,10 @@ public class TaskService {
     }
 
     // --- FILES (к заметке) ---
+    @Transactional
     public ListAttachedFilesDTO addFileToNote(int noteId, MultipartFile file) throws IOException {
         Note note = noteRepository.findById(noteId).orElseThrow(() -> new IllegalArgumentException("Заметка с id " + noteId + " не найдена"));
-        String path = saveNoteFile(file, noteId);
-        ListAttachedFiles laf = new ListAttachedFiles();
-        laf.setNote(note);
-        laf.setPathFile(path);
-        filesRepository.save(laf);
-        return toDTO(laf);
+        return toDTO(attachmentService.attach(note, file));
     }
 
     public List<ListAttachedFilesDTO> getFilesByNoteId(int noteId) {
@@ -304,14 +361,177 @@ public class TaskService {
         listServicesRepository.deleteById(idListServices);
     }
 
+    // ==== ПАКЕТНАЯ ЗАМЕНА ДОЧЕРНИХ КОЛЛЕКЦИЙ ====
+    // Переданный список становится новым содержимым коллекции: отсутствующие в нём записи удаляются одним DELETE ... IN,
+    // изменённые обновляются пакетом Hibernate (hibernate.jdbc.batch_size), новые вставляются пакетным INSERT через JDBC
+    // (ключи IDENTITY не дают Hibernate группировать вставки). Число запросов не зависит от размера списка.
+
+    @Transactional
+    public List<ChecklistDTO> replaceChecklist(int taskId, List<ChecklistDTO> items) {
+        requireTask(taskId);
+        Map<Integer, Checklist> existing = checklistRepository.findByTask_IdTask(taskId).stream()
+                .collect(Collectors.toMap(Checklist::getIdChecklist, c -> c));
+        Set<Integer> kept = new HashSet<>();
+        List<ChecklistDTO> inserts = new ArrayList<>();
+        for (ChecklistDTO dto : items) {
+            // Проверяется до пакетной вставки: JDBC-пакет идёт в обход валидации сущности
+            if (dto == null) throw new IllegalArgumentException("Текст чеклиста не должен быть пустым");
+            validateChecklistContent(dto.getContent());
+            if (dto.getIdChecklist() == null) {
+                inserts.add(dto);
+                continue;
+            }
+            Checklist entity = existing.get(dto.getIdChecklist());
+            if (entity == null)
+                throw new IllegalArgumentException("Чеклист с id " + dto.getIdChecklist() + " не относится к задаче " + taskId);
+            if (!kept.add(dto.getIdChecklist()))
+                throw new IllegalArgumentException("Чеклист с id " + dto.getIdChecklist() + " указан несколько раз");
+            entity.setContent(dto.getContent());
+            entity.setStatus(dto.getStatus());
+        }
+        deleteMissing(checklistRepository, existing.keySet(), kept);
+        entityManager.flush();
+        if (!inserts.isEmpty()) jdbcTemplate.batchUpdate("INSERT INTO checklist (id_task, content, status) VALUES (?, ?, ?)", inserts, inserts.size(),
+                (ps, dto) -> {
+                    ps.setInt(1, taskId);
+                    ps.setString(2, dto.getContent());
+                    ps.setObject(3, dto.getStatus());
+                });
+        return getChecklistByTaskId(taskId);
+    }
+
+    // Исполнители сопоставляются по guidPerformer: один исполнитель — одна запись в задаче
+    @Transactional
+    public List<ListPerformerDTO> replacePerformers(int taskId, List<ListPerformerDTO> performers) {
+        requireTask(taskId);
+        Map<String, ListPerformer> existing = performerRepository.findByTask_IdTask(taskId).stream()
+                .collect(Collectors.toMap(ListPerformer::getGuidPerformer, p -> p, (a, b) -> a));
+        Set<String> guids = new HashSet<>();
+        Set<Integer> kept = new HashSet<>();
+        List<ListPerformerDTO> inserts = new ArrayList<>();
+        for (ListPerformerDTO dto : performers) {
+            if (dto == null || dto.getGuidPerformer() == null || dto.getGuidPerformer().trim().isEmpty())
+                throw new IllegalArgumentException("guidPerformer не может быть пустым");
+            if (!guids.add(dto.getGuidPerformer()))
+                throw new IllegalArgumentException("Исполнитель " + dto.getGuidPerformer() + " указан несколько раз");
+            ListPerformer entity = existing.get(dto.getGuidPerformer());
+            if (entity == null) {
+                inserts.add(dto);
+                continue;
+            }
+            kept.add(entity.getIdListPerformers());
+            entity.setTimeWork(dto.getTimeWork());
+            entity.setPriceWork(dto.getPriceWork());
+        }
+        Set<Integer> existingIds = existing.values().stream().map(ListPerformer::getIdListPerformers).collect(Collectors.toSet());
+        deleteMissing(performerRepository, existingIds, kept);
+        entityManager.flush();
+        if (!inserts.isEmpty()) jdbcTemplate.batchUpdate("INSERT INTO list_performers (guid_performer, id_task, time_work, price_work) VALUES (?, ?, ?, ?)",
+                inserts, inserts.size(), (ps, dto) -> {
+                    ps.setString(1, dto.getGuidPerformer());
+                    ps.setInt(2, taskId);
+                    ps.setObject(3, dto.getTimeWork());
+                    ps.setBigDecimal(4, dto.getPriceWork());
+                });
+        return getPerformersByTaskId(taskId);
+    }
+
+    // Строки услуг сопоставляются по idListServices; строки без него добавляются
+    @Transactional
+    public List<ServiceDTO> replaceServices(int taskId, List<ServiceDTO> services) {
+        requireTask(taskId);
+        Map<Integer, ListServices> existing = listServicesRepository.findByIdTask(taskId).stream()
+                .collect(Collectors.toMap(ListServices::getIdListServices, ls -> ls));
+        Set<Integer> serviceIds = new HashSet<>();
+        for (ServiceDTO dto : services) {
+            if (dto == null || dto.getIdService() == null)
+                throw new IllegalArgumentException("Не указана услуга");
+            serviceIds.add(dto.getIdService());
+        }
+        Set<Integer> known = serviceDictRepository.findAllById(serviceIds).stream()
+                .map(plantime.ru.API.entity.Service::getIdService).collect(Collectors.toSet());
+        serviceIds.removeAll(known);
+        if (!serviceIds.isEmpty())
+            throw new IllegalArgumentException("Услуги не найдены: " + serviceIds);
+
+        Set<Integer> kept = new HashSet<>();
+        List<ServiceDTO> inserts = new ArrayList<>();
+        for (ServiceDTO dto : services) {
+            if (dto.getIdListServices() == null) {
+                inserts.add(dto);
+                continue;
+            }
+            ListServices entity = existing.get(dto.getIdListServices());
+            if (entity == null)
+                throw new IllegalArgumentException("Строка услуг с id " + dto.getIdListServices() + " не относится к задаче " + taskId);
+            if (!kept.add(dto.getIdListServices()))
+                throw new IllegalArgumentException("Строка услуг с id " + dto.getIdListServices() + " указана несколько раз");
+            entity.setIdService(dto.getIdService());
+            entity.setCount(dto.getCount());
+        }
+        deleteMissing(listServicesRepository, existing.keySet(), kept);
+        entityManager.flush();
+        if (!inserts.isEmpty()) jdbcTemplate.batchUpdate("INSERT INTO list_services (id_task, id_service, `count`) VALUES (?, ?, ?)",
+                inserts, inserts.size(), (ps, dto) -> {
+                    ps.setInt(1, taskId);
+                    ps.setInt(2, dto.getIdService());
+                    ps.setObject(3, dto.getCount());
+                });
+        return getServicesByTaskId(taskId);
+    }
+
+    @Transactional
+    public List<SoftwareDTO> replaceSoftware(int taskId, List<Integer> softwareIds) {
+        requireTask(taskId);
+        Set<Integer> wanted = new LinkedHashSet<>(softwareIds);
+        if (wanted.contains(null)) throw new IllegalArgumentException("Не указано ПО");
+        Set<Integer> missing = new HashSet<>(wanted);
+        softwareDictRepository.findAllById(wanted).forEach(sw -> missing.remove(sw.getIdSoftware()));
+        if (!missing.isEmpty())
+            throw new IllegalArgumentException("ПО не найдено: " + missing);
+
+        Set<Integer> existingIds = new HashSet<>();
+        Set<Integer> kept = new HashSet<>();
+        Set<Integer> present = new HashSet<>();
+        for (ListOfSoftware los : softwareRepository.findByIdProject(taskId)) {
+            existingIds.add(los.getIdListOfSoftware());
+            // Повторная привязка того же ПО (если она уже есть в базе) тоже удаляется
+            if (wanted.contains(los.getIdSoftware()) && present.add(los.getIdSoftware())) kept.add(los.getIdListOfSoftware());
+        }
+        deleteMissing(softwareRepository, existingIds, kept);
+        insertSoftware(taskId, wanted.stream().filter(id -> !present.contains(id)).collect(Collectors.toList()));
+        return getSoftwareByTaskId(taskId);
+    }
+
+    private void insertSoftware(int taskId, List<Integer> softwareIds) {
+        if (softwareIds.isEmpty()) return;
+        jdbcTemplate.batchUpdate("INSERT INTO list_of_software (id_project, id_software) VALUES (?, ?)",
+                softwareIds, softwareIds.size(), (ps, idSoftware) -> {
+                    ps.setInt(1, taskId);
+                    ps.setInt(2, idSoftware);
+                });
+    }
+
+    private void requireTask(int taskId) {
+        if (!taskRepository.existsById(taskId))
+            throw new IllegalArgumentException("Задача с id " + taskId + " не найдена");
+    }
+
+    // Удаляет одним запросом записи, которых нет в новом содержимом коллекции
+    private <T> void deleteMissing(JpaRepository<T, Integer> repository,
+                                   Set<Integer> existingIds, Set<Integer> keptIds) {
+        List<Integer> removed = existingIds.stream().filter(id -> !keptIds.contains(id)).collect(Collectors.toList());
+        if (!removed.isEmpty()) repository.deleteAllByIdInBatch(removed);
+    }
+
     // --- CRUD, валидация, маппинг (оставьте как у вас, +обновите под новые поля) ---
 
     public List<TaskDTO> getAllTasks() {
-        return taskRepository.findAll().stream().map(this::toDTO).collect(Collectors.toList());
+        return taskRepository.findAllRows();
     }
 
     public TaskDTO getTaskById(int id) {
-        return taskRepository.findById(id).map(this::toDTO).orElse(null);
+        return taskRepository.findRowById(id).orElse(null);
     }
 
     public TaskDTO createTask(TaskDTO dto) {
@@ -322,6 +542,7 @@ public class TaskService {
         try {
             saved = taskRepository.save(entity);
         } catch (DataIntegrityViolationException ex) {
+            if (isDuplicateTaskViolation(ex)) throw new IllegalArgumentException(DUPLICATE_TASK_MESSAGE);
             throw new RuntimeException("Ошибка целостности данных при создании задачи: " + ex.getMessage());
         }
         return toDTO(saved);
@@ -335,6 +556,7 @@ public class TaskService {
         return updateTask(id, dto);
     }
 
+    @Transactional
     public void deleteTaskIfAllowed(int id, String guidExecutor) {
         Task task = taskRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("Задача не найдена"));
         if (task.getGuidExecutor() == null || !task.getGuidExecutor().equals(guidExecutor)) {
@@ -348,13 +570,8 @@ public class TaskService {
         if (!found.isPresent()) throw new IllegalArgumentException("Задача с id " + id + " не найдена");
         validateTaskDTO(dto, false);
         if (dto.getTaskName() != null && dto.getGuidExecutor() != null) {
-            Task duplicate = taskRepository.findAll().stream()
-                    .filter(t -> t.getTaskName().equals(dto.getTaskName())
-                            && t.getGuidExecutor().equals(dto.getGuidExecutor())
-                            && !t.getIdTask().equals(id))
-                    .findFirst().orElse(null);
-            if (duplicate != null) {
-                throw new IllegalArgumentException("Задача с таким названием и исполнителем уже существует");
+            if (taskRepository.existsByGuidExecutorAndTaskNameAndIdTaskNot(dto.getGuidExecutor(), dto.getTaskName(), id)) {
+                throw new IllegalArgumentException(DUPLICATE_TASK_MESSAGE);
             }
         }
 
@@ -372,15 +589,18 @@ public class TaskService {
         try {
             saved = taskRepository.save(entity);
         } catch (DataIntegrityViolationException ex) {
+            if (isDuplicateTaskViolation(ex)) throw new IllegalArgumentException(DUPLICATE_TASK_MESSAGE);
             throw new RuntimeException("Ошибка целостности данных при обновлении задачи: " + ex.getMessage());
         }
         return toDTO(saved);
     }
 
+    @Transactional
     public void deleteTask(int id) {
         if (!taskRepository.existsById(id)) {
             throw new IllegalArgumentException("Задача с id " + id + " не найдена");
         }
+        attachmentService.releaseTaskFiles(id);
         taskRepository.deleteById(id);
     }
 
@@ -397,7 +617,57 @@ public class TaskService {
     }
 
     public List<NoteDTO> getNotesByTaskId(int taskId) {
-        return noteRepository.findByTask_IdTask(taskId).stream().map(this::toDTO).collect(Collectors.toList());
+        return notesWithFiles(noteRepository.findByTask_IdTask(taskId));
+    }
+
+    // Заметки с файлами: файлы всех заметок загружаются одним запросом, а не коллекцией каждой заметки
+    private List<NoteDTO> notesWithFiles(List<Note> notes) {
+        if (notes.isEmpty()) return new ArrayList<>();
+        List<Integer> noteIds = notes.stream().map(Note::getIdNote).collect(Collectors.toList());
+        Map<Integer, List<ListAttachedFilesDTO>> filesByNote = filesRepository.findByNote_IdNoteIn(noteIds).stream()
+                .map(this::toDTO)
+                .collect(Collectors.groupingBy(ListAttachedFilesDTO::getIdNote));
+        List<NoteDTO> result = new ArrayList<>();
+        for (Note note : notes) {
+            NoteDTO dto = toDTO(note, taskIdOf(note));
+            dto.setFiles(filesByNote.getOrDefault(note.getIdNote(), new ArrayList<>()));
+            result.add(dto);
+        }
+        return result;
+    }
+
+    private Integer taskIdOf(Note note) {
+        return note.getTask() != null ? note.getTask().getIdTask() : null;
+    }
+
+    // ==== КАРТОЧКА ЗАДАЧИ ====
+    // Разделы карточки, которые можно запросить параметром fields
+    public static final Set<String> TASK_CARD_SECTIONS = Set.of("notes", "checklist", "performers", "software", "services");
+
+    // Задача и выбранные разделы за фиксированное число запросов (не больше девяти при любом объёме разделов)
+    @Transactional(readOnly = true)
+    public TaskCardDTO getTaskCard(int taskId, Collection<String> fields) {
+        Set<String> sections = new HashSet<>();
+        if (fields == null || fields.isEmpty()) {
+            sections.addAll(TASK_CARD_SECTIONS);
+        } else {
+            for (String field : fields) {
+                String section = field.trim().toLowerCase();
+                if (!TASK_CARD_SECTIONS.contains(section))
+                    throw new IllegalArgumentException("Неизвестный раздел карточки задачи: " + field
+                            + ". Допустимые значения: " + String.join(", ", new TreeSet<>(TASK_CARD_SECTIONS)));
+                sections.add(section);
+            }
+        }
+        TaskDTO task = taskRepository.findRowById(taskId)
+                .orElseThrow(() -> new IllegalArgumentException("Задача с id " + taskId + " не найдена"));
+        TaskCardDTO card = new TaskCardDTO(task);
+        if (sections.contains("notes")) card.setNotes(getNotesByTaskId(taskId));
+        if (sections.contains("checklist")) card.setChecklist(getChecklistByTaskId(taskId));
+        if (sections.contains("performers")) card.setPerformers(getPerformersByTaskId(taskId));
+        if (sections.contains("software")) card.setSoftware(getSoftwareByTaskId(taskId));
+        if (sections.contains("services")) card.setServices(getServicesByTaskId(taskId));
+        return card;
     }
 
     // ==== ВАЛИДАЦИЯ ====
@@ -423,14 +693,28 @@ public class TaskService {
             throw new IllegalArgumentException("Цена задачи не может быть отрицательной");
     }
 
+    private void validateChecklistContent(String content) {
+        if (content == null || content.trim().isEmpty())
+            throw new IllegalArgumentException("Текст чеклиста не должен быть пустым");
+        if (content.length() > CHECKLIST_CONTENT_LENGTH)
+            throw new IllegalArgumentException("Текст чеклиста не должен превышать " + CHECKLIST_CONTENT_LENGTH + " символов");
+    }
+
     private void checkDuplicateTask(TaskDTO dto) {
-        List<Task> all = taskRepository.findAll();
-        boolean exists = all.stream().anyMatch(t ->
-                t.getTaskName().equals(dto.getTaskName())
-                        && t.getGuidExecutor().equals(dto.getGuidExecutor())
-        );
-        if (exists)
-            throw new IllegalArgumentException("Задача с таким названием и исполнителем уже существует");
+        if (taskRepository.existsByGuidExecutorAndTaskName(dto.getGuidExecutor(), dto.getTaskName()))
+            throw new IllegalArgumentException(DUPLICATE_TASK_MESSAGE);
+    }
+
+    // --- Гонка двух одновременных сохранений ловится уникальным индексом uk_task_executor_name.
+    // MySQL сообщает имя ограничения с префиксом таблицы ("task.uk_task_executor_name"), он отбрасывается
+    private boolean isDuplicateTaskViolation(DataIntegrityViolationException ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                String name = violation.getConstraintName();
+                return TaskUniqueNameMigration.CONSTRAINT.equalsIgnoreCase(name.substring(name.lastIndexOf('.') + 1));
+            }
+        }
+        return false;
     }
 
     // ==== Маппинг DTO <-> Entity ====
@@ -483,17 +767,23 @@ public class TaskService {
     }
 
     private NoteDTO toDTO(Note n) {
+        NoteDTO dto = toDTO(n, taskIdOf(n));
+        // files
+        if (n.getAttachedFiles() != null) {
+            dto.setFiles(n.getAttachedFiles().stream().map(this::toDTO).collect(Collectors.toList()));
+        }
+        return dto;
+    }
+
+    // Поля заметки без обращения к коллекции файлов
+    private NoteDTO toDTO(Note n, Integer idTask) {
         NoteDTO dto = new NoteDTO();
         dto.setIdNote(n.getIdNote());
         dto.setGuidEmployee(n.getGuidEmployee());
         dto.setContent(n.getContent());
         if (n.getDateAddition() != null) dto.setDateAddition(n.getDateAddition().toString());
         if (n.getTimeAddition() != null) dto.setTimeAddition(n.getTimeAddition().toString());
-        dto.setIdTask(n.getTask() != null ? n.getTask().getIdTask() : null);
-        // files
-        if (n.getAttachedFiles() != null) {
-            dto.setFiles(n.getAttachedFiles().stream().map(this::toDTO).collect(Collectors.toList()));
-        }
+        dto.setIdTask(idTask);
         return dto;
     }
 
@@ -546,6 +836,9 @@ public class TaskService {
         dto.setIdListAttachedFiles(f.getIdListAttachedFiles());
         dto.setIdNote(f.getNote() != null ? f.getNote().getIdNote() : null);
         dto.setPathFile(f.getPathFile());
+        dto.setFileHash(f.getFileHash());
+        dto.setFileSize(f.getFileSize());
+        dto.setContentType(f.getContentType());
         return dto;
     }
 }
\ No newline at end of file
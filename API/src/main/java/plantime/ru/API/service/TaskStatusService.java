@@ -10,7 +10,6 @@ import plantime.ru.API.entity.Employee;
 import plantime.ru.API.entity.Log;
 import plantime.ru.API.entity.TaskStatus;
 import plantime.ru.API.repository.TaskStatusRepository;
-import plantime.ru.API.repository.LogRepository;
 import plantime.ru.API.repository.TaskRepository;
 
 import java.time.LocalDateTime;
@@ -27,21 +26,32 @@ import java.util.stream.Collectors;
 public class TaskStatusService {
 
     private final TaskStatusRepository statusRepository;
-    private final LogRepository logRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final SimilarityIndex similarityIndex;
+    private final DictionaryCache dictionaryCache;
     private static final Logger logger = LoggerFactory.getLogger(TaskStatusService.class);
+    private static final String DICTIONARY = "task_status";
     private final TaskRepository taskRepository;
 
     /**
      * Конструктор сервиса.
      *
      * @param statusRepository Репозиторий статусов задач.
-     * @param logRepository    Репозиторий логов.
+     * @param auditLogWriter   Асинхронная запись журнала действий.
+     * @param similarityIndex  Индекс похожих названий.
+     * @param dictionaryCache  Кэш справочников.
      */
     public TaskStatusService(
-            TaskStatusRepository statusRepository, LogRepository logRepository, TaskRepository taskRepository) {
+            TaskStatusRepository statusRepository, AuditLogWriter auditLogWriter, TaskRepository taskRepository,
+            SimilarityIndex similarityIndex,
+            DictionaryCache dictionaryCache) {
         this.statusRepository = statusRepository;
-        this.logRepository = logRepository;
+        this.auditLogWriter = auditLogWriter;
         this.taskRepository = taskRepository;
+        this.similarityIndex = similarityIndex;
+        this.dictionaryCache = dictionaryCache;
+        similarityIndex.register(DICTIONARY, () -> statusRepository.findAll().stream()
+                .collect(Collectors.toMap(TaskStatus::getIdTaskStatus, TaskStatus::getStatus)));
     }
 
     /**
@@ -50,38 +60,30 @@ public class TaskStatusService {
      * @param authEmployee Аутентифицированный сотрудник.
      * @param sortBy       Поле сортировки.
      * @param order        Порядок сортировки.
-     * @return Список DTO статусов задач.
+     * @return Список DTO статусов задач и версия для ETag.
      * @throws IllegalArgumentException Если параметры сортировки некорректны.
      */
-    public List<TaskStatusDTO> getAllStatuses(Employee authEmployee, String sortBy, String order) {
+    public DictionaryCache.Snapshot<TaskStatusDTO> getAllStatuses(Employee authEmployee, String sortBy, String order) {
         try {
             if (!sortBy.equals("status")) {
-                logRepository.save(new Log(authEmployee, "Недопустимое поле сортировки: " + sortBy, LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Недопустимое поле сортировки: " + sortBy, LocalDateTime.now()));
                 logger.error("Недопустимое поле сортировки: {}, guid_employee={}", sortBy, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Сортировка возможна только по полю «Название статуса задачи».");
             }
 
             if (!order.equalsIgnoreCase("asc") && !order.equalsIgnoreCase("desc")) {
-                logRepository.save(new Log(authEmployee, "Недопустимый порядок сортировки: " + order, LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Недопустимый порядок сортировки: " + order, LocalDateTime.now()));
                 logger.error("Недопустимый порядок сортировки: {}, guid_employee={}", order, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Порядок сортировки должен быть «asc» (по возрастанию) или «desc» (по убыванию).");
             }
 
-            Sort sort = order.equalsIgnoreCase("asc") ? Sort.by(Sort.Direction.ASC, "status") : Sort.by(Sort.Direction.DESC, "status");
-            List<TaskStatus> statuses = statusRepository.findAll(sort);
-            if (statuses.isEmpty()) {
-                logRepository.save(new Log(authEmployee, "Список статусов задач пуст", LocalDateTime.now()));
-                logger.info("Список статусов задач пуст, guid_employee={}", authEmployee.getGuidEmployee());
-                return List.of();
-            }
-
-            List<TaskStatusDTO> statusDTOs = statuses.stream()
-                    .map(s -> new TaskStatusDTO(s.getIdTaskStatus(), s.getStatus()))
-                    .collect(Collectors.toList());
-            logRepository.save(new Log(authEmployee, "Получен список статусов задач, количество: " + statuses.size() + ", сортировка: " + sortBy + ", порядок: " + order, LocalDateTime.now()));
-            logger.info("Успешно получен список статусов задач, количество: {}, sortBy={}, order={}, guid_employee={}",
-                    statuses.size(), sortBy, order, authEmployee.getGuidEmployee());
-            return statusDTOs;
+            DictionaryCache.Snapshot<TaskStatusDTO> snapshot = dictionaryCache.get(DICTIONARY, () ->
+                    statusRepository.findAll(Sort.by(Sort.Direction.ASC, "status")).stream()
+                            .map(s -> new TaskStatusDTO(s.getIdTaskStatus(), s.getStatus()))
+                            .toList()).ordered(order);
+            logger.debug("Получен список статусов задач, количество: {}, sortBy={}, order={}, guid_employee={}",
+                    snapshot.items().size(), sortBy, order, authEmployee.getGuidEmployee());
+            return snapshot;
         } catch (IllegalArgumentException e) {
             logger.error("Ошибка при получении списка статусов задач: {}, guid_employee={}", e.getMessage(), authEmployee.getGuidEmployee());
             throw e;
@@ -105,35 +107,31 @@ public class TaskStatusService {
         try {
             String statusName = statusDTO.getStatus().trim();
             if (!statusName.matches("^[a-zA-Zа-яА-ЯёЁ\\s-]*$")) {
-                logRepository.save(new Log(authEmployee, "Не удалось создать статус задачи: название содержит недопустимые символы", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Не удалось создать статус задачи: название содержит недопустимые символы", LocalDateTime.now()));
                 logger.error("Название статуса задачи содержит недопустимые символы: {}, guid_employee={}", statusName, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Название статуса задачи может содержать только буквы, пробелы и дефисы. Цифры и специальные символы запрещены.");
             }
 
             if (statusName.length() < 2 || statusName.length() > 40) {
-                logRepository.save(new Log(authEmployee, "Не удалось создать статус задачи: длина названия не соответствует требованиям", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Не удалось создать статус задачи: длина названия не соответствует требованиям", LocalDateTime.now()));
                 logger.error("Недопустимая длина названия статуса задачи: {}, guid_employee={}", statusName, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Название статуса задачи должно быть от 2 до 40 символов.");
             }
 
             if (statusRepository.existsByStatusIgnoreCase(statusName)) {
-                logRepository.save(new Log(authEmployee, "Не удалось создать статус задачи: статус с таким названием уже существует", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Не удалось создать статус задачи: статус с таким названием уже существует", LocalDateTime.now()));
                 logger.error("Статус задачи '{}' уже существует, guid_employee={}", statusName, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Статус задачи с таким названием уже существует. Пожалуйста, выберите другое название.");
             }
 
-            List<TaskStatus> allStatuses = statusRepository.findAll();
-            Optional<String> similarStatus = allStatuses.stream()
-                    .map(TaskStatus::getStatus)
-                    .filter(existingName -> stringSimilarity(existingName, statusName) >= 0.85)
-                    .findFirst();
+            Optional<String> similarStatus = similarityIndex.findMostSimilar(DICTIONARY, statusName, null);
 
             if (similarStatus.isPresent()) {
                 if (Boolean.TRUE.equals(forceCreate)) {
-                    logRepository.save(new Log(authEmployee, "Создан статус задачи с похожим названием: " + statusName + ", похож на: " + similarStatus.get(), LocalDateTime.now()));
+                    auditLogWriter.write(new Log(authEmployee, "Создан статус задачи с похожим названием: " + statusName + ", похож на: " + similarStatus.get(), LocalDateTime.now()));
                     logger.info("Создан статус задачи с похожим названием: {}, guid_employee={}", statusName, authEmployee.getGuidEmployee());
                 } else {
-                    logRepository.save(new Log(authEmployee,
+                    auditLogWriter.write(new Log(authEmployee,
                             "Попытка создать статус задачи с похожим названием: " + statusName + ", похоже на: " + similarStatus.get(),
                             LocalDateTime.now()));
                     logger.warn("Попытка создать статус задачи с похожим названием: {}, похоже на: {}, guid_employee={}",
@@ -150,7 +148,9 @@ public class TaskStatusService {
             TaskStatus status = new TaskStatus();
             status.setStatus(statusName);
             TaskStatus savedStatus = statusRepository.save(status);
-            logRepository.save(new Log(authEmployee, "Создан статус задачи: " + statusName, LocalDateTime.now()));
+            similarityIndex.put(DICTIONARY, savedStatus.getIdTaskStatus(), savedStatus.getStatus());
+            dictionaryCache.invalidate(DICTIONARY);
+            auditLogWriter.write(new Log(authEmployee, "Создан статус задачи: " + statusName, LocalDateTime.now()));
             logger.info("Успешно создан статус задачи: {}, guid_employee={}", statusName, authEmployee.getGuidEmployee());
             return new TaskStatusDTO(savedStatus.getIdTaskStatus(), savedStatus.getStatus());
         } catch (IllegalArgumentException e) {
@@ -185,46 +185,38 @@ public class TaskStatusService {
         try {
             Optional<TaskStatus> existing = statusRepository.findById(id);
             if (existing.isEmpty()) {
-                logRepository.save(new Log(authEmployee, "Не удалось обновить статус задачи: статус не найден (id " + id + ")", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Не удалось обновить статус задачи: статус не найден (id " + id + ")", LocalDateTime.now()));
                 logger.error("Статус задачи с id {} не найден, guid_employee={}", id, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Статус задачи с указанным идентификатором не найден.");
             }
 
             String statusName = statusDTO.getStatus().trim();
             if (!statusName.matches("^[a-zA-Zа-яА-ЯёЁ\\s-]*$")) {
-                logRepository.save(new Log(authEmployee, "Не удалось обновить статус задачи: название содержит недопустимые символы", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Не удалось обновить статус задачи: название содержит недопустимые символы", LocalDateTime.now()));
                 logger.error("Название статуса задачи содержит недопустимые символы: {}, guid_employee={}", statusName, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Название статуса задачи может содержать только буквы, пробелы и дефисы. Цифры и специальные символы запрещены.");
             }
 
             if (statusName.length() < 2 || statusName.length() > 40) {
-                logRepository.save(new Log(authEmployee, "Не удалось обновить статус задачи: длина названия не соответствует требованиям", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Не удалось обновить статус задачи: длина названия не соответствует требованиям", LocalDateTime.now()));
                 logger.error("Недопустимая длина названия статуса задачи: {}, guid_employee={}", statusName, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Название статуса задачи должно быть от 2 до 40 символов.");
             }
 
-            List<TaskStatus> allStatuses = statusRepository.findAll();
-            for (TaskStatus status : allStatuses) {
-                if (!status.getIdTaskStatus().equals(id)
-                        && status.getStatus().equalsIgnoreCase(statusName)) {
-                    logRepository.save(new Log(authEmployee, "Не удалось обновить статус задачи: статус с таким названием уже существует", LocalDateTime.now()));
-                    logger.error("Статус задачи '{}' уже существует, guid_employee={}", statusName, authEmployee.getGuidEmployee());
-                    throw new IllegalArgumentException("Статус задачи с таким названием уже существует. Пожалуйста, выберите другое название.");
-                }
+            if (statusRepository.existsByStatusIgnoreCaseAndIdTaskStatusNot(statusName, id)) {
+                auditLogWriter.write(new Log(authEmployee, "Не удалось обновить статус задачи: статус с таким названием уже существует", LocalDateTime.now()));
+                logger.error("Статус задачи '{}' уже существует, guid_employee={}", statusName, authEmployee.getGuidEmployee());
+                throw new IllegalArgumentException("Статус задачи с таким названием уже существует. Пожалуйста, выберите другое название.");
             }
 
-            Optional<String> similarStatus = allStatuses.stream()
-                    .filter(status -> !status.getIdTaskStatus().equals(id))
-                    .map(TaskStatus::getStatus)
-                    .filter(existingName -> stringSimilarity(existingName, statusName) >= 0.85)
-                    .findFirst();
+            Optional<String> similarStatus = similarityIndex.findMostSimilar(DICTIONARY, statusName, id);
 
             if (similarStatus.isPresent()) {
                 if (Boolean.TRUE.equals(forceUpdate)) {
-                    logRepository.save(new Log(authEmployee, "Обновлён статус задачи на похожее название: " + statusName + ", похоже на: " + similarStatus.get(), LocalDateTime.now()));
+                    auditLogWriter.write(new Log(authEmployee, "Обновлён статус задачи на похожее название: " + statusName + ", похоже на: " + similarStatus.get(), LocalDateTime.now()));
                     logger.info("Обновлён статус задачи на похожее название: {}, guid_employee={}", statusName, authEmployee.getGuidEmployee());
                 } else {
-                    logRepository.save(new Log(authEmployee,
+                    auditLogWriter.write(new Log(authEmployee,
                             "Попытка обновить статус задачи на похожее название: " + statusName + ", похоже на: " + similarStatus.get(),
                             LocalDateTime.now()));
                     logger.warn("Попытка обновления статуса задачи на похожее название: {}, похоже на: {}, guid_employee={}",
@@ -241,7 +233,9 @@ public class TaskStatusService {
             TaskStatus status = existing.get();
             status.setStatus(statusName);
             TaskStatus updatedStatus = statusRepository.save(status);
-            logRepository.save(new Log(authEmployee, "Обновлён статус задачи: " + statusName, LocalDateTime.now()));
+            similarityIndex.put(DICTIONARY, updatedStatus.getIdTaskStatus(), updatedStatus.getStatus());
+            dictionaryCache.invalidate(DICTIONARY);
+            auditLogWriter.write(new Log(authEmployee, "Обновлён статус задачи: " + statusName, LocalDateTime.now()));
             logger.info("Успешно обновлён статус задачи: {}, guid_employee={}", statusName, authEmployee.getGuidEmployee());
             return new TaskStatusDTO(updatedStatus.getIdTaskStatus(), updatedStatus.getStatus());
         } catch (IllegalArgumentException e) {
@@ -274,7 +268,7 @@ public class TaskStatusService {
         try {
             Optional<TaskStatus> existing = statusRepository.findById(id);
             if (existing.isEmpty()) {
-                logRepository.save(new Log(authEmployee, "Не удалось удалить статус задачи: статус не найден (id " + id + ")", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Не удалось удалить статус задачи: статус не найден (id " + id + ")", LocalDateTime.now()));
                 logger.error("Статус задачи с id {} не найден, guid_employee={}", id, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Статус задачи с указанным идентификатором не найден.");
             }
@@ -282,14 +276,16 @@ public class TaskStatusService {
             TaskStatus taskStatus = existing.get();
             boolean isUsed = taskRepository.existsByTaskStatus(taskStatus);
             if (isUsed) {
-                logRepository.save(new Log(authEmployee, "Не удалось удалить статус задачи: статус задачи используется в задачах (id " + id + ")", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Не удалось удалить статус задачи: статус задачи используется в задачах (id " + id + ")", LocalDateTime.now()));
                 logger.error("Статус задачи с id {} используется задачей, guid_employee={}", id, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Невозможно удалить статус задачи, так как он используется в задачах.");
             }
 
             statusRepository.deleteById(id);
             statusRepository.flush();
-            logRepository.save(new Log(authEmployee, "Удалён статус задачи с id: " + id, LocalDateTime.now()));
+            similarityIndex.remove(DICTIONARY, id);
+            dictionaryCache.invalidate(DICTIONARY);
+            auditLogWriter.write(new Log(authEmployee, "Удалён статус задачи с id: " + id, LocalDateTime.now()));
             logger.info("Успешно удалён статус задачи с id: {}, guid_employee={}", id, authEmployee.getGuidEmployee());
         } catch (org.springframework.dao.DataIntegrityViolationException e) {
             logger.error("Нарушение целостности данных при удалении статуса задачи с id {}: {}, guid_employee={}", id, e.getMessage(), authEmployee.getGuidEmployee());
@@ -302,45 +298,4 @@ public class TaskStatusService {
             throw new IllegalArgumentException("Произошла непредвиденная ошибка при удалении статуса задачи. Пожалуйста, попробуйте позже.", e);
         }
     }
-
-    /**
-     * Возвращает степень схожести между двумя строками.
-     * Алгоритм основан на расстоянии Левенштейна.
-     *
-     * @param s1 Первая строка.
-     * @param s2 Вторая строка.
-     * @return Коэффициент схожести.
-     */
-    public static double stringSimilarity(String s1, String s2) {
-        s1 = s1.trim().toLowerCase();
-        s2 = s2.trim().toLowerCase();
-        if (s1.equals(s2)) return 1.0;
-        int maxLen = Math.max(s1.length(), s2.length());
-        if (maxLen == 0) return 1.0;
-        int dist = levenshteinDistance(s1, s2);
-        return 1.0 - (double) dist / maxLen;
-    }
-
-    /**
-     * Вычисляет расстояние Левенштейна между двумя строками.
-     *
-     * @param s1 Первая строка.
-     * @param s2 Вторая строка.
-     * @return Расстояние Левенштейна.
-     */
-    private static int levenshteinDistance(String s1, String s2) {
-        int[] costs = new int[s2.length() + 1];
-        for (int j = 0; j < costs.length; j++)
-            costs[j] = j;
-        for (int i = 1; i <= s1.length(); i++) {
-            costs[0] = i;
-            int nw = i - 1;
-            for (int j = 1; j <= s2.length(); j++) {
-                int cj = Math.min(1 + Math.min(costs[j], costs[j - 1]), s1.charAt(i - 1) == s2.charAt(j - 1) ? nw : nw + 1);
-                nw = costs[j];
-                costs[j] = cj;
-            }
-        }
-        return costs[s2.length()];
-    }
-}
\ No newline at end of file
+}
@@ -11,7 +11,6 @@ import plantime.ru.API.entity.EmployeeDepartment;
 import plantime.ru.API.entity.Log;
 import plantime.ru.API.entity.TaskType;
 import plantime.ru.API.repository.TaskTypeRepository;
-import plantime.ru.API.repository.LogRepository;
 import plantime.ru.API.repository.TaskRepository;
 
 import java.time.LocalDateTime;
@@ -28,15 +27,22 @@ import java.util.stream.Collectors;
 public class TaskTypeService {
 
     private final TaskTypeRepository taskTypeRepository;
-    private final LogRepository logRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final SimilarityIndex similarityIndex;
+    private final DictionaryCache dictionaryCache;
 
     private final TaskRepository taskRepository;
     private static final Logger logger = LoggerFactory.getLogger(TaskTypeService.class);
+    private static final String DICTIONARY = "task_type";
 
-    public TaskTypeService(TaskTypeRepository taskTypeRepository, LogRepository logRepository, TaskRepository taskRepository) {
+    public TaskTypeService(TaskTypeRepository taskTypeRepository, AuditLogWriter auditLogWriter, TaskRepository taskRepository, SimilarityIndex similarityIndex, DictionaryCache dictionaryCache) {
         this.taskTypeRepository = taskTypeRepository;
-        this.logRepository = logRepository;
+        this.auditLogWriter = auditLogWriter;
         this.taskRepository = taskRepository;
+        this.similarityIndex = similarityIndex;
+        this.dictionaryCache = dictionaryCache;
+        similarityIndex.register(DICTIONARY, () -> taskTypeRepository.findAll().stream()
+                .collect(Collectors.toMap(TaskType::getIdTaskType, TaskType::getType)));
     }
 
     /**
@@ -45,38 +51,30 @@ public class TaskTypeService {
      * @param authEmployee Аутентифицированный сотрудник.
      * @param sortBy       Поле сортировки.
      * @param order        Порядок сортировки.
-     * @return Список DTO типов задач.
+     * @return Список DTO типов задач и версия для ETag.
      * @throws IllegalArgumentException Если параметры сортировки некорректны.
      */
-    public List<TaskTypeDTO> getAllTaskTypes(Employee authEmployee, String sortBy, String order) {
+    public DictionaryCache.Snapshot<TaskTypeDTO> getAllTaskTypes(Employee authEmployee, String sortBy, String order) {
         try {
             if (!sortBy.equals("type")) {
-                logRepository.save(new Log(authEmployee, "Недопустимое поле сортировки: " + sortBy, LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Недопустимое поле сортировки: " + sortBy, LocalDateTime.now()));
                 logger.error("Недопустимое поле сортировки: {}, guid_employee={}", sortBy, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Сортировка возможна только по полю «Название типа задачи».");
             }
 
             if (!order.equalsIgnoreCase("asc") && !order.equalsIgnoreCase("desc")) {
-                logRepository.save(new Log(authEmployee, "Недопустимый порядок сортировки: " + order, LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Недопустимый порядок сортировки: " + order, LocalDateTime.now()));
                 logger.error("Недопустимый порядок сортировки: {}, guid_employee={}", order, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Порядок сортировки должен быть «asc» или «desc».");
             }
 
-            Sort sort = order.equalsIgnoreCase("asc") ? Sort.by(Sort.Direction.ASC, "type") : Sort.by(Sort.Direction.DESC, "type");
-            List<TaskType> types = taskTypeRepository.findAll(sort);
-            if (types.isEmpty()) {
-                logRepository.save(new Log(authEmployee, "Список типов задач пуст", LocalDateTime.now()));
-                logger.info("Список типов задач пуст, guid_employee={}", authEmployee.getGuidEmployee());
-                return List.of();
-            }
-
-            List<TaskTypeDTO> dtoList = types.stream()
-                    .map(tt -> new TaskTypeDTO(tt.getIdTaskType(), tt.getType()))
-                    .collect(Collectors.toList());
-            logRepository.save(new Log(authEmployee, "Получен список типов задач, количество: " + types.size() + ", сортировка: " + sortBy + ", порядок: " + order, LocalDateTime.now()));
-            logger.info("Успешно получен список типов задач, количество: {}, sortBy={}, order={}, guid_employee={}",
-                    types.size(), sortBy, order, authEmployee.getGuidEmployee());
-            return dtoList;
+            DictionaryCache.Snapshot<TaskTypeDTO> snapshot = dictionaryCache.get(DICTIONARY, () ->
+                    taskTypeRepository.findAll(Sort.by(Sort.Direction.ASC, "type")).stream()
+                            .map(tt -> new TaskTypeDTO(tt.getIdTaskType(), tt.getType()))
+                            .toList()).ordered(order);
+            logger.debug("Получен список типов задач, количество: {}, sortBy={}, order={}, guid_employee={}",
+                    snapshot.items().size(), sortBy, order, authEmployee.getGuidEmployee());
+            return snapshot;
         } catch (IllegalArgumentException e) {
             logger.error("Ошибка при получении списка типов задач: {}, guid_employee={}", e.getMessage(), authEmployee.getGuidEmployee());
             throw e;
@@ -100,35 +98,31 @@ public class TaskTypeService {
         try {
             String typeName = taskTypeDTO.getType().trim();
             if (!typeName.matches("^[a-zA-Zа-яА-ЯёЁ\\s-]*$")) {
-                logRepository.save(new Log(authEmployee, "Не удалось создать тип задачи: название содержит недопустимые символы", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Не удалось создать тип задачи: название содержит недопустимые символы", LocalDateTime.now()));
                 logger.error("Название типа задачи содержит недопустимые символы: {}, guid_employee={}", typeName, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Название типа задачи может содержать только буквы, пробелы и дефисы. Цифры и специальные символы запрещены.");
             }
 
             if (typeName.length() < 2 || typeName.length() > 20) {
-                logRepository.save(new Log(authEmployee, "Не удалось создать тип задачи: длина названия не соответствует требованиям", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Не удалось создать тип задачи: длина названия не соответствует требованиям", LocalDateTime.now()));
                 logger.error("Недопустимая длина названия типа задачи: {}, guid_employee={}", typeName, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Название типа задачи должно быть от 2 до 20 символов.");
             }
 
             if (taskTypeRepository.existsByTypeIgnoreCase(typeName)) {
-                logRepository.save(new Log(authEmployee, "Не удалось создать тип задачи: тип с таким названием уже существует", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Не удалось создать тип задачи: тип с таким названием уже существует", LocalDateTime.now()));
                 logger.error("Тип задачи '{}' уже существует, guid_employee={}", typeName, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Тип задачи с таким названием уже существует. Пожалуйста, выберите другое название.");
             }
 
-            List<TaskType> allTypes = taskTypeRepository.findAll();
-            Optional<String> similarType = allTypes.stream()
-                    .map(TaskType::getType)
-                    .filter(existingName -> stringSimilarity(existingName, typeName) >= 0.85)
-                    .findFirst();
+            Optional<String> similarType = similarityIndex.findMostSimilar(DICTIONARY, typeName, null);
 
             if (similarType.isPresent()) {
                 if (Boolean.TRUE.equals(forceCreate)) {
-                    logRepository.save(new Log(authEmployee, "Создан тип задачи с похожим названием: " + typeName + ", похож на: " + similarType.get(), LocalDateTime.now()));
+                    auditLogWriter.write(new Log(authEmployee, "Создан тип задачи с похожим названием: " + typeName + ", похож на: " + similarType.get(), LocalDateTime.now()));
                     logger.info("Создан тип задачи с похожим названием: {}, guid_employee={}", typeName, authEmployee.getGuidEmployee());
                 } else {
-                    logRepository.save(new Log(authEmployee,
+                    auditLogWriter.write(new Log(authEmployee,
                             "Попытка создать тип задачи с похожим названием: " + typeName + ", похоже на: " + similarType.get(),
                             LocalDateTime.now()));
                     logger.warn("Попытка создать тип задачи с похожим названием: {}, похоже на: {}, guid_employee={}",
@@ -145,7 +139,9 @@ public class TaskTypeService {
             TaskType type = new TaskType();
             type.setType(typeName);
             TaskType savedType = taskTypeRepository.save(type);
-            logRepository.save(new Log(authEmployee, "Создан тип задачи: " + typeName, LocalDateTime.now()));
+            similarityIndex.put(DICTIONARY, savedType.getIdTaskType(), savedType.getType());
+            dictionaryCache.invalidate(DICTIONARY);
+            auditLogWriter.write(new Log(authEmployee, "Создан тип задачи: " + typeName, LocalDateTime.now()));
             logger.info("Успешно создан тип задачи: {}, guid_employee={}", typeName, authEmployee.getGuidEmployee());
             return new TaskTypeDTO(savedType.getIdTaskType(), savedType.getType());
         } catch (IllegalArgumentException e) {
@@ -180,46 +176,38 @@ public class TaskTypeService {
         try {
             Optional<TaskType> existing = taskTypeRepository.findById(id);
             if (existing.isEmpty()) {
-                logRepository.save(new Log(authEmployee, "Не удалось обновить тип задачи: тип не найден (id " + id + ")", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Не удалось обновить тип задачи: тип не найден (id " + id + ")", LocalDateTime.now()));
                 logger.error("Тип задачи с id {} не найден, guid_employee={}", id, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Тип задачи с указанным идентификатором не найден.");
             }
 
             String typeName = taskTypeDTO.getType().trim();
             if (!typeName.matches("^[a-zA-Zа-яА-ЯёЁ\\s-]*$")) {
-                logRepository.save(new Log(authEmployee, "Не удалось обновить тип задачи: название содержит недопустимые символы", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Не удалось обновить тип задачи: название содержит недопустимые символы", LocalDateTime.now()));
                 logger.error("Название типа задачи содержит недопустимые символы: {}, guid_employee={}", typeName, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Название типа задачи может содержать только буквы, пробелы и дефисы. Цифры и специальные символы запрещены.");
             }
 
             if (typeName.length() < 2 || typeName.length() > 20) {
-                logRepository.save(new Log(authEmployee, "Не удалось обновить тип задачи: длина названия не соответствует требованиям", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Не удалось обновить тип задачи: длина названия не соответствует требованиям", LocalDateTime.now()));
                 logger.error("Недопустимая длина названия типа задачи: {}, guid_employee={}", typeName, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Название типа задачи должно быть от 2 до 20 символов.");
             }
 
-            List<TaskType> allTypes = taskTypeRepository.findAll();
-            for (TaskType type : allTypes) {
-                if (!type.getIdTaskType().equals(id)
-                        && type.getType().equalsIgnoreCase(typeName)) {
-                    logRepository.save(new Log(authEmployee, "Не удалось обновить тип задачи: тип с таким названием уже существует", LocalDateTime.now()));
-                    logger.error("Тип задачи '{}' уже существует, guid_employee={}", typeName, authEmployee.getGuidEmployee());
-                    throw new IllegalArgumentException("Тип задачи с таким названием уже существует. Пожалуйста, выберите другое название.");
-                }
+            if (taskTypeRepository.existsByTypeIgnoreCaseAndIdTaskTypeNot(typeName, id)) {
+                auditLogWriter.write(new Log(authEmployee, "Не удалось обновить тип задачи: тип с таким названием уже существует", LocalDateTime.now()));
+                logger.error("Тип задачи '{}' уже существует, guid_employee={}", typeName, authEmployee.getGuidEmployee());
+                throw new IllegalArgumentException("Тип задачи с таким названием уже существует. Пожалуйста, выберите другое название.");
             }
 
-            Optional<String> similarType = allTypes.stream()
-                    .filter(type -> !type.getIdTaskType().equals(id))
-                    .map(TaskType::getType)
-                    .filter(existingName -> stringSimilarity(existingName, typeName) >= 0.85)
-                    .findFirst();
+            Optional<String> similarType = similarityIndex.findMostSimilar(DICTIONARY, typeName, id);
 
             if (similarType.isPresent()) {
                 if (Boolean.TRUE.equals(forceUpdate)) {
-                    logRepository.save(new Log(authEmployee, "Обновлён тип задачи на похожее название: " + typeName + ", похоже на: " + similarType.get(), LocalDateTime.now()));
+                    auditLogWriter.write(new Log(authEmployee, "Обновлён тип задачи на похожее название: " + typeName + ", похоже на: " + similarType.get(), LocalDateTime.now()));
                     logger.info("Обновлён тип задачи на похожее название: {}, guid_employee={}", typeName, authEmployee.getGuidEmployee());
                 } else {
-                    logRepository.save(new Log(authEmployee,
+                    auditLogWriter.write(new Log(authEmployee,
                             "Попытка обновить тип задачи на похожее название: " + typeName + ", похоже на: " + similarType.get(),
                             LocalDateTime.now()));
                     logger.warn("Попытка обновления типа задачи на похожее название: {}, похоже на: {}, guid_employee={}",
@@ -236,7 +224,9 @@ public class TaskTypeService {
             TaskType type = existing.get();
             type.setType(typeName);
             TaskType updatedType = taskTypeRepository.save(type);
-            logRepository.save(new Log(authEmployee, "Обновлён тип задачи: " + typeName, LocalDateTime.now()));
+            similarityIndex.put(DICTIONARY, updatedType.getIdTaskType(), updatedType.getType());
+            dictionaryCache.invalidate(DICTIONARY);
+            auditLogWriter.write(new Log(authEmployee, "Обновлён тип задачи: " + typeName, LocalDateTime.now()));
             logger.info("Успешно обновлён тип задачи: {}, guid_employee={}", typeName, authEmployee.getGuidEmployee());
             return new TaskTypeDTO(updatedType.getIdTaskType(), updatedType.getType());
         } catch (IllegalArgumentException e) {
@@ -269,7 +259,7 @@ public class TaskTypeService {
         try {
             Optional<TaskType> existing = taskTypeRepository.findById(id);
             if (existing.isEmpty()) {
-                logRepository.save(new Log(authEmployee, "Не удалось удалить тип задачи: тип не найден (id " + id + ")", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Не удалось удалить тип задачи: тип не найден (id " + id + ")", LocalDateTime.now()));
                 logger.error("Тип задачи с id {} не найден, guid_employee={}", id, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Тип задачи с указанным идентификатором не найден.");
             }
@@ -277,14 +267,16 @@ public class TaskTypeService {
             TaskType taskType = existing.get();
             boolean isUsed = taskRepository.existsByTaskType(taskType);
             if (isUsed) {
-                logRepository.save(new Log(authEmployee, "Не удалось удалить тип задачи: тип задачи используется в задачах (id " + id + ")", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Не удалось удалить тип задачи: тип задачи используется в задачах (id " + id + ")", LocalDateTime.now()));
                 logger.error("Тип задачи с id {} используется задачей, guid_employee={}", id, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Невозможно удалить тип задачи, так как он используется в задачах.");
             }
 
             taskTypeRepository.deleteById(id);
             taskTypeRepository.flush();
-            logRepository.save(new Log(authEmployee, "Удалён тип задачи с id: " + id, LocalDateTime.now()));
+            similarityIndex.remove(DICTIONARY, id);
+            dictionaryCache.invalidate(DICTIONARY);
+            auditLogWriter.write(new Log(authEmployee, "Удалён тип задачи с id: " + id, LocalDateTime.now()));
             logger.info("Успешно удалён тип задачи с id: {}, guid_employee={}", id, authEmployee.getGuidEmployee());
         } catch (org.springframework.dao.DataIntegrityViolationException e) {
             logger.error("Нарушение целостности данных при удалении типа задачи с id {}: {}, guid_employee={}", id, e.getMessage(), authEmployee.getGuidEmployee());
@@ -297,45 +289,4 @@ public class TaskTypeService {
             throw new IllegalArgumentException("Не удалось удалить тип задачи", e);
         }
     }
-
-    /**
-     * Возвращает степень схожести между двумя строками.
-     * Алгоритм основан на расстоянии Левенштейна.
-     *
-     * @param s1 Первая строка.
-     * @param s2 Вторая строка.
-     * @return Коэффициент схожести.
-     */
-    public static double stringSimilarity(String s1, String s2) {
-        s1 = s1.trim().toLowerCase();
-        s2 = s2.trim().toLowerCase();
-        if (s1.equals(s2)) return 1.0;
-        int maxLen = Math.max(s1.length(), s2.length());
-        if (maxLen == 0) return 1.0;
-        int dist = levenshteinDistance(s1, s2);
-        return 1.0 - (double) dist / maxLen;
-    }
-
-    /**
-     * Вычисляет расстояние Левенштейна между двумя строками.
-     *
-     * @param s1 Первая строка.
-     * @param s2 Вторая строка.
-     * @return Расстояние Левенштейна.
-     */
-    private static int levenshteinDistance(String s1, String s2) {
-        int[] costs = new int[s2.length() + 1];
-        for (int j = 0; j < costs.length; j++)
-            costs[j] = j;
-        for (int i = 1; i <= s1.length(); i++) {
-            costs[0] = i;
-            int nw = i - 1;
-            for (int j = 1; j <= s2.length(); j++) {
-                int cj = Math.min(1 + Math.min(costs[j], costs[j - 1]), s1.charAt(i - 1) == s2.charAt(j - 1) ? nw : nw + 1);
-                nw = costs[j];
-                costs[j] = cj;
-            }
-        }
-        return costs[s2.length()];
-    }
-}
\ No newline at end of file
+}
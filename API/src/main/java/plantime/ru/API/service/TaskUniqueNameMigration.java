@@ -0,0 +1,148 @@
+package plantime.ru.API.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Однократная миграция уникального индекса uk_task_executor_name (guid_executor, task_name).
+ * <p>
+ * {@code spring.jpa.hibernate.ddl-auto=update} не может добавить индекс в базу, где у исполнителя уже есть
+ * задачи с одинаковым названием: ошибка ALTER TABLE лишь записывается в лог. Тогда при запуске:
+ * <ul>
+ *     <li>по умолчанию данные не меняются — создаётся обычный (неуникальный) индекс idx_task_executor_name,
+ *     чтобы проверка дубликата перед сохранением шла по индексу, а в лог выводится число задач-дубликатов;</li>
+ *     <li>при {@code tasks.unique-name-migration.rename-duplicates=true} повторяющиеся задачи (кроме самой ранней)
+ *     переименовываются с добавлением « (#id)», после чего создаётся уникальный индекс. Свойство включается
+ *     на один запуск и затем выключается; при {@code dry-run=true} переименования только выводятся в лог.</li>
+ * </ul>
+ */
+@Component
+public class TaskUniqueNameMigration {
+
+    /**
+     * Имя уникального индекса.
+     */
+    static final String CONSTRAINT = "uk_task_executor_name";
+
+    /**
+     * Имя обычного индекса, создаваемого, пока уникальный индекс не добавлен.
+     */
+    static final String PLAIN_INDEX = "idx_task_executor_name";
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskUniqueNameMigration.class);
+    private static final int TASK_NAME_LENGTH = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Переименовывать ли задачи-дубликаты ради уникального индекса (однократная миграция, по умолчанию выключена).
+     */
+    @Value("${tasks.unique-name-migration.rename-duplicates:false}")
+    private boolean renameDuplicates;
+
+    /**
+     * Только вывести в лог задачи, которые были бы переименованы, ничего не меняя.
+     */
+    @Value("${tasks.unique-name-migration.dry-run:false}")
+    private boolean dryRun;
+
+    public TaskUniqueNameMigration(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Создаёт уникальный индекс, если дубликатов нет или включено их переименование; иначе — обычный индекс.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        try {
+            if (indexExists(CONSTRAINT)) {
+                return;
+            }
+            List<Map<String, Object>> duplicates = findDuplicates(false);
+            if (duplicates.isEmpty()) {
+                addUniqueIndex();
+                logger.info("Создан уникальный индекс {}", CONSTRAINT);
+                return;
+            }
+            if (!renameDuplicates || dryRun) {
+                for (Map<String, Object> row : duplicates) {
+                    logger.warn("Задача id={} повторяет название «{}» у того же исполнителя{}", row.get("id_task"),
+                            row.get("task_name"), dryRun ? ": будет переименована в «" + renamed(row) + "»" : "");
+                }
+                logger.warn("Уникальный индекс {} не создан: задач-дубликатов {}. Для однократного переименования "
+                        + "включите tasks.unique-name-migration.rename-duplicates", CONSTRAINT, duplicates.size());
+                addPlainIndex();
+                return;
+            }
+            int renamed = transactionTemplate.execute(status -> renameDuplicates());
+            // DDL в MySQL фиксирует транзакцию неявно, поэтому выполняется отдельно от переименования
+            addUniqueIndex();
+            logger.info("Создан уникальный индекс {}: переименовано задач-дубликатов {}", CONSTRAINT, renamed);
+        } catch (Exception e) {
+            logger.error("Не удалось создать индекс по исполнителю и названию задачи: {}", e.getMessage());
+        }
+    }
+
+    private boolean indexExists(String name) {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.statistics " +
+                        "WHERE table_schema = DATABASE() AND table_name = 'task' AND index_name = ?",
+                Integer.class, name);
+        return existing != null && existing > 0;
+    }
+
+    private void addUniqueIndex() {
+        jdbcTemplate.execute("ALTER TABLE task ADD CONSTRAINT " + CONSTRAINT + " UNIQUE (guid_executor, task_name)");
+        if (indexExists(PLAIN_INDEX)) {
+            // Уникальный индекс покрывает те же столбцы
+            jdbcTemplate.execute("DROP INDEX " + PLAIN_INDEX + " ON task");
+        }
+    }
+
+    private void addPlainIndex() {
+        if (!indexExists(PLAIN_INDEX)) {
+            jdbcTemplate.execute("CREATE INDEX " + PLAIN_INDEX + " ON task (guid_executor, task_name)");
+            logger.info("Создан индекс {} для проверки дубликатов задач", PLAIN_INDEX);
+        }
+    }
+
+    private List<Map<String, Object>> findDuplicates(boolean lock) {
+        return jdbcTemplate.queryForList(
+                "SELECT t.id_task, t.task_name FROM task t " +
+                        "JOIN (SELECT guid_executor, task_name, MIN(id_task) AS keep_id FROM task " +
+                        "GROUP BY guid_executor, task_name HAVING COUNT(*) > 1) d " +
+                        "ON t.guid_executor = d.guid_executor AND t.task_name = d.task_name AND t.id_task <> d.keep_id " +
+                        "ORDER BY t.id_task" + (lock ? " FOR UPDATE" : ""));
+    }
+
+    private int renameDuplicates() {
+        List<Map<String, Object>> duplicates = findDuplicates(true);
+        for (Map<String, Object> row : duplicates) {
+            Number id = (Number) row.get("id_task");
+            jdbcTemplate.update("UPDATE task SET task_name = ? WHERE id_task = ?", renamed(row), id);
+            logger.warn("Задача id={} переименована: у исполнителя уже есть задача «{}»", id, row.get("task_name"));
+        }
+        return duplicates.size();
+    }
+
+    private static String renamed(Map<String, Object> row) {
+        String name = (String) row.get("task_name");
+        String suffix = " (#" + row.get("id_task") + ")";
+        String base = name.length() + suffix.length() > TASK_NAME_LENGTH
+                ? name.substring(0, TASK_NAME_LENGTH - suffix.length()) : name;
+        return base + suffix;
+    }
+}
@@ -0,0 +1,238 @@
+package plantime.ru.API.service;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * Инвертированный индекс в памяти для поиска по мере ввода.
+ * <p>
+ * Тексты записи нормализуются ({@link #normalize}) и разбиваются на слова. Слова хранятся в отсортированном
+ * словаре для поиска по префиксу, их триграммы — в списках записей для поиска по вхождению в середину слова.
+ * Каждое слово запроса должно совпасть хотя бы с одним словом записи; релевантность — сумма весов
+ * лучших совпадений: слово целиком, префикс слова, вхождение.
+ *
+ * @param <K> Тип идентификатора записи.
+ * @param <V> Данные записи, по которым фильтруются и упорядочиваются результаты с равной релевантностью.
+ */
+final class TextSearchIndex<K, V> {
+
+    static final int EXACT = 3;
+    static final int PREFIX = 2;
+    static final int INFIX = 1;
+
+    /**
+     * Найденная запись.
+     */
+    record Hit<K, V>(K key, V value, int score) {
+    }
+
+    /**
+     * Страница результатов и общее число совпадений.
+     */
+    record Result<K, V>(List<Hit<K, V>> hits, int total) {
+    }
+
+    private record Doc<V>(V value, Set<String> words) {
+    }
+
+    private final Comparator<Hit<K, V>> order;
+    private final Map<K, Doc<V>> docs = new HashMap<>();
+    private final NavigableMap<String, Set<K>> words = new TreeMap<>();
+    private final Map<String, Set<K>> grams = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * @param order Порядок записей с равной релевантностью.
+     */
+    TextSearchIndex(Comparator<V> order) {
+        this.order = Comparator.<Hit<K, V>>comparingInt(Hit::score).reversed()
+                .thenComparing(Hit::value, order);
+    }
+
+    /**
+     * Добавляет запись или заменяет существующую.
+     *
+     * @param key   Идентификатор записи.
+     * @param value Данные записи.
+     * @param texts Тексты, по которым запись ищется (null пропускаются).
+     */
+    void put(K key, V value, String... texts) {
+        Set<String> tokens = new HashSet<>();
+        for (String text : texts) {
+            tokens.addAll(tokenize(text));
+        }
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+            docs.put(key, new Doc<>(value, tokens));
+            for (String word : tokens) {
+                words.computeIfAbsent(word, w -> new HashSet<>()).add(key);
+                for (String gram : trigrams(word)) {
+                    grams.computeIfAbsent(gram, g -> new HashSet<>()).add(key);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(K key) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ищет записи, содержащие все слова запроса.
+     *
+     * @param query  Строка запроса.
+     * @param filter Дополнительный отбор по данным записи или null.
+     * @param offset Сколько первых результатов пропустить.
+     * @param limit  Максимальное количество результатов.
+     * @return Результаты по убыванию релевантности и общее число совпадений.
+     */
+    Result<K, V> search(String query, Predicate<V> filter, int offset, int limit) {
+        // Длинные слова запроса обычно избирательнее: с них начинаем, остальные только проверяются на кандидатах
+        List<String> terms = tokenize(query).stream().distinct()
+                .sorted(Comparator.comparingInt(String::length).reversed()).toList();
+        if (terms.isEmpty()) {
+            return new Result<>(List.of(), 0);
+        }
+        List<Hit<K, V>> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Map<K, Integer> scores = null;
+            for (String term : terms) {
+                Set<K> candidates = candidates(term);
+                Map<K, Integer> next = new HashMap<>();
+                for (K key : scores == null ? candidates : scores.keySet()) {
+                    if (scores != null && !candidates.contains(key)) {
+                        continue;
+                    }
+                    int score = score(docs.get(key).words(), term);
+                    if (score > 0) {
+                        next.put(key, (scores == null ? 0 : scores.get(key)) + score);
+                    }
+                }
+                scores = next;
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+            scores.forEach((key, score) -> {
+                V value = docs.get(key).value();
+                if (filter == null || filter.test(value)) {
+                    hits.add(new Hit<>(key, value, score));
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        hits.sort(order);
+        int from = Math.min(offset, hits.size());
+        int to = (int) Math.min((long) from + limit, hits.size());
+        return new Result<>(new ArrayList<>(hits.subList(from, to)), hits.size());
+    }
+
+    /**
+     * Приводит текст к виду, в котором он хранится в индексе: нижний регистр, «ё» → «е»,
+     * всё, кроме букв и цифр, — разделитель слов.
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.toLowerCase(Locale.ROOT).replace('ё', 'е').replaceAll("[^\\p{L}\\p{Nd}]+", " ").trim();
+    }
+
+    static List<String> tokenize(String text) {
+        String normalized = normalize(text);
+        return normalized.isEmpty() ? List.of() : List.of(normalized.split(" "));
+    }
+
+    private Set<K> candidates(String term) {
+        if (term.length() < 3) {
+            // Одна-две буквы ищутся только как начало слова: вхождение в середину по ним даёт лишь шум
+            Set<K> result = new HashSet<>();
+            for (Set<K> keys : words.subMap(term, true, term + Character.MAX_VALUE, false).values()) {
+                result.addAll(keys);
+            }
+            return result;
+        }
+        List<Set<K>> postings = new ArrayList<>();
+        for (String gram : trigrams(term)) {
+            Set<K> keys = grams.get(gram);
+            if (keys == null) {
+                return Set.of();
+            }
+            postings.add(keys);
+        }
+        // Пересечение начинается с самого короткого списка; совпадение триграмм проверяется затем в score
+        postings.sort(Comparator.comparingInt(Set::size));
+        Set<K> result = new HashSet<>(postings.get(0));
+        for (int i = 1; i < postings.size() && !result.isEmpty(); i++) {
+            result.retainAll(postings.get(i));
+        }
+        return result;
+    }
+
+    private static int score(Set<String> words, String term) {
+        int best = 0;
+        for (String word : words) {
+            if (word.equals(term)) {
+                return EXACT;
+            }
+            if (word.startsWith(term)) {
+                best = PREFIX;
+            } else if (best == 0 && term.length() >= 3 && word.contains(term)) {
+                best = INFIX;
+            }
+        }
+        return best;
+    }
+
+    private static Set<String> trigrams(String word) {
+        if (word.length() < 3) {
+            return Set.of();
+        }
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + 3 <= word.length(); i++) {
+            result.add(word.substring(i, i + 3));
+        }
+        return result;
+    }
+
+    private void removeLocked(K key) {
+        Doc<V> doc = docs.remove(key);
+        if (doc == null) {
+            return;
+        }
+        for (String word : doc.words()) {
+            detach(words, word, key);
+            for (String gram : trigrams(word)) {
+                detach(grams, gram, key);
+            }
+        }
+    }
+
+    private static <K> void detach(Map<String, Set<K>> postings, String token, K key) {
+        Set<K> keys = postings.get(token);
+        if (keys != null && keys.remove(key) && keys.isEmpty()) {
+            postings.remove(token);
+        }
+    }
+}
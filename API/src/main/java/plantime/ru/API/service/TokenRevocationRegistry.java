@@ -0,0 +1,160 @@
+package plantime.ru.API.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Реестр отозванных JWT-токенов для режима проверки без обращения к таблице session
+ * ({@code auth.verification-mode=stateless}).
+ * <p>
+ * Отозванные идентификаторы токенов (claim {@code jti}) хранятся в фильтре Блума из двух поколений:
+ * поколение сменяется раз в срок жизни токена, поэтому записи о давно истёкших токенах вытесняются.
+ * Ложное срабатывание фильтра приводит лишь к отказу в доступе по действующему токену (пользователь входит заново),
+ * отозванный токен фильтр не пропустит никогда.
+ * <p>
+ * Токены, выданные до запуска приложения, принимаются только если их {@code jti} есть среди действующих
+ * сессий на момент запуска — так при перезапуске восстанавливается информация об отзывах, сделанных ранее.
+ * Пока этот список не построен, такие токены проверяются по таблице session ({@link #needsSessionCheck}).
+ * Реестр хранится в памяти процесса и рассчитан на работу одного экземпляра API.
+ */
+@Component
+public class TokenRevocationRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationRegistry.class);
+
+    private final int bloomBits;
+    private final int bloomHashes;
+    private final long generationMillis;
+    private final long startedAtSeconds = System.currentTimeMillis() / 1000;
+
+    private BitSet current;
+    private BitSet previous;
+    private long currentCreatedAt;
+    private volatile Set<String> startupTokenIds;
+    private final AtomicLong revokedCount = new AtomicLong();
+
+    public TokenRevocationRegistry(@Value("${auth.revocation.bloom-bits:1048576}") int bloomBits,
+                                   @Value("${auth.revocation.bloom-hashes:7}") int bloomHashes,
+                                   @Value("${jwt.expiration:86400000}") long jwtExpiration) {
+        this.bloomBits = bloomBits;
+        this.bloomHashes = bloomHashes;
+        this.generationMillis = jwtExpiration;
+        this.current = new BitSet(bloomBits);
+        this.previous = new BitSet(bloomBits);
+        this.currentCreatedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Задаёт идентификаторы токенов, действующих на момент запуска (по таблице session).
+     *
+     * @param tokenIds Идентификаторы {@code jti} действующих сессий.
+     */
+    public void initialize(Collection<String> tokenIds) {
+        startupTokenIds = new HashSet<>(tokenIds);
+        logger.info("Реестр отзыва токенов восстановлен: действующих сессий на момент запуска {}", tokenIds.size());
+    }
+
+    /**
+     * Отзывает токен.
+     *
+     * @param tokenId Идентификатор {@code jti} токена.
+     */
+    public synchronized void revoke(String tokenId) {
+        for (int index : indexes(tokenId)) {
+            current.set(index);
+        }
+        revokedCount.incrementAndGet();
+    }
+
+    /**
+     * Проверяет, нужно ли проверить токен по таблице session: токен выпущен до запуска,
+     * а список действующих на момент запуска сессий ещё не построен.
+     *
+     * @param issuedAtMillis Время выпуска токена (claim {@code iat}).
+     * @return true, если реестр пока не может судить о токене.
+     */
+    public boolean needsSessionCheck(long issuedAtMillis) {
+        return issuedAtMillis / 1000 < startedAtSeconds && startupTokenIds == null;
+    }
+
+    /**
+     * Проверяет, отозван ли токен.
+     *
+     * @param tokenId        Идентификатор {@code jti} токена.
+     * @param issuedAtMillis Время выпуска токена (claim {@code iat}).
+     * @return true, если токен отозван или выпущен до запуска и не найден среди действующих сессий.
+     */
+    public boolean isRevoked(String tokenId, long issuedAtMillis) {
+        if (issuedAtMillis / 1000 < startedAtSeconds) {
+            Set<String> startup = startupTokenIds;
+            if (startup == null || !startup.contains(tokenId)) {
+                return true;
+            }
+        }
+        int[] indexes = indexes(tokenId);
+        synchronized (this) {
+            return contains(current, indexes) || contains(previous, indexes);
+        }
+    }
+
+    /**
+     * Количество отзывов с момента запуска.
+     */
+    public long getRevokedCount() {
+        return revokedCount.get();
+    }
+
+    /**
+     * Смена поколений фильтра: записи старше двух сроков жизни токена гарантированно относятся к истёкшим токенам.
+     */
+    @Scheduled(fixedDelayString = "${auth.revocation.rotate-check-ms:60000}")
+    public synchronized void rotate() {
+        if (System.currentTimeMillis() - currentCreatedAt < generationMillis) {
+            return;
+        }
+        previous = current;
+        current = new BitSet(bloomBits);
+        currentCreatedAt = System.currentTimeMillis();
+        logger.info("Фильтр отозванных токенов: выполнена смена поколения");
+    }
+
+    private boolean contains(BitSet bits, int[] indexes) {
+        for (int index : indexes) {
+            if (!bits.get(index)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // --- Двойное хеширование: индексы h1 + i * h2 по SHA-256 от jti
+    private int[] indexes(String tokenId) {
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256").digest(tokenId.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 недоступен", e);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(digest);
+        long h1 = buffer.getLong();
+        long h2 = buffer.getLong();
+        int[] result = new int[bloomHashes];
+        for (int i = 0; i < bloomHashes; i++) {
+            result[i] = (int) Math.floorMod(h1 + i * h2, (long) bloomBits);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,32 @@
+package plantime.ru.API.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Действия, привязанные к фиксации транзакции, для кэшей и индексов в памяти.
+ */
+final class TransactionHooks {
+
+    private TransactionHooks() {
+    }
+
+    /**
+     * Выполняет действие после фиксации текущей транзакции, а вне транзакции — сразу.
+     * При откате транзакции действие не выполняется, поэтому откаченные изменения в память не попадают.
+     *
+     * @param action Действие.
+     */
+    static void afterCommitOrNow(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -11,7 +11,6 @@ import plantime.ru.API.entity.Log;
 import plantime.ru.API.entity.TypeAbsence;
 import plantime.ru.API.repository.DutyScheduleRepository;
 import plantime.ru.API.repository.TypeAbsenceRepository;
-import plantime.ru.API.repository.LogRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -28,16 +27,25 @@ public class TypeAbsenceService {
 
     private final TypeAbsenceRepository typeAbsenceRepository;
     private final DutyScheduleRepository dutyScheduleRepository;
-    private final LogRepository logRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final SimilarityIndex similarityIndex;
+    private final DictionaryCache dictionaryCache;
     private static final Logger logger = LoggerFactory.getLogger(TypeAbsenceService.class);
+    private static final String DICTIONARY = "type_absence";
 
     public TypeAbsenceService(
             TypeAbsenceRepository typeAbsenceRepository,
             DutyScheduleRepository dutyScheduleRepository,
-            LogRepository logRepository) {
+            AuditLogWriter auditLogWriter,
+            SimilarityIndex similarityIndex,
+            DictionaryCache dictionaryCache) {
         this.typeAbsenceRepository = typeAbsenceRepository;
         this.dutyScheduleRepository = dutyScheduleRepository;
-        this.logRepository = logRepository;
+        this.auditLogWriter = auditLogWriter;
+        this.similarityIndex = similarityIndex;
+        this.dictionaryCache = dictionaryCache;
+        similarityIndex.register(DICTIONARY, () -> typeAbsenceRepository.findAll().stream()
+                .collect(Collectors.toMap(TypeAbsence::getIdTypeAbsence, TypeAbsence::getTypeOfAbsence)));
     }
 
     /**
@@ -46,41 +54,30 @@ public class TypeAbsenceService {
      * @param authEmployee Аутентифицированный сотрудник.
      * @param sortBy       Поле сортировки.
      * @param order        Порядок сортировки.
-     * @return Список DTO типов отсутствия.
+     * @return Список DTO типов отсутствия и версия для ETag.
      * @throws IllegalArgumentException Если параметры сортировки некорректны.
      */
-    public List<TypeAbsenceDTO> getAllTypes(Employee authEmployee, String sortBy, String order) {
+    public DictionaryCache.Snapshot<TypeAbsenceDTO> getAllTypes(Employee authEmployee, String sortBy, String order) {
         try {
             if (!sortBy.equals("typeOfAbsence")) {
-                logRepository.save(new Log(authEmployee, "Недопустимое поле сортировки: " + sortBy, LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Недопустимое поле сортировки: " + sortBy, LocalDateTime.now()));
                 logger.error("Недопустимое поле сортировки: {}, guid_employee={}", sortBy, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Сортировка возможна только по полю «Название типа отсутствия».");
             }
 
             if (!order.equalsIgnoreCase("asc") && !order.equalsIgnoreCase("desc")) {
-                logRepository.save(new Log(authEmployee, "Недопустимый порядок сортировки: " + order, LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Недопустимый порядок сортировки: " + order, LocalDateTime.now()));
                 logger.error("Недопустимый порядок сортировки: {}, guid_employee={}", order, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Порядок сортировки должен быть «asc» (по возрастанию) или «desc» (по убыванию).");
             }
 
-            Sort sort = order.equalsIgnoreCase("asc")
-                    ? Sort.by(Sort.Direction.ASC, "typeOfAbsence")
-                    : Sort.by(Sort.Direction.DESC, "typeOfAbsence");
-
-            List<TypeAbsence> types = typeAbsenceRepository.findAll(sort);
-            if (types.isEmpty()) {
-                logRepository.save(new Log(authEmployee, "Список типов отсутствия пуст", LocalDateTime.now()));
-                logger.info("Список типов отсутствия пуст, guid_employee={}", authEmployee.getGuidEmployee());
-                return List.of();
-            }
-
-            List<TypeAbsenceDTO> typeDTOs = types.stream()
-                    .map(type -> new TypeAbsenceDTO(type.getIdTypeAbsence(), type.getTypeOfAbsence()))
-                    .collect(Collectors.toList());
-            logRepository.save(new Log(authEmployee, "Получен список типов отсутствия, количество: " + types.size() + ", сортировка: " + sortBy + ", порядок: " + order, LocalDateTime.now()));
-            logger.info("Успешно получен список типов отсутствия, количество: {}, sortBy={}, order={}, guid_employee={}",
-                    types.size(), sortBy, order, authEmployee.getGuidEmployee());
-            return typeDTOs;
+            DictionaryCache.Snapshot<TypeAbsenceDTO> snapshot = dictionaryCache.get(DICTIONARY, () ->
+                    typeAbsenceRepository.findAll(Sort.by(Sort.Direction.ASC, "typeOfAbsence")).stream()
+                            .map(type -> new TypeAbsenceDTO(type.getIdTypeAbsence(), type.getTypeOfAbsence()))
+                            .toList()).ordered(order);
+            logger.debug("Получен список типов отсутствия, количество: {}, sortBy={}, order={}, guid_employee={}",
+                    snapshot.items().size(), sortBy, order, authEmployee.getGuidEmployee());
+            return snapshot;
         } catch (IllegalArgumentException e) {
             logger.error("Ошибка при получении списка типов отсутствия: {}, guid_employee={}", e.getMessage(), authEmployee.getGuidEmployee());
             throw e;
@@ -104,35 +101,31 @@ public class TypeAbsenceService {
         try {
             String typeName = typeAbsenceDTO.getTypeOfAbsence().trim();
             if (!typeName.matches("^[a-zA-Zа-яА-ЯёЁ\\s-]*$")) {
-                logRepository.save(new Log(authEmployee, "Не удалось создать тип отсутствия: название содержит недопустимые символы", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Не удалось создать тип отсутствия: название содержит недопустимые символы", LocalDateTime.now()));
                 logger.error("Название типа отсутствия содержит недопустимые символы: {}, guid_employee={}", typeName, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Название типа отсутствия может содержать только буквы, пробелы и дефисы. Цифры и специальные символы запрещены.");
             }
 
             if (typeName.length() < 3 || typeName.length() > 25) {
-                logRepository.save(new Log(authEmployee, "Не удалось создать тип отсутствия: длина названия не соответствует требованиям", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Не удалось создать тип отсутствия: длина названия не соответствует требованиям", LocalDateTime.now()));
                 logger.error("Недопустимая длина названия типа отсутствия: {}, guid_employee={}", typeName, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Название типа отсутствия должно быть от 3 до 25 символов.");
             }
 
             if (typeAbsenceRepository.existsByTypeOfAbsenceIgnoreCase(typeName)) {
-                logRepository.save(new Log(authEmployee, "Не удалось создать тип отсутствия: тип с таким названием уже существует", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Не удалось создать тип отсутствия: тип с таким названием уже существует", LocalDateTime.now()));
                 logger.error("Тип отсутствия '{}' уже существует, guid_employee={}", typeName, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Тип отсутствия с таким названием уже существует. Пожалуйста, выберите другое название.");
             }
 
-            List<TypeAbsence> allTypes = typeAbsenceRepository.findAll();
-            Optional<String> similarType = allTypes.stream()
-                    .map(TypeAbsence::getTypeOfAbsence)
-                    .filter(existingName -> stringSimilarity(existingName, typeName) >= 0.85)
-                    .findFirst();
+            Optional<String> similarType = similarityIndex.findMostSimilar(DICTIONARY, typeName, null);
 
             if (similarType.isPresent()) {
                 if (Boolean.TRUE.equals(forceCreate)) {
-                    logRepository.save(new Log(authEmployee, "Создан тип отсутствия с похожим названием: " + typeName + ", похож на: " + similarType.get(), LocalDateTime.now()));
+                    auditLogWriter.write(new Log(authEmployee, "Создан тип отсутствия с похожим названием: " + typeName + ", похож на: " + similarType.get(), LocalDateTime.now()));
                     logger.info("Создан тип отсутствия с похожим названием: {}, guid_employee={}", typeName, authEmployee.getGuidEmployee());
                 } else {
-                    logRepository.save(new Log(authEmployee,
+                    auditLogWriter.write(new Log(authEmployee,
                             "Попытка создать тип отсутствия с похожим названием: " + typeName + ", похоже на: " + similarType.get(),
                             LocalDateTime.now()));
                     logger.warn("Попытка создать тип отсутствия с похожим названием: {}, похоже на: {}, guid_employee={}",
@@ -149,7 +142,9 @@ public class TypeAbsenceService {
             TypeAbsence typeAbsence = new TypeAbsence();
             typeAbsence.setTypeOfAbsence(typeName);
             TypeAbsence savedType = typeAbsenceRepository.save(typeAbsence);
-            logRepository.save(new Log(authEmployee, "Создан тип отсутствия: " + typeName, LocalDateTime.now()));
+            similarityIndex.put(DICTIONARY, savedType.getIdTypeAbsence(), savedType.getTypeOfAbsence());
+            dictionaryCache.invalidate(DICTIONARY);
+            auditLogWriter.write(new Log(authEmployee, "Создан тип отсутствия: " + typeName, LocalDateTime.now()));
             logger.info("Успешно создан тип отсутствия: {}, guid_employee={}", typeName, authEmployee.getGuidEmployee());
             return new TypeAbsenceDTO(savedType.getIdTypeAbsence(), savedType.getTypeOfAbsence());
         } catch (IllegalArgumentException e) {
@@ -184,46 +179,38 @@ public class TypeAbsenceService {
         try {
             Optional<TypeAbsence> existing = typeAbsenceRepository.findById(id);
             if (existing.isEmpty()) {
-                logRepository.save(new Log(authEmployee, "Не удалось обновить тип отсутствия: тип не найден (id " + id + ")", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Не удалось обновить тип отсутствия: тип не найден (id " + id + ")", LocalDateTime.now()));
                 logger.error("Тип отсутствия с id {} не найден, guid_employee={}", id, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Тип отсутствия с указанным идентификатором не найден.");
             }
 
             String typeName = typeAbsenceDTO.getTypeOfAbsence().trim();
             if (!typeName.matches("^[a-zA-Zа-яА-ЯёЁ\\s-]*$")) {
-                logRepository.save(new Log(authEmployee, "Не удалось обновить тип отсутствия: название содержит недопустимые символы", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Не удалось обновить тип отсутствия: название содержит недопустимые символы", LocalDateTime.now()));
                 logger.error("Название типа отсутствия содержит недопустимые символы: {}, guid_employee={}", typeName, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Название типа отсутствия может содержать только буквы, пробелы и дефисы. Цифры и специальные символы запрещены.");
             }
 
             if (typeName.length() < 3 || typeName.length() > 25) {
-                logRepository.save(new Log(authEmployee, "Не удалось обновить тип отсутствия: длина названия не соответствует требованиям", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Не удалось обновить тип отсутствия: длина названия не соответствует требованиям", LocalDateTime.now()));
                 logger.error("Недопустимая длина названия типа отсутствия: {}, guid_employee={}", typeName, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Название типа отсутствия должно быть от 3 до 25 символов.");
             }
 
-            List<TypeAbsence> allTypes = typeAbsenceRepository.findAll();
-            for (TypeAbsence type : allTypes) {
-                if (!type.getIdTypeAbsence().equals(id)
-                        && type.getTypeOfAbsence().equalsIgnoreCase(typeName)) {
-                    logRepository.save(new Log(authEmployee, "Не удалось обновить тип отсутствия: тип с таким названием уже существует", LocalDateTime.now()));
-                    logger.error("Тип отсутствия '{}' уже существует, guid_employee={}", typeName, authEmployee.getGuidEmployee());
-                    throw new IllegalArgumentException("Тип отсутствия с таким названием уже существует. Пожалуйста, выберите другое название.");
-                }
+            if (typeAbsenceRepository.existsByTypeOfAbsenceIgnoreCaseAndIdTypeAbsenceNot(typeName, id)) {
+                auditLogWriter.write(new Log(authEmployee, "Не удалось обновить тип отсутствия: тип с таким названием уже существует", LocalDateTime.now()));
+                logger.error("Тип отсутствия '{}' уже существует, guid_employee={}", typeName, authEmployee.getGuidEmployee());
+                throw new IllegalArgumentException("Тип отсутствия с таким названием уже существует. Пожалуйста, выберите другое название.");
             }
 
-            Optional<String> similarType = allTypes.stream()
-                    .filter(type -> !type.getIdTypeAbsence().equals(id))
-                    .map(TypeAbsence::getTypeOfAbsence)
-                    .filter(existingName -> stringSimilarity(existingName, typeName) >= 0.85)
-                    .findFirst();
+            Optional<String> similarType = similarityIndex.findMostSimilar(DICTIONARY, typeName, id);
 
             if (similarType.isPresent()) {
                 if (Boolean.TRUE.equals(forceUpdate)) {
-                    logRepository.save(new Log(authEmployee, "Обновлен тип отсутствия с похожим названием: " + typeName + ", похоже на: " + similarType.get(), LocalDateTime.now()));
+                    auditLogWriter.write(new Log(authEmployee, "Обновлен тип отсутствия с похожим названием: " + typeName + ", похоже на: " + similarType.get(), LocalDateTime.now()));
                     logger.info("Обновлен тип отсутствия с похожим названием: {}, guid_employee={}", typeName, authEmployee.getGuidEmployee());
                 } else {
-                    logRepository.save(new Log(authEmployee,
+                    auditLogWriter.write(new Log(authEmployee,
                             "Попытка обновить тип отсутствия на похожее название: " + typeName + ", похоже на: " + similarType.get(),
                             LocalDateTime.now()));
                     logger.warn("Попытка обновления типа отсутствия на похожее название: {}, похоже на: {}, guid_employee={}",
@@ -240,7 +227,9 @@ public class TypeAbsenceService {
             TypeAbsence typeAbsence = existing.get();
             typeAbsence.setTypeOfAbsence(typeName);
             TypeAbsence updatedType = typeAbsenceRepository.save(typeAbsence);
-            logRepository.save(new Log(authEmployee, "Обновлен тип отсутствия: " + typeName, LocalDateTime.now()));
+            similarityIndex.put(DICTIONARY, updatedType.getIdTypeAbsence(), updatedType.getTypeOfAbsence());
+            dictionaryCache.invalidate(DICTIONARY);
+            auditLogWriter.write(new Log(authEmployee, "Обновлен тип отсутствия: " + typeName, LocalDateTime.now()));
             logger.info("Успешно обновлен тип отсутствия: {}, guid_employee={}", typeName, authEmployee.getGuidEmployee());
             return new TypeAbsenceDTO(updatedType.getIdTypeAbsence(), updatedType.getTypeOfAbsence());
         } catch (IllegalArgumentException e) {
@@ -273,7 +262,7 @@ public class TypeAbsenceService {
         try {
             Optional<TypeAbsence> existing = typeAbsenceRepository.findById(id);
             if (existing.isEmpty()) {
-                logRepository.save(new Log(authEmployee, "Не удалось удалить тип отсутствия: тип не найден (id " + id + ")", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Не удалось удалить тип отсутствия: тип не найден (id " + id + ")", LocalDateTime.now()));
                 logger.error("Тип отсутствия с id {} не найден, guid_employee={}", id, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Тип отсутствия с указанным идентификатором не найден.");
             }
@@ -281,14 +270,16 @@ public class TypeAbsenceService {
             TypeAbsence typeAbsence = existing.get();
             boolean isUsed = dutyScheduleRepository.existsByTypeOfAbsence(typeAbsence);
             if (isUsed) {
-                logRepository.save(new Log(authEmployee, "Не удалось удалить тип отсутствия: тип используется в графиках (id " + id + ")", LocalDateTime.now()));
+                auditLogWriter.write(new Log(authEmployee, "Не удалось удалить тип отсутствия: тип используется в графиках (id " + id + ")", LocalDateTime.now()));
                 logger.error("Тип отсутствия с id {} используется в графиках, guid_employee={}", id, authEmployee.getGuidEmployee());
                 throw new IllegalArgumentException("Невозможно удалить тип отсутствия, так как он используется в графиках отсутствия.");
             }
 
             typeAbsenceRepository.deleteById(id);
             typeAbsenceRepository.flush();
-            logRepository.save(new Log(authEmployee, "Удален тип отсутствия с id: " + id, LocalDateTime.now()));
+            similarityIndex.remove(DICTIONARY, id);
+            dictionaryCache.invalidate(DICTIONARY);
+            auditLogWriter.write(new Log(authEmployee, "Удален тип отсутствия с id: " + id, LocalDateTime.now()));
             logger.info("Успешно удален тип отсутствия с id: {}, guid_employee={}", id, authEmployee.getGuidEmployee());
         } catch (org.springframework.dao.DataIntegrityViolationException e) {
             logger.error("Нарушение целостности данных при удалении типа отсутствия с id {}: {}, guid_employee={}", id, e.getMessage(), authEmployee.getGuidEmployee());
@@ -301,45 +292,4 @@ public class TypeAbsenceService {
             throw new IllegalArgumentException("Произошла непредвиденная ошибка при удалении типа отсутствия. Пожалуйста, попробуйте позже.", e);
         }
     }
-
-    /**
-     * Возвращает степень схожести между двумя строками.
-     * Алгоритм основан на расстоянии Левенштейна.
-     *
-     * @param s1 Первая строка.
-     * @param s2 Вторая строка.
-     * @return Коэффициент схожести.
-     */
-    public static double stringSimilarity(String s1, String s2) {
-        s1 = s1.trim().toLowerCase();
-        s2 = s2.trim().toLowerCase();
-        if (s1.equals(s2)) return 1.0;
-        int maxLen = Math.max(s1.length(), s2.length());
-        if (maxLen == 0) return 1.0;
-        int dist = levenshteinDistance(s1, s2);
-        return 1.0 - (double) dist / maxLen;
-    }
-
-    /**
-     * Вычисляет расстояние Левенштейна между двумя строками.
-     *
-     * @param s1 Первая строка.
-     * @param s2 Вторая строка.
-     * @return Расстояние Левенштейна.
-     */
-    private static int levenshteinDistance(String s1, String s2) {
-        int[] costs = new int[s2.length() + 1];
-        for (int j = 0; j < costs.length; j++)
-            costs[j] = j;
-        for (int i = 1; i <= s1.length(); i++) {
-            costs[0] = i;
-            int nw = i - 1;
-            for (int j = 1; j <= s2.length(); j++) {
-                int cj = Math.min(1 + Math.min(costs[j], costs[j - 1]), s1.charAt(i - 1) == s2.charAt(j - 1) ? nw : nw + 1);
-                nw = costs[j];
-                costs[j] = cj;
-            }
-        }
-        return costs[s2.length()];
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,125 @@
+package plantime.ru.API.controller;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import plantime.ru.API.entity.Employee;
+import plantime.ru.API.entity.ListAttachedFiles;
+import plantime.ru.API.service.AttachmentService;
+import plantime.ru.API.service.AttachmentStore;
+
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AttachmentControllerTest {
+
+    private static final String HASH = "abc123";
+    private static final String ETAG = "\"" + HASH + "\"";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void parsesSingleByteRange() {
+        assertThat(AttachmentController.parseRange("bytes=0-9", 100)).containsExactly(0, 9);
+        assertThat(AttachmentController.parseRange("bytes=90-", 100)).containsExactly(90, 99);
+        assertThat(AttachmentController.parseRange("bytes=-10", 100)).containsExactly(90, 99);
+        assertThat(AttachmentController.parseRange("bytes=-500", 100)).containsExactly(0, 99);
+        assertThat(AttachmentController.parseRange("bytes=50-500", 100)).containsExactly(50, 99);
+    }
+
+    @Test
+    void unsupportedRangeFallsBackToWholeFile() {
+        assertThat(AttachmentController.parseRange("items=0-9", 100)).isEmpty();
+        assertThat(AttachmentController.parseRange("bytes=0-9,20-29", 100)).isEmpty();
+        assertThat(AttachmentController.parseRange("bytes=10", 100)).isEmpty();
+        assertThat(AttachmentController.parseRange("bytes=a-b", 100)).isEmpty();
+    }
+
+    @Test
+    void unsatisfiableRangeIsRejected() {
+        assertThat(AttachmentController.parseRange("bytes=100-", 100)).isNull();
+        assertThat(AttachmentController.parseRange("bytes=20-10", 100)).isNull();
+        assertThat(AttachmentController.parseRange("bytes=-0", 100)).isNull();
+        assertThat(AttachmentController.parseRange("bytes=0-", 0)).isNull();
+    }
+
+    @Test
+    void ifNoneMatchUsesWeakComparison() {
+        assertThat(AttachmentController.matchesAny(ETAG, ETAG)).isTrue();
+        assertThat(AttachmentController.matchesAny("W/" + ETAG, ETAG)).isTrue();
+        assertThat(AttachmentController.matchesAny("\"other\", " + ETAG, ETAG)).isTrue();
+        assertThat(AttachmentController.matchesAny("*", ETAG)).isTrue();
+        assertThat(AttachmentController.matchesAny("\"other\"", ETAG)).isFalse();
+        assertThat(AttachmentController.matchesAny(null, ETAG)).isFalse();
+    }
+
+    @Test
+    void ifRangeUsesStrongComparison() {
+        assertThat(AttachmentController.rangeApplies(null, ETAG)).isTrue();
+        assertThat(AttachmentController.rangeApplies(" " + ETAG + " ", ETAG)).isTrue();
+        assertThat(AttachmentController.rangeApplies("W/" + ETAG, ETAG)).isFalse();
+        assertThat(AttachmentController.rangeApplies("\"other\"", ETAG)).isFalse();
+        assertThat(AttachmentController.rangeApplies("Wed, 21 Oct 2015 07:28:00 GMT", ETAG)).isFalse();
+    }
+
+    @Test
+    void servesRangeOnlyForSameVersion() throws Exception {
+        AttachmentController controller = controller("0123456789");
+
+        MockHttpServletResponse partial = download(controller, "bytes=2-4", ETAG);
+        assertThat(partial.getStatus()).isEqualTo(206);
+        assertThat(partial.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 2-4/10");
+        assertThat(partial.getContentAsString()).isEqualTo("234");
+
+        MockHttpServletResponse full = download(controller, "bytes=2-4", "\"stale\"");
+        assertThat(full.getStatus()).isEqualTo(200);
+        assertThat(full.getHeader(HttpHeaders.CONTENT_RANGE)).isNull();
+        assertThat(full.getContentAsString()).isEqualTo("0123456789");
+    }
+
+    @Test
+    void rejectsUnsatisfiableRange() throws Exception {
+        MockHttpServletResponse response = download(controller("0123456789"), "bytes=10-", null);
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */10");
+    }
+
+    private AttachmentController controller(String content) throws Exception {
+        Path path = dir.resolve(HASH);
+        Files.writeString(path, content, StandardCharsets.UTF_8);
+        ListAttachedFiles file = new ListAttachedFiles();
+        file.setFileHash(HASH);
+        file.setPathFile("report.txt");
+        file.setContentType("text/plain");
+
+        AttachmentService service = mock(AttachmentService.class);
+        when(service.findForDownload(anyInt(), any())).thenReturn(file);
+        AttachmentStore store = mock(AttachmentStore.class);
+        when(store.locate(HASH)).thenReturn(path);
+        when(store.open(HASH)).thenAnswer(invocation -> FileChannel.open(path));
+        return new AttachmentController(service, store, 86400);
+    }
+
+    private static MockHttpServletResponse download(AttachmentController controller, String range, String ifRange) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks/files/1/content");
+        request.addHeader(HttpHeaders.RANGE, range);
+        if (ifRange != null) {
+            request.addHeader(HttpHeaders.IF_RANGE, ifRange);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        controller.download(1, new Employee(), request, response);
+        return response;
+    }
+}
@@ -0,0 +1,116 @@
+package plantime.ru.API.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import plantime.ru.API.dto.TaskDTO;
+import plantime.ru.API.entity.Task;
+import plantime.ru.API.entity.TaskStatus;
+import plantime.ru.API.entity.TaskType;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Проверяет, что списки задач читаются одним запросом независимо от числа задач
+ * (без отдельных запросов за статусом и типом каждой задачи).
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:tasks;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TaskRepositoryTest {
+
+    private static final String EXECUTOR = "00000000-0000-0000-0000-000000000001";
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private TaskStatus status;
+    private TaskType type;
+
+    @BeforeEach
+    void setUp() {
+        status = entityManager.persist(new TaskStatus(null, "В работе"));
+        type = entityManager.persist(new TaskType(null, "Разработка"));
+    }
+
+    @Test
+    void listQueriesUseOneStatementForAnyNumberOfTasks() {
+        createTasks(3);
+        assertThat(statementsFor(() -> taskRepository.findAllRows())).isEqualTo(1);
+
+        createTasks(30);
+        assertThat(statementsFor(() -> taskRepository.findAllRows())).isEqualTo(1);
+        assertThat(statementsFor(() -> taskRepository.findRowsByGuidExecutor(EXECUTOR))).isEqualTo(1);
+        assertThat(statementsFor(() -> taskRepository.findRowsByIdOrganization(1))).isEqualTo(1);
+        assertThat(statementsFor(() -> taskRepository.findPageAfter(null, EXECUTOR, null, PageRequest.of(0, 20))))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void rowsCarryStatusAndTypeIdsWithoutLoadingEntities() {
+        createTasks(5);
+
+        List<TaskDTO> rows = taskRepository.findAllRows();
+
+        assertThat(rows).hasSize(5);
+        assertThat(rows).allSatisfy(row -> {
+            assertThat(row.getIdTaskStatus()).isEqualTo(status.getIdTaskStatus());
+            assertThat(row.getIdTaskType()).isEqualTo(type.getIdTaskType());
+        });
+        assertThat(statistics().getEntityLoadCount()).isZero();
+    }
+
+    private void createTasks(int count) {
+        int offset = taskRepository.findAllRows().size();
+        for (int i = 0; i < count; i++) {
+            Task task = new Task();
+            task.setTaskName("Задача " + (offset + i));
+            task.setGuidExecutor(EXECUTOR);
+            task.setDateCreate(LocalDate.of(2026, 1, 1));
+            task.setTimeCreate(LocalTime.NOON);
+            task.setIdOrganization(1);
+            task.setTaskStatus(status);
+            task.setTaskType(type);
+            entityManager.persist(task);
+        }
+        entityManager.flush();
+        // Без очистки контекста статус и тип уже были бы в памяти и лишние запросы не проявились бы
+        entityManager.clear();
+        statistics().clear();
+    }
+
+    private long statementsFor(Runnable query) {
+        entityManager.clear();
+        Statistics statistics = statistics();
+        statistics.clear();
+        query.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -0,0 +1,119 @@
+package plantime.ru.API.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import plantime.ru.API.dto.AuditMetricsDTO;
+import plantime.ru.API.entity.Employee;
+import plantime.ru.API.entity.Log;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AuditLogWriterTest {
+
+    private static final String GOOD = "11111111-1111-1111-1111-111111111111";
+    private static final String SYSTEM = "00000000-0000-0000-0000-000000000000";
+
+    private JdbcTemplate jdbcTemplate;
+    private PlatformTransactionManager transactionManager;
+    private AuditLogWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        writer = new AuditLogWriter(jdbcTemplate, transactionManager);
+        ReflectionTestUtils.setField(writer, "queueCapacity", 100);
+        ReflectionTestUtils.setField(writer, "batchSize", 10);
+        ReflectionTestUtils.setField(writer, "flushIntervalMs", 100L);
+        ReflectionTestUtils.setField(writer, "offerTimeoutMs", 0L);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        writer.stop();
+    }
+
+    @Test
+    void queuedEventsAreWrittenInBatches() throws InterruptedException {
+        writer.start();
+        writer.write(log(GOOD, "a"));
+        writer.write(log(GOOD, "b"));
+
+        writer.stop();
+
+        verify(jdbcTemplate, atLeastOnce()).batchUpdate(anyString(), anyList(), anyInt(), any());
+        verify(jdbcTemplate, never()).update(anyString(), any(), any(), any());
+        verify(transactionManager, atLeastOnce()).commit(any());
+        assertThat(writer.getMetrics().getWrittenEvents()).isEqualTo(2);
+        assertThat(writer.getMetrics().getFailedEvents()).isZero();
+    }
+
+    @Test
+    void failedBatchIsRetriedRowByRowAndOnlyBadRowsAreLost() throws InterruptedException {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), anyInt(), any()))
+                .thenThrow(new DataIntegrityViolationException("fk_log_employee"));
+        when(jdbcTemplate.update(anyString(), eq(SYSTEM), any(), any()))
+                .thenThrow(new DataIntegrityViolationException("fk_log_employee"));
+        writer.start();
+        writer.write(log(GOOD, "a"));
+        writer.write(log(SYSTEM, "b"));
+        writer.write(log(GOOD, "c"));
+
+        writer.stop();
+
+        verify(transactionManager, atLeastOnce()).rollback(any());
+        verify(jdbcTemplate, times(3)).update(anyString(), any(), any(), any());
+        AuditMetricsDTO metrics = writer.getMetrics();
+        assertThat(metrics.getWrittenEvents()).isEqualTo(2);
+        assertThat(metrics.getFailedEvents()).isEqualTo(1);
+    }
+
+    @Test
+    void eventWithoutEmployeeIsDropped() {
+        writer.start();
+
+        writer.write(new Log(null, "x", LocalDateTime.now()));
+
+        assertThat(writer.getMetrics().getDroppedEvents()).isEqualTo(1);
+        assertThat(writer.getMetrics().getQueueDepth()).isZero();
+    }
+
+    @Test
+    void fullQueueDropsEventsInsteadOfBlocking() throws InterruptedException {
+        ReflectionTestUtils.setField(writer, "queueCapacity", 1);
+        ReflectionTestUtils.setField(writer, "batchSize", 1);
+        CountDownLatch flushing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), anyInt(), any())).thenAnswer(invocation -> {
+            flushing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new int[0][];
+        });
+        writer.start();
+
+        writer.write(log(GOOD, "a"));
+        assertThat(flushing.await(5, TimeUnit.SECONDS)).isTrue();
+        writer.write(log(GOOD, "b"));
+        writer.write(log(GOOD, "c"));
+        release.countDown();
+
+        assertThat(writer.getMetrics().getDroppedEvents()).isEqualTo(1);
+    }
+
+    private static Log log(String guid, String action) {
+        Employee employee = new Employee();
+        employee.setGuidEmployee(guid);
+        return new Log(employee, action, LocalDateTime.now());
+    }
+}
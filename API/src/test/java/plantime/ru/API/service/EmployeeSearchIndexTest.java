@@ -0,0 +1,53 @@
+package plantime.ru.API.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import plantime.ru.API.dto.EmployeeSuggestionDTO;
+import plantime.ru.API.repository.EmployeeRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EmployeeSearchIndexTest {
+
+    @Test
+    void switchesLatinLayoutToCyrillic() {
+        assertThat(EmployeeSearchIndex.switchLayout("bdfyjd")).isEqualTo("иванов");
+        assertThat(EmployeeSearchIndex.switchLayout("Ktyf")).isEqualTo("лена");
+        assertThat(EmployeeSearchIndex.switchLayout("`;[],.'")).isEqualTo("ёжхъбюэ");
+    }
+
+    @Test
+    void switchesCyrillicLayoutToLatin() {
+        assertThat(EmployeeSearchIndex.switchLayout("Иванов")).isEqualTo("bdfyjd");
+        assertThat(EmployeeSearchIndex.switchLayout("ёжхъбюэ")).isEqualTo("`;[],.'");
+    }
+
+    @Test
+    void keepsCharactersOutsideLayouts() {
+        assertThat(EmployeeSearchIndex.switchLayout("bdfyjd 42-7")).isEqualTo("иванов 42-7");
+        assertThat(EmployeeSearchIndex.switchLayout("")).isEmpty();
+    }
+
+    @Test
+    void retriesQueryInOtherLayoutOnlyWhenNothingFound() {
+        EmployeeRepository repository = mock(EmployeeRepository.class);
+        when(repository.findSearchRows()).thenReturn(List.of(
+                new Object[]{"g1", "Иванов", "Иван", null, "ivanov@example.com", null},
+                new Object[]{"g2", "Петров", "Пётр", "Сергеевич", "petrov@example.com", null}));
+        EmployeeSearchIndex index = new EmployeeSearchIndex(repository, mock(PlatformTransactionManager.class));
+
+        assertThat(guids(index.suggest("bdfyjd", 10))).containsExactly("g1");
+        assertThat(guids(index.suggest("gtnh", 10))).containsExactly("g2");
+        // Совпадение по почте в латинице находится сразу, без смены раскладки
+        assertThat(guids(index.suggest("ivanov", 10))).containsExactly("g1");
+        assertThat(index.suggest("zzzz", 10)).isEmpty();
+    }
+
+    private static List<String> guids(List<EmployeeSuggestionDTO> suggestions) {
+        return suggestions.stream().map(EmployeeSuggestionDTO::getGuidEmployee).toList();
+    }
+}
@@ -0,0 +1,123 @@
+package plantime.ru.API.service;
+
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import plantime.ru.API.entity.MailOutbox;
+import plantime.ru.API.repository.MailOutboxRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class MailOutboxServiceTest {
+
+    private static final long ID = 1L;
+
+    private MailOutboxRepository repository;
+    private JavaMailSender mailSender;
+    private MailOutboxService service;
+    private MailOutbox mail;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(MailOutboxRepository.class);
+        mailSender = mock(JavaMailSender.class);
+        // Пул отправки выполняет задачу сразу в вызывающем потоке
+        ThreadPoolTaskExecutor executor = mock(ThreadPoolTaskExecutor.class);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+
+        service = new MailOutboxService(repository, mailSender, executor);
+        ReflectionTestUtils.setField(service, "fromEmail", "noreply@example.com");
+        ReflectionTestUtils.setField(service, "batchSize", 20);
+        ReflectionTestUtils.setField(service, "maxAttempts", 3);
+        ReflectionTestUtils.setField(service, "backoffSeconds", 30L);
+        ReflectionTestUtils.setField(service, "maxBackoffSeconds", 3600L);
+        ReflectionTestUtils.setField(service, "leaseSeconds", 300L);
+
+        mail = new MailOutbox("user@example.com", "Сброс пароля", "<p>Ссылка</p>", LocalDateTime.now().minusMinutes(1));
+        mail.setIdMailOutbox(ID);
+        when(repository.findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAt(
+                eq(MailOutbox.Status.PENDING), any(), any())).thenReturn(List.of(mail));
+        when(repository.postpone(eq(ID), any(), any())).thenReturn(1);
+        when(repository.findById(ID)).thenReturn(Optional.of(mail));
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((Session) null));
+    }
+
+    @Test
+    void sentMailIsMarkedSentAndBodyDropped() {
+        service.dispatch();
+
+        verify(mailSender).send(any(MimeMessage.class));
+        verify(repository).save(mail);
+        assertThat(mail.getStatus()).isEqualTo(MailOutbox.Status.SENT);
+        assertThat(mail.getAttempts()).isEqualTo(1);
+        assertThat(mail.getSentAt()).isNotNull();
+        assertThat(mail.getBody()).isEmpty();
+        assertThat(service.getMetrics().getSent()).isEqualTo(1);
+    }
+
+    @Test
+    void failedAttemptIsRetriedWithExponentialBackoff() {
+        doThrow(new MailSendException("SMTP недоступен")).when(mailSender).send(any(MimeMessage.class));
+        mail.setAttempts(1);
+
+        LocalDateTime before = LocalDateTime.now();
+        service.dispatch();
+        LocalDateTime after = LocalDateTime.now();
+
+        // Вторая попытка: 30 с × 2
+        verify(repository).save(mail);
+        assertThat(mail.getStatus()).isEqualTo(MailOutbox.Status.PENDING);
+        assertThat(mail.getAttempts()).isEqualTo(2);
+        assertThat(mail.getLastError()).isEqualTo("SMTP недоступен");
+        assertThat(mail.getNextAttemptAt()).isBetween(before.plusSeconds(60), after.plusSeconds(60));
+    }
+
+    @Test
+    void unexpectedFailureIsCountedAsAttempt() {
+        when(mailSender.createMimeMessage()).thenThrow(new IllegalStateException("ошибка сборки письма"));
+
+        service.dispatch();
+
+        verify(repository).save(mail);
+        assertThat(mail.getStatus()).isEqualTo(MailOutbox.Status.PENDING);
+        assertThat(mail.getAttempts()).isEqualTo(1);
+        assertThat(mail.getLastError()).isEqualTo("ошибка сборки письма");
+    }
+
+    @Test
+    void mailIsDeadAfterMaxAttempts() {
+        doThrow(new MailSendException("SMTP недоступен")).when(mailSender).send(any(MimeMessage.class));
+        mail.setAttempts(2);
+
+        service.dispatch();
+
+        verify(repository).save(mail);
+        assertThat(mail.getStatus()).isEqualTo(MailOutbox.Status.DEAD);
+        assertThat(mail.getAttempts()).isEqualTo(3);
+        assertThat(service.getMetrics().getDeadLettered()).isEqualTo(1);
+    }
+
+    @Test
+    void mailClaimedByAnotherInstanceIsSkipped() {
+        when(repository.postpone(eq(ID), any(), any())).thenReturn(0);
+
+        service.dispatch();
+
+        verify(repository, never()).findById(anyLong());
+        verifyNoInteractions(mailSender);
+    }
+}
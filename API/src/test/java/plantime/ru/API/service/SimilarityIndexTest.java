@@ -0,0 +1,109 @@
+package plantime.ru.API.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class SimilarityIndexTest {
+
+    private static final String DICTIONARY = "status";
+
+    private final SimilarityIndex index = new SimilarityIndex(mock(PlatformTransactionManager.class));
+
+    @Test
+    void findsSimilarNameIgnoringCaseAndSpaces() {
+        index.register(DICTIONARY, () -> Map.of(1, "В работе", 2, "Завершена", 3, "Отменена"));
+
+        assertThat(index.findMostSimilar(DICTIONARY, "  в работе ", null)).contains("В работе");
+        assertThat(index.findMostSimilar(DICTIONARY, "Завершено", null)).contains("Завершена");
+        assertThat(index.findMostSimilar(DICTIONARY, "Новая", null)).isEmpty();
+    }
+
+    @Test
+    void excludesUpdatedRecord() {
+        index.register(DICTIONARY, () -> Map.of(1, "Завершена"));
+
+        assertThat(index.findMostSimilar(DICTIONARY, "Завершена", 1)).isEmpty();
+        assertThat(index.findMostSimilar(DICTIONARY, "Завершена", 2)).contains("Завершена");
+    }
+
+    @Test
+    void loadsDictionaryOnceAndAppliesChanges() {
+        AtomicInteger loads = new AtomicInteger();
+        index.register(DICTIONARY, () -> {
+            loads.incrementAndGet();
+            return Map.of(1, "Завершена");
+        });
+        index.findSimilar(DICTIONARY, "Завершена", null, 0.5, 10);
+
+        index.put(DICTIONARY, 1, "Выполнена");
+        index.put(DICTIONARY, 2, "Отменена");
+        index.remove(DICTIONARY, 2);
+
+        assertThat(index.findMostSimilar(DICTIONARY, "Завершена", null)).isEmpty();
+        assertThat(index.findMostSimilar(DICTIONARY, "Выполнено", null)).contains("Выполнена");
+        assertThat(index.findMostSimilar(DICTIONARY, "Отменена", null)).isEmpty();
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void matchesLinearScanAfterRemovalsAndRebuild() {
+        Random random = new Random(42);
+        Map<Integer, String> names = new HashMap<>();
+        for (int id = 1; id <= 300; id++) {
+            names.put(id, randomName(random));
+        }
+        index.register(DICTIONARY, () -> names);
+        index.findSimilar(DICTIONARY, "а", null, 0.5, 1);
+        // Удаление большей части записей вызывает перестроение дерева
+        for (int id = 1; id <= 200; id++) {
+            index.remove(DICTIONARY, id);
+            names.remove(id);
+        }
+
+        for (int i = 0; i < 200; i++) {
+            String query = randomName(random);
+            List<Integer> expected = names.entrySet().stream()
+                    .filter(e -> SimilarityIndex.stringSimilarity(query, e.getValue()) >= 0.6)
+                    .map(Map.Entry::getKey)
+                    .sorted()
+                    .toList();
+            List<Integer> actual = index.findSimilar(DICTIONARY, query, null, 0.6, Integer.MAX_VALUE).stream()
+                    .map(SimilarityIndex.Match::id)
+                    .sorted()
+                    .toList();
+            assertThat(actual).as(query).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void rejectsUnregisteredDictionary() {
+        assertThatThrownBy(() -> index.findMostSimilar("unknown", "Новая", null))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void computesLevenshteinDistance() {
+        assertThat(SimilarityIndex.levenshteinDistance("kitten", "sitting")).isEqualTo(3);
+        assertThat(SimilarityIndex.levenshteinDistance("", "abc")).isEqualTo(3);
+        assertThat(SimilarityIndex.stringSimilarity("Abc", " abc ")).isEqualTo(1.0);
+    }
+
+    private static String randomName(Random random) {
+        StringBuilder sb = new StringBuilder();
+        int length = 3 + random.nextInt(4);
+        for (int i = 0; i < length; i++) {
+            sb.append("абвгд".charAt(random.nextInt(5)));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,102 @@
+package plantime.ru.API.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TextSearchIndexTest {
+
+    private final TextSearchIndex<Integer, String> index = new TextSearchIndex<>(Comparator.naturalOrder());
+
+    @Test
+    void normalizeLowercasesReplacesYoAndSplitsOnPunctuation() {
+        assertThat(TextSearchIndex.normalize("Семёнов-Тян-Шанский, П.П.")).isEqualTo("семенов тян шанский п п");
+        assertThat(TextSearchIndex.tokenize("  ")).isEmpty();
+        assertThat(TextSearchIndex.tokenize(null)).isEmpty();
+    }
+
+    @Test
+    void exactWordRanksAbovePrefixAndInfix() {
+        index.put(1, "Иванов", "Иванов", "Пётр");
+        index.put(2, "Иван", "Иван", "Сидоров");
+        index.put(3, "Ливанов", "Ливанов", "Олег");
+
+        List<TextSearchIndex.Hit<Integer, String>> hits = index.search("иван", null, 0, 10).hits();
+
+        assertThat(hits).extracting(TextSearchIndex.Hit::key).containsExactly(2, 1, 3);
+        assertThat(hits).extracting(TextSearchIndex.Hit::score)
+                .containsExactly(TextSearchIndex.EXACT, TextSearchIndex.PREFIX, TextSearchIndex.INFIX);
+    }
+
+    @Test
+    void shortTermsMatchOnlyWordStart() {
+        index.put(1, "Иванов", "Иванов");
+        index.put(2, "Савин", "Савин");
+
+        assertThat(keys("ив")).containsExactly(1);
+        assertThat(keys("ав")).isEmpty();
+    }
+
+    @Test
+    void everyQueryWordMustMatch() {
+        index.put(1, "Иванов Пётр", "Иванов", "Пётр");
+        index.put(2, "Иванов Олег", "Иванов", "Олег");
+
+        assertThat(keys("иванов петр")).containsExactly(1);
+        assertThat(keys("петр сидоров")).isEmpty();
+    }
+
+    @Test
+    void equalScoresAreOrderedByValue() {
+        index.put(1, "б", "Петров");
+        index.put(2, "а", "Петренко");
+
+        assertThat(keys("петр")).containsExactly(2, 1);
+    }
+
+    @Test
+    void putReplacesAndRemoveDeletesRecord() {
+        index.put(1, "Иванов", "Иванов");
+        index.put(1, "Петров", "Петров");
+
+        assertThat(keys("иванов")).isEmpty();
+        assertThat(keys("петров")).containsExactly(1);
+
+        index.remove(1);
+
+        assertThat(keys("петров")).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void filterAndPagingApplyToTotal() {
+        for (int i = 1; i <= 5; i++) {
+            index.put(i, "Иванов " + i, "Иванов", i % 2 == 0 ? "чётный" : "нечётный");
+        }
+
+        TextSearchIndex.Result<Integer, String> page = index.search("иванов", value -> !value.endsWith("5"), 1, 2);
+
+        assertThat(page.total()).isEqualTo(4);
+        assertThat(page.hits()).extracting(TextSearchIndex.Hit::key).containsExactly(2, 3);
+        assertThat(index.search("иванов", null, 10, 2).hits()).isEmpty();
+    }
+
+    @Test
+    void phoneQueryIsReducedToDigits() {
+        assertThat(CustomerSearchIndex.phoneDigits("999-12-34")).isEqualTo("9991234");
+        assertThat(CustomerSearchIndex.phoneDigits("+7 (999) 123")).isEqualTo("+7999123");
+        assertThat(CustomerSearchIndex.phoneDigits("Иванов 999 12 34")).isEqualTo("Иванов 9991234");
+        assertThat(CustomerSearchIndex.phoneDigits("Иванов")).isEqualTo("Иванов");
+
+        index.put(1, "Иванов", "Иванов", "79991234567");
+        assertThat(keys(CustomerSearchIndex.phoneDigits("999-12-34"))).containsExactly(1);
+        assertThat(keys("999-12-34")).isEmpty();
+    }
+
+    private List<Integer> keys(String query) {
+        return index.search(query, null, 0, 100).hits().stream().map(TextSearchIndex.Hit::key).toList();
+    }
+}
@@ -0,0 +1,72 @@
+package plantime.ru.API.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenRevocationRegistryTest {
+
+    private static final long DAY = 86_400_000L;
+
+    @Test
+    void revokedTokenIsRejectedAndOthersPass() {
+        TokenRevocationRegistry registry = new TokenRevocationRegistry(1 << 16, 7, DAY);
+        long now = System.currentTimeMillis();
+
+        registry.revoke("revoked");
+
+        assertThat(registry.isRevoked("revoked", now)).isTrue();
+        assertThat(registry.isRevoked("active", now)).isFalse();
+        assertThat(registry.getRevokedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void falsePositiveRateStaysLow() {
+        TokenRevocationRegistry registry = new TokenRevocationRegistry(1 << 16, 7, DAY);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 1000; i++) {
+            registry.revoke(UUID.randomUUID().toString());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (registry.isRevoked(UUID.randomUUID().toString(), now)) {
+                falsePositives++;
+            }
+        }
+
+        assertThat(falsePositives).isLessThan(100);
+    }
+
+    @Test
+    void revocationSurvivesOneRotationAndExpiresAfterTwo() {
+        // Срок жизни токена 0: каждая проверка rotate() сменяет поколение
+        TokenRevocationRegistry registry = new TokenRevocationRegistry(1 << 16, 7, 0);
+        long now = System.currentTimeMillis();
+        registry.revoke("revoked");
+
+        registry.rotate();
+        assertThat(registry.isRevoked("revoked", now)).isTrue();
+
+        registry.rotate();
+        assertThat(registry.isRevoked("revoked", now)).isFalse();
+    }
+
+    @Test
+    void tokenIssuedBeforeStartupNeedsSessionCheckUntilInitialized() {
+        TokenRevocationRegistry registry = new TokenRevocationRegistry(1 << 16, 7, DAY);
+        long beforeStartup = System.currentTimeMillis() - 60_000;
+
+        assertThat(registry.needsSessionCheck(beforeStartup)).isTrue();
+        assertThat(registry.needsSessionCheck(System.currentTimeMillis())).isFalse();
+
+        registry.initialize(List.of("kept"));
+
+        assertThat(registry.needsSessionCheck(beforeStartup)).isFalse();
+        assertThat(registry.isRevoked("kept", beforeStartup)).isFalse();
+        assertThat(registry.isRevoked("closed-before-restart", beforeStartup)).isTrue();
+    }
+}